@@ -31,13 +31,14 @@ import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5Subscribe;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.Mqtt5Unsubscribe;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
-import io.reactivex.Flowable;
 import io.reactivex.FlowableSubscriber;
 import io.reactivex.schedulers.Schedulers;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscription;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
@@ -51,8 +52,6 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
     private static final @NotNull Function<Mqtt5SubAck, Mqtt5SubAck> SUBACK_HANDLER = MqttBlockingClient::handleSubAck;
     private static final @NotNull Function<Mqtt5UnsubAck, Mqtt5UnsubAck> UNSUBACK_HANDLER =
             MqttBlockingClient::handleUnsubAck;
-    private static final @NotNull Function<Mqtt5PublishResult, Mqtt5PublishResult> PUBLISH_HANDLER =
-            MqttBlockingClient::handlePublish;
 
     private final @NotNull MqttRxClient delegate;
 
@@ -81,6 +80,18 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
                 .thenApply(SUBACK_HANDLER);
     }
 
+    @Override
+    public @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribe(
+            final @Nullable Mqtt5Subscribe subscribe, final @Nullable Consumer<@NotNull Mqtt5Publish> callback,
+            final boolean manualAcknowledgement) {
+
+        Checks.notNull(callback, "Callback");
+
+        return delegate.subscribeStream(subscribe, manualAcknowledgement)
+                .subscribeSingleFuture(new CallbackSubscriber(callback))
+                .thenApply(SUBACK_HANDLER);
+    }
+
     @Override
     public @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribe(
             final @Nullable Mqtt5Subscribe subscribe, final @Nullable Consumer<@NotNull Mqtt5Publish> callback,
@@ -89,12 +100,46 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         Checks.notNull(callback, "Callback");
         Checks.notNull(executor, "Executor");
 
-        return delegate.subscribeStreamUnsafe(subscribe)
-                .observeOnBoth(Schedulers.from(executor), true)
+        return delegate.observeOnIncoming(delegate.subscribeStreamUnsafe(subscribe), Schedulers.from(executor))
                 .subscribeSingleFuture(new CallbackSubscriber(callback))
                 .thenApply(SUBACK_HANDLER);
     }
 
+    @Override
+    public @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribe(
+            final @Nullable Mqtt5Subscribe subscribe, final @Nullable Consumer<@NotNull Mqtt5Publish> callback,
+            final @Nullable Executor executor, final int lanes) {
+
+        return subscribeLanes(subscribe, callback, executor, lanes, null);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribe(
+            final @Nullable Mqtt5Subscribe subscribe, final @Nullable Consumer<@NotNull Mqtt5Publish> callback,
+            final @Nullable Executor executor, final int lanes,
+            final @Nullable Function<? super Mqtt5Publish, ?> keyExtractor) {
+
+        Checks.notNull(keyExtractor, "Key extractor");
+
+        return subscribeLanes(subscribe, callback, executor, lanes, keyExtractor);
+    }
+
+    private @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribeLanes(
+            final @Nullable Mqtt5Subscribe subscribe, final @Nullable Consumer<@NotNull Mqtt5Publish> callback,
+            final @Nullable Executor executor, final int lanes,
+            final @Nullable Function<? super Mqtt5Publish, ?> keyExtractor) {
+
+        Checks.notNull(callback, "Callback");
+        Checks.notNull(executor, "Executor");
+        if (lanes <= 0) {
+            throw new IllegalArgumentException("Lanes must be greater than 0. Found: " + lanes);
+        }
+
+        return delegate.subscribeStreamUnsafe(subscribe)
+                .subscribeSingleFuture(new MqttLaneCallbackSubscriber(callback, executor, lanes, keyExtractor))
+                .thenApplyAsync(SUBACK_HANDLER, executor);
+    }
+
     @Override
     public void publishes(
             final @Nullable MqttGlobalPublishFilter filter, final @Nullable Consumer<@NotNull Mqtt5Publish> callback) {
@@ -104,6 +149,16 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         delegate.publishes(filter).subscribe(new CallbackSubscriber(callback));
     }
 
+    @Override
+    public void publishes(
+            final @Nullable MqttGlobalPublishFilter filter, final @Nullable Consumer<@NotNull Mqtt5Publish> callback,
+            final boolean manualAcknowledgement) {
+
+        Checks.notNull(callback, "Callback");
+
+        delegate.publishes(filter, manualAcknowledgement).subscribe(new CallbackSubscriber(callback));
+    }
+
     @Override
     public void publishes(
             final @Nullable MqttGlobalPublishFilter filter, final @Nullable Consumer<@NotNull Mqtt5Publish> callback,
@@ -112,8 +167,7 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         Checks.notNull(callback, "Callback");
         Checks.notNull(executor, "Executor");
 
-        delegate.publishesUnsafe(filter)
-                .observeOn(Schedulers.from(executor), true)
+        delegate.observeOnIncoming(delegate.publishesUnsafe(filter), Schedulers.from(executor))
                 .subscribe(new CallbackSubscriber(callback));
     }
 
@@ -127,8 +181,14 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
     public @NotNull CompletableFuture<@NotNull Mqtt5PublishResult> publish(final @Nullable Mqtt5Publish publish) {
         Checks.notNull(publish, "Publish");
 
-        return RxFutureConverter.toFuture(delegate.publishHalfSafe(Flowable.just(publish)).singleOrError())
-                .thenApply(PUBLISH_HANDLER);
+        return delegate.publishSingle(publish);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Mqtt5PublishResult>> publishAll(
+            final @Nullable Collection<@Nullable Mqtt5Publish> publishes) {
+
+        return delegate.publishAll(publishes);
     }
 
     @Override
@@ -187,6 +247,8 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         private final @NotNull Mqtt5AsyncClient client;
         private @Nullable Consumer<Mqtt5Publish> callback;
         private @Nullable Executor executor;
+        private int lanes;
+        private @Nullable Function<? super Mqtt5Publish, ?> keyExtractor;
 
         public MqttSubscribeAndCallbackBuilder(final @NotNull Mqtt5AsyncClient client) {
             this.client = client;
@@ -209,6 +271,23 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
             return this;
         }
 
+        @Override
+        public @NotNull MqttSubscribeAndCallbackBuilder lanes(final int lanes) {
+            if (lanes <= 0) {
+                throw new IllegalArgumentException("Lanes must be greater than 0. Found: " + lanes);
+            }
+            this.lanes = lanes;
+            return this;
+        }
+
+        @Override
+        public @NotNull MqttSubscribeAndCallbackBuilder laneKey(
+                final @Nullable Function<? super Mqtt5Publish, ?> keyExtractor) {
+
+            this.keyExtractor = Checks.notNull(keyExtractor, "Key extractor");
+            return this;
+        }
+
         @Override
         public @NotNull CompletableFuture<Mqtt5SubAck> send() {
             final Mqtt5Subscribe subscribe = build();
@@ -219,9 +298,21 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
                 return client.subscribe(subscribe);
             }
             if (executor == null) {
+                if (lanes != 0) {
+                    throw new IllegalStateException("Lanes must not be given if executor is null.");
+                }
                 return client.subscribe(subscribe, callback);
             }
-            return client.subscribe(subscribe, callback, executor);
+            if (lanes == 0) {
+                if (keyExtractor != null) {
+                    throw new IllegalStateException("Lane key must not be given if lanes are not given.");
+                }
+                return client.subscribe(subscribe, callback, executor);
+            }
+            if (keyExtractor == null) {
+                return client.subscribe(subscribe, callback, executor, lanes);
+            }
+            return client.subscribe(subscribe, callback, executor, lanes, keyExtractor);
         }
     }
 }
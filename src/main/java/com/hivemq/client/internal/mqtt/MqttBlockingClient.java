@@ -40,10 +40,14 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscription;
 
+import java.util.Collection;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -70,16 +74,19 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
         return unsubAck;
     }
 
-    static @NotNull Mqtt5PublishResult handlePublish(final @NotNull Mqtt5PublishResult publishResult) {
-        final Optional<Throwable> error = publishResult.getError();
-        if (error.isPresent()) {
-            final Throwable throwable = error.get();
-            if (throwable instanceof RuntimeException) {
-                throw (RuntimeException) throwable;
+    private static <T> @NotNull T blockingGet(final @NotNull CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw AsyncRuntimeException.fillInStackTrace((RuntimeException) cause);
             }
-            throw new RuntimeException(throwable);
+            throw new RuntimeException(cause);
         }
-        return publishResult;
     }
 
     private final @NotNull MqttRxClient delegate;
@@ -123,11 +130,14 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
     @Override
     public @NotNull Mqtt5PublishResult publish(final @Nullable Mqtt5Publish publish) {
         Checks.notNull(publish, "Publish");
-        try {
-            return handlePublish(delegate.publishUnsafe(Flowable.just(publish)).singleOrError().blockingGet());
-        } catch (final RuntimeException e) {
-            throw AsyncRuntimeException.fillInStackTrace(e);
-        }
+        return blockingGet(delegate.publishSingleUnsafe(publish));
+    }
+
+    @Override
+    public @NotNull List<@NotNull Mqtt5PublishResult> publishAll(
+            final @Nullable Collection<@Nullable Mqtt5Publish> publishes) {
+
+        return blockingGet(delegate.publishAllUnsafe(publishes));
     }
 
     @Override
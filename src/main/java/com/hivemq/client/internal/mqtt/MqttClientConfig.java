@@ -51,6 +51,7 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
     private final @NotNull MqttClientAdvancedConfig advancedConfig;
 
     private final @NotNull ClientComponent clientComponent;
+    private final @NotNull MqttClientStats stats;
 
     private volatile @Nullable EventLoop eventLoop;
     private int eventLoopAcquires;
@@ -77,6 +78,7 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
         this.advancedConfig = advancedConfig;
 
         clientComponent = SingletonComponent.INSTANCE.clientComponentBuilder().clientConfig(this).build();
+        stats = new MqttClientStats(this);
 
         state = new AtomicReference<>(MqttClientState.DISCONNECTED);
     }
@@ -138,6 +140,11 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
         return advancedConfig;
     }
 
+    @Override
+    public @NotNull MqttClientStats getStats() {
+        return stats;
+    }
+
     public @NotNull ClientComponent getClientComponent() {
         return clientComponent;
     }
@@ -17,7 +17,6 @@
 
 package com.hivemq.client.internal.mqtt;
 
-import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasAutoMapping;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasMapping;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.mqtt3.Mqtt3ClientConnectionConfig;
@@ -61,9 +60,10 @@ public class MqttClientConnectionConfig
             final @Nullable Mqtt5EnhancedAuthMechanism enhancedAuthMechanism, final int receiveMaximum,
             final int maximumPacketSize, final int topicAliasMaximum, final boolean problemInformationRequested,
             final boolean responseInformationRequested, final int sendMaximum, final int sendMaximumPacketSize,
-            final int sendTopicAliasMaximum, final @NotNull MqttQos maximumQos, final boolean retainAvailable,
-            final boolean wildcardSubscriptionAvailable, final boolean sharedSubscriptionAvailable,
-            final boolean subscriptionIdentifiersAvailable, final @NotNull Channel channel) {
+            final @Nullable MqttTopicAliasMapping sendTopicAliasMapping, final @NotNull MqttQos maximumQos,
+            final boolean retainAvailable, final boolean wildcardSubscriptionAvailable,
+            final boolean sharedSubscriptionAvailable, final boolean subscriptionIdentifiersAvailable,
+            final @NotNull Channel channel) {
 
         this.keepAlive = keepAlive;
         this.sessionExpiryInterval = sessionExpiryInterval;
@@ -76,8 +76,7 @@ public class MqttClientConnectionConfig
         this.responseInformationRequested = responseInformationRequested;
         this.sendMaximum = sendMaximum;
         this.sendMaximumPacketSize = sendMaximumPacketSize;
-        this.sendTopicAliasMapping =
-                (sendTopicAliasMaximum == 0) ? null : new MqttTopicAliasAutoMapping(sendTopicAliasMaximum);
+        this.sendTopicAliasMapping = sendTopicAliasMapping;
         this.maximumQos = maximumQos;
         this.retainAvailable = retainAvailable;
         this.wildcardSubscriptionAvailable = wildcardSubscriptionAvailable;
@@ -34,24 +34,27 @@ import java.util.Optional;
 public class MqttClientSslConfigImpl implements MqttClientSslConfig {
 
     public static final @NotNull MqttClientSslConfigImpl DEFAULT =
-            new MqttClientSslConfigImpl(null, null, null, null, DEFAULT_HANDSHAKE_TIMEOUT_MS);
+            new MqttClientSslConfigImpl(null, null, null, null, DEFAULT_HANDSHAKE_TIMEOUT_MS, false);
 
     private final @Nullable KeyManagerFactory keyManagerFactory;
     private final @Nullable TrustManagerFactory trustManagerFactory;
     private final @Nullable ImmutableList<String> cipherSuites;
     private final @Nullable ImmutableList<String> protocols;
     private final long handshakeTimeoutMs;
+    private final boolean preferOpenSsl;
 
     MqttClientSslConfigImpl(
             final @Nullable KeyManagerFactory keyManagerFactory,
             final @Nullable TrustManagerFactory trustManagerFactory, final @Nullable ImmutableList<String> cipherSuites,
-            final @Nullable ImmutableList<String> protocols, final long handshakeTimeoutMs) {
+            final @Nullable ImmutableList<String> protocols, final long handshakeTimeoutMs,
+            final boolean preferOpenSsl) {
 
         this.keyManagerFactory = keyManagerFactory;
         this.trustManagerFactory = trustManagerFactory;
         this.cipherSuites = cipherSuites;
         this.protocols = protocols;
         this.handshakeTimeoutMs = handshakeTimeoutMs;
+        this.preferOpenSsl = preferOpenSsl;
     }
 
     @Override
@@ -95,6 +98,11 @@ public class MqttClientSslConfigImpl implements MqttClientSslConfig {
         return handshakeTimeoutMs;
     }
 
+    @Override
+    public boolean isPreferOpenSsl() {
+        return preferOpenSsl;
+    }
+
     @Override
     public boolean equals(final @Nullable Object o) {
         if (this == o) {
@@ -108,7 +116,7 @@ public class MqttClientSslConfigImpl implements MqttClientSslConfig {
         return Objects.equals(keyManagerFactory, that.keyManagerFactory) &&
                 Objects.equals(trustManagerFactory, that.trustManagerFactory) &&
                 Objects.equals(cipherSuites, that.cipherSuites) && Objects.equals(protocols, that.protocols) &&
-                (handshakeTimeoutMs == that.handshakeTimeoutMs);
+                (handshakeTimeoutMs == that.handshakeTimeoutMs) && (preferOpenSsl == that.preferOpenSsl);
     }
 
     @Override
@@ -118,6 +126,7 @@ public class MqttClientSslConfigImpl implements MqttClientSslConfig {
         result = 31 * result + Objects.hashCode(cipherSuites);
         result = 31 * result + Objects.hashCode(protocols);
         result = 31 * result + Long.hashCode(handshakeTimeoutMs);
+        result = 31 * result + Boolean.hashCode(preferOpenSsl);
         return result;
     }
 }
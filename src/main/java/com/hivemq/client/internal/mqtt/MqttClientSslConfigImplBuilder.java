@@ -40,6 +40,7 @@ public abstract class MqttClientSslConfigImplBuilder<B extends MqttClientSslConf
     private @Nullable ImmutableList<String> cipherSuites;
     private @Nullable ImmutableList<String> protocols;
     private long handshakeTimeoutMs = MqttClientSslConfig.DEFAULT_HANDSHAKE_TIMEOUT_MS;
+    private boolean preferOpenSsl;
 
     MqttClientSslConfigImplBuilder() {}
 
@@ -50,6 +51,7 @@ public abstract class MqttClientSslConfigImplBuilder<B extends MqttClientSslConf
             cipherSuites = sslConfig.getRawCipherSuites();
             protocols = sslConfig.getRawProtocols();
             handshakeTimeoutMs = sslConfig.getHandshakeTimeoutMs();
+            preferOpenSsl = sslConfig.isPreferOpenSsl();
         }
     }
 
@@ -81,9 +83,14 @@ public abstract class MqttClientSslConfigImplBuilder<B extends MqttClientSslConf
         return self();
     }
 
+    public @NotNull B preferOpenSsl(final boolean preferOpenSsl) {
+        this.preferOpenSsl = preferOpenSsl;
+        return self();
+    }
+
     public @NotNull MqttClientSslConfigImpl build() {
         return new MqttClientSslConfigImpl(
-                keyManagerFactory, trustManagerFactory, cipherSuites, protocols, handshakeTimeoutMs);
+                keyManagerFactory, trustManagerFactory, cipherSuites, protocols, handshakeTimeoutMs, preferOpenSsl);
     }
 
     public static class Default extends MqttClientSslConfigImplBuilder<Default> implements MqttClientSslConfigBuilder {
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoder;
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttTopicCache;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasMapping;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5ClientStats;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reads the counters of the components of a client and its current connection.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttClientStats implements Mqtt5ClientStats {
+
+    private final @NotNull MqttClientConfig clientConfig;
+
+    MqttClientStats(final @NotNull MqttClientConfig clientConfig) {
+        this.clientConfig = clientConfig;
+    }
+
+    private @Nullable MqttTopicAliasMapping getTopicAliasMapping() {
+        final MqttClientConnectionConfig connectionConfig = clientConfig.getRawConnectionConfig();
+        return (connectionConfig == null) ? null : connectionConfig.getSendTopicAliasMapping();
+    }
+
+    @Override
+    public long getTopicAliasHits() {
+        final MqttTopicAliasMapping topicAliasMapping = getTopicAliasMapping();
+        return (topicAliasMapping == null) ? 0 : topicAliasMapping.getHits();
+    }
+
+    @Override
+    public long getTopicAliasMisses() {
+        final MqttTopicAliasMapping topicAliasMapping = getTopicAliasMapping();
+        return (topicAliasMapping == null) ? 0 : topicAliasMapping.getMisses();
+    }
+
+    @Override
+    public long getTopicAliasSavedBytes() {
+        final MqttTopicAliasMapping topicAliasMapping = getTopicAliasMapping();
+        return (topicAliasMapping == null) ? 0 : topicAliasMapping.getSavedBytes();
+    }
+
+    private @Nullable MqttTopicCache getTopicCache() {
+        final MqttClientConnectionConfig connectionConfig = clientConfig.getRawConnectionConfig();
+        if (connectionConfig == null) {
+            return null;
+        }
+        final MqttDecoder decoder = connectionConfig.getChannel().pipeline().get(MqttDecoder.class);
+        return (decoder == null) ? null : decoder.getTopicCache();
+    }
+
+    @Override
+    public long getIncomingTopicCacheHits() {
+        final MqttTopicCache topicCache = getTopicCache();
+        return (topicCache == null) ? 0 : topicCache.getHits();
+    }
+
+    @Override
+    public long getIncomingTopicCacheMisses() {
+        final MqttTopicCache topicCache = getTopicCache();
+        return (topicCache == null) ? 0 : topicCache.getMisses();
+    }
+
+    @Override
+    public long getIncomingTopicCacheEvictions() {
+        final MqttTopicCache topicCache = getTopicCache();
+        return (topicCache == null) ? 0 : topicCache.getEvictions();
+    }
+
+    @Override
+    public long getSubscriptionCacheHits() {
+        return clientConfig.getClientComponent().incomingPublishFlows().getSubscriptionCacheHits();
+    }
+
+    @Override
+    public long getSubscriptionCacheMisses() {
+        return clientConfig.getClientComponent().incomingPublishFlows().getSubscriptionCacheMisses();
+    }
+
+    @Override
+    public long getIncomingQos0Dropped() {
+        return clientConfig.getClientComponent().incomingQosHandler().getQos0Dropped();
+    }
+
+    @Override
+    public long getIncomingQos0Coalesced() {
+        return clientConfig.getClientComponent().incomingQosHandler().getQos0Coalesced();
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.internal.queue.SpscLinkedArrayQueue;
+import io.reactivex.plugins.RxJavaPlugins;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Subscription;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Consumes incoming Publish messages with a callback on multiple lanes in parallel.
+ * <p>
+ * Every Publish message is assigned to a lane by the hash of its key. Each lane executes the callback for its Publish
+ * messages one after another on the executor, so Publish messages with the same key are consumed in order. A fixed
+ * amount of Publish messages is requested per lane. A new Publish message is only requested after the callback
+ * returned for a previous one, so a slow lane applies backpressure to the incoming publish flow. The lanes only sum up
+ * the amount of consumed Publish messages, the requests to the subscription are serialized.
+ *
+ * @author Silvio Giebl
+ */
+class MqttLaneCallbackSubscriber implements FlowableSubscriber<Mqtt5Publish> {
+
+    static final int LANE_PREFETCH = 32;
+    private static final int LANE_REQUEST_LIMIT = LANE_PREFETCH - (LANE_PREFETCH >> 2);
+
+    private final @NotNull Consumer<Mqtt5Publish> callback;
+    private final @NotNull Executor executor;
+    private final @Nullable Function<? super Mqtt5Publish, ?> keyExtractor;
+    private final @NotNull Lane @NotNull [] lanes;
+    private @Nullable Subscription subscription;
+    private final @NotNull AtomicLong consumed = new AtomicLong();
+    private final @NotNull AtomicInteger requestWip = new AtomicInteger();
+
+    MqttLaneCallbackSubscriber(
+            final @NotNull Consumer<Mqtt5Publish> callback, final @NotNull Executor executor, final int lanes,
+            final @Nullable Function<? super Mqtt5Publish, ?> keyExtractor) {
+
+        this.callback = callback;
+        this.executor = executor;
+        this.keyExtractor = keyExtractor;
+        this.lanes = new Lane[lanes];
+        for (int i = 0; i < lanes; i++) {
+            this.lanes[i] = new Lane();
+        }
+    }
+
+    @Override
+    public void onSubscribe(final @NotNull Subscription s) {
+        subscription = s;
+        s.request((long) lanes.length * LANE_PREFETCH);
+    }
+
+    @Override
+    public void onNext(final @NotNull Mqtt5Publish publish) {
+        final Lane lane = lanes[laneIndex(publish)];
+        lane.queue.offer(publish);
+        lane.schedule();
+    }
+
+    @Override
+    public void onComplete() {}
+
+    @Override
+    public void onError(final @NotNull Throwable t) {}
+
+    private void request(final long n) {
+        consumed.addAndGet(n);
+        if (requestWip.getAndIncrement() != 0) {
+            return;
+        }
+        final Subscription subscription = this.subscription;
+        assert subscription != null;
+        int missed = 1;
+        do {
+            final long requested = consumed.getAndSet(0);
+            if (requested > 0) {
+                subscription.request(requested);
+            }
+            missed = requestWip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    int laneIndex(final @NotNull Mqtt5Publish publish) {
+        final int hash;
+        if (keyExtractor == null) { // the topic hash code would require decoding the topic
+            hash = Arrays.hashCode(((MqttPublish) publish).getTopic().toBinary());
+        } else {
+            final Object key = keyExtractor.apply(publish);
+            hash = (key == null) ? 0 : key.hashCode();
+        }
+        return ((hash ^ (hash >>> 16)) & 0x7FFF_FFFF) % lanes.length;
+    }
+
+    private class Lane extends AtomicInteger implements Runnable {
+
+        private static final long serialVersionUID = 1L;
+
+        final @NotNull SpscLinkedArrayQueue<Mqtt5Publish> queue = new SpscLinkedArrayQueue<>(LANE_PREFETCH);
+
+        void schedule() {
+            if (getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int consumed = 0;
+            int missed = 1;
+            do {
+                Mqtt5Publish publish;
+                while ((publish = queue.poll()) != null) {
+                    try {
+                        callback.accept(publish);
+                    } catch (final Throwable t) {
+                        Exceptions.throwIfFatal(t);
+                        RxJavaPlugins.onError(t);
+                    }
+                    if (++consumed == LANE_REQUEST_LIMIT) {
+                        request(consumed);
+                        consumed = 0;
+                    }
+                }
+                missed = addAndGet(-missed);
+            } while (missed != 0);
+            if (consumed > 0) {
+                request(consumed);
+            }
+        }
+    }
+}
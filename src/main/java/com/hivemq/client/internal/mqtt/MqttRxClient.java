@@ -17,11 +17,16 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.handler.auth.MqttReAuthCompletable;
 import com.hivemq.client.internal.mqtt.handler.connect.MqttConnAckSingle;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectCompletable;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttGlobalIncomingPublishBatchFlowable;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttGlobalIncomingPublishFlowable;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttSubscribedPublishBatchFlowable;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttSubscribedPublishFlowable;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckBatchFlow;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckFutureFlow;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttIncomingAckFlowable;
 import com.hivemq.client.internal.mqtt.handler.subscribe.MqttSubAckSingle;
 import com.hivemq.client.internal.mqtt.handler.subscribe.MqttUnsubAckSingle;
@@ -31,6 +36,8 @@ import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
 import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribe;
 import com.hivemq.client.internal.mqtt.util.MqttChecks;
+import com.hivemq.client.internal.rx.operators.FlowableObserveOnWithDiscard;
+import com.hivemq.client.internal.rx.operators.FlowableWithSingleObserveOn;
 import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5RxClient;
@@ -46,17 +53,33 @@ import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
 import com.hivemq.client.rx.FlowableWithSingle;
 import io.reactivex.Completable;
 import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
 import io.reactivex.Single;
 import io.reactivex.functions.Function;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
 /**
  * @author Silvio Giebl
  */
 public class MqttRxClient implements Mqtt5RxClient {
 
     private static final @NotNull Function<Mqtt5Publish, MqttPublish> PUBLISH_MAPPER = MqttChecks::publish;
+    private static final @NotNull Consumer<Object> RELEASE_DISCARDED_PUBLISH = o -> {
+        if (o instanceof Mqtt5Publish) {
+            ((Mqtt5Publish) o).release();
+        } else if (o instanceof List) { // batch
+            for (final Object publish : (List<?>) o) {
+                ((Mqtt5Publish) publish).release();
+            }
+        }
+    };
 
     private final @NotNull MqttClientConfig clientConfig;
 
@@ -90,27 +113,159 @@ public class MqttRxClient implements Mqtt5RxClient {
     public @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribeStream(
             final @Nullable Mqtt5Subscribe subscribe) {
 
-        return subscribeStreamUnsafe(subscribe).observeOnBoth(
-                clientConfig.getExecutorConfig().getApplicationScheduler(), true);
+        return observeOnIncoming(
+                subscribeStreamUnsafe(subscribe), clientConfig.getExecutorConfig().getApplicationScheduler());
+    }
+
+    @Override
+    public @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribeStream(
+            final @Nullable Mqtt5Subscribe subscribe, final boolean manualAcknowledgement) {
+
+        return observeOnIncoming(subscribeStreamUnsafe(subscribe, manualAcknowledgement),
+                clientConfig.getExecutorConfig().getApplicationScheduler());
     }
 
     @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribeStreamUnsafe(
             final @Nullable Mqtt5Subscribe subscribe) {
 
+        return subscribeStreamUnsafe(subscribe, false);
+    }
+
+    @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribeStreamUnsafe(
+            final @Nullable Mqtt5Subscribe subscribe, final boolean manualAcknowledgement) {
+
+        final MqttSubscribe mqttSubscribe = MqttChecks.subscribe(subscribe);
+
+        return new MqttSubscribedPublishFlowable(mqttSubscribe, clientConfig, manualAcknowledgement);
+    }
+
+    @Override
+    public @NotNull FlowableWithSingle<List<Mqtt5Publish>, Mqtt5SubAck> subscribeStreamBatched(
+            final @Nullable Mqtt5Subscribe subscribe, final int maxSize, final long maxDelay,
+            final @Nullable TimeUnit timeUnit) {
+
+        return observeOnIncoming(subscribeStreamBatchedUnsafe(subscribe, maxSize, maxDelay, timeUnit),
+                clientConfig.getExecutorConfig().getApplicationScheduler(), batchBufferSize(maxSize));
+    }
+
+    @NotNull FlowableWithSingle<List<Mqtt5Publish>, Mqtt5SubAck> subscribeStreamBatchedUnsafe(
+            final @Nullable Mqtt5Subscribe subscribe, final int maxSize, final long maxDelay,
+            final @Nullable TimeUnit timeUnit) {
+
         final MqttSubscribe mqttSubscribe = MqttChecks.subscribe(subscribe);
+        final long maxDelayNanos = checkBatch(maxSize, maxDelay, timeUnit);
 
-        return new MqttSubscribedPublishFlowable(mqttSubscribe, clientConfig);
+        return new MqttSubscribedPublishBatchFlowable(mqttSubscribe, clientConfig, maxSize, maxDelayNanos);
     }
 
     @Override
     public @NotNull Flowable<Mqtt5Publish> publishes(final @Nullable MqttGlobalPublishFilter filter) {
-        return publishesUnsafe(filter).observeOn(clientConfig.getExecutorConfig().getApplicationScheduler(), true);
+        return observeOnIncoming(publishesUnsafe(filter), clientConfig.getExecutorConfig().getApplicationScheduler());
+    }
+
+    @Override
+    public @NotNull Flowable<Mqtt5Publish> publishes(
+            final @Nullable MqttGlobalPublishFilter filter, final boolean manualAcknowledgement) {
+
+        return observeOnIncoming(publishesUnsafe(filter, manualAcknowledgement),
+                clientConfig.getExecutorConfig().getApplicationScheduler());
     }
 
     @NotNull Flowable<Mqtt5Publish> publishesUnsafe(final @Nullable MqttGlobalPublishFilter filter) {
+        return publishesUnsafe(filter, false);
+    }
+
+    @NotNull Flowable<Mqtt5Publish> publishesUnsafe(
+            final @Nullable MqttGlobalPublishFilter filter, final boolean manualAcknowledgement) {
+
+        Checks.notNull(filter, "Global publish filter");
+
+        return new MqttGlobalIncomingPublishFlowable(filter, clientConfig, manualAcknowledgement);
+    }
+
+    @Override
+    public @NotNull Flowable<List<Mqtt5Publish>> publishesBatched(
+            final @Nullable MqttGlobalPublishFilter filter, final int maxSize, final long maxDelay,
+            final @Nullable TimeUnit timeUnit) {
+
+        return observeOnIncoming(publishesBatchedUnsafe(filter, maxSize, maxDelay, timeUnit),
+                clientConfig.getExecutorConfig().getApplicationScheduler(), batchBufferSize(maxSize));
+    }
+
+    @NotNull Flowable<List<Mqtt5Publish>> publishesBatchedUnsafe(
+            final @Nullable MqttGlobalPublishFilter filter, final int maxSize, final long maxDelay,
+            final @Nullable TimeUnit timeUnit) {
+
         Checks.notNull(filter, "Global publish filter");
+        final long maxDelayNanos = checkBatch(maxSize, maxDelay, timeUnit);
+
+        return new MqttGlobalIncomingPublishBatchFlowable(filter, clientConfig, maxSize, maxDelayNanos);
+    }
+
+    /**
+     * Moves the emissions of incoming Publish messages or batches of them to the given scheduler. If the payloads of
+     * incoming Publish messages refer to reference counted buffers, Publish messages that are not delivered because
+     * the subscription is cancelled or errors are released.
+     */
+    @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> observeOnIncoming(
+            final @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> publishFlowable,
+            final @NotNull Scheduler scheduler) {
+
+        return observeOnIncoming(publishFlowable, scheduler, Flowable.bufferSize());
+    }
+
+    /**
+     * @see #observeOnIncoming(FlowableWithSingle, Scheduler)
+     */
+    @NotNull Flowable<Mqtt5Publish> observeOnIncoming(
+            final @NotNull Flowable<Mqtt5Publish> publishFlowable, final @NotNull Scheduler scheduler) {
+
+        return observeOnIncoming(publishFlowable, scheduler, Flowable.bufferSize());
+    }
+
+    private <T> @NotNull FlowableWithSingle<T, Mqtt5SubAck> observeOnIncoming(
+            final @NotNull FlowableWithSingle<T, Mqtt5SubAck> publishFlowable, final @NotNull Scheduler scheduler,
+            final int bufferSize) {
+
+        return new FlowableWithSingleObserveOn<>(
+                publishFlowable, scheduler, true, bufferSize, getIncomingDiscardHandler());
+    }
+
+    private <T> @NotNull Flowable<T> observeOnIncoming(
+            final @NotNull Flowable<T> publishFlowable, final @NotNull Scheduler scheduler, final int bufferSize) {
 
-        return new MqttGlobalIncomingPublishFlowable(filter, clientConfig);
+        final Consumer<Object> discardHandler = getIncomingDiscardHandler();
+        if (discardHandler == null) {
+            return publishFlowable.observeOn(scheduler, true, bufferSize);
+        }
+        return new FlowableObserveOnWithDiscard<>(publishFlowable, scheduler, true, bufferSize, discardHandler);
+    }
+
+    private @Nullable Consumer<Object> getIncomingDiscardHandler() {
+        final MqttClientAdvancedConfig advancedConfig = clientConfig.getAdvancedConfig();
+        if (advancedConfig.isZeroCopyPayload() || advancedConfig.isDirectBufferPayload()) {
+            return RELEASE_DISCARDED_PUBLISH;
+        }
+        return null;
+    }
+
+    private static long checkBatch(final int maxSize, final long maxDelay, final @Nullable TimeUnit timeUnit) {
+        Checks.notNull(timeUnit, "Time unit");
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum batch size must be greater than 0. Found: " + maxSize);
+        }
+        if (maxDelay < 0) {
+            throw new IllegalArgumentException("Maximum batch delay must not be negative. Found: " + maxDelay);
+        }
+        return timeUnit.toNanos(maxDelay);
+    }
+
+    /**
+     * Buffers as many batches on the application scheduler as needed for the default amount of buffered Publish
+     * messages, but at least 2, so the next batch can be collected while a batch is consumed.
+     */
+    private static int batchBufferSize(final int maxSize) {
+        return Math.max(2, Flowable.bufferSize() / maxSize);
     }
 
     @Override
@@ -140,6 +295,29 @@ public class MqttRxClient implements Mqtt5RxClient {
         return new MqttIncomingAckFlowable(publishFlowable.map(PUBLISH_MAPPER), clientConfig);
     }
 
+    @NotNull CompletableFuture<Mqtt5PublishResult> publishSingle(final @NotNull Mqtt5Publish publish) {
+        return MqttAckFutureFlow.publish(
+                MqttChecks.publish(publish), clientConfig, clientConfig.getExecutorConfig().getApplicationScheduler());
+    }
+
+    @NotNull CompletableFuture<Mqtt5PublishResult> publishSingleUnsafe(final @NotNull Mqtt5Publish publish) {
+        return MqttAckFutureFlow.publish(MqttChecks.publish(publish), clientConfig, null);
+    }
+
+    @NotNull CompletableFuture<List<Mqtt5PublishResult>> publishAll(
+            final @Nullable Collection<@Nullable Mqtt5Publish> publishes) {
+
+        return MqttAckBatchFlow.publish(
+                MqttChecks.publishes(publishes), clientConfig,
+                clientConfig.getExecutorConfig().getApplicationScheduler());
+    }
+
+    @NotNull CompletableFuture<List<Mqtt5PublishResult>> publishAllUnsafe(
+            final @Nullable Collection<@Nullable Mqtt5Publish> publishes) {
+
+        return MqttAckBatchFlow.publish(MqttChecks.publishes(publishes), clientConfig, null);
+    }
+
     @Override
     public @NotNull Completable reauth() {
         return reauthUnsafe().observeOn(clientConfig.getExecutorConfig().getApplicationScheduler());
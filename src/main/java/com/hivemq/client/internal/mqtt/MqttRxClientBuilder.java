@@ -19,7 +19,9 @@ package com.hivemq.client.internal.mqtt;
 
 import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttVersion;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5ClientBuilder;
 import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig;
@@ -74,7 +76,32 @@ public class MqttRxClientBuilder extends MqttRxClientBuilderBase<MqttRxClientBui
         return buildRx().toBlocking();
     }
 
+    @Override
+    public @NotNull MqttShardedClient buildSharded(final int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("Shards must be greater than 0. Found: " + shards);
+        }
+        final ImmutableList.Builder<MqttRxClient> builder = ImmutableList.builder(shards);
+        builder.add(buildRx());
+        for (int i = 1; i < shards; i++) {
+            builder.add(new MqttRxClient(buildClientConfig(buildShardIdentifier(i))));
+        }
+        return new MqttShardedClient(builder.build());
+    }
+
+    private @NotNull MqttClientIdentifierImpl buildShardIdentifier(final int shard) {
+        final String identifier = this.identifier.toString();
+        if (identifier.isEmpty()) {
+            return MqttClientIdentifierImpl.REQUEST_CLIENT_IDENTIFIER_FROM_SERVER;
+        }
+        return MqttClientIdentifierImpl.of(identifier + "-" + shard);
+    }
+
     private @NotNull MqttClientConfig buildClientConfig() {
+        return buildClientConfig(identifier);
+    }
+
+    private @NotNull MqttClientConfig buildClientConfig(final @NotNull MqttClientIdentifierImpl identifier) {
         return new MqttClientConfig(MqttVersion.MQTT_5_0, identifier, serverHost, serverPort, executorConfig, sslConfig,
                 webSocketConfig, advancedConfig);
     }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
+import com.hivemq.client.internal.mqtt.message.disconnect.MqttDisconnect;
+import com.hivemq.client.internal.mqtt.util.MqttChecks;
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5ShardedClient;
+import com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5Connect;
+import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
+import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5Disconnect;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5Subscribe;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
+import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.Mqtt5Unsubscribe;
+import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
+import com.hivemq.client.rx.FlowableWithSingle;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttShardedClient implements Mqtt5ShardedClient {
+
+    private final @NotNull ImmutableList<MqttRxClient> shards;
+
+    MqttShardedClient(final @NotNull ImmutableList<MqttRxClient> shards) {
+        this.shards = shards;
+    }
+
+    @Override
+    public @NotNull ImmutableList<MqttRxClient> getShards() {
+        return shards;
+    }
+
+    @Override
+    public @NotNull MqttRxClient getSubscriptionShard() {
+        return shards.get(0);
+    }
+
+    int getShardIndex(final @NotNull Mqtt5Publish publish) {
+        return Math.floorMod(publish.getTopic().hashCode(), shards.size());
+    }
+
+    @Override
+    public @NotNull Single<Mqtt5ConnAck> connect(final @Nullable Mqtt5Connect connect) {
+        final MqttConnect mqttConnect = MqttChecks.connect(connect);
+
+        final List<Single<Object>> connects = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            // an error is emitted as result, so the outcome is only evaluated when all shards finished connecting
+            connects.add(shards.get(i).connect(mqttConnect).cast(Object.class).onErrorReturn(t -> t));
+        }
+        return Single.zip(connects, results -> results).flatMap(this::onConnected);
+    }
+
+    private @NotNull Single<Mqtt5ConnAck> onConnected(final @NotNull Object[] results) {
+        Throwable error = null;
+        for (final Object result : results) {
+            if (result instanceof Throwable) {
+                error = (Throwable) result;
+                break;
+            }
+        }
+        if (error == null) {
+            return Single.just((Mqtt5ConnAck) results[0]);
+        }
+        // the shards that did connect are disconnected again, so the client is not left partially connected
+        final List<Completable> disconnects = new ArrayList<>(shards.size());
+        for (int i = 0; i < results.length; i++) {
+            if (!(results[i] instanceof Throwable)) {
+                disconnects.add(shards.get(i).disconnect(MqttDisconnect.DEFAULT));
+            }
+        }
+        return Completable.mergeDelayError(disconnects).onErrorComplete().andThen(Single.error(error));
+    }
+
+    @Override
+    public @NotNull Flowable<Mqtt5PublishResult> publish(final @Nullable Flowable<Mqtt5Publish> publishFlowable) {
+        Checks.notNull(publishFlowable, "Publish flowable");
+
+        if (shards.size() == 1) {
+            return shards.get(0).publish(publishFlowable);
+        }
+        return publishFlowable.groupBy(this::getShardIndex)
+                .flatMap(group -> shards.get(group.getKey()).publish(group), shards.size());
+    }
+
+    @Override
+    public @NotNull Single<Mqtt5SubAck> subscribe(final @Nullable Mqtt5Subscribe subscribe) {
+        return getSubscriptionShard().subscribe(subscribe);
+    }
+
+    @Override
+    public @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribeStream(
+            final @Nullable Mqtt5Subscribe subscribe) {
+
+        return getSubscriptionShard().subscribeStream(subscribe);
+    }
+
+    @Override
+    public @NotNull Flowable<Mqtt5Publish> publishes(final @Nullable MqttGlobalPublishFilter filter) {
+        return getSubscriptionShard().publishes(filter);
+    }
+
+    @Override
+    public @NotNull Single<Mqtt5UnsubAck> unsubscribe(final @Nullable Mqtt5Unsubscribe unsubscribe) {
+        return getSubscriptionShard().unsubscribe(unsubscribe);
+    }
+
+    @Override
+    public @NotNull Completable disconnect(final @Nullable Mqtt5Disconnect disconnect) {
+        final MqttDisconnect mqttDisconnect = MqttChecks.disconnect(disconnect);
+
+        final List<Completable> disconnects = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            disconnects.add(shards.get(i).disconnect(mqttDisconnect));
+        }
+        return Completable.mergeDelayError(disconnects);
+    }
+}
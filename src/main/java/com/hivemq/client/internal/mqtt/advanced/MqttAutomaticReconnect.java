@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.advanced;
+
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5AutomaticReconnect;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttAutomaticReconnect implements Mqtt5AutomaticReconnect {
+
+    public static final @NotNull MqttAutomaticReconnect DISABLED = new MqttAutomaticReconnect(0, 0);
+    public static final @NotNull MqttAutomaticReconnect DEFAULT =
+            new MqttAutomaticReconnect(TimeUnit.SECONDS.toNanos(DEFAULT_INITIAL_DELAY),
+                    TimeUnit.SECONDS.toNanos(DEFAULT_MAX_DELAY));
+
+    public static @NotNull MqttAutomaticReconnect exponentialBackoff(
+            final long initialDelay, final long maxDelay, final @Nullable TimeUnit timeUnit) {
+
+        Checks.notNull(timeUnit, "Time unit");
+        if (initialDelay <= 0) {
+            throw new IllegalArgumentException("Initial delay must be greater than 0. Found: " + initialDelay);
+        }
+        if (maxDelay < initialDelay) {
+            throw new IllegalArgumentException(
+                    "Maximum delay must not be smaller than the initial delay " + initialDelay + ". Found: " +
+                            maxDelay);
+        }
+        return new MqttAutomaticReconnect(timeUnit.toNanos(initialDelay), timeUnit.toNanos(maxDelay));
+    }
+
+    private final long initialDelayNanos;
+    private final long maxDelayNanos;
+
+    private MqttAutomaticReconnect(final long initialDelayNanos, final long maxDelayNanos) {
+        this.initialDelayNanos = initialDelayNanos;
+        this.maxDelayNanos = maxDelayNanos;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return initialDelayNanos > 0;
+    }
+
+    @Override
+    public long getInitialDelay(final @NotNull TimeUnit timeUnit) {
+        return timeUnit.convert(initialDelayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public long getMaxDelay(final @NotNull TimeUnit timeUnit) {
+        return timeUnit.convert(maxDelayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Calculates the delay before a reconnect attempt.
+     * <p>
+     * The delay is doubled for every failed attempt and capped at the maximum delay. Up to half of it is subtracted as
+     * jitter.
+     *
+     * @param attempts the amount of already failed reconnect attempts.
+     * @param random   a random value in the range [0, 1) which determines the jitter.
+     * @return the delay in nanoseconds.
+     */
+    public long getDelayNanos(final int attempts, final double random) {
+        final long delay = ((attempts < Long.SIZE - 1) && (initialDelayNanos <= (maxDelayNanos >> attempts))) ?
+                initialDelayNanos << attempts : maxDelayNanos;
+        return delay - (long) ((delay >> 1) * random);
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttAutomaticReconnect)) {
+            return false;
+        }
+        final MqttAutomaticReconnect that = (MqttAutomaticReconnect) o;
+
+        return (initialDelayNanos == that.initialDelayNanos) && (maxDelayNanos == that.maxDelayNanos);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(initialDelayNanos) + Long.hashCode(maxDelayNanos);
+    }
+}
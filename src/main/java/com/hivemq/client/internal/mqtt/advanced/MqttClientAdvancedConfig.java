@@ -29,19 +29,54 @@ import java.util.Objects;
  */
 public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
 
-    public static final @NotNull MqttClientAdvancedConfig DEFAULT = new MqttClientAdvancedConfig(false, false, null);
+    public static final @NotNull MqttClientAdvancedConfig DEFAULT =
+            new MqttClientAdvancedConfig(false, false, null, MqttFlushStrategy.IMMEDIATE, MqttTopicAliasPolicy.DEFAULT,
+                    false, false, false, false, false, false, MqttIncomingQos0Policy.DEFAULT,
+                    MqttIncomingTopicCache.DEFAULT, MqttAutomaticReconnect.DISABLED, MqttTransportConfig.DEFAULT);
 
     private final boolean allowServerReAuth;
     private final boolean validatePayloadFormat;
     private final @Nullable MqttClientInterceptors interceptors;
+    private final @NotNull MqttFlushStrategy flushStrategy;
+    private final @NotNull MqttTopicAliasPolicy topicAliasPolicy;
+    private final boolean zeroCopyPayload;
+    private final boolean directBufferPayload;
+    private final boolean directBufferCorrelationData;
+    private final boolean directBufferAuth;
+    private final boolean compactSubscriptionTree;
+    private final boolean cacheSubscriptionMatches;
+    private final @NotNull MqttIncomingQos0Policy incomingQos0Policy;
+    private final @NotNull MqttIncomingTopicCache incomingTopicCache;
+    private final @NotNull MqttAutomaticReconnect automaticReconnect;
+    private final @NotNull MqttTransportConfig transportConfig;
 
     MqttClientAdvancedConfig(
             final boolean allowServerReAuth, final boolean validatePayloadFormat,
-            final @Nullable MqttClientInterceptors interceptors) {
+            final @Nullable MqttClientInterceptors interceptors, final @NotNull MqttFlushStrategy flushStrategy,
+            final @NotNull MqttTopicAliasPolicy topicAliasPolicy, final boolean zeroCopyPayload,
+            final boolean directBufferPayload, final boolean directBufferCorrelationData,
+            final boolean directBufferAuth, final boolean compactSubscriptionTree,
+            final boolean cacheSubscriptionMatches,
+            final @NotNull MqttIncomingQos0Policy incomingQos0Policy,
+            final @NotNull MqttIncomingTopicCache incomingTopicCache,
+            final @NotNull MqttAutomaticReconnect automaticReconnect,
+            final @NotNull MqttTransportConfig transportConfig) {
 
         this.allowServerReAuth = allowServerReAuth;
         this.validatePayloadFormat = validatePayloadFormat;
         this.interceptors = interceptors;
+        this.flushStrategy = flushStrategy;
+        this.topicAliasPolicy = topicAliasPolicy;
+        this.zeroCopyPayload = zeroCopyPayload;
+        this.directBufferPayload = directBufferPayload;
+        this.directBufferCorrelationData = directBufferCorrelationData;
+        this.directBufferAuth = directBufferAuth;
+        this.compactSubscriptionTree = compactSubscriptionTree;
+        this.cacheSubscriptionMatches = cacheSubscriptionMatches;
+        this.incomingQos0Policy = incomingQos0Policy;
+        this.incomingTopicCache = incomingTopicCache;
+        this.automaticReconnect = automaticReconnect;
+        this.transportConfig = transportConfig;
     }
 
     @Override
@@ -59,6 +94,66 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         return interceptors;
     }
 
+    @Override
+    public @NotNull MqttFlushStrategy getFlushStrategy() {
+        return flushStrategy;
+    }
+
+    @Override
+    public @NotNull MqttTopicAliasPolicy getTopicAliasPolicy() {
+        return topicAliasPolicy;
+    }
+
+    @Override
+    public boolean isZeroCopyPayload() {
+        return zeroCopyPayload;
+    }
+
+    @Override
+    public boolean isDirectBufferPayload() {
+        return directBufferPayload;
+    }
+
+    @Override
+    public boolean isDirectBufferCorrelationData() {
+        return directBufferCorrelationData;
+    }
+
+    @Override
+    public boolean isDirectBufferAuth() {
+        return directBufferAuth;
+    }
+
+    @Override
+    public boolean isCompactSubscriptionTree() {
+        return compactSubscriptionTree;
+    }
+
+    @Override
+    public boolean isCacheSubscriptionMatches() {
+        return cacheSubscriptionMatches;
+    }
+
+    @Override
+    public @NotNull MqttIncomingQos0Policy getIncomingQos0Policy() {
+        return incomingQos0Policy;
+    }
+
+    @Override
+    public @NotNull MqttIncomingTopicCache getIncomingTopicCache() {
+        return incomingTopicCache;
+    }
+
+    @Override
+    public @NotNull MqttAutomaticReconnect getAutomaticReconnect() {
+        return automaticReconnect;
+    }
+
+    @Override
+    public @NotNull MqttTransportConfig getTransportConfig() {
+        return transportConfig;
+    }
+
     @Override
     public boolean equals(final @Nullable Object o) {
         if (this == o) {
@@ -70,7 +165,16 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         final MqttClientAdvancedConfig that = (MqttClientAdvancedConfig) o;
 
         return (allowServerReAuth == that.allowServerReAuth) && (validatePayloadFormat == that.validatePayloadFormat) &&
-                Objects.equals(interceptors, that.interceptors);
+                Objects.equals(interceptors, that.interceptors) && flushStrategy.equals(that.flushStrategy) &&
+                topicAliasPolicy.equals(that.topicAliasPolicy) && (zeroCopyPayload == that.zeroCopyPayload) &&
+                (directBufferPayload == that.directBufferPayload) &&
+                (directBufferCorrelationData == that.directBufferCorrelationData) &&
+                (directBufferAuth == that.directBufferAuth) &&
+                (compactSubscriptionTree == that.compactSubscriptionTree) &&
+                (cacheSubscriptionMatches == that.cacheSubscriptionMatches) &&
+                incomingQos0Policy.equals(that.incomingQos0Policy) &&
+                incomingTopicCache.equals(that.incomingTopicCache) &&
+                automaticReconnect.equals(that.automaticReconnect) && transportConfig.equals(that.transportConfig);
     }
 
     @Override
@@ -78,6 +182,18 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         int result = Boolean.hashCode(allowServerReAuth);
         result = 31 * result + Boolean.hashCode(validatePayloadFormat);
         result = 31 * result + Objects.hashCode(interceptors);
+        result = 31 * result + flushStrategy.hashCode();
+        result = 31 * result + topicAliasPolicy.hashCode();
+        result = 31 * result + Boolean.hashCode(zeroCopyPayload);
+        result = 31 * result + Boolean.hashCode(directBufferPayload);
+        result = 31 * result + Boolean.hashCode(directBufferCorrelationData);
+        result = 31 * result + Boolean.hashCode(directBufferAuth);
+        result = 31 * result + Boolean.hashCode(compactSubscriptionTree);
+        result = 31 * result + Boolean.hashCode(cacheSubscriptionMatches);
+        result = 31 * result + incomingQos0Policy.hashCode();
+        result = 31 * result + incomingTopicCache.hashCode();
+        result = 31 * result + automaticReconnect.hashCode();
+        result = 31 * result + transportConfig.hashCode();
         return result;
     }
 }
@@ -20,7 +20,13 @@ package com.hivemq.client.internal.mqtt.advanced;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptorsBuilder;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5AutomaticReconnect;
 import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfigBuilder;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5FlushStrategy;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingQos0Policy;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingTopicCache;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5TopicAliasPolicy;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5TransportConfig;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -35,6 +41,18 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
     private boolean allowServerReAuth;
     private boolean validatePayloadFormat;
     private @Nullable MqttClientInterceptors interceptors;
+    private @NotNull MqttFlushStrategy flushStrategy = MqttFlushStrategy.IMMEDIATE;
+    private @NotNull MqttTopicAliasPolicy topicAliasPolicy = MqttTopicAliasPolicy.DEFAULT;
+    private boolean zeroCopyPayload;
+    private boolean directBufferPayload;
+    private boolean directBufferCorrelationData;
+    private boolean directBufferAuth;
+    private boolean compactSubscriptionTree;
+    private boolean cacheSubscriptionMatches;
+    private @NotNull MqttIncomingQos0Policy incomingQos0Policy = MqttIncomingQos0Policy.DEFAULT;
+    private @NotNull MqttIncomingTopicCache incomingTopicCache = MqttIncomingTopicCache.DEFAULT;
+    private @NotNull MqttAutomaticReconnect automaticReconnect = MqttAutomaticReconnect.DISABLED;
+    private @NotNull MqttTransportConfig transportConfig = MqttTransportConfig.DEFAULT;
 
     MqttClientAdvancedConfigBuilder() {}
 
@@ -42,6 +60,18 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
         allowServerReAuth = advancedConfig.isAllowServerReAuth();
         validatePayloadFormat = advancedConfig.isValidatePayloadFormat();
         interceptors = advancedConfig.getInterceptors();
+        flushStrategy = advancedConfig.getFlushStrategy();
+        topicAliasPolicy = advancedConfig.getTopicAliasPolicy();
+        zeroCopyPayload = advancedConfig.isZeroCopyPayload();
+        directBufferPayload = advancedConfig.isDirectBufferPayload();
+        directBufferCorrelationData = advancedConfig.isDirectBufferCorrelationData();
+        directBufferAuth = advancedConfig.isDirectBufferAuth();
+        compactSubscriptionTree = advancedConfig.isCompactSubscriptionTree();
+        cacheSubscriptionMatches = advancedConfig.isCacheSubscriptionMatches();
+        incomingQos0Policy = advancedConfig.getIncomingQos0Policy();
+        incomingTopicCache = advancedConfig.getIncomingTopicCache();
+        automaticReconnect = advancedConfig.getAutomaticReconnect();
+        transportConfig = advancedConfig.getTransportConfig();
     }
 
     abstract @NotNull B self();
@@ -65,8 +95,79 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
         return new MqttClientInterceptorsBuilder.Nested<>(interceptors, this::interceptors);
     }
 
+    public @NotNull B flushStrategy(final @Nullable Mqtt5FlushStrategy flushStrategy) {
+        this.flushStrategy = Checks.notImplemented(flushStrategy, MqttFlushStrategy.class, "Flush strategy");
+        return self();
+    }
+
+    public @NotNull B topicAliasPolicy(final @Nullable Mqtt5TopicAliasPolicy topicAliasPolicy) {
+        this.topicAliasPolicy =
+                Checks.notImplemented(topicAliasPolicy, MqttTopicAliasPolicy.class, "Topic alias policy");
+        return self();
+    }
+
+    public @NotNull B zeroCopyPayload(final boolean zeroCopyPayload) {
+        this.zeroCopyPayload = zeroCopyPayload;
+        return self();
+    }
+
+    public @NotNull B directBufferPayload(final boolean directBufferPayload) {
+        this.directBufferPayload = directBufferPayload;
+        return self();
+    }
+
+    public @NotNull B directBufferCorrelationData(final boolean directBufferCorrelationData) {
+        this.directBufferCorrelationData = directBufferCorrelationData;
+        return self();
+    }
+
+    public @NotNull B directBufferAuth(final boolean directBufferAuth) {
+        this.directBufferAuth = directBufferAuth;
+        return self();
+    }
+
+    public @NotNull B compactSubscriptionTree(final boolean compactSubscriptionTree) {
+        this.compactSubscriptionTree = compactSubscriptionTree;
+        return self();
+    }
+
+    public @NotNull B cacheSubscriptionMatches(final boolean cacheSubscriptionMatches) {
+        this.cacheSubscriptionMatches = cacheSubscriptionMatches;
+        return self();
+    }
+
+    public @NotNull B incomingQos0Policy(final @Nullable Mqtt5IncomingQos0Policy incomingQos0Policy) {
+        this.incomingQos0Policy =
+                Checks.notImplemented(incomingQos0Policy, MqttIncomingQos0Policy.class, "Incoming QoS 0 policy");
+        return self();
+    }
+
+    public @NotNull B incomingTopicCache(final @Nullable Mqtt5IncomingTopicCache incomingTopicCache) {
+        this.incomingTopicCache =
+                Checks.notImplemented(incomingTopicCache, MqttIncomingTopicCache.class, "Incoming topic cache");
+        return self();
+    }
+
+    public @NotNull B automaticReconnect(final @Nullable Mqtt5AutomaticReconnect automaticReconnect) {
+        this.automaticReconnect =
+                Checks.notImplemented(automaticReconnect, MqttAutomaticReconnect.class, "Automatic reconnect");
+        return self();
+    }
+
+    public @NotNull B transportConfig(final @Nullable Mqtt5TransportConfig transportConfig) {
+        this.transportConfig = Checks.notImplemented(transportConfig, MqttTransportConfig.class, "Transport config");
+        return self();
+    }
+
+    public @NotNull MqttTransportConfigBuilder.Nested<B> transportConfig() {
+        return new MqttTransportConfigBuilder.Nested<>(transportConfig, this::transportConfig);
+    }
+
     public @NotNull MqttClientAdvancedConfig build() {
-        return new MqttClientAdvancedConfig(allowServerReAuth, validatePayloadFormat, interceptors);
+        return new MqttClientAdvancedConfig(allowServerReAuth, validatePayloadFormat, interceptors, flushStrategy,
+                topicAliasPolicy, zeroCopyPayload, directBufferPayload, directBufferCorrelationData, directBufferAuth,
+                compactSubscriptionTree, cacheSubscriptionMatches, incomingQos0Policy, incomingTopicCache,
+                automaticReconnect, transportConfig);
     }
 
     public static class Default extends MqttClientAdvancedConfigBuilder<Default>
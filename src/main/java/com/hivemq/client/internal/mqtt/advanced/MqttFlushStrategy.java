@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.advanced;
+
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5FlushStrategy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttFlushStrategy implements Mqtt5FlushStrategy {
+
+    public static final @NotNull MqttFlushStrategy IMMEDIATE = new MqttFlushStrategy(Type.IMMEDIATE, 0);
+    public static final @NotNull MqttFlushStrategy WRITABILITY = new MqttFlushStrategy(Type.WRITABILITY, 0);
+
+    public static @NotNull MqttFlushStrategy batch(final int packets) {
+        if (packets <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than 0. Found: " + packets);
+        }
+        return (packets == 1) ? IMMEDIATE : new MqttFlushStrategy(Type.BATCH, packets);
+    }
+
+    public static @NotNull MqttFlushStrategy interval(final long interval, final @Nullable TimeUnit timeUnit) {
+        Checks.notNull(timeUnit, "Time unit");
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Flush interval must be greater than 0. Found: " + interval);
+        }
+        return new MqttFlushStrategy(Type.INTERVAL, timeUnit.toNanos(interval));
+    }
+
+    public enum Type {
+        IMMEDIATE,
+        BATCH,
+        INTERVAL,
+        WRITABILITY
+    }
+
+    private final @NotNull Type type;
+    private final long value;
+
+    private MqttFlushStrategy(final @NotNull Type type, final long value) {
+        this.type = type;
+        this.value = value;
+    }
+
+    public @NotNull Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the batch size if the type is {@link Type#BATCH}, the interval in nanoseconds if the type is {@link
+     *         Type#INTERVAL}, otherwise 0.
+     */
+    public long getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttFlushStrategy)) {
+            return false;
+        }
+        final MqttFlushStrategy that = (MqttFlushStrategy) o;
+
+        return (type == that.type) && (value == that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * type.hashCode() + Long.hashCode(value);
+    }
+}
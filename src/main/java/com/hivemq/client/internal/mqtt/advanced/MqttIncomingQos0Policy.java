@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.advanced;
+
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingQos0Policy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttIncomingQos0Policy implements Mqtt5IncomingQos0Policy {
+
+    private static final int CAPACITY_RECEIVE_MAXIMUM = 0;
+
+    public static final @NotNull MqttIncomingQos0Policy DEFAULT =
+            new MqttIncomingQos0Policy(Type.DROP_OLDEST, CAPACITY_RECEIVE_MAXIMUM);
+
+    public static @NotNull MqttIncomingQos0Policy dropOldest(final int capacity) {
+        return new MqttIncomingQos0Policy(Type.DROP_OLDEST, checkCapacity(capacity));
+    }
+
+    public static @NotNull MqttIncomingQos0Policy dropNewest(final int capacity) {
+        return new MqttIncomingQos0Policy(Type.DROP_NEWEST, checkCapacity(capacity));
+    }
+
+    public static @NotNull MqttIncomingQos0Policy coalesceByTopic(final int capacity) {
+        return new MqttIncomingQos0Policy(Type.COALESCE_BY_TOPIC, checkCapacity(capacity));
+    }
+
+    private static int checkCapacity(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0. Found: " + capacity);
+        }
+        return capacity;
+    }
+
+    public enum Type {
+        DROP_OLDEST,
+        DROP_NEWEST,
+        COALESCE_BY_TOPIC
+    }
+
+    private final @NotNull Type type;
+    private final int capacity;
+
+    private MqttIncomingQos0Policy(final @NotNull Type type, final int capacity) {
+        this.type = type;
+        this.capacity = capacity;
+    }
+
+    public @NotNull Type getType() {
+        return type;
+    }
+
+    /**
+     * @param receiveMaximum the receive maximum of the connection.
+     * @return the maximum amount of buffered QoS 0 Publish messages, the receive maximum if no capacity was configured.
+     */
+    public int getCapacity(final int receiveMaximum) {
+        return (capacity == CAPACITY_RECEIVE_MAXIMUM) ? receiveMaximum : capacity;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttIncomingQos0Policy)) {
+            return false;
+        }
+        final MqttIncomingQos0Policy that = (MqttIncomingQos0Policy) o;
+
+        return (type == that.type) && (capacity == that.capacity);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * type.hashCode() + capacity;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.advanced;
+
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingTopicCache;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttIncomingTopicCache implements Mqtt5IncomingTopicCache {
+
+    public static final @NotNull MqttIncomingTopicCache DEFAULT = new MqttIncomingTopicCache(DEFAULT_CAPACITY);
+    public static final @NotNull MqttIncomingTopicCache DISABLED = new MqttIncomingTopicCache(0);
+
+    public static @NotNull MqttIncomingTopicCache of(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0. Found: " + capacity);
+        }
+        return new MqttIncomingTopicCache(capacity);
+    }
+
+    private final int capacity;
+
+    private MqttIncomingTopicCache(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    public boolean isEnabled() {
+        return capacity > 0;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttIncomingTopicCache)) {
+            return false;
+        }
+        final MqttIncomingTopicCache that = (MqttIncomingTopicCache) o;
+
+        return capacity == that.capacity;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(capacity);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.advanced;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.*;
+import com.hivemq.client.internal.mqtt.util.MqttChecks;
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.datatypes.MqttTopic;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5TopicAliasPolicy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttTopicAliasPolicy implements Mqtt5TopicAliasPolicy {
+
+    public static final @NotNull MqttTopicAliasPolicy DEFAULT = adaptive();
+
+    public static @NotNull MqttTopicAliasPolicy adaptive() {
+        return new MqttTopicAliasPolicy(Type.ADAPTIVE, ImmutableList.of());
+    }
+
+    public static @NotNull MqttTopicAliasPolicy leastRecentlyUsed() {
+        return new MqttTopicAliasPolicy(Type.LEAST_RECENTLY_USED, ImmutableList.of());
+    }
+
+    public static @NotNull MqttTopicAliasPolicy leastFrequentlyUsed() {
+        return new MqttTopicAliasPolicy(Type.LEAST_FREQUENTLY_USED, ImmutableList.of());
+    }
+
+    public static @NotNull MqttTopicAliasPolicy pinned(final @Nullable Collection<? extends MqttTopic> topics) {
+        Checks.notNull(topics, "Topics");
+        final ImmutableList.Builder<MqttTopicImpl> builder = ImmutableList.builder(topics.size());
+        for (final MqttTopic topic : topics) {
+            builder.add(MqttChecks.topic(topic));
+        }
+        return new MqttTopicAliasPolicy(Type.PINNED, builder.build());
+    }
+
+    public enum Type {
+        ADAPTIVE,
+        LEAST_RECENTLY_USED,
+        LEAST_FREQUENTLY_USED,
+        PINNED
+    }
+
+    private final @NotNull Type type;
+    private final @NotNull ImmutableList<MqttTopicImpl> topics;
+
+    private MqttTopicAliasPolicy(final @NotNull Type type, final @NotNull ImmutableList<MqttTopicImpl> topics) {
+        this.type = type;
+        this.topics = topics;
+    }
+
+    public @NotNull Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the topics that get a topic alias if the type is {@link Type#PINNED}, otherwise an empty list.
+     */
+    public @NotNull ImmutableList<MqttTopicImpl> getTopics() {
+        return topics;
+    }
+
+    /**
+     * Creates the mapping of topics to topic aliases for a single connection.
+     *
+     * @param topicAliasMaximum the topic alias maximum of the connection.
+     * @return the created mapping or <code>null</code> if the topic alias maximum is 0.
+     */
+    public @Nullable MqttTopicAliasMapping createMapping(final int topicAliasMaximum) {
+        if (topicAliasMaximum == 0) {
+            return null;
+        }
+        switch (type) {
+            case LEAST_RECENTLY_USED:
+                return new MqttTopicAliasLruMapping(topicAliasMaximum);
+            case LEAST_FREQUENTLY_USED:
+                return new MqttTopicAliasLfuMapping(topicAliasMaximum);
+            case PINNED:
+                return new MqttTopicAliasPinnedMapping(topicAliasMaximum, topics);
+            default:
+                return new MqttTopicAliasAutoMapping(topicAliasMaximum);
+        }
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttTopicAliasPolicy)) {
+            return false;
+        }
+        final MqttTopicAliasPolicy that = (MqttTopicAliasPolicy) o;
+
+        return (type == that.type) && topics.equals(that.topics);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = type.hashCode();
+        result = 31 * result + topics.hashCode();
+        return result;
+    }
+}
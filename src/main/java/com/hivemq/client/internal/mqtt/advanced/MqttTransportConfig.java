@@ -0,0 +1,162 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.advanced;
+
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5TransportConfig;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttTransportConfig implements Mqtt5TransportConfig {
+
+    public static final @NotNull MqttTransportConfig DEFAULT =
+            new MqttTransportConfig(DEFAULT_SOCKET_BUFFER_SIZE, DEFAULT_SOCKET_BUFFER_SIZE,
+                    DEFAULT_WRITE_BUFFER_LOW_WATER_MARK, DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK,
+                    DEFAULT_MIN_READ_BUFFER_SIZE, DEFAULT_INITIAL_READ_BUFFER_SIZE, DEFAULT_MAX_READ_BUFFER_SIZE, true,
+                    DEFAULT_CONNECT_TIMEOUT_MS, DEFAULT_HEAP_PAYLOAD_WRAP_THRESHOLD);
+
+    private final int sendBufferSize;
+    private final int receiveBufferSize;
+    private final int writeBufferLowWaterMark;
+    private final int writeBufferHighWaterMark;
+    private final int minReadBufferSize;
+    private final int initialReadBufferSize;
+    private final int maxReadBufferSize;
+    private final boolean directBuffers;
+    private final int connectTimeoutMs;
+    private final int heapPayloadWrapThreshold;
+
+    MqttTransportConfig(
+            final int sendBufferSize, final int receiveBufferSize, final int writeBufferLowWaterMark,
+            final int writeBufferHighWaterMark, final int minReadBufferSize, final int initialReadBufferSize,
+            final int maxReadBufferSize, final boolean directBuffers, final int connectTimeoutMs,
+            final int heapPayloadWrapThreshold) {
+
+        this.sendBufferSize = sendBufferSize;
+        this.receiveBufferSize = receiveBufferSize;
+        this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+        this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+        this.minReadBufferSize = minReadBufferSize;
+        this.initialReadBufferSize = initialReadBufferSize;
+        this.maxReadBufferSize = maxReadBufferSize;
+        this.directBuffers = directBuffers;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.heapPayloadWrapThreshold = heapPayloadWrapThreshold;
+    }
+
+    @Override
+    public int getSendBufferSize() {
+        return sendBufferSize;
+    }
+
+    @Override
+    public int getReceiveBufferSize() {
+        return receiveBufferSize;
+    }
+
+    @Override
+    public int getWriteBufferLowWaterMark() {
+        return writeBufferLowWaterMark;
+    }
+
+    @Override
+    public int getWriteBufferHighWaterMark() {
+        return writeBufferHighWaterMark;
+    }
+
+    @Override
+    public int getMinReadBufferSize() {
+        return minReadBufferSize;
+    }
+
+    @Override
+    public int getInitialReadBufferSize() {
+        return initialReadBufferSize;
+    }
+
+    @Override
+    public int getMaxReadBufferSize() {
+        return maxReadBufferSize;
+    }
+
+    @Override
+    public boolean isDirectBuffers() {
+        return directBuffers;
+    }
+
+    @Override
+    public int getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    @Override
+    public int getHeapPayloadWrapThreshold() {
+        return heapPayloadWrapThreshold;
+    }
+
+    public @NotNull ByteBufAllocator getAllocator() {
+        return directBuffers ? ByteBufAllocator.DEFAULT : HeapAllocatorHolder.INSTANCE;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttTransportConfig)) {
+            return false;
+        }
+        final MqttTransportConfig that = (MqttTransportConfig) o;
+
+        return (sendBufferSize == that.sendBufferSize) && (receiveBufferSize == that.receiveBufferSize) &&
+                (writeBufferLowWaterMark == that.writeBufferLowWaterMark) &&
+                (writeBufferHighWaterMark == that.writeBufferHighWaterMark) &&
+                (minReadBufferSize == that.minReadBufferSize) &&
+                (initialReadBufferSize == that.initialReadBufferSize) &&
+                (maxReadBufferSize == that.maxReadBufferSize) && (directBuffers == that.directBuffers) &&
+                (connectTimeoutMs == that.connectTimeoutMs) &&
+                (heapPayloadWrapThreshold == that.heapPayloadWrapThreshold);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = sendBufferSize;
+        result = 31 * result + receiveBufferSize;
+        result = 31 * result + writeBufferLowWaterMark;
+        result = 31 * result + writeBufferHighWaterMark;
+        result = 31 * result + minReadBufferSize;
+        result = 31 * result + initialReadBufferSize;
+        result = 31 * result + maxReadBufferSize;
+        result = 31 * result + Boolean.hashCode(directBuffers);
+        result = 31 * result + connectTimeoutMs;
+        result = 31 * result + heapPayloadWrapThreshold;
+        return result;
+    }
+
+    /**
+     * Pooled heap allocator shared by all clients that do not use direct buffers, created on first use.
+     */
+    private static class HeapAllocatorHolder {
+
+        static final @NotNull ByteBufAllocator INSTANCE = new PooledByteBufAllocator(false);
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.advanced;
+
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5TransportConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5TransportConfigBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * @author Silvio Giebl
+ */
+public abstract class MqttTransportConfigBuilder<B extends MqttTransportConfigBuilder<B>> {
+
+    private int sendBufferSize = Mqtt5TransportConfig.DEFAULT_SOCKET_BUFFER_SIZE;
+    private int receiveBufferSize = Mqtt5TransportConfig.DEFAULT_SOCKET_BUFFER_SIZE;
+    private int writeBufferLowWaterMark = Mqtt5TransportConfig.DEFAULT_WRITE_BUFFER_LOW_WATER_MARK;
+    private int writeBufferHighWaterMark = Mqtt5TransportConfig.DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK;
+    private int minReadBufferSize = Mqtt5TransportConfig.DEFAULT_MIN_READ_BUFFER_SIZE;
+    private int initialReadBufferSize = Mqtt5TransportConfig.DEFAULT_INITIAL_READ_BUFFER_SIZE;
+    private int maxReadBufferSize = Mqtt5TransportConfig.DEFAULT_MAX_READ_BUFFER_SIZE;
+    private boolean directBuffers = true;
+    private int connectTimeoutMs = Mqtt5TransportConfig.DEFAULT_CONNECT_TIMEOUT_MS;
+    private int heapPayloadWrapThreshold = Mqtt5TransportConfig.DEFAULT_HEAP_PAYLOAD_WRAP_THRESHOLD;
+
+    MqttTransportConfigBuilder() {}
+
+    MqttTransportConfigBuilder(final @NotNull MqttTransportConfig transportConfig) {
+        sendBufferSize = transportConfig.getSendBufferSize();
+        receiveBufferSize = transportConfig.getReceiveBufferSize();
+        writeBufferLowWaterMark = transportConfig.getWriteBufferLowWaterMark();
+        writeBufferHighWaterMark = transportConfig.getWriteBufferHighWaterMark();
+        minReadBufferSize = transportConfig.getMinReadBufferSize();
+        initialReadBufferSize = transportConfig.getInitialReadBufferSize();
+        maxReadBufferSize = transportConfig.getMaxReadBufferSize();
+        directBuffers = transportConfig.isDirectBuffers();
+        connectTimeoutMs = transportConfig.getConnectTimeoutMs();
+        heapPayloadWrapThreshold = transportConfig.getHeapPayloadWrapThreshold();
+    }
+
+    abstract @NotNull B self();
+
+    public @NotNull B sendBufferSize(final int sendBufferSize) {
+        this.sendBufferSize = notNegative(sendBufferSize, "Send buffer size");
+        return self();
+    }
+
+    public @NotNull B receiveBufferSize(final int receiveBufferSize) {
+        this.receiveBufferSize = notNegative(receiveBufferSize, "Receive buffer size");
+        return self();
+    }
+
+    public @NotNull B writeBufferWaterMark(final int low, final int high) {
+        notNegative(low, "Write buffer low water mark");
+        if (high < low) {
+            throw new IllegalArgumentException(
+                    "Write buffer high water mark must not be smaller than the low water mark " + low + ". Found: " +
+                            high);
+        }
+        writeBufferLowWaterMark = low;
+        writeBufferHighWaterMark = high;
+        return self();
+    }
+
+    public @NotNull B readBufferSize(final int min, final int initial, final int max) {
+        if (min <= 0) {
+            throw new IllegalArgumentException("Minimum read buffer size must be greater than 0. Found: " + min);
+        }
+        if ((initial < min) || (max < initial)) {
+            throw new IllegalArgumentException(
+                    "Read buffer sizes must satisfy minimum <= initial <= maximum. Found: " + min + ", " + initial +
+                            ", " + max);
+        }
+        minReadBufferSize = min;
+        initialReadBufferSize = initial;
+        maxReadBufferSize = max;
+        return self();
+    }
+
+    public @NotNull B directBuffers(final boolean directBuffers) {
+        this.directBuffers = directBuffers;
+        return self();
+    }
+
+    public @NotNull B connectTimeout(final long timeout, final @Nullable TimeUnit timeUnit) {
+        Checks.notNull(timeUnit, "Time unit");
+        final long timeoutMs = TimeUnit.MILLISECONDS.convert(timeout, timeUnit);
+        if ((timeoutMs < 0) || (timeoutMs > Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException(
+                    "Connect timeout must be in the range [0, " + Integer.MAX_VALUE + "] ms. Found: " + timeoutMs +
+                            " ms");
+        }
+        connectTimeoutMs = (int) timeoutMs;
+        return self();
+    }
+
+    public @NotNull B heapPayloadWrapThreshold(final int heapPayloadWrapThreshold) {
+        this.heapPayloadWrapThreshold = notNegative(heapPayloadWrapThreshold, "Heap payload wrap threshold");
+        return self();
+    }
+
+    private static int notNegative(final int value, final @NotNull String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " must not be negative. Found: " + value);
+        }
+        return value;
+    }
+
+    public @NotNull MqttTransportConfig build() {
+        return new MqttTransportConfig(sendBufferSize, receiveBufferSize, writeBufferLowWaterMark,
+                writeBufferHighWaterMark, minReadBufferSize, initialReadBufferSize, maxReadBufferSize, directBuffers,
+                connectTimeoutMs, heapPayloadWrapThreshold);
+    }
+
+    public static class Default extends MqttTransportConfigBuilder<Default> implements Mqtt5TransportConfigBuilder {
+
+        public Default() {}
+
+        @Override
+        @NotNull Default self() {
+            return this;
+        }
+    }
+
+    public static class Nested<P> extends MqttTransportConfigBuilder<Nested<P>>
+            implements Mqtt5TransportConfigBuilder.Nested<P> {
+
+        private final @NotNull Function<? super MqttTransportConfig, P> parentConsumer;
+
+        public Nested(
+                final @NotNull MqttTransportConfig transportConfig,
+                final @NotNull Function<? super MqttTransportConfig, P> parentConsumer) {
+
+            super(transportConfig);
+            this.parentConsumer = parentConsumer;
+        }
+
+        @Override
+        @NotNull Nested<P> self() {
+            return this;
+        }
+
+        @Override
+        public @NotNull P applyTransportConfig() {
+            return parentConsumer.apply(build());
+        }
+    }
+}
@@ -18,6 +18,7 @@
 package com.hivemq.client.internal.mqtt.advanced.interceptor;
 
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
+import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.connect.Mqtt5ReconnectInterceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5IncomingQos1Interceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5OutgoingQos1Interceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos2.Mqtt5IncomingQos2Interceptor;
@@ -35,17 +36,20 @@ public class MqttClientInterceptors implements Mqtt5ClientInterceptors {
     private final @Nullable Mqtt5OutgoingQos1Interceptor outgoingQos1Interceptor;
     private final @Nullable Mqtt5IncomingQos2Interceptor incomingQos2Interceptor;
     private final @Nullable Mqtt5OutgoingQos2Interceptor outgoingQos2Interceptor;
+    private final @Nullable Mqtt5ReconnectInterceptor reconnectInterceptor;
 
     MqttClientInterceptors(
             final @Nullable Mqtt5IncomingQos1Interceptor incomingQos1Interceptor,
             final @Nullable Mqtt5OutgoingQos1Interceptor outgoingQos1Interceptor,
             final @Nullable Mqtt5IncomingQos2Interceptor incomingQos2Interceptor,
-            final @Nullable Mqtt5OutgoingQos2Interceptor outgoingQos2Interceptor) {
+            final @Nullable Mqtt5OutgoingQos2Interceptor outgoingQos2Interceptor,
+            final @Nullable Mqtt5ReconnectInterceptor reconnectInterceptor) {
 
         this.incomingQos1Interceptor = incomingQos1Interceptor;
         this.outgoingQos1Interceptor = outgoingQos1Interceptor;
         this.incomingQos2Interceptor = incomingQos2Interceptor;
         this.outgoingQos2Interceptor = outgoingQos2Interceptor;
+        this.reconnectInterceptor = reconnectInterceptor;
     }
 
     @Override
@@ -68,6 +72,11 @@ public class MqttClientInterceptors implements Mqtt5ClientInterceptors {
         return outgoingQos2Interceptor;
     }
 
+    @Override
+    public @Nullable Mqtt5ReconnectInterceptor getReconnectInterceptor() {
+        return reconnectInterceptor;
+    }
+
     @Override
     public boolean equals(final @Nullable Object o) {
         if (this == o) {
@@ -81,7 +90,8 @@ public class MqttClientInterceptors implements Mqtt5ClientInterceptors {
         return Objects.equals(incomingQos1Interceptor, that.incomingQos1Interceptor) &&
                 Objects.equals(outgoingQos1Interceptor, that.outgoingQos1Interceptor) &&
                 Objects.equals(incomingQos2Interceptor, that.incomingQos2Interceptor) &&
-                Objects.equals(outgoingQos2Interceptor, that.outgoingQos2Interceptor);
+                Objects.equals(outgoingQos2Interceptor, that.outgoingQos2Interceptor) &&
+                Objects.equals(reconnectInterceptor, that.reconnectInterceptor);
     }
 
     @Override
@@ -90,6 +100,7 @@ public class MqttClientInterceptors implements Mqtt5ClientInterceptors {
         result = 31 * result + Objects.hashCode(outgoingQos1Interceptor);
         result = 31 * result + Objects.hashCode(incomingQos2Interceptor);
         result = 31 * result + Objects.hashCode(outgoingQos2Interceptor);
+        result = 31 * result + Objects.hashCode(reconnectInterceptor);
         return result;
     }
 }
@@ -18,6 +18,7 @@
 package com.hivemq.client.internal.mqtt.advanced.interceptor;
 
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptorsBuilder;
+import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.connect.Mqtt5ReconnectInterceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5IncomingQos1Interceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5OutgoingQos1Interceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos2.Mqtt5IncomingQos2Interceptor;
@@ -36,6 +37,7 @@ public abstract class MqttClientInterceptorsBuilder<B extends MqttClientIntercep
     private @Nullable Mqtt5OutgoingQos1Interceptor outgoingQos1Interceptor;
     private @Nullable Mqtt5IncomingQos2Interceptor incomingQos2Interceptor;
     private @Nullable Mqtt5OutgoingQos2Interceptor outgoingQos2Interceptor;
+    private @Nullable Mqtt5ReconnectInterceptor reconnectInterceptor;
 
     MqttClientInterceptorsBuilder() {}
 
@@ -45,6 +47,7 @@ public abstract class MqttClientInterceptorsBuilder<B extends MqttClientIntercep
             outgoingQos1Interceptor = interceptors.getOutgoingQos1Interceptor();
             incomingQos2Interceptor = interceptors.getIncomingQos2Interceptor();
             outgoingQos2Interceptor = interceptors.getOutgoingQos2Interceptor();
+            reconnectInterceptor = interceptors.getReconnectInterceptor();
         }
     }
 
@@ -70,9 +73,14 @@ public abstract class MqttClientInterceptorsBuilder<B extends MqttClientIntercep
         return self();
     }
 
+    public @NotNull B reconnectInterceptor(final @Nullable Mqtt5ReconnectInterceptor reconnectInterceptor) {
+        this.reconnectInterceptor = reconnectInterceptor;
+        return self();
+    }
+
     public @NotNull MqttClientInterceptors build() {
         return new MqttClientInterceptors(incomingQos1Interceptor, outgoingQos1Interceptor, incomingQos2Interceptor,
-                outgoingQos2Interceptor);
+                outgoingQos2Interceptor, reconnectInterceptor);
     }
 
     public static class Default extends MqttClientInterceptorsBuilder<Default>
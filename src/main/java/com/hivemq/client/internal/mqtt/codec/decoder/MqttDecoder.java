@@ -18,6 +18,7 @@
 package com.hivemq.client.internal.mqtt.codec.decoder;
 
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
@@ -30,6 +31,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 import java.util.List;
@@ -56,9 +58,16 @@ public class MqttDecoder extends ByteToMessageDecoder {
 
         this.decoders = decoders;
         final MqttConnectRestrictions restrictions = connect.getRestrictions();
+        final MqttClientAdvancedConfig advancedConfig = clientConfig.getAdvancedConfig();
         context = new MqttDecoderContext(restrictions.getMaximumPacketSize(), restrictions.getTopicAliasMaximum(),
                 restrictions.isRequestProblemInformation(), restrictions.isRequestResponseInformation(),
-                clientConfig.getAdvancedConfig().isValidatePayloadFormat(), false, false, false);
+                advancedConfig.isValidatePayloadFormat(), advancedConfig.isDirectBufferPayload(),
+                advancedConfig.isDirectBufferAuth(), advancedConfig.isDirectBufferCorrelationData(),
+                advancedConfig.isZeroCopyPayload(), advancedConfig.getIncomingTopicCache());
+    }
+
+    public @Nullable MqttTopicCache getTopicCache() {
+        return context.getTopicCache();
     }
 
     @Override
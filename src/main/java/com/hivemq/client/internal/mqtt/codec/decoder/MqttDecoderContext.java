@@ -17,8 +17,10 @@
 
 package com.hivemq.client.internal.mqtt.codec.decoder;
 
+import com.hivemq.client.internal.mqtt.advanced.MqttIncomingTopicCache;
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.internal.util.collections.IntMap;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -28,18 +30,21 @@ public class MqttDecoderContext {
 
     private final int maximumPacketSize;
     private final @Nullable IntMap<MqttTopicImpl> topicAliasMapping;
+    private final @Nullable MqttTopicCache topicCache;
     private final boolean problemInformationRequested;
     private final boolean responseInformationRequested;
     private final boolean validatePayloadFormat;
     private final boolean directBufferPayload;
     private final boolean directBufferAuth;
     private final boolean directBufferCorrelationData;
+    private final boolean zeroCopyPayload;
 
     MqttDecoderContext(
             final int maximumPacketSize, final int topicAliasMaximum, final boolean problemInformationRequested,
             final boolean responseInformationRequested, final boolean validatePayloadFormat,
             final boolean directBufferPayload, final boolean directBufferAuth,
-            final boolean directBufferCorrelationData) {
+            final boolean directBufferCorrelationData, final boolean zeroCopyPayload,
+            final @NotNull MqttIncomingTopicCache incomingTopicCache) {
 
         this.maximumPacketSize = maximumPacketSize;
         this.topicAliasMapping = (topicAliasMaximum == 0) ? null : IntMap.range(1, topicAliasMaximum);
@@ -49,6 +54,8 @@ public class MqttDecoderContext {
         this.directBufferPayload = directBufferPayload;
         this.directBufferAuth = directBufferAuth;
         this.directBufferCorrelationData = directBufferCorrelationData;
+        this.zeroCopyPayload = zeroCopyPayload;
+        topicCache = incomingTopicCache.isEnabled() ? new MqttTopicCache(incomingTopicCache.getCapacity()) : null;
     }
 
     public int getMaximumPacketSize() {
@@ -59,6 +66,10 @@ public class MqttDecoderContext {
         return topicAliasMapping;
     }
 
+    public @Nullable MqttTopicCache getTopicCache() {
+        return topicCache;
+    }
+
     public boolean isProblemInformationRequested() {
         return problemInformationRequested;
     }
@@ -82,4 +93,8 @@ public class MqttDecoderContext {
     public boolean useDirectBufferCorrelationData() {
         return directBufferCorrelationData;
     }
+
+    public boolean useZeroCopyPayload() {
+        return zeroCopyPayload;
+    }
 }
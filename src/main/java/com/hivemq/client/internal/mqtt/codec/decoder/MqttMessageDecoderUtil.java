@@ -17,10 +17,12 @@
 
 package com.hivemq.client.internal.mqtt.codec.decoder;
 
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
 import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0;
 
@@ -66,6 +68,13 @@ public final class MqttMessageDecoderUtil {
         return qos;
     }
 
+    public static @Nullable MqttTopicImpl decodePublishTopic(
+            final @NotNull ByteBuf in, final @NotNull MqttDecoderContext context) {
+
+        final MqttTopicCache topicCache = context.getTopicCache();
+        return (topicCache == null) ? MqttTopicImpl.decode(in) : topicCache.decode(in);
+    }
+
     public static int decodePublishPacketIdentifier(final @NotNull MqttQos qos, final @NotNull ByteBuf in)
             throws MqttDecoderException {
 
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder;
+
+import com.hivemq.client.internal.annotations.NotThreadSafe;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Cache for the Topic Names of incoming PUBLISH packets of one connection.
+ * <p>
+ * The lookup copies the Topic Name into a reused scratch array and hashes and compares it there, so a hit neither
+ * allocates nor validates.
+ * <p>
+ * The cache is 4-way set associative: each hash maps to a set of 4 entries that is ordered from the most to the least
+ * recently used entry. The least recently used entry of the set is evicted if a new Topic Name is added.
+ * <p>
+ * The counters are written only by the thread that decodes, but may be read by any thread.
+ *
+ * @author Silvio Giebl
+ */
+@NotThreadSafe
+public class MqttTopicCache {
+
+    private static final int WAYS = 4;
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+
+    private final @NotNull Entry[] table;
+    private final int setShift;
+    private @NotNull byte[] scratch = new byte[64];
+    private volatile long hits;
+    private volatile long misses;
+    private volatile long evictions;
+
+    public MqttTopicCache(final int capacity) {
+        final int tableSize = tableSize(capacity);
+        table = new Entry[tableSize];
+        setShift = Integer.numberOfLeadingZeros(tableSize / WAYS) + 1;
+    }
+
+    private static int tableSize(final int capacity) {
+        if (capacity >= MAX_TABLE_SIZE) {
+            return MAX_TABLE_SIZE;
+        }
+        return Math.max(WAYS, Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    /**
+     * Decodes a Topic Name from the given byte buffer at the current reader index, reusing the cached Topic Name if
+     * the same bytes were decoded before.
+     * <p>
+     * In case of a wrong encoding the reader index of the byte buffer will be in an undefined state after the method
+     * returns.
+     *
+     * @param byteBuf the byte buffer with the UTF-8 encoded data to decode from.
+     * @return the Topic Name or <code>null</code> if the byte buffer does not contain a valid Topic Name.
+     */
+    public @Nullable MqttTopicImpl decode(final @NotNull ByteBuf byteBuf) {
+        if (byteBuf.readableBytes() < 2) {
+            return null;
+        }
+        final int length = byteBuf.readUnsignedShort();
+        if (byteBuf.readableBytes() < length) {
+            return null;
+        }
+        byte[] scratch = this.scratch;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length << 1)];
+            this.scratch = scratch;
+        }
+        byteBuf.readBytes(scratch, 0, length);
+        final int hash = hash(scratch, length);
+        final int index = setIndex(hash);
+
+        for (int i = index, end = index + WAYS; i < end; i++) {
+            final Entry entry = table[i];
+            if (entry == null) {
+                break;
+            }
+            if (entry.matches(hash, scratch, length)) {
+                System.arraycopy(table, index, table, index + 1, i - index);
+                table[index] = entry;
+                //noinspection NonAtomicOperationOnVolatileField
+                hits++;
+                return entry.topic;
+            }
+        }
+
+        //noinspection NonAtomicOperationOnVolatileField
+        misses++;
+        final byte[] binary = Arrays.copyOf(scratch, length);
+        final MqttTopicImpl topic = MqttTopicImpl.of(binary);
+        if (topic == null) {
+            return null;
+        }
+        if (table[index + WAYS - 1] != null) {
+            //noinspection NonAtomicOperationOnVolatileField
+            evictions++;
+        }
+        System.arraycopy(table, index, table, index + 1, WAYS - 1);
+        table[index] = new Entry(hash, binary, topic);
+        return topic;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    private static int hash(final @NotNull byte[] scratch, final int length) {
+        // 4 independent lanes, a single multiply-add chain over all bytes is limited by the latency of the multiply
+        int h0 = 0, h1 = 0, h2 = 0, h3 = 0;
+        int i = 0;
+        for (final int end = length - 3; i < end; i += 4) {
+            h0 = 31 * h0 + scratch[i];
+            h1 = 31 * h1 + scratch[i + 1];
+            h2 = 31 * h2 + scratch[i + 2];
+            h3 = 31 * h3 + scratch[i + 3];
+        }
+        int hash = ((31 * h0 + h1) * 31 + h2) * 31 + h3;
+        for (; i < length; i++) {
+            hash = 31 * hash + scratch[i];
+        }
+        return hash;
+    }
+
+    private int setIndex(final int hash) {
+        // fibonacci hashing, uses the upper bits as the lower bits of similar topics are similar
+        return (int) (((hash * 0x9E3779B9) & 0xFFFF_FFFFL) >>> setShift) * WAYS;
+    }
+
+    private static class Entry {
+
+        final int hash;
+        final @NotNull byte[] binary;
+        final @NotNull MqttTopicImpl topic;
+
+        Entry(final int hash, final @NotNull byte[] binary, final @NotNull MqttTopicImpl topic) {
+            this.hash = hash;
+            this.binary = binary;
+            this.topic = topic;
+        }
+
+        boolean matches(final int hash, final @NotNull byte[] scratch, final int length) {
+            if ((this.hash != hash) || (binary.length != length)) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (binary[i] != scratch[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -60,7 +60,7 @@ public class Mqtt3PublishDecoder implements MqttMessageDecoder {
             throw remainingLengthTooShort();
         }
 
-        final MqttTopicImpl topic = MqttTopicImpl.decode(in);
+        final MqttTopicImpl topic = decodePublishTopic(in, context);
         if (topic == null) {
             throw malformedTopic();
         }
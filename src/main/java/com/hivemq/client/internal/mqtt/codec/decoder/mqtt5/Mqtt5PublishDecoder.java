@@ -21,9 +21,9 @@ import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderContext;
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderException;
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttMessageDecoder;
 import com.hivemq.client.internal.mqtt.datatypes.*;
+import com.hivemq.client.internal.mqtt.message.publish.MqttByteBufPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
-import com.hivemq.client.internal.util.ByteBufferUtil;
 import com.hivemq.client.internal.util.Utf8Util;
 import com.hivemq.client.internal.util.collections.ImmutableIntList;
 import com.hivemq.client.internal.util.collections.ImmutableList;
@@ -68,13 +68,11 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
             throw remainingLengthTooShort();
         }
 
-        final byte[] topicBinary = MqttBinaryData.decode(in);
-        if (topicBinary == null) {
-            throw malformedTopic();
-        }
         MqttTopicImpl topic = null;
-        if (topicBinary.length != 0) {
-            topic = MqttTopicImpl.of(topicBinary);
+        if (in.getUnsignedShort(in.readerIndex()) == 0) {
+            in.skipBytes(MqttBinaryData.EMPTY_LENGTH);
+        } else {
+            topic = decodePublishTopic(in, context);
             if (topic == null) {
                 throw malformedTopic();
             }
@@ -197,23 +195,32 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
 
         final int payloadLength = in.readableBytes();
         ByteBuffer payload = null;
+        ByteBuf payloadBuffer = null;
         if (payloadLength > 0) {
-            payload = ByteBufferUtil.allocate(payloadLength, context.useDirectBufferPayload());
-            in.readBytes(payload);
-            payload.position(0);
-
             if ((payloadFormatIndicator == Mqtt5PayloadFormatIndicator.UTF_8) && context.validatePayloadFormat() &&
-                    (Utf8Util.isWellFormed(ByteBufferUtil.getBytes(payload)) != 0)) {
+                    (Utf8Util.isWellFormed(in, in.readerIndex(), payloadLength) != 0)) {
                 throw new MqttDecoderException(Mqtt5DisconnectReasonCode.PAYLOAD_FORMAT_INVALID,
                         "payload is not valid UTF-8");
             }
+            if (context.useZeroCopyPayload()) {
+                payloadBuffer = in.readRetainedSlice(payloadLength);
+            } else if (context.useDirectBufferPayload()) {
+                payloadBuffer = in.alloc().directBuffer(payloadLength, payloadLength);
+                in.readBytes(payloadBuffer, payloadLength);
+            } else {
+                payload = ByteBuffer.allocate(payloadLength);
+                in.readBytes(payload);
+                payload.position(0);
+            }
         }
 
         final MqttUserPropertiesImpl userProperties = MqttUserPropertiesImpl.build(userPropertiesBuilder);
 
-        final MqttPublish publish =
+        final MqttPublish publish = (payloadBuffer == null) ?
                 new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
-                        responseTopic, correlationData, userProperties);
+                        responseTopic, correlationData, userProperties) :
+                new MqttByteBufPublish(topic, payloadBuffer, qos, retain, messageExpiryInterval,
+                        payloadFormatIndicator, contentType, responseTopic, correlationData, userProperties);
 
         final ImmutableIntList subscriptionIdentifiers =
                 (subscriptionIdentifiersBuilder == null) ? DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS :
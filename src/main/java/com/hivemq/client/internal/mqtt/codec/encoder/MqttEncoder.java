@@ -17,11 +17,14 @@
 
 package com.hivemq.client.internal.mqtt.codec.encoder;
 
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientSslConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttTransportConfig;
+import com.hivemq.client.internal.mqtt.handler.ssl.SslUtil;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
 import com.hivemq.client.internal.mqtt.message.MqttMessage;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
@@ -43,9 +46,14 @@ public class MqttEncoder extends ChannelOutboundHandlerAdapter {
     private final @NotNull MqttEncoderContext context;
 
     @Inject
-    MqttEncoder(final @NotNull MqttMessageEncoders encoders) {
+    MqttEncoder(final @NotNull MqttMessageEncoders encoders, final @NotNull MqttClientConfig clientConfig) {
         this.encoders = encoders;
-        context = new MqttEncoderContext(ByteBufAllocator.DEFAULT);
+        final MqttTransportConfig transportConfig = clientConfig.getAdvancedConfig().getTransportConfig();
+        final MqttClientSslConfigImpl sslConfig = clientConfig.getRawSslConfig();
+        // the JDK SSL engine encrypts heap buffers directly, OpenSSL and the plain transport copy them to direct memory
+        context = new MqttEncoderContext(transportConfig.getAllocator(),
+                ((sslConfig == null) || SslUtil.isOpenSsl(sslConfig)) ? MqttEncoderContext.NO_HEAP_PAYLOAD_WRAP :
+                        transportConfig.getHeapPayloadWrapThreshold());
     }
 
     public void onConnected(final @NotNull MqttClientConnectionConfig connectionConfig) {
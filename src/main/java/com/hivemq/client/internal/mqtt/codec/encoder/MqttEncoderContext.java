@@ -21,22 +21,43 @@ import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
 import io.netty.buffer.ByteBufAllocator;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.ByteBuffer;
+
 /**
  * @author Silvio Giebl
  */
 public class MqttEncoderContext {
 
+    public static final int NO_HEAP_PAYLOAD_WRAP = Integer.MAX_VALUE;
+
     private final @NotNull ByteBufAllocator allocator;
+    private final int heapPayloadWrapThreshold;
     private int maximumPacketSize = MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT;
 
-    MqttEncoderContext(final @NotNull ByteBufAllocator allocator) {
+    MqttEncoderContext(final @NotNull ByteBufAllocator allocator, final int heapPayloadWrapThreshold) {
         this.allocator = allocator;
+        this.heapPayloadWrapThreshold = heapPayloadWrapThreshold;
     }
 
     public @NotNull ByteBufAllocator getAllocator() {
         return allocator;
     }
 
+    /**
+     * Returns whether the given payload is wrapped in the encoded byte buffer instead of being copied.
+     * <p>
+     * Direct payloads are always wrapped. Heap payloads are only wrapped if they reach the threshold: the NIO transport
+     * copies non-direct buffers into a direct buffer before writing, so wrapping only saves a copy if another handler,
+     * e.g. the JDK SSL engine, consumes heap buffers directly. Otherwise the threshold is {@link
+     * #NO_HEAP_PAYLOAD_WRAP}.
+     *
+     * @param payload the payload.
+     * @return whether the payload is wrapped.
+     */
+    public boolean wrapPayload(final @NotNull ByteBuffer payload) {
+        return payload.isDirect() || (payload.remaining() >= heapPayloadWrapThreshold);
+    }
+
     public int getMaximumPacketSize() {
         return maximumPacketSize;
     }
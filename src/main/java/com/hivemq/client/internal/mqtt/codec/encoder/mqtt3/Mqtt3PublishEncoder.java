@@ -68,11 +68,12 @@ public class Mqtt3PublishEncoder extends Mqtt3MessageEncoder<MqttStatefulPublish
             final int encodedLength, final int remainingLength) {
 
         final ByteBuffer payload = message.stateless().getRawPayload();
-        if ((payload != null) && payload.isDirect()) {
+        if ((payload != null) && context.wrapPayload(payload)) {
             final int encodedLengthWithoutPayload = encodedLength - payload.remaining();
             final ByteBuf out =
                     context.getAllocator().ioBuffer(encodedLengthWithoutPayload, encodedLengthWithoutPayload);
-            encode(message, out, remainingLength);
+            encodeFixedHeader(message, out, remainingLength);
+            encodeVariableHeader(message, out);
             return Unpooled.wrappedUnmodifiableBuffer(out, Unpooled.wrappedBuffer(payload));
         }
         final ByteBuf out = context.getAllocator().ioBuffer(encodedLength, encodedLength);
@@ -118,7 +119,7 @@ public class Mqtt3PublishEncoder extends Mqtt3MessageEncoder<MqttStatefulPublish
 
     private void encodePayload(final @NotNull MqttStatefulPublish message, final @NotNull ByteBuf out) {
         final ByteBuffer payload = message.stateless().getRawPayload();
-        if ((payload != null) && !payload.isDirect()) {
+        if (payload != null) {
             out.writeBytes(payload.duplicate());
         }
     }
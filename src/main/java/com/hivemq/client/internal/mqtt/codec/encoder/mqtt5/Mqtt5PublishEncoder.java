@@ -108,11 +108,12 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
             final int encodedLength, final int remainingLength, final int propertyLength, final int omittedProperties) {
 
         final ByteBuffer payload = message.stateless().getRawPayload();
-        if ((payload != null) && payload.isDirect()) {
+        if ((payload != null) && context.wrapPayload(payload)) {
             final int encodedLengthWithoutPayload = encodedLength - payload.remaining();
             final ByteBuf out =
                     context.getAllocator().ioBuffer(encodedLengthWithoutPayload, encodedLengthWithoutPayload);
-            encode(message, out, remainingLength, propertyLength, omittedProperties);
+            encodeFixedHeader(message, out, remainingLength);
+            encodeVariableHeader(message, out, propertyLength, omittedProperties);
             return Unpooled.wrappedUnmodifiableBuffer(out, Unpooled.wrappedBuffer(payload));
         }
         final ByteBuf out = context.getAllocator().ioBuffer(encodedLength, encodedLength);
@@ -197,7 +198,7 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
 
     private void encodePayload(final @NotNull MqttStatefulPublish message, final @NotNull ByteBuf out) {
         final ByteBuffer payload = message.stateless().getRawPayload();
-        if ((payload != null) && !payload.isDirect()) {
+        if (payload != null) {
             out.writeBytes(payload.duplicate());
         }
     }
@@ -19,6 +19,7 @@ package com.hivemq.client.internal.mqtt.datatypes;
 
 import com.hivemq.client.annotations.Immutable;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.Utf8Util;
 import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.datatypes.MqttTopic;
 import io.netty.buffer.ByteBuf;
@@ -83,8 +84,17 @@ public class MqttTopicImpl extends MqttUtf8StringImpl implements MqttTopic {
      * @return the created Topic Name or <code>null</code> if the byte buffer does not contain a valid Topic Name.
      */
     public static @Nullable MqttTopicImpl decode(final @NotNull ByteBuf byteBuf) {
-        final byte[] binary = MqttBinaryData.decode(byteBuf);
-        return (binary == null) ? null : of(binary);
+        if (byteBuf.readableBytes() < 2) {
+            return null;
+        }
+        final int length = byteBuf.readUnsignedShort();
+        if ((length == 0) || (byteBuf.readableBytes() < length) ||
+                isWellFormed(byteBuf, byteBuf.readerIndex(), length)) {
+            return null;
+        }
+        final byte[] binary = new byte[length];
+        byteBuf.readBytes(binary);
+        return new MqttTopicImpl(binary);
     }
 
     /**
@@ -100,6 +110,21 @@ public class MqttTopicImpl extends MqttUtf8StringImpl implements MqttTopic {
         return MqttUtf8StringImpl.isWellFormed(binary) || containsWildcardCharacters(binary);
     }
 
+    /**
+     * Same function as {@link #isWellFormed(byte[])}, but checks the given range of the byte buffer without copying it.
+     *
+     * @param byteBuf the byte buffer with UTF-8 encoded data.
+     * @param index   the start index of the range.
+     * @param length  the length of the range.
+     * @return whether the range does not represent a well-formed Topic Name.
+     * @see #isWellFormed(byte[])
+     */
+    static boolean isWellFormed(final @NotNull ByteBuf byteBuf, final int index, final int length) {
+        return MqttUtf8StringImpl.isWellFormed(byteBuf, index, length) ||
+                Utf8Util.containsAscii(byteBuf, index, length, MqttTopicFilterImpl.MULTI_LEVEL_WILDCARD,
+                        MqttTopicFilterImpl.SINGLE_LEVEL_WILDCARD);
+    }
+
     /**
      * Checks if the given UTF-16 encoded Java string is a well-formed Topic Name according to the MQTT specification.
      *
@@ -72,6 +72,10 @@ public class MqttTopicLevel extends ByteArray.Range {
         return new ByteArray(Arrays.copyOfRange(array, start, end));
     }
 
+    public @NotNull byte[] toArray() {
+        return Arrays.copyOfRange(array, start, end);
+    }
+
     public @NotNull MqttTopicLevel fork() {
         return new MqttTopicLevel(array, start, end);
     }
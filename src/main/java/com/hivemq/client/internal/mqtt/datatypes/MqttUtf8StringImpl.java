@@ -118,8 +118,16 @@ public class MqttUtf8StringImpl implements MqttUtf8String {
      *         encoded string.
      */
     public static @Nullable MqttUtf8StringImpl decode(final @NotNull ByteBuf byteBuf) {
-        final byte[] binary = MqttBinaryData.decode(byteBuf);
-        return (binary == null) ? null : of(binary);
+        if (byteBuf.readableBytes() < 2) {
+            return null;
+        }
+        final int length = byteBuf.readUnsignedShort();
+        if ((byteBuf.readableBytes() < length) || isWellFormed(byteBuf, byteBuf.readerIndex(), length)) {
+            return null;
+        }
+        final byte[] binary = new byte[length];
+        byteBuf.readBytes(binary);
+        return new MqttUtf8StringImpl(binary);
     }
 
     /**
@@ -150,6 +158,20 @@ public class MqttUtf8StringImpl implements MqttUtf8String {
         return false;
     }
 
+    /**
+     * Same function as {@link #isWellFormed(byte[])}, but checks the given range of the byte buffer without copying it.
+     *
+     * @param byteBuf the byte buffer with UTF-8 encoded data.
+     * @param index   the start index of the range.
+     * @param length  the length of the range.
+     * @return whether the range does not represent a well-formed UTF-8 encoded string.
+     * @see #isWellFormed(byte[])
+     */
+    static boolean isWellFormed(final @NotNull ByteBuf byteBuf, final int index, final int length) {
+        return (Utf8Util.isWellFormed(byteBuf, index, length) != 0) ||
+                Utf8Util.containsAscii(byteBuf, index, length, '\u0000', '\u0000');
+    }
+
     /**
      * Checks if the given UTF-16 encoded Java string is a well-formed UTF-8 encoded string according to the MQTT
      * specification, so
@@ -283,7 +305,7 @@ public class MqttUtf8StringImpl implements MqttUtf8String {
      *
      * @return the UTF-8 encoded byte array.
      */
-    @NotNull byte[] toBinary() {
+    public @NotNull byte[] toBinary() {
         byte[] binary = this.binary;
         if (binary == null) {
             final String string = this.string;
@@ -19,15 +19,18 @@ package com.hivemq.client.internal.mqtt.handler;
 
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientSslConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttFlushStrategy;
 import com.hivemq.client.internal.mqtt.codec.encoder.MqttEncoder;
 import com.hivemq.client.internal.mqtt.handler.auth.MqttAuthHandler;
 import com.hivemq.client.internal.mqtt.handler.connect.MqttConnAckFlow;
 import com.hivemq.client.internal.mqtt.handler.connect.MqttConnAckSingle;
 import com.hivemq.client.internal.mqtt.handler.connect.MqttConnectHandler;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectHandler;
+import com.hivemq.client.internal.mqtt.handler.flush.MqttFlushHandler;
 import com.hivemq.client.internal.mqtt.handler.ssl.SslUtil;
 import com.hivemq.client.internal.mqtt.handler.websocket.MqttWebSocketInitializer;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
+import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.mqtt.MqttWebSocketConfig;
 import dagger.Lazy;
 import io.netty.channel.Channel;
@@ -44,7 +47,7 @@ import java.net.URISyntaxException;
  * <ul>
  * <li>the SSL handlers (optional)</li>
  * <li>the WebSocket handlers (optional)</li>
- * <li>the basic MQTT handlers: Encoder, AuthHandler, ConnectHandler, DisconnectHandler</li>
+ * <li>the basic MQTT handlers: FlushHandler (optional), Encoder, AuthHandler, ConnectHandler, DisconnectHandler</li>
  * </ul>
  *
  * @author Silvio Giebl
@@ -54,6 +57,7 @@ import java.net.URISyntaxException;
 public class MqttChannelInitializer extends ChannelInitializer<Channel> {
 
     private final @NotNull MqttClientConfig clientConfig;
+    private final @NotNull MqttConnect connect;
     private final @NotNull MqttConnAckFlow connAckFlow;
 
     private final @NotNull MqttEncoder encoder;
@@ -65,12 +69,14 @@ public class MqttChannelInitializer extends ChannelInitializer<Channel> {
 
     @Inject
     MqttChannelInitializer(
-            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttConnAckFlow connAckFlow,
-            final @NotNull MqttEncoder encoder, final @NotNull MqttConnectHandler connectHandler,
-            final @NotNull MqttDisconnectHandler disconnectHandler, final @NotNull MqttAuthHandler authHandler,
+            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttConnect connect,
+            final @NotNull MqttConnAckFlow connAckFlow, final @NotNull MqttEncoder encoder,
+            final @NotNull MqttConnectHandler connectHandler, final @NotNull MqttDisconnectHandler disconnectHandler,
+            final @NotNull MqttAuthHandler authHandler,
             final @NotNull Lazy<MqttWebSocketInitializer> webSocketInitializer) {
 
         this.clientConfig = clientConfig;
+        this.connect = connect;
         this.connAckFlow = connAckFlow;
         this.encoder = encoder;
         this.connectHandler = connectHandler;
@@ -94,6 +100,10 @@ public class MqttChannelInitializer extends ChannelInitializer<Channel> {
     }
 
     public void initMqtt(final @NotNull Channel channel) {
+        final MqttFlushStrategy flushStrategy = clientConfig.getAdvancedConfig().getFlushStrategy();
+        if (flushStrategy.getType() != MqttFlushStrategy.Type.IMMEDIATE) {
+            channel.pipeline().addLast(MqttFlushHandler.NAME, new MqttFlushHandler(flushStrategy));
+        }
         channel.pipeline()
                 .addLast(MqttEncoder.NAME, encoder)
                 .addLast(MqttAuthHandler.NAME, authHandler)
@@ -110,7 +120,7 @@ public class MqttChannelInitializer extends ChannelInitializer<Channel> {
     private void initSsl(final @NotNull Channel channel, final @NotNull MqttClientSslConfigImpl sslConfig)
             throws SSLException {
 
-        SslUtil.initChannel(channel, sslConfig);
+        SslUtil.initChannel(channel, sslConfig, clientConfig.getServerHost(), clientConfig.getServerPort());
     }
 
     @Override
@@ -119,7 +129,7 @@ public class MqttChannelInitializer extends ChannelInitializer<Channel> {
             ctx.pipeline().remove(MqttDisconnectHandler.NAME);
         }
         ctx.close();
-        MqttConnAckSingle.onError(clientConfig, connAckFlow, cause);
+        MqttConnAckSingle.onError(clientConfig, connect, connAckFlow, cause);
         clientConfig.releaseEventLoop();
     }
 }
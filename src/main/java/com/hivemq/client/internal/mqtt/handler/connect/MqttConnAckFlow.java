@@ -21,22 +21,37 @@ import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
 import io.reactivex.SingleObserver;
 import io.reactivex.disposables.Disposable;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * @author Silvio Giebl
  */
 public class MqttConnAckFlow implements Disposable {
 
-    private final @NotNull SingleObserver<? super Mqtt5ConnAck> observer;
+    private final @Nullable SingleObserver<? super Mqtt5ConnAck> observer;
+    private final int attempts;
     private boolean error;
     private volatile boolean disposed;
 
     MqttConnAckFlow(final @NotNull SingleObserver<? super Mqtt5ConnAck> observer) {
         this.observer = observer;
+        attempts = 0;
+    }
+
+    /**
+     * Creates a flow for an automatic reconnect attempt which is not observed by the user.
+     *
+     * @param attempts the amount of already failed reconnect attempts.
+     */
+    MqttConnAckFlow(final int attempts) {
+        observer = null;
+        this.attempts = attempts;
     }
 
     public void onSuccess(final @NotNull Mqtt5ConnAck t) {
-        observer.onSuccess(t);
+        if (observer != null) {
+            observer.onSuccess(t);
+        }
     }
 
     public boolean onError(final @NotNull Throwable t) {
@@ -44,10 +59,20 @@ public class MqttConnAckFlow implements Disposable {
             return false;
         }
         error = true;
-        observer.onError(t);
+        if (observer != null) {
+            observer.onError(t);
+        }
         return true;
     }
 
+    public boolean isReconnect() {
+        return observer == null;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
     @Override
     public void dispose() {
         disposed = true;
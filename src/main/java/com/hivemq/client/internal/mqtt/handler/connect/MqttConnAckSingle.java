@@ -52,6 +52,13 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
         final MqttConnAckFlow flow = new MqttConnAckFlow(observer);
         observer.onSubscribe(flow);
 
+        connect(clientConfig, connect, flow);
+    }
+
+    static void connect(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttConnect connect,
+            final @NotNull MqttConnAckFlow flow) {
+
         final Bootstrap bootstrap = clientConfig.getClientComponent()
                 .connectionComponentBuilder()
                 .connect(connect)
@@ -61,17 +68,24 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
 
         bootstrap.connect(clientConfig.getServerHost(), clientConfig.getServerPort()).addListener(future -> {
             if (!future.isSuccess()) {
-                onError(clientConfig, flow, future.cause());
+                onError(clientConfig, connect, flow, future.cause());
             }
         });
     }
 
     public static void onError(
-            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttConnAckFlow flow,
-            final @NotNull Throwable cause) {
+            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttConnect connect,
+            final @NotNull MqttConnAckFlow flow, final @NotNull Throwable cause) {
 
         if (flow.onError(new ConnectionFailedException(cause))) {
-            clientConfig.getRawState().set(MqttClientState.DISCONNECTED);
+            if (!flow.isReconnect()) {
+                clientConfig.getRawState().set(MqttClientState.DISCONNECTED);
+            } else if (!clientConfig.getClientComponent()
+                    .reconnector()
+                    .reconnect(MqttClientState.CONNECTING_RECONNECT, connect, flow.getAttempts() + 1, cause)) {
+                clientConfig.getRawState()
+                        .compareAndSet(MqttClientState.CONNECTING_RECONNECT, MqttClientState.DISCONNECTED);
+            }
         }
     }
 }
@@ -177,7 +177,14 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
                 channel.pipeline().addAfter(MqttDecoder.NAME, MqttPingHandler.NAME, new MqttPingHandler(keepAlive));
             }
 
-            clientConfig.getRawState().set(MqttClientState.CONNECTED);
+            if (!connAckFlow.isReconnect()) {
+                clientConfig.getRawState().set(MqttClientState.CONNECTED);
+            } else if (!clientConfig.getRawState()
+                    .compareAndSet(MqttClientState.CONNECTING_RECONNECT, MqttClientState.CONNECTED)) {
+                MqttDisconnectUtil.disconnect(
+                        channel, Mqtt5DisconnectReasonCode.NORMAL_DISCONNECTION, "Reconnect was cancelled");
+                return;
+            }
             connAckFlow.onSuccess(connAck);
         }
     }
@@ -260,7 +267,8 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
                 restrictions.isRequestResponseInformation(),
                 Math.min(restrictions.getSendMaximum(), connAckRestrictions.getReceiveMaximum()),
                 Math.min(restrictions.getSendMaximumPacketSize(), connAckRestrictions.getMaximumPacketSize()),
-                Math.min(restrictions.getSendTopicAliasMaximum(), connAckRestrictions.getTopicAliasMaximum()),
+                clientConfig.getAdvancedConfig().getTopicAliasPolicy().createMapping(
+                        Math.min(restrictions.getSendTopicAliasMaximum(), connAckRestrictions.getTopicAliasMaximum())),
                 connAckRestrictions.getMaximumQos(),
                 connAckRestrictions.isRetainAvailable(),
                 connAckRestrictions.isWildcardSubscriptionAvailable(),
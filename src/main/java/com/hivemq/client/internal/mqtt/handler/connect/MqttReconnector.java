@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.connect;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttAutomaticReconnect;
+import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
+import com.hivemq.client.internal.mqtt.ioc.ClientScope;
+import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.connect.Mqtt5ReconnectInterceptor;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Inject;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules automatic reconnects with exponential backoff and jitter on the event loop of the client.
+ * <p>
+ * While a reconnect is scheduled the client is {@link MqttClientState#DISCONNECTED_RECONNECT} and while the attempt is
+ * in progress {@link MqttClientState#CONNECTING_RECONNECT}. The session is not ended by a reconnect, so subscriptions
+ * and queued Publish messages stay attached as long as the session does not expire.
+ *
+ * @author Silvio Giebl
+ */
+@ClientScope
+public class MqttReconnector {
+
+    private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttReconnector.class);
+
+    private final @NotNull MqttClientConfig clientConfig;
+    private volatile @Nullable ScheduledFuture<?> future;
+
+    @Inject
+    MqttReconnector(final @NotNull MqttClientConfig clientConfig) {
+        this.clientConfig = clientConfig;
+    }
+
+    /**
+     * Schedules a reconnect attempt if automatic reconnects are enabled.
+     *
+     * @param state    the state the client must be in, either {@link MqttClientState#CONNECTED} if an established
+     *                 connection was lost or {@link MqttClientState#CONNECTING_RECONNECT} if a reconnect attempt
+     *                 failed.
+     * @param connect  the Connect message of the lost connection or the failed attempt.
+     * @param attempts the amount of already failed reconnect attempts.
+     * @param cause    the cause why the connection was lost or the attempt failed.
+     * @return whether a reconnect attempt was scheduled. If not, the caller is responsible for the state of the client.
+     */
+    @CallByThread("Netty EventLoop")
+    public boolean reconnect(
+            final @NotNull MqttClientState state, final @NotNull MqttConnect connect, final int attempts,
+            final @NotNull Throwable cause) {
+
+        final MqttAutomaticReconnect automaticReconnect = clientConfig.getAdvancedConfig().getAutomaticReconnect();
+        if (!automaticReconnect.isEnabled() ||
+                !clientConfig.getRawState().compareAndSet(state, MqttClientState.DISCONNECTED_RECONNECT)) {
+            return false;
+        }
+        final long delay = automaticReconnect.getDelayNanos(attempts, ThreadLocalRandom.current().nextDouble());
+        // the event loop is acquired until the attempt starts as the channel releases it when it is unregistered
+        future = clientConfig.acquireEventLoop().schedule(() -> {
+            future = null;
+            attempt(connect, attempts, cause);
+            clientConfig.releaseEventLoop();
+        }, delay, TimeUnit.NANOSECONDS);
+        return true;
+    }
+
+    /**
+     * Cancels a scheduled reconnect attempt.
+     *
+     * @return whether the client was {@link MqttClientState#DISCONNECTED_RECONNECT} or {@link
+     *         MqttClientState#CONNECTING_RECONNECT} and is now {@link MqttClientState#DISCONNECTED}.
+     */
+    public boolean cancel() {
+        if (clientConfig.getRawState().compareAndSet(MqttClientState.DISCONNECTED_RECONNECT,
+                MqttClientState.DISCONNECTED)) {
+            final ScheduledFuture<?> future = this.future;
+            if ((future != null) && future.cancel(false)) {
+                this.future = null;
+                clientConfig.releaseEventLoop();
+            }
+            return true;
+        }
+        // an attempt in progress is disconnected when its ConnAck is received
+        return clientConfig.getRawState().compareAndSet(MqttClientState.CONNECTING_RECONNECT,
+                MqttClientState.DISCONNECTED);
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void attempt(final @NotNull MqttConnect connect, final int attempts, final @NotNull Throwable cause) {
+        if (clientConfig.getState() != MqttClientState.DISCONNECTED_RECONNECT) {
+            return;
+        }
+        final MqttConnect resumeConnect = connect.isCleanStart() ? connect.extend().cleanStart(false).build() : connect;
+        final MqttConnect reconnect = intercept(resumeConnect, attempts, cause);
+        if (reconnect == null) {
+            clientConfig.getRawState().compareAndSet(MqttClientState.DISCONNECTED_RECONNECT,
+                    MqttClientState.DISCONNECTED);
+            return;
+        }
+        if (clientConfig.getRawState().compareAndSet(MqttClientState.DISCONNECTED_RECONNECT,
+                MqttClientState.CONNECTING_RECONNECT)) {
+            MqttConnAckSingle.connect(clientConfig, reconnect, new MqttConnAckFlow(attempts));
+        }
+    }
+
+    private @Nullable MqttConnect intercept(
+            final @NotNull MqttConnect connect, final int attempts, final @NotNull Throwable cause) {
+
+        final MqttClientInterceptors interceptors = clientConfig.getAdvancedConfig().getInterceptors();
+        if (interceptors == null) {
+            return connect;
+        }
+        final Mqtt5ReconnectInterceptor interceptor = interceptors.getReconnectInterceptor();
+        if (interceptor == null) {
+            return connect;
+        }
+        try {
+            return Checks.notImplementedOrNull(
+                    interceptor.onReconnect(clientConfig, connect, attempts, cause), MqttConnect.class, "Connect");
+        } catch (final Throwable t) {
+            LOGGER.error("Unexpected exception thrown by reconnect interceptor, reconnecting is stopped.", t);
+            return null;
+        }
+    }
+}
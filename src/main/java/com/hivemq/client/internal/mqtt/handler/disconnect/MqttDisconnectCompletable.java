@@ -47,7 +47,11 @@ public class MqttDisconnectCompletable extends Completable {
     protected void subscribeActual(final @NotNull CompletableObserver s) {
         final MqttClientConnectionConfig connectionConfig = clientConfig.getRawConnectionConfig();
         if (connectionConfig == null) {
-            EmptyDisposable.error(MqttClientStateExceptions.notConnected(), s);
+            if (clientConfig.getClientComponent().reconnector().cancel()) {
+                EmptyDisposable.complete(s);
+            } else {
+                EmptyDisposable.error(MqttClientStateExceptions.notConnected(), s);
+            }
             return;
         }
         final Channel channel = connectionConfig.getChannel();
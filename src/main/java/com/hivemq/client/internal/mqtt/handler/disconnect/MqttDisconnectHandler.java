@@ -23,7 +23,10 @@ import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
 import com.hivemq.client.internal.mqtt.handler.MqttConnectionAwareHandler;
 import com.hivemq.client.internal.mqtt.handler.MqttSession;
+import com.hivemq.client.internal.mqtt.handler.connect.MqttConnAckFlow;
+import com.hivemq.client.internal.mqtt.handler.connect.MqttReconnector;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
+import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.disconnect.MqttDisconnect;
 import com.hivemq.client.internal.rx.CompletableFlow;
 import com.hivemq.client.mqtt.MqttClientState;
@@ -36,6 +39,7 @@ import io.netty.channel.ChannelHandlerContext;
 import org.jetbrains.annotations.NotNull;
 
 import javax.inject.Inject;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil.fireDisconnectEvent;
 
@@ -56,12 +60,22 @@ public class MqttDisconnectHandler extends MqttConnectionAwareHandler {
 
     private final @NotNull MqttClientConfig clientConfig;
     private final @NotNull MqttSession session;
+    private final @NotNull MqttConnect connect;
+    private final @NotNull MqttConnAckFlow connAckFlow;
+    private final @NotNull MqttReconnector reconnector;
     private boolean once = true;
 
     @Inject
-    MqttDisconnectHandler(final @NotNull MqttClientConfig clientConfig, final @NotNull MqttSession session) {
+    MqttDisconnectHandler(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttSession session,
+            final @NotNull MqttConnect connect, final @NotNull MqttConnAckFlow connAckFlow,
+            final @NotNull MqttReconnector reconnector) {
+
         this.clientConfig = clientConfig;
         this.session = session;
+        this.connect = connect;
+        this.connAckFlow = connAckFlow;
+        this.reconnector = reconnector;
     }
 
     @Override
@@ -129,7 +143,7 @@ public class MqttDisconnectHandler extends MqttConnectionAwareHandler {
         session.expire(disconnectEvent.getCause(), ctx.channel().eventLoop());
 
         clientConfig.setConnectionConfig(null);
-        clientConfig.getRawState().set(MqttClientState.DISCONNECTED);
+        updateState(disconnectEvent);
 
         if (disconnectEvent.fromClient()) {
             final MqttDisconnect disconnect = disconnectEvent.getDisconnect();
@@ -157,6 +171,24 @@ public class MqttDisconnectHandler extends MqttConnectionAwareHandler {
         }
     }
 
+    private void updateState(final @NotNull MqttDisconnectEvent disconnectEvent) {
+        final AtomicReference<MqttClientState> rawState = clientConfig.getRawState();
+        final MqttClientState state = rawState.get();
+        final boolean ownState =
+                (state == MqttClientState.CONNECTED) || (state == MqttClientState.CONNECTING_RECONNECT);
+        if (ownState && !(disconnectEvent instanceof MqttDisconnectEvent.ByUser)) {
+            final int attempts = (state == MqttClientState.CONNECTED) ? 0 : connAckFlow.getAttempts() + 1;
+            if (reconnector.reconnect(state, connect, attempts, disconnectEvent.getCause())) {
+                return;
+            }
+        }
+        if (!connAckFlow.isReconnect()) {
+            rawState.set(MqttClientState.DISCONNECTED);
+        } else if (ownState) { // otherwise the reconnect attempt was cancelled and the state is not owned any more
+            rawState.compareAndSet(state, MqttClientState.DISCONNECTED);
+        }
+    }
+
     @Override
     public void channelUnregistered(final @NotNull ChannelHandlerContext ctx) {
         ctx.fireChannelUnregistered();
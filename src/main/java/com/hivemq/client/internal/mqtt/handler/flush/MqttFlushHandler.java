@@ -0,0 +1,149 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.flush;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.mqtt.advanced.MqttFlushStrategy;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces flushes of the handlers after it according to a {@link MqttFlushStrategy}.
+ * <p>
+ * Flushes are never delayed beyond the processing of the pending tasks of the event loop (batch and writability
+ * strategy) or the flush interval (interval strategy).
+ *
+ * @author Silvio Giebl
+ */
+public class MqttFlushHandler extends ChannelDuplexHandler implements Runnable {
+
+    public static final @NotNull String NAME = "flush";
+
+    private final @NotNull MqttFlushStrategy.Type type;
+    private final long value;
+    private @Nullable ChannelHandlerContext ctx;
+    private int writes;
+    private boolean flushPending;
+    private boolean flushScheduled;
+    private long lastFlushTimeNanos;
+
+    public MqttFlushHandler(final @NotNull MqttFlushStrategy flushStrategy) {
+        type = flushStrategy.getType();
+        value = flushStrategy.getValue();
+    }
+
+    @Override
+    public void handlerAdded(final @NotNull ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+        lastFlushTimeNanos = System.nanoTime() - value;
+    }
+
+    @Override
+    public void write(
+            final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg,
+            final @NotNull ChannelPromise promise) {
+
+        writes++;
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void flush(final @NotNull ChannelHandlerContext ctx) {
+        flushPending = true;
+        switch (type) {
+            case BATCH:
+                if (writes >= value) {
+                    flushNow(ctx);
+                } else {
+                    scheduleFlush(ctx);
+                }
+                break;
+            case INTERVAL:
+                final long delayNanos = value - (System.nanoTime() - lastFlushTimeNanos);
+                if (delayNanos <= 0) {
+                    flushNow(ctx);
+                } else if (!flushScheduled) {
+                    flushScheduled = true;
+                    ctx.executor().schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+                }
+                break;
+            case WRITABILITY:
+                if (!ctx.channel().isWritable()) {
+                    flushNow(ctx);
+                } else {
+                    scheduleFlush(ctx);
+                }
+                break;
+            default:
+                flushNow(ctx);
+        }
+    }
+
+    @Override
+    public void channelReadComplete(final @NotNull ChannelHandlerContext ctx) {
+        if (flushPending && (type != MqttFlushStrategy.Type.INTERVAL)) {
+            flushNow(ctx);
+        }
+        ctx.fireChannelReadComplete();
+    }
+
+    @Override
+    public void channelWritabilityChanged(final @NotNull ChannelHandlerContext ctx) {
+        if (flushPending && !ctx.channel().isWritable()) {
+            flushNow(ctx);
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void close(final @NotNull ChannelHandlerContext ctx, final @NotNull ChannelPromise promise) {
+        if (flushPending) {
+            flushNow(ctx);
+        }
+        ctx.close(promise);
+    }
+
+    private void scheduleFlush(final @NotNull ChannelHandlerContext ctx) {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            ctx.executor().execute(this);
+        }
+    }
+
+    private void flushNow(final @NotNull ChannelHandlerContext ctx) {
+        writes = 0;
+        flushPending = false;
+        lastFlushTimeNanos = System.nanoTime();
+        ctx.flush();
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void run() {
+        flushScheduled = false;
+        final ChannelHandlerContext ctx = this.ctx;
+        if ((ctx != null) && flushPending) {
+            flushNow(ctx);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.annotations.NotThreadSafe;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.util.ByteArrayUtil;
+import com.hivemq.client.internal.util.collections.HandleList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Caches the flows matching a topic in front of another {@link MqttSubscriptionFlows}, so repeated topics do not have
+ * to be matched against all topic filters again.
+ * <p>
+ * The cache is bounded and evicts the least recently used topic. It is invalidated on any change of the subscriptions,
+ * so it never holds on to unsubscribed or cancelled flows.
+ * <p>
+ * The cache only pays off if topics repeat. If more distinct topics are received than the cache can hold, every lookup
+ * misses and is slower than matching directly, so it is only used if enabled in the advanced config.
+ *
+ * @author Silvio Giebl
+ */
+@NotThreadSafe
+public class MqttCachedSubscriptionFlows implements MqttSubscriptionFlows {
+
+    static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+    private final @NotNull MqttSubscriptionFlows delegate;
+    private final @NotNull LinkedHashMap<Key, CacheEntry> cache;
+    private final @NotNull Key lookupKey = new Key();
+    private volatile long hits;
+    private volatile long misses;
+
+    public MqttCachedSubscriptionFlows(final @NotNull MqttSubscriptionFlows delegate) {
+        this(delegate, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    MqttCachedSubscriptionFlows(final @NotNull MqttSubscriptionFlows delegate, final int maximumSize) {
+        this.delegate = delegate;
+        cache = new LinkedHashMap<Key, CacheEntry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final @NotNull Map.Entry<Key, CacheEntry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    @Override
+    public void subscribe(
+            final @NotNull MqttTopicFilterImpl topicFilter, final @Nullable MqttSubscribedPublishFlow flow) {
+
+        delegate.subscribe(topicFilter, flow);
+        invalidate();
+    }
+
+    @Override
+    public void remove(final @NotNull MqttTopicFilterImpl topicFilter, final @Nullable MqttSubscribedPublishFlow flow) {
+        delegate.remove(topicFilter, flow);
+        invalidate();
+    }
+
+    @Override
+    public void unsubscribe(
+            final @NotNull MqttTopicFilterImpl topicFilter,
+            final @Nullable Consumer<MqttSubscribedPublishFlow> unsubscribedCallback) {
+
+        delegate.unsubscribe(topicFilter, unsubscribedCallback);
+        invalidate();
+    }
+
+    @Override
+    public void cancel(final @NotNull MqttSubscribedPublishFlow flow) {
+        delegate.cancel(flow);
+        invalidate();
+    }
+
+    @Override
+    public boolean findMatching(
+            final @NotNull MqttTopicImpl topic, final @NotNull HandleList<MqttIncomingPublishFlow> matchingFlows) {
+
+        final byte[] binary = topic.toBinary();
+        // the lookup key is reused, a new key is only allocated for a new cache entry
+        CacheEntry entry = cache.get(lookupKey.set(binary));
+        if (entry == null) {
+            //noinspection NonAtomicOperationOnVolatileField
+            misses++;
+            final HandleList<MqttIncomingPublishFlow> foundFlows = new HandleList<>();
+            final boolean subscriptionFound = delegate.findMatching(topic, foundFlows);
+            final ArrayList<MqttIncomingPublishFlow> flows = new ArrayList<>();
+            for (final MqttIncomingPublishFlow flow : foundFlows) {
+                flows.add(flow);
+            }
+            entry = new CacheEntry(flows.toArray(new MqttIncomingPublishFlow[0]), subscriptionFound);
+            cache.put(new Key().set(binary), entry);
+        } else {
+            //noinspection NonAtomicOperationOnVolatileField
+            hits++;
+        }
+        for (final MqttIncomingPublishFlow flow : entry.flows) {
+            matchingFlows.add(flow);
+        }
+        return entry.subscriptionFound;
+    }
+
+    @Override
+    public void clear(final @NotNull Throwable cause) {
+        delegate.clear(cause);
+        invalidate();
+    }
+
+    private void invalidate() {
+        if (!cache.isEmpty()) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * @return the amount of topics that were found in the cache.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the amount of topics that were not found in the cache and had to be matched against all topic filters.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    static long getHits(final @NotNull MqttSubscriptionFlows flows) {
+        return (flows instanceof MqttCachedSubscriptionFlows) ? ((MqttCachedSubscriptionFlows) flows).getHits() : 0;
+    }
+
+    static long getMisses(final @NotNull MqttSubscriptionFlows flows) {
+        return (flows instanceof MqttCachedSubscriptionFlows) ? ((MqttCachedSubscriptionFlows) flows).getMisses() : 0;
+    }
+
+    private static class Key {
+
+        private @NotNull byte[] binary = new byte[0];
+        private int hashCode;
+
+        @NotNull Key set(final @NotNull byte[] binary) {
+            this.binary = binary;
+            hashCode = ByteArrayUtil.hashCode(binary, 0, binary.length);
+            return this;
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return (hashCode == that.hashCode) && Arrays.equals(binary, that.binary);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static class CacheEntry {
+
+        final @NotNull MqttIncomingPublishFlow @NotNull [] flows;
+        final boolean subscriptionFound;
+
+        CacheEntry(final @NotNull MqttIncomingPublishFlow @NotNull [] flows, final boolean subscriptionFound) {
+            this.flows = flows;
+            this.subscriptionFound = subscriptionFound;
+        }
+    }
+}
@@ -32,12 +32,15 @@ public class MqttGlobalIncomingPublishFlowable extends Flowable<Mqtt5Publish> {
 
     private final @NotNull MqttGlobalPublishFilter filter;
     private final @NotNull MqttClientConfig clientConfig;
+    private final boolean manualAcknowledgement;
 
     public MqttGlobalIncomingPublishFlowable(
-            final @NotNull MqttGlobalPublishFilter filter, final @NotNull MqttClientConfig clientConfig) {
+            final @NotNull MqttGlobalPublishFilter filter, final @NotNull MqttClientConfig clientConfig,
+            final boolean manualAcknowledgement) {
 
         this.filter = filter;
         this.clientConfig = clientConfig;
+        this.manualAcknowledgement = manualAcknowledgement;
     }
 
     @Override
@@ -46,8 +49,8 @@ public class MqttGlobalIncomingPublishFlowable extends Flowable<Mqtt5Publish> {
         final MqttIncomingQosHandler incomingQosHandler = clientComponent.incomingQosHandler();
         final MqttIncomingPublishFlows incomingPublishFlows = incomingQosHandler.getIncomingPublishFlows();
 
-        final MqttGlobalIncomingPublishFlow flow =
-                new MqttGlobalIncomingPublishFlow(subscriber, clientConfig, incomingQosHandler, filter);
+        final MqttGlobalIncomingPublishFlow flow = new MqttGlobalIncomingPublishFlow(subscriber, clientConfig,
+                incomingQosHandler, filter, manualAcknowledgement);
         subscriber.onSubscribe(flow);
         flow.getEventLoop().execute(() -> {
             if (flow.init()) {
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
+import com.hivemq.client.rx.FlowableWithSingleSubscriber;
+import com.hivemq.client.rx.reactivestreams.WithSingleSubscriber;
+import io.netty.channel.EventLoop;
+import io.reactivex.internal.queue.SpscLinkedArrayQueue;
+import io.reactivex.internal.util.BackpressureHelper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the Publish messages of an incoming publish flow into batches on the Netty event loop.
+ * <p>
+ * A batch is emitted when it reached the maximum size or when the maximum delay elapsed since its first Publish message
+ * was received. A maximum delay of 0 emits a batch after the Publish messages read together from the network were
+ * processed.
+ * <p>
+ * Publish messages are only requested from the flow for the batch that is currently filled, up to its maximum size,
+ * and only if the subscriber requested a batch for it. Publish messages that were requested for a batch that was
+ * emitted early because of its delay start the next batch, even if no batch was requested yet, so at most one batch
+ * more than requested is buffered per emitted partial batch.
+ *
+ * @author Silvio Giebl
+ */
+class MqttIncomingPublishBatcher extends AtomicInteger
+        implements FlowableWithSingleSubscriber<Mqtt5Publish, Mqtt5SubAck>, Subscription {
+
+    private static final long serialVersionUID = 1L;
+
+    private final @NotNull Subscriber<? super List<Mqtt5Publish>> subscriber;
+    private final @Nullable WithSingleSubscriber<?, ? super Mqtt5SubAck> singleSubscriber;
+    private final int maxSize;
+    private final long maxDelayNanos;
+    private @Nullable MqttIncomingPublishFlow flow;
+    private @Nullable EventLoop eventLoop;
+
+    private @Nullable ImmutableList.Builder<Mqtt5Publish> batch;
+    private int batchSize;
+    private @Nullable ScheduledFuture<?> timeoutFuture;
+
+    private final @NotNull AtomicLong batchDemand = new AtomicLong();
+    private final @NotNull AtomicBoolean filling = new AtomicBoolean();
+    private final @NotNull AtomicLong publishDemand = new AtomicLong();
+
+    private final @NotNull SpscLinkedArrayQueue<List<Mqtt5Publish>> batches = new SpscLinkedArrayQueue<>(16);
+    private final @NotNull AtomicLong requested = new AtomicLong();
+    private volatile @Nullable Mqtt5SubAck subAck;
+    private volatile boolean done;
+    private @Nullable Throwable error;
+    private volatile boolean cancelled;
+
+    MqttIncomingPublishBatcher(
+            final @NotNull Subscriber<? super List<Mqtt5Publish>> subscriber,
+            final @Nullable WithSingleSubscriber<?, ? super Mqtt5SubAck> singleSubscriber, final int maxSize,
+            final long maxDelayNanos) {
+
+        this.subscriber = subscriber;
+        this.singleSubscriber = singleSubscriber;
+        this.maxSize = maxSize;
+        this.maxDelayNanos = maxDelayNanos;
+    }
+
+    @Override
+    public void onSubscribe(final @NotNull Subscription subscription) {
+        // the batch flowables always subscribe the batcher to an incoming publish flow
+        final MqttIncomingPublishFlow flow = (MqttIncomingPublishFlow) subscription;
+        this.flow = flow;
+        eventLoop = flow.getEventLoop();
+        subscriber.onSubscribe(this);
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void onSingle(final @NotNull Mqtt5SubAck subAck) {
+        this.subAck = subAck;
+        drain();
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void onNext(final @NotNull Mqtt5Publish publish) {
+        if (publishDemand.get() > 0) {
+            publishDemand.decrementAndGet();
+        }
+        if (cancelled) {
+            publish.release();
+            return;
+        }
+        ImmutableList.Builder<Mqtt5Publish> batch = this.batch;
+        if (batch == null) {
+            if (filling.compareAndSet(false, true) && (batchDemand.getAndDecrement() > 0)) {
+                // Publish messages left over from a batch emitted after its delay start the next requested batch
+                requestPublishes();
+            }
+            this.batch = batch = ImmutableList.builder();
+            scheduleTimeout(batch);
+        }
+        batch.add(publish);
+        if (++batchSize == maxSize) {
+            emitBatch(batch);
+            drain();
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void scheduleTimeout(final @NotNull ImmutableList.Builder<Mqtt5Publish> batch) {
+        assert eventLoop != null;
+        final Runnable timeout = () -> {
+            if (this.batch == batch) {
+                emitBatch(batch);
+                drain();
+            }
+        };
+        if (maxDelayNanos == 0) {
+            eventLoop.execute(timeout);
+        } else {
+            timeoutFuture = eventLoop.schedule(timeout, maxDelayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void emitBatch(final @NotNull ImmutableList.Builder<Mqtt5Publish> batch) {
+        cancelTimeout();
+        batches.offer(batch.build());
+        this.batch = null;
+        batchSize = 0;
+        filling.set(false);
+        requestBatch();
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void cancelTimeout() {
+        final ScheduledFuture<?> timeoutFuture = this.timeoutFuture;
+        if (timeoutFuture != null) {
+            timeoutFuture.cancel(false);
+            this.timeoutFuture = null;
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void onComplete() {
+        if (batch != null) {
+            emitBatch(batch);
+        }
+        done = true;
+        drain();
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void onError(final @NotNull Throwable t) {
+        if (batch != null) {
+            emitBatch(batch);
+        }
+        error = t;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void request(final long n) {
+        if (n > 0) {
+            BackpressureHelper.add(requested, n);
+            addBatchDemand(n);
+            requestBatch();
+            drain();
+        }
+    }
+
+    private void addBatchDemand(final long n) {
+        while (true) {
+            final long demand = batchDemand.get();
+            if (demand == Long.MAX_VALUE) {
+                return;
+            }
+            // the demand is negative if batches were started with left over Publish messages before they were requested
+            final long newDemand = (demand > Long.MAX_VALUE - n) ? Long.MAX_VALUE : demand + n;
+            if (batchDemand.compareAndSet(demand, newDemand)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Requests the Publish messages for the next batch if no batch is currently filled and a batch was requested.
+     */
+    private void requestBatch() {
+        while (filling.compareAndSet(false, true)) {
+            if (takeBatchDemand()) {
+                requestPublishes();
+                return;
+            }
+            filling.set(false);
+            if (batchDemand.get() <= 0) {
+                return;
+            }
+        }
+    }
+
+    private boolean takeBatchDemand() {
+        while (true) {
+            final long demand = batchDemand.get();
+            if (demand <= 0) {
+                return false;
+            }
+            if ((demand == Long.MAX_VALUE) || batchDemand.compareAndSet(demand, demand - 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Requests as many Publish messages from the flow as are missing for a full batch.
+     */
+    private void requestPublishes() {
+        final long n = maxSize - publishDemand.get();
+        if (n > 0) {
+            publishDemand.addAndGet(n);
+            assert flow != null;
+            flow.request(n);
+        }
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        assert flow != null;
+        flow.cancel();
+        assert eventLoop != null;
+        eventLoop.execute(this::releaseBatch);
+        if (getAndIncrement() == 0) {
+            releaseBatches();
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void releaseBatch() {
+        cancelTimeout();
+        final ImmutableList.Builder<Mqtt5Publish> batch = this.batch;
+        if (batch != null) {
+            this.batch = null;
+            batchSize = 0;
+            release(batch.build());
+        }
+    }
+
+    private void releaseBatches() {
+        List<Mqtt5Publish> batch;
+        while ((batch = batches.poll()) != null) {
+            release(batch);
+        }
+    }
+
+    private static void release(final @NotNull List<Mqtt5Publish> batch) {
+        //noinspection ForLoopReplaceableByForEach
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).release();
+        }
+    }
+
+    private void drain() {
+        if (getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            final Mqtt5SubAck subAck = this.subAck;
+            if (subAck != null) {
+                this.subAck = null;
+                if (singleSubscriber != null) {
+                    singleSubscriber.onSingle(subAck);
+                }
+            }
+            final long r = requested.get();
+            long emitted = 0;
+            while (emitted != r) {
+                if (cancelled) {
+                    releaseBatches();
+                    return;
+                }
+                final boolean done = this.done;
+                final List<Mqtt5Publish> batch = batches.poll();
+                if (batch == null) {
+                    if (done) {
+                        terminate();
+                        return;
+                    }
+                    break;
+                }
+                subscriber.onNext(batch);
+                emitted++;
+            }
+            if (cancelled) {
+                releaseBatches();
+                return;
+            }
+            if (done && batches.isEmpty()) {
+                terminate();
+                return;
+            }
+            if (emitted != 0) {
+                BackpressureHelper.produced(requested, emitted);
+            }
+            missed = addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void terminate() {
+        final Throwable error = this.error;
+        if (error == null) {
+            subscriber.onComplete();
+        } else {
+            subscriber.onError(error);
+        }
+    }
+}
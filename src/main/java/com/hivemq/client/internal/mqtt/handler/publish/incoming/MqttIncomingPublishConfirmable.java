@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.message.publish.Confirmable;
+import com.hivemq.client.internal.util.collections.HandleList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Acknowledgement of an incoming Publish message emitted to a flow with manual acknowledgement.
+ * <p>
+ * If the flow is cancelled or fails before the consumer confirms, the client confirms instead, so the acknowledgements
+ * of the following Publish messages are not held back. Confirming afterwards has no effect.
+ *
+ * @author Silvio Giebl
+ */
+class MqttIncomingPublishConfirmable implements Confirmable {
+
+    private static final int STATE_UNCONFIRMED = 0;
+    private static final int STATE_CONFIRMED = 1;
+    private static final int STATE_ABANDONED = 2;
+
+    private final @NotNull MqttIncomingPublishService incomingPublishService;
+    final @Nullable MqttIncomingPublishService.QueueEntry entry; // null for QoS 0 Publish messages
+    @Nullable HandleList.Handle<MqttIncomingPublishConfirmable> handle; // handle in the unconfirmed list of the flow
+    private final @NotNull AtomicInteger state = new AtomicInteger(STATE_UNCONFIRMED);
+
+    MqttIncomingPublishConfirmable(
+            final @NotNull MqttIncomingPublishService incomingPublishService,
+            final @Nullable MqttIncomingPublishService.QueueEntry entry) {
+
+        this.incomingPublishService = incomingPublishService;
+        this.entry = entry;
+    }
+
+    @Override
+    public void confirm() {
+        if (state.compareAndSet(STATE_UNCONFIRMED, STATE_CONFIRMED)) {
+            if (entry != null) {
+                incomingPublishService.confirm(this);
+            }
+        } else if (state.get() == STATE_CONFIRMED) {
+            throw new IllegalStateException("Publish message has already been acknowledged.");
+        }
+    }
+
+    /**
+     * Confirms on behalf of the consumer of a cancelled or failed flow.
+     *
+     * @return whether the consumer had not confirmed yet.
+     */
+    boolean abandon() {
+        return state.compareAndSet(STATE_UNCONFIRMED, STATE_ABANDONED);
+    }
+}
@@ -20,6 +20,8 @@ package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.handler.util.FlowWithEventLoop;
+import com.hivemq.client.internal.util.collections.ChunkedArrayQueue;
+import com.hivemq.client.internal.util.collections.HandleList;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
 import io.reactivex.Emitter;
 import io.reactivex.internal.util.BackpressureHelper;
@@ -52,17 +54,20 @@ public abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
     private boolean done;
     private @Nullable Throwable error;
 
-    private int referenced;
+    final @NotNull ChunkedArrayQueue<MqttIncomingPublishService.QueueEntry> queue = new ChunkedArrayQueue<>(32);
     private long blockedIndex;
     private boolean blocking;
+    // unconfirmed Publish messages if the flow acknowledges manually, otherwise null
+    final @Nullable HandleList<MqttIncomingPublishConfirmable> unconfirmed;
 
     MqttIncomingPublishFlow(
             final @NotNull Subscriber<? super Mqtt5Publish> subscriber, final @NotNull MqttClientConfig clientConfig,
-            final @NotNull MqttIncomingQosHandler incomingQosHandler) {
+            final @NotNull MqttIncomingQosHandler incomingQosHandler, final boolean manualAcknowledgement) {
 
         super(clientConfig);
         this.subscriber = subscriber;
         this.incomingQosHandler = incomingQosHandler;
+        unconfirmed = manualAcknowledgement ? new HandleList<>() : null;
     }
 
     @CallByThread("Netty EventLoop")
@@ -81,10 +86,10 @@ public abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
             return;
         }
         done = true;
-        if ((referenced == 0) && setDone()) {
+        if (queue.isEmpty() && setDone()) {
             subscriber.onComplete();
         } else {
-            incomingQosHandler.getIncomingPublishService().drain();
+            incomingQosHandler.getIncomingPublishService().drain(this);
         }
     }
 
@@ -97,10 +102,11 @@ public abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
         }
         error = t;
         done = true;
-        if ((referenced == 0) && setDone()) {
+        if (queue.isEmpty() && setDone()) {
             subscriber.onError(t);
+            confirmAbandoned();
         } else {
-            incomingQosHandler.getIncomingPublishService().drain();
+            incomingQosHandler.getIncomingPublishService().drain(this);
         }
     }
 
@@ -109,6 +115,7 @@ public abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
         if (done && setDone()) {
             if (error != null) {
                 subscriber.onError(error);
+                confirmAbandoned();
             } else {
                 subscriber.onComplete();
             }
@@ -131,8 +138,8 @@ public abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
     @CallByThread("Netty EventLoop")
     @Override
     public void run() { // only executed if was blocking
-        if (referenced > 0) { // is blocking
-            incomingQosHandler.getIncomingPublishService().drain();
+        if (!queue.isEmpty()) { // is blocking
+            incomingQosHandler.getIncomingPublishService().drain(this);
         }
     }
 
@@ -173,18 +180,16 @@ public abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
 
     @CallByThread("Netty EventLoop")
     void runCancel() { // always executed if cancelled
-        if (referenced > 0) { // is blocking
-            incomingQosHandler.getIncomingPublishService().drain();
+        if (!queue.isEmpty()) { // is blocking
+            incomingQosHandler.getIncomingPublishService().drain(this);
         }
+        confirmAbandoned();
     }
 
     @CallByThread("Netty EventLoop")
-    int reference() {
-        return ++referenced;
-    }
-
-    @CallByThread("Netty EventLoop")
-    int dereference() {
-        return --referenced;
+    private void confirmAbandoned() {
+        if ((unconfirmed != null) && !unconfirmed.isEmpty()) {
+            incomingQosHandler.getIncomingPublishService().confirmAbandoned(this);
+        }
     }
 }
@@ -115,8 +115,7 @@ public class MqttIncomingPublishFlows {
             final @NotNull MqttStatefulPublish publish,
             final @NotNull HandleList<MqttIncomingPublishFlow> matchingFlows) {
 
-        final MqttTopicImpl topic = publish.stateless().getTopic();
-        if (subscriptionFlows.findMatching(topic, matchingFlows) || !matchingFlows.isEmpty()) {
+        if (findMatchingSubscriptions(publish, matchingFlows) || !matchingFlows.isEmpty()) {
             add(matchingFlows, globalFlows[MqttGlobalPublishFilter.SUBSCRIBED.ordinal()]);
         } else {
             add(matchingFlows, globalFlows[MqttGlobalPublishFilter.UNSOLICITED.ordinal()]);
@@ -127,6 +126,14 @@ public class MqttIncomingPublishFlows {
         }
     }
 
+    boolean findMatchingSubscriptions(
+            final @NotNull MqttStatefulPublish publish,
+            final @NotNull HandleList<MqttIncomingPublishFlow> matchingFlows) {
+
+        final MqttTopicImpl topic = publish.stateless().getTopic();
+        return subscriptionFlows.findMatching(topic, matchingFlows);
+    }
+
     void subscribeGlobal(final @NotNull MqttGlobalIncomingPublishFlow flow) {
         final int filter = flow.getFilter().ordinal();
         HandleList<MqttGlobalIncomingPublishFlow> globalFlow = globalFlows[filter];
@@ -162,6 +169,14 @@ public class MqttIncomingPublishFlows {
         }
     }
 
+    public long getSubscriptionCacheHits() {
+        return MqttCachedSubscriptionFlows.getHits(subscriptionFlows);
+    }
+
+    public long getSubscriptionCacheMisses() {
+        return MqttCachedSubscriptionFlows.getMisses(subscriptionFlows);
+    }
+
     private static void add(
             final @NotNull HandleList<MqttIncomingPublishFlow> target,
             final @Nullable HandleList<? extends MqttIncomingPublishFlow> source) {
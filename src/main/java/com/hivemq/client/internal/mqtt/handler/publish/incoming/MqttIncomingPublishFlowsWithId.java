@@ -19,12 +19,15 @@ package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 
 import com.hivemq.client.internal.annotations.NotThreadSafe;
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttStatefulSubscribe;
 import com.hivemq.client.internal.mqtt.message.subscribe.suback.MqttSubAck;
 import com.hivemq.client.internal.util.collections.HandleList;
 import com.hivemq.client.internal.util.collections.ImmutableIntList;
+import com.hivemq.client.internal.util.collections.IntMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -35,6 +38,19 @@ import java.util.function.Consumer;
 import static com.hivemq.client.internal.mqtt.message.subscribe.MqttStatefulSubscribe.DEFAULT_NO_SUBSCRIPTION_IDENTIFIER;
 
 /**
+ * Routes incoming Publish messages to subscribed flows by their subscription identifiers instead of matching their
+ * topic against the subscriptions.
+ * <p>
+ * Flows that were subscribed with a subscription identifier are kept in a separate subscription tree which is only
+ * matched if routing by subscription identifiers could give a different result:
+ * <ul>
+ *   <li>the Publish message does not contain subscription identifiers,</li>
+ *   <li>one of its subscription identifiers does not belong to a subscribed flow (for example because the flow was
+ *     cancelled while the subscription still exists) or</li>
+ *   <li>a topic filter is subscribed more than once and at least one of the subscriptions has a subscription
+ *     identifier (the server replaces the subscription and only sends the latest subscription identifier).</li>
+ * </ul>
+ * <p>
  * single threaded, in channel eventloop
  *
  * @author Silvio Giebl
@@ -43,9 +59,14 @@ import static com.hivemq.client.internal.mqtt.message.subscribe.MqttStatefulSubs
 @NotThreadSafe
 public class MqttIncomingPublishFlowsWithId extends MqttIncomingPublishFlows {
 
-    private final @NotNull HashMap<Integer, MqttSubscribedPublishFlow> flowsWithIdsMap = new HashMap<>();
+    private final @NotNull IntMap<MqttSubscribedPublishFlow> flowsWithIdsMap =
+            IntMap.range(1, MqttVariableByteInteger.FOUR_BYTES_MAX_VALUE);
     private final @NotNull MqttSubscriptionFlows flowsWithIds;
     private final @NotNull Consumer<MqttSubscribedPublishFlow> flowWithIdUnsubscribedCallback = this::unsubscribed;
+    private final @NotNull HashMap<MqttTopicFilterImpl, SubscriptionCount> subscriptionCounts = new HashMap<>();
+    private int subscriptionsWithIds;
+    private int subscriptionsWithoutIds;
+    private int ambiguousTopicFilters;
 
     @Inject
     MqttIncomingPublishFlowsWithId(
@@ -71,11 +92,13 @@ public class MqttIncomingPublishFlowsWithId extends MqttIncomingPublishFlows {
 
     @Override
     void subscribe(final @NotNull MqttTopicFilterImpl topicFilter, final @Nullable MqttSubscribedPublishFlow flow) {
-        if ((flow != null) && (flow.getSubscriptionIdentifier() != DEFAULT_NO_SUBSCRIPTION_IDENTIFIER)) {
+        final boolean withId = hasSubscriptionIdentifier(flow);
+        if (withId) {
             flowsWithIds.subscribe(topicFilter, flow);
         } else {
             super.subscribe(topicFilter, flow);
         }
+        count(topicFilter, withId, 1);
     }
 
     @Override
@@ -94,17 +117,27 @@ public class MqttIncomingPublishFlowsWithId extends MqttIncomingPublishFlows {
 
     @Override
     void remove(final @NotNull MqttTopicFilterImpl topicFilter, final @Nullable MqttSubscribedPublishFlow flow) {
-        if ((flow != null) && (flow.getSubscriptionIdentifier() != DEFAULT_NO_SUBSCRIPTION_IDENTIFIER)) {
+        final boolean withId = hasSubscriptionIdentifier(flow);
+        if (withId) {
             flowsWithIds.remove(topicFilter, flow);
         } else {
             super.remove(topicFilter, flow);
         }
+        count(topicFilter, withId, -1);
     }
 
     @Override
     void unsubscribe(final @NotNull MqttTopicFilterImpl topicFilter) {
         flowsWithIds.unsubscribe(topicFilter, flowWithIdUnsubscribedCallback);
         super.unsubscribe(topicFilter);
+        final SubscriptionCount count = subscriptionCounts.remove(topicFilter);
+        if (count != null) {
+            if (count.isAmbiguous()) {
+                ambiguousTopicFilters--;
+            }
+            subscriptionsWithIds -= count.withIds;
+            subscriptionsWithoutIds -= count.all - count.withIds;
+        }
     }
 
     private void unsubscribed(final @NotNull MqttSubscribedPublishFlow flow) {
@@ -126,27 +159,103 @@ public class MqttIncomingPublishFlowsWithId extends MqttIncomingPublishFlows {
     }
 
     @Override
-    void findMatching(
+    boolean findMatchingSubscriptions(
             final @NotNull MqttStatefulPublish publish,
             final @NotNull HandleList<MqttIncomingPublishFlow> matchingFlows) {
 
+        if (subscriptionsWithIds == 0) {
+            return super.findMatchingSubscriptions(publish, matchingFlows);
+        }
         final ImmutableIntList subscriptionIdentifiers = publish.getSubscriptionIdentifiers();
-        if (!subscriptionIdentifiers.isEmpty()) {
-            for (int i = 0; i < subscriptionIdentifiers.size(); i++) {
-                final int subscriptionIdentifier = subscriptionIdentifiers.get(i);
-                final MqttSubscribedPublishFlow flow = flowsWithIdsMap.get(subscriptionIdentifier);
-                if (flow != null) {
-                    matchingFlows.add(flow);
-                }
+        final boolean subscriptionWithIdFound;
+        if (!subscriptionIdentifiers.isEmpty() && (ambiguousTopicFilters == 0) &&
+                addFlowsWithIds(subscriptionIdentifiers, matchingFlows)) {
+            subscriptionWithIdFound = true;
+        } else {
+            final MqttTopicImpl topic = publish.stateless().getTopic();
+            subscriptionWithIdFound = flowsWithIds.findMatching(topic, matchingFlows);
+        }
+        if (subscriptionsWithoutIds == 0) {
+            return subscriptionWithIdFound;
+        }
+        final boolean subscriptionWithoutIdFound = super.findMatchingSubscriptions(publish, matchingFlows);
+        return subscriptionWithIdFound || subscriptionWithoutIdFound;
+    }
+
+    private boolean addFlowsWithIds(
+            final @NotNull ImmutableIntList subscriptionIdentifiers,
+            final @NotNull HandleList<MqttIncomingPublishFlow> matchingFlows) {
+
+        for (int i = 0; i < subscriptionIdentifiers.size(); i++) {
+            if (flowsWithIdsMap.get(subscriptionIdentifiers.get(i)) == null) {
+                return false;
             }
         }
-        super.findMatching(publish, matchingFlows);
+        for (int i = 0; i < subscriptionIdentifiers.size(); i++) {
+            final MqttSubscribedPublishFlow flow = flowsWithIdsMap.get(subscriptionIdentifiers.get(i));
+            assert flow != null;
+            matchingFlows.add(flow);
+        }
+        return true;
     }
 
     @Override
     public void clear(final @NotNull Throwable cause) {
         flowsWithIdsMap.clear();
         flowsWithIds.clear(cause);
+        subscriptionCounts.clear();
+        subscriptionsWithIds = 0;
+        subscriptionsWithoutIds = 0;
+        ambiguousTopicFilters = 0;
         super.clear(cause);
     }
+
+    @Override
+    public long getSubscriptionCacheHits() {
+        return super.getSubscriptionCacheHits() + MqttCachedSubscriptionFlows.getHits(flowsWithIds);
+    }
+
+    @Override
+    public long getSubscriptionCacheMisses() {
+        return super.getSubscriptionCacheMisses() + MqttCachedSubscriptionFlows.getMisses(flowsWithIds);
+    }
+
+    private void count(final @NotNull MqttTopicFilterImpl topicFilter, final boolean withId, final int delta) {
+        SubscriptionCount count = subscriptionCounts.get(topicFilter);
+        if (count == null) {
+            if (delta < 0) {
+                return;
+            }
+            count = new SubscriptionCount();
+            subscriptionCounts.put(topicFilter, count);
+        } else if (count.isAmbiguous()) {
+            ambiguousTopicFilters--;
+        }
+        count.all += delta;
+        if (withId) {
+            count.withIds += delta;
+            subscriptionsWithIds += delta;
+        } else {
+            subscriptionsWithoutIds += delta;
+        }
+        if (count.all <= 0) {
+            subscriptionCounts.remove(topicFilter);
+        } else if (count.isAmbiguous()) {
+            ambiguousTopicFilters++;
+        }
+    }
+
+    private static boolean hasSubscriptionIdentifier(final @Nullable MqttSubscribedPublishFlow flow) {
+        return (flow != null) && (flow.getSubscriptionIdentifier() != DEFAULT_NO_SUBSCRIPTION_IDENTIFIER);
+    }
+
+    private static class SubscriptionCount {
+
+        int all;
+        int withIds;
+
+        boolean isAmbiguous() {
+            return (all > 1) && (withIds > 0);
+        }
+    }
 }
@@ -20,16 +20,32 @@ package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttIncomingQos0Policy;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
+import com.hivemq.client.internal.mqtt.message.publish.MqttConfirmablePublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.util.ByteArray;
 import com.hivemq.client.internal.util.collections.ChunkedArrayQueue;
 import com.hivemq.client.internal.util.collections.HandleList;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
 import java.util.Iterator;
 
 /**
+ * Emits incoming Publish messages to the matching flows.
+ * <p>
+ * A Publish message is emitted directly to every matching flow that has demand and no queued messages. Otherwise it is
+ * queued in the flow, so only the flow that requests more messages has to be serviced. QoS 1 and 2 messages are
+ * acknowledged in order as soon as all flows they were queued in have received them and all flows with manual
+ * acknowledgement have confirmed them. Messages that a cancelled or failed flow has not confirmed are confirmed by the
+ * client. QoS 0 messages are queued up to the capacity of the {@link MqttIncomingQos0Policy} which decides which
+ * message is dropped or coalesced if the queue is full.
+ *
  * @author Silvio Giebl
  */
 @ClientScope
@@ -37,138 +53,381 @@ class MqttIncomingPublishService {
 
     private static final @NotNull InternalLogger LOGGER =
             InternalLoggerFactory.getLogger(MqttIncomingPublishService.class);
-    private static final boolean QOS_0_DROP_LATEST = true; // TODO configurable
 
+    private final @NotNull MqttClientConfig clientConfig;
     private final @NotNull MqttIncomingQosHandler incomingQosHandler;
+    private final @NotNull MqttIncomingQos0Policy qos0Policy;
 
-    private final @NotNull ChunkedArrayQueue<QueueEntry> qos0Queue = new ChunkedArrayQueue<>(32);
+    private @Nullable QueueEntry qos0QueueHead;
+    private @Nullable QueueEntry qos0QueueTail;
+    private int qos0QueueSize;
+    private final @Nullable HashMap<ByteArray, QueueEntry> qos0LatestEntries;
+    private boolean qos0Dropping;
+    private volatile long qos0Dropped;
+    private volatile long qos0Coalesced;
     private final @NotNull ChunkedArrayQueue<QueueEntry> qos1Or2Queue = new ChunkedArrayQueue<>(32);
 
-    private int referencedFlowCount;
     private int runIndex;
-    private int blockingFlowCount;
 
-    MqttIncomingPublishService(final @NotNull MqttIncomingQosHandler incomingQosHandler) {
+    MqttIncomingPublishService(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttIncomingQosHandler incomingQosHandler,
+            final @NotNull MqttIncomingQos0Policy qos0Policy) {
+
+        this.clientConfig = clientConfig;
         this.incomingQosHandler = incomingQosHandler;
+        this.qos0Policy = qos0Policy;
+        qos0LatestEntries =
+                (qos0Policy.getType() == MqttIncomingQos0Policy.Type.COALESCE_BY_TOPIC) ? new HashMap<>() : null;
     }
 
     @CallByThread("Netty EventLoop")
     void onPublishQos0(final @NotNull MqttStatefulPublish publish, final int receiveMaximum) {
-        if (qos0Queue.size() >= receiveMaximum) { // TODO receiveMaximum
-            LOGGER.warn("QoS 0 publish message dropped.");
-            if (QOS_0_DROP_LATEST) {
-                qos0Queue.poll();
-            } else {
-                return;
+        final HandleList<MqttIncomingPublishFlow> flows = findMatching(publish);
+        runIndex++;
+        if ((qos0QueueSize >= qos0Policy.getCapacity(receiveMaximum)) && isQueued(flows) &&
+                !onQos0Overflow(publish, flows)) {
+            return;
+        }
+        final QueueEntry entry = emit(publish, flows);
+        if (entry.flows.isEmpty()) {
+            publish.stateless().release();
+        } else {
+            offerQos0(entry);
+        }
+    }
+
+    /**
+     * Makes room for a QoS 0 Publish message that has to be queued although the QoS 0 queue is full.
+     *
+     * @param publish the incoming QoS 0 Publish message.
+     * @param flows   the flows matching the Publish message.
+     * @return whether the Publish message still has to be emitted, false if it was coalesced or dropped.
+     */
+    @CallByThread("Netty EventLoop")
+    private boolean onQos0Overflow(
+            final @NotNull MqttStatefulPublish publish, final @NotNull HandleList<MqttIncomingPublishFlow> flows) {
+
+        if (qos0LatestEntries != null) {
+            final QueueEntry latestEntry =
+                    qos0LatestEntries.get(new ByteArray(publish.stateless().getTopic().toBinary()));
+            if ((latestEntry != null) && coalesce(latestEntry, publish, flows)) {
+                //noinspection NonAtomicOperationOnVolatileField
+                qos0Coalesced++;
+                return false;
             }
         }
-        final HandleList<MqttIncomingPublishFlow> flows = onPublish(publish);
-        if (!flows.isEmpty()) {
-            qos0Queue.offer(new QueueEntry(publish, flows));
+        if (!qos0Dropping) {
+            qos0Dropping = true;
+            LOGGER.warn("Incoming QoS 0 publish messages are dropped as the consumers do not keep up. " +
+                    "Dropped messages are counted in the statistics of the client.");
         }
+        //noinspection NonAtomicOperationOnVolatileField
+        qos0Dropped++;
+        if (qos0Policy.getType() != MqttIncomingQos0Policy.Type.DROP_NEWEST) {
+            final QueueEntry oldestEntry = qos0QueueHead;
+            // the oldest entry can only be dropped if it is not queued behind a QoS 1 or 2 message in a flow
+            if ((oldestEntry != null) && isHead(oldestEntry)) {
+                removeQos0(oldestEntry);
+                for (final MqttIncomingPublishFlow flow : oldestEntry.flows) {
+                    flow.queue.poll();
+                    // a completed flow that only waited for the dropped entry is done now
+                    if (!flow.isCancelled() && flow.queue.isEmpty()) {
+                        flow.checkDone();
+                    }
+                }
+                oldestEntry.publish.stateless().release();
+                return true;
+            }
+        }
+        publish.stateless().release();
+        return false;
+    }
+
+    /**
+     * Replaces the Publish message of the given queued entry with a newer Publish message with the same topic. This is
+     * only possible if the newer Publish message does not have to be queued in any other flow.
+     *
+     * @param entry   the latest queued entry with the same topic.
+     * @param publish the newer Publish message.
+     * @param flows   the flows matching the newer Publish message.
+     * @return whether the Publish message was coalesced.
+     */
+    @CallByThread("Netty EventLoop")
+    private boolean coalesce(
+            final @NotNull QueueEntry entry, final @NotNull MqttStatefulPublish publish,
+            final @NotNull HandleList<MqttIncomingPublishFlow> flows) {
+
+        for (final MqttIncomingPublishFlow flow : flows) {
+            if (!flow.isCancelled() && !contains(entry.flows, flow) &&
+                    (!flow.queue.isEmpty() || (flow.requested(runIndex) <= 0))) {
+                return false;
+            }
+        }
+        final MqttPublish stateless = publish.stateless();
+        for (final MqttIncomingPublishFlow flow : flows) {
+            if (!flow.isCancelled() && !contains(entry.flows, flow)) {
+                flow.onNext(duplicate(stateless, entry, flow));
+            }
+        }
+        entry.publish.stateless().release();
+        entry.publish = publish;
+        return true;
     }
 
     @CallByThread("Netty EventLoop")
     boolean onPublishQos1Or2(final @NotNull MqttStatefulPublish publish, final int receiveMaximum) {
         if (qos1Or2Queue.size() >= receiveMaximum) {
+            publish.stateless().release();
             return false; // flow control error
         }
-        final HandleList<MqttIncomingPublishFlow> flows = onPublish(publish);
-        if (qos1Or2Queue.isEmpty() && flows.isEmpty()) {
+        final HandleList<MqttIncomingPublishFlow> flows = findMatching(publish);
+        runIndex++;
+        final QueueEntry entry = emit(publish, flows);
+        if (qos1Or2Queue.isEmpty() && entry.flows.isEmpty() && (entry.unconfirmed == 0)) {
             incomingQosHandler.ack(publish);
+            publish.stateless().release();
         } else {
-            qos1Or2Queue.offer(new QueueEntry(publish, flows));
+            qos1Or2Queue.offer(entry);
         }
         return true;
     }
 
     @CallByThread("Netty EventLoop")
-    private @NotNull HandleList<MqttIncomingPublishFlow> onPublish(final @NotNull MqttStatefulPublish publish) {
+    private @NotNull HandleList<MqttIncomingPublishFlow> findMatching(final @NotNull MqttStatefulPublish publish) {
         final HandleList<MqttIncomingPublishFlow> flows =
                 incomingQosHandler.getIncomingPublishFlows().findMatching(publish);
         if (flows.isEmpty()) {
             LOGGER.warn("No publish flow registered for {}.", publish);
         }
-        drain();
-        for (final MqttIncomingPublishFlow flow : flows) {
-            if (flow.reference() == 1) {
-                referencedFlowCount++;
+        return flows;
+    }
+
+    @CallByThread("Netty EventLoop")
+    private @NotNull QueueEntry emit(
+            final @NotNull MqttStatefulPublish publish, final @NotNull HandleList<MqttIncomingPublishFlow> flows) {
+
+        final QueueEntry entry = new QueueEntry(publish, flows);
+        final MqttPublish stateless = publish.stateless();
+        final Iterator<MqttIncomingPublishFlow> flowIt = flows.iterator();
+        while (flowIt.hasNext()) {
+            final MqttIncomingPublishFlow flow = flowIt.next();
+            if (flow.isCancelled()) {
+                flowIt.remove();
+            } else if (flow.queue.isEmpty() && (flow.requested(runIndex) > 0)) {
+                flow.onNext(duplicate(stateless, entry, flow));
+                flowIt.remove();
+            } else {
+                flow.queue.offer(entry);
             }
         }
-        emit(publish.stateless(), flows);
-        return flows;
+        return entry;
     }
 
+    /**
+     * Emits the Publish messages queued in the given flow as long as it has demand. If the flow is cancelled, the
+     * queued Publish messages are discarded instead.
+     *
+     * @param flow the flow that requested more messages, was cancelled or completed.
+     */
     @CallByThread("Netty EventLoop")
-    void drain() {
+    void drain(final @NotNull MqttIncomingPublishFlow flow) {
         runIndex++;
-        blockingFlowCount = 0;
-        boolean acknowledge = true;
-
-        final Iterator<QueueEntry> queueIt = qos1Or2Queue.iterator();
-        while (queueIt.hasNext()) {
-            final QueueEntry entry = queueIt.next();
-            final MqttStatefulPublish publish = entry.publish;
-            final HandleList<MqttIncomingPublishFlow> flows = entry.flows;
-            emit(publish.stateless(), flows);
-            if (acknowledge && flows.isEmpty()) {
-                queueIt.remove();
-                incomingQosHandler.ack(publish);
-            } else {
-                acknowledge = false;
-                if (blockingFlowCount == referencedFlowCount) {
-                    return;
+        final boolean cancelled = flow.isCancelled();
+        QueueEntry entry;
+        while ((entry = flow.queue.peek()) != null) {
+            if (!cancelled) {
+                if (flow.requested(runIndex) <= 0) {
+                    break;
                 }
+                flow.onNext(duplicate(entry.publish.stateless(), entry, flow));
             }
+            flow.queue.poll();
+            dereference(entry, flow);
         }
-        final Iterator<QueueEntry> queueIt2 = qos0Queue.iterator();
-        while (queueIt2.hasNext()) {
-            final QueueEntry entry = queueIt2.next();
-            final MqttStatefulPublish publish = entry.publish;
-            final HandleList<MqttIncomingPublishFlow> flows = entry.flows;
-            emit(publish.stateless(), flows);
-            if (flows.isEmpty()) {
-                queueIt2.remove();
-            } else if (blockingFlowCount == referencedFlowCount) {
-                return;
+        if (!cancelled && flow.queue.isEmpty()) {
+            flow.checkDone();
+        }
+        acknowledge();
+    }
+
+    /**
+     * Returns a Publish message that is owned by the given flow. If the flow acknowledges manually, the Publish message
+     * carries its acknowledgement and a QoS 1 or 2 entry is only acknowledged after it was confirmed.
+     */
+    @CallByThread("Netty EventLoop")
+    private @NotNull MqttPublish duplicate(
+            final @NotNull MqttPublish publish, final @NotNull QueueEntry entry,
+            final @NotNull MqttIncomingPublishFlow flow) {
+
+        final HandleList<MqttIncomingPublishConfirmable> unconfirmed = flow.unconfirmed;
+        if (unconfirmed == null) {
+            return publish.retainedDuplicate();
+        }
+        final MqttIncomingPublishConfirmable confirmable;
+        if (publish.getQos() == MqttQos.AT_MOST_ONCE) {
+            confirmable = new MqttIncomingPublishConfirmable(this, null);
+        } else {
+            entry.unconfirmed++;
+            confirmable = new MqttIncomingPublishConfirmable(this, entry);
+            confirmable.handle = unconfirmed.add(confirmable);
+        }
+        return new MqttConfirmablePublish(publish.retainedDuplicate(), confirmable);
+    }
+
+    void confirm(final @NotNull MqttIncomingPublishConfirmable confirmable) {
+        clientConfig.acquireEventLoop().execute(() -> {
+            final HandleList.Handle<MqttIncomingPublishConfirmable> handle = confirmable.handle;
+            final QueueEntry entry = confirmable.entry;
+            assert (handle != null) && (entry != null);
+            handle.remove();
+            entry.unconfirmed--;
+            acknowledge();
+            clientConfig.releaseEventLoop();
+        });
+    }
+
+    /**
+     * Confirms the Publish messages that were emitted to the given flow with manual acknowledgement but were not
+     * confirmed by its consumer before the flow was cancelled or failed.
+     *
+     * @param flow the cancelled or failed flow.
+     */
+    @CallByThread("Netty EventLoop")
+    void confirmAbandoned(final @NotNull MqttIncomingPublishFlow flow) {
+        final HandleList<MqttIncomingPublishConfirmable> unconfirmed = flow.unconfirmed;
+        if (unconfirmed == null) {
+            return;
+        }
+        final Iterator<MqttIncomingPublishConfirmable> confirmableIt = unconfirmed.iterator();
+        while (confirmableIt.hasNext()) {
+            final MqttIncomingPublishConfirmable confirmable = confirmableIt.next();
+            if (confirmable.abandon()) { // confirmations of the consumer are still pending otherwise
+                confirmableIt.remove();
+                assert confirmable.entry != null;
+                confirmable.entry.unconfirmed--;
             }
         }
+        acknowledge();
     }
 
     @CallByThread("Netty EventLoop")
-    private void emit(final @NotNull MqttPublish publish, final @NotNull HandleList<MqttIncomingPublishFlow> flows) {
-        final Iterator<MqttIncomingPublishFlow> flowIt = flows.iterator();
+    private void dereference(final @NotNull QueueEntry entry, final @NotNull MqttIncomingPublishFlow flow) {
+        final Iterator<MqttIncomingPublishFlow> flowIt = entry.flows.iterator();
         while (flowIt.hasNext()) {
-            final MqttIncomingPublishFlow flow = flowIt.next();
-
-            if (flow.isCancelled()) {
+            if (flowIt.next() == flow) {
                 flowIt.remove();
-                if (flow.dereference() == 0) {
-                    referencedFlowCount--;
-                }
-            } else {
-                final long requested = flow.requested(runIndex);
-                if (requested > 0) {
-                    flow.onNext(publish);
-                    flowIt.remove();
-                    if (flow.dereference() == 0) {
-                        referencedFlowCount--;
-                        flow.checkDone();
-                    }
-                } else if (requested == 0) {
-                    blockingFlowCount++;
-                    if (blockingFlowCount == referencedFlowCount) {
-                        break;
-                    }
-                }
+                break;
             }
         }
+        if (entry.flows.isEmpty() && (entry.publish.stateless().getQos() == MqttQos.AT_MOST_ONCE)) {
+            removeQos0(entry);
+            entry.publish.stateless().release();
+        }
+    }
+
+    /**
+     * @return whether any of the given flows can not receive a Publish message immediately.
+     */
+    @CallByThread("Netty EventLoop")
+    private boolean isQueued(final @NotNull HandleList<MqttIncomingPublishFlow> flows) {
+        for (final MqttIncomingPublishFlow flow : flows) {
+            if (!flow.isCancelled() && (!flow.queue.isEmpty() || (flow.requested(runIndex) <= 0))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return whether the given entry is the next entry in all flows it is queued in.
+     */
+    private static boolean isHead(final @NotNull QueueEntry entry) {
+        for (final MqttIncomingPublishFlow flow : entry.flows) {
+            if (flow.queue.peek() != entry) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(
+            final @NotNull HandleList<MqttIncomingPublishFlow> flows, final @NotNull MqttIncomingPublishFlow flow) {
+
+        for (final MqttIncomingPublishFlow element : flows) {
+            if (element == flow) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void offerQos0(final @NotNull QueueEntry entry) {
+        final QueueEntry tail = qos0QueueTail;
+        if (tail == null) {
+            qos0QueueHead = entry;
+        } else {
+            tail.next = entry;
+            entry.prev = tail;
+        }
+        qos0QueueTail = entry;
+        qos0QueueSize++;
+        if (qos0LatestEntries != null) {
+            final ByteArray topic = new ByteArray(entry.publish.stateless().getTopic().toBinary());
+            entry.topic = topic;
+            qos0LatestEntries.put(topic, entry);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void removeQos0(final @NotNull QueueEntry entry) {
+        final QueueEntry prev = entry.prev;
+        final QueueEntry next = entry.next;
+        if (prev == null) {
+            qos0QueueHead = next;
+        } else {
+            prev.next = next;
+        }
+        if (next == null) {
+            qos0QueueTail = prev;
+        } else {
+            next.prev = prev;
+        }
+        entry.prev = entry.next = null;
+        if (--qos0QueueSize == 0) {
+            qos0Dropping = false;
+        }
+        if (qos0LatestEntries != null) {
+            qos0LatestEntries.remove(entry.topic, entry);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void acknowledge() {
+        QueueEntry entry;
+        while (((entry = qos1Or2Queue.peek()) != null) && entry.flows.isEmpty() && (entry.unconfirmed == 0)) {
+            qos1Or2Queue.poll();
+            incomingQosHandler.ack(entry.publish);
+            entry.publish.stateless().release();
+        }
+    }
+
+    long getQos0Dropped() {
+        return qos0Dropped;
+    }
+
+    long getQos0Coalesced() {
+        return qos0Coalesced;
     }
 
-    private static class QueueEntry {
+    static class QueueEntry {
 
-        final @NotNull MqttStatefulPublish publish;
+        @NotNull MqttStatefulPublish publish;
         final @NotNull HandleList<MqttIncomingPublishFlow> flows;
+        int unconfirmed; // amount of flows with manual acknowledgement that have not confirmed a QoS 1 or 2 message
+        @Nullable QueueEntry prev;
+        @Nullable QueueEntry next;
+        @Nullable ByteArray topic; // only set if QoS 0 messages are coalesced by topic
 
         QueueEntry(
                 final @NotNull MqttStatefulPublish publish, final @NotNull HandleList<MqttIncomingPublishFlow> flows) {
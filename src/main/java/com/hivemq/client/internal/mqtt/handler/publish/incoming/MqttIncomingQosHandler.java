@@ -74,7 +74,8 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
 
         this.clientConfig = clientConfig;
         this.incomingPublishFlows = incomingPublishFlows;
-        incomingPublishService = new MqttIncomingPublishService(this);
+        incomingPublishService = new MqttIncomingPublishService(
+                clientConfig, this, clientConfig.getAdvancedConfig().getIncomingQos0Policy());
     }
 
     @Override
@@ -116,7 +117,10 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
         final Object previousMessage = messages.put(publish.getPacketIdentifier(), AT_LEAST_ONCE);
         if (previousMessage == null) { // new message
             readNewPublishQos1Or2(ctx, publish);
-        } else if (previousMessage == AT_LEAST_ONCE) { // resent message
+            return;
+        }
+        publish.stateless().release(); // resent or invalid message is not emitted
+        if (previousMessage == AT_LEAST_ONCE) { // resent message
             checkDupFlagSet(ctx, publish, previousMessage);
         } else if (previousMessage instanceof MqttPubAck) { // resent message and already acknowledged
             if (checkDupFlagSet(ctx, publish, previousMessage)) {
@@ -133,7 +137,10 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
         final Object previousMessage = messages.put(publish.getPacketIdentifier(), EXACTLY_ONCE);
         if (previousMessage == null) { // new message
             readNewPublishQos1Or2(ctx, publish);
-        } else if (previousMessage == EXACTLY_ONCE) { // resent message
+            return;
+        }
+        publish.stateless().release(); // resent or invalid message is not emitted
+        if (previousMessage == EXACTLY_ONCE) { // resent message
             checkDupFlagSet(ctx, publish, previousMessage);
         } else if (previousMessage instanceof MqttPubRec) { // resent message and already acknowledged
             if (checkDupFlagSet(ctx, publish, previousMessage)) {
@@ -279,4 +286,12 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
     @NotNull MqttIncomingPublishService getIncomingPublishService() {
         return incomingPublishService;
     }
+
+    public long getQos0Dropped() {
+        return incomingPublishService.getQos0Dropped();
+    }
+
+    public long getQos0Coalesced() {
+        return incomingPublishService.getQos0Coalesced();
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
+import com.hivemq.client.internal.mqtt.handler.subscribe.MqttSubscriptionHandler;
+import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
+import com.hivemq.client.rx.FlowableWithSingle;
+import com.hivemq.client.rx.reactivestreams.WithSingleSubscriber;
+import io.reactivex.internal.subscriptions.EmptySubscription;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Subscriber;
+
+import java.util.List;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttSubscribedPublishBatchFlowable extends FlowableWithSingle<List<Mqtt5Publish>, Mqtt5SubAck> {
+
+    private final @NotNull MqttSubscribe subscribe;
+    private final @NotNull MqttClientConfig clientConfig;
+    private final int maxSize;
+    private final long maxDelayNanos;
+
+    public MqttSubscribedPublishBatchFlowable(
+            final @NotNull MqttSubscribe subscribe, final @NotNull MqttClientConfig clientConfig, final int maxSize,
+            final long maxDelayNanos) {
+
+        this.subscribe = subscribe;
+        this.clientConfig = clientConfig;
+        this.maxSize = maxSize;
+        this.maxDelayNanos = maxDelayNanos;
+    }
+
+    @Override
+    protected void subscribeActual(final @NotNull Subscriber<? super List<Mqtt5Publish>> subscriber) {
+        subscribe(subscriber, null);
+    }
+
+    @Override
+    protected void subscribeBothActual(
+            final @NotNull WithSingleSubscriber<? super List<Mqtt5Publish>, ? super Mqtt5SubAck> subscriber) {
+
+        subscribe(subscriber, subscriber);
+    }
+
+    private void subscribe(
+            final @NotNull Subscriber<? super List<Mqtt5Publish>> subscriber,
+            final @Nullable WithSingleSubscriber<?, ? super Mqtt5SubAck> singleSubscriber) {
+
+        if (clientConfig.getState().isConnectedOrReconnect()) {
+            final ClientComponent clientComponent = clientConfig.getClientComponent();
+            final MqttIncomingQosHandler incomingQosHandler = clientComponent.incomingQosHandler();
+            final MqttSubscriptionHandler subscriptionHandler = clientComponent.subscriptionHandler();
+
+            final MqttIncomingPublishBatcher batcher =
+                    new MqttIncomingPublishBatcher(subscriber, singleSubscriber, maxSize, maxDelayNanos);
+            final MqttSubscribedPublishFlow flow =
+                    new MqttSubscribedPublishFlow(batcher, clientConfig, incomingQosHandler, false);
+            batcher.onSubscribe(flow);
+            subscriptionHandler.subscribe(subscribe, flow);
+        } else {
+            EmptySubscription.error(MqttClientStateExceptions.notConnected(), subscriber);
+        }
+    }
+}
@@ -0,0 +1,485 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.annotations.NotThreadSafe;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicLevel;
+import com.hivemq.client.internal.util.ByteArray;
+import com.hivemq.client.internal.util.ByteArrayUtil;
+import com.hivemq.client.internal.util.collections.HandleList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Inject;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Alternative to {@link MqttSubscriptionFlowTree} for very large numbers of subscriptions.
+ * <p>
+ * Each node is a single object that holds its topic level bytes directly. Children are stored in a small array that is
+ * scanned linearly or, if a node has many children, in an open addressing hash table. The single level wildcard child
+ * is stored separately, so matching does not need to look it up. The flows subscribed at a node are flattened into a
+ * single array.
+ *
+ * @author Silvio Giebl
+ */
+@NotThreadSafe
+public class MqttSubscriptionFlowCompactTree implements MqttSubscriptionFlows {
+
+    private static final @NotNull byte[] ROOT_LEVEL = new byte[0];
+
+    private @Nullable Node rootNode;
+
+    @Inject
+    MqttSubscriptionFlowCompactTree() {}
+
+    @Override
+    public void subscribe(
+            final @NotNull MqttTopicFilterImpl topicFilter, final @Nullable MqttSubscribedPublishFlow flow) {
+
+        if (rootNode == null) {
+            rootNode = new Node(ROOT_LEVEL);
+        }
+        rootNode.subscribe(MqttTopicLevel.root(topicFilter), topicFilter, flow);
+    }
+
+    @Override
+    public void remove(final @NotNull MqttTopicFilterImpl topicFilter, final @Nullable MqttSubscribedPublishFlow flow) {
+        if ((rootNode != null) && rootNode.remove(MqttTopicLevel.root(topicFilter), flow)) {
+            rootNode = null;
+        }
+    }
+
+    @Override
+    public void unsubscribe(
+            final @NotNull MqttTopicFilterImpl topicFilter,
+            final @Nullable Consumer<MqttSubscribedPublishFlow> unsubscribedCallback) {
+
+        if ((rootNode != null) && rootNode.unsubscribe(MqttTopicLevel.root(topicFilter), unsubscribedCallback)) {
+            rootNode = null;
+        }
+    }
+
+    @Override
+    public void cancel(final @NotNull MqttSubscribedPublishFlow flow) {
+        if (rootNode != null) {
+            for (final MqttTopicFilterImpl topicFilter : flow.getTopicFilters()) {
+                rootNode.cancel(MqttTopicLevel.root(topicFilter), flow);
+            }
+        }
+    }
+
+    @Override
+    public boolean findMatching(
+            final @NotNull MqttTopicImpl topic, final @NotNull HandleList<MqttIncomingPublishFlow> matchingFlows) {
+
+        return (rootNode != null) && rootNode.findMatching(MqttTopicLevel.root(topic), matchingFlows);
+    }
+
+    @Override
+    public void clear(final @NotNull Throwable cause) {
+        if (rootNode != null) {
+            rootNode.clear(cause);
+            rootNode = null;
+        }
+    }
+
+    private static class Node extends ByteArray {
+
+        private static final int MAX_LINEAR_CHILDREN = 8;
+        private static final int INITIAL_CHILDREN_TABLE_CAPACITY = 32;
+
+        private final int hash;
+        private @Nullable Node singleLevelChild;
+        private @Nullable Node @Nullable [] children;
+        private int childCount;
+        private @Nullable Entries entries;
+        private @Nullable Entries multiLevelEntries;
+        private int subscriptions;
+        private int multiLevelSubscriptions;
+
+        Node(final @NotNull byte[] level) {
+            super(level);
+            hash = ByteArrayUtil.hashCode(level, 0, level.length);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        void subscribe(
+                @Nullable MqttTopicLevel level, final @NotNull MqttTopicFilterImpl topicFilter,
+                final @Nullable MqttSubscribedPublishFlow flow) {
+
+            Node node = this;
+            while ((level != null) && !level.isMultiLevelWildcard()) {
+                Node child = node.getChild(level);
+                if (child == null) {
+                    child = new Node(level.toArray());
+                    node.addChild(child, level.isSingleLevelWildcard());
+                }
+                node = child;
+                level = level.next();
+            }
+            if (level == null) {
+                if (flow != null) {
+                    node.entries = Entries.add(node.entries, flow, topicFilter);
+                }
+                node.subscriptions++;
+            } else {
+                if (flow != null) {
+                    node.multiLevelEntries = Entries.add(node.multiLevelEntries, flow, topicFilter);
+                }
+                node.multiLevelSubscriptions++;
+            }
+        }
+
+        boolean remove(final @Nullable MqttTopicLevel level, final @Nullable MqttSubscribedPublishFlow flow) {
+            if (level == null) {
+                if ((entries != null) && (flow != null) && entries.remove(flow, true)) {
+                    entries = null;
+                }
+                subscriptions--;
+                return isEmpty();
+            }
+            if (level.isMultiLevelWildcard()) {
+                if ((multiLevelEntries != null) && (flow != null) && multiLevelEntries.remove(flow, true)) {
+                    multiLevelEntries = null;
+                }
+                multiLevelSubscriptions--;
+                return isEmpty();
+            }
+            final Node child = getChild(level);
+            if ((child != null) && child.remove(level.next(), flow)) {
+                removeChild(child);
+                return isEmpty();
+            }
+            return false;
+        }
+
+        boolean unsubscribe(
+                final @Nullable MqttTopicLevel level,
+                final @Nullable Consumer<MqttSubscribedPublishFlow> unsubscribedCallback) {
+
+            if (level == null) {
+                if (entries != null) {
+                    entries.unsubscribe(unsubscribedCallback);
+                    entries = null;
+                }
+                subscriptions = 0;
+                return isEmpty();
+            }
+            if (level.isMultiLevelWildcard()) {
+                if (multiLevelEntries != null) {
+                    multiLevelEntries.unsubscribe(unsubscribedCallback);
+                    multiLevelEntries = null;
+                }
+                multiLevelSubscriptions = 0;
+                return isEmpty();
+            }
+            final Node child = getChild(level);
+            if ((child != null) && child.unsubscribe(level.next(), unsubscribedCallback)) {
+                removeChild(child);
+                return isEmpty();
+            }
+            return false;
+        }
+
+        void cancel(final @Nullable MqttTopicLevel level, final @NotNull MqttSubscribedPublishFlow flow) {
+            if (level == null) {
+                if ((entries != null) && entries.remove(flow, false)) {
+                    entries = null;
+                }
+            } else if (level.isMultiLevelWildcard()) {
+                if ((multiLevelEntries != null) && multiLevelEntries.remove(flow, false)) {
+                    multiLevelEntries = null;
+                }
+            } else {
+                final Node child = getChild(level);
+                if (child != null) {
+                    child.cancel(level.next(), flow);
+                }
+            }
+        }
+
+        boolean findMatching(
+                final @Nullable MqttTopicLevel level,
+                final @NotNull HandleList<MqttIncomingPublishFlow> matchingFlows) {
+
+            if (level == null) {
+                if (entries != null) {
+                    entries.addTo(matchingFlows);
+                }
+                if (multiLevelEntries != null) {
+                    multiLevelEntries.addTo(matchingFlows);
+                }
+                return (subscriptions != 0) || (multiLevelSubscriptions != 0);
+            }
+            if (multiLevelEntries != null) {
+                multiLevelEntries.addTo(matchingFlows);
+            }
+            boolean subscriptionFound = (multiLevelSubscriptions != 0);
+            if (singleLevelChild != null) {
+                subscriptionFound |= singleLevelChild.findMatching(level.fork().next(), matchingFlows);
+            }
+            final Node child = findChild(level);
+            if (child != null) {
+                subscriptionFound |= child.findMatching(level.next(), matchingFlows);
+            }
+            return subscriptionFound;
+        }
+
+        void clear(final @NotNull Throwable cause) {
+            if (entries != null) {
+                entries.clear(cause);
+                entries = null;
+            }
+            if (multiLevelEntries != null) {
+                multiLevelEntries.clear(cause);
+                multiLevelEntries = null;
+            }
+            if (singleLevelChild != null) {
+                singleLevelChild.clear(cause);
+                singleLevelChild = null;
+            }
+            if (children != null) {
+                for (final Node child : children) {
+                    if (child != null) {
+                        child.clear(cause);
+                    }
+                }
+                children = null;
+                childCount = 0;
+            }
+            subscriptions = 0;
+            multiLevelSubscriptions = 0;
+        }
+
+        private boolean isEmpty() {
+            return (subscriptions == 0) && (multiLevelSubscriptions == 0) && (singleLevelChild == null) &&
+                    (childCount == 0);
+        }
+
+        private @Nullable Node getChild(final @NotNull MqttTopicLevel level) {
+            return level.isSingleLevelWildcard() ? singleLevelChild : findChild(level);
+        }
+
+        private @Nullable Node findChild(final @NotNull MqttTopicLevel level) {
+            final Node[] children = this.children;
+            if (children == null) {
+                return null;
+            }
+            if (children.length <= MAX_LINEAR_CHILDREN) {
+                for (int i = 0; i < childCount; i++) {
+                    final Node child = children[i];
+                    if (level.equals(child)) {
+                        return child;
+                    }
+                }
+                return null;
+            }
+            final int hash = level.hashCode();
+            final int mask = children.length - 1;
+            for (int i = index(hash, mask); ; i = (i + 1) & mask) {
+                final Node child = children[i];
+                if (child == null) {
+                    return null;
+                }
+                if ((child.hash == hash) && level.equals(child)) {
+                    return child;
+                }
+            }
+        }
+
+        private void addChild(final @NotNull Node child, final boolean singleLevelWildcard) {
+            if (singleLevelWildcard) {
+                singleLevelChild = child;
+                return;
+            }
+            Node[] children = this.children;
+            if (children == null) {
+                this.children = children = new Node[2];
+            }
+            if (children.length <= MAX_LINEAR_CHILDREN) {
+                if (childCount < children.length) {
+                    children[childCount++] = child;
+                    return;
+                }
+                if (childCount < MAX_LINEAR_CHILDREN) {
+                    this.children = children = Arrays.copyOf(children, childCount << 1);
+                    children[childCount++] = child;
+                    return;
+                }
+                this.children = children = rehash(children, INITIAL_CHILDREN_TABLE_CAPACITY);
+            } else if ((childCount + 1) << 1 > children.length) {
+                this.children = children = rehash(children, children.length << 1);
+            }
+            insert(children, child);
+            childCount++;
+        }
+
+        private void removeChild(final @NotNull Node child) {
+            if (child == singleLevelChild) {
+                singleLevelChild = null;
+                return;
+            }
+            final Node[] children = this.children;
+            assert children != null;
+            if (children.length <= MAX_LINEAR_CHILDREN) {
+                for (int i = 0; i < childCount; i++) {
+                    if (children[i] == child) {
+                        System.arraycopy(children, i + 1, children, i, childCount - i - 1);
+                        children[--childCount] = null;
+                        break;
+                    }
+                }
+                if (childCount == 0) {
+                    this.children = null;
+                }
+                return;
+            }
+            final int mask = children.length - 1;
+            int i = index(child.hash, mask);
+            while (children[i] != child) {
+                i = (i + 1) & mask;
+            }
+            children[i] = null;
+            childCount--;
+            // shift back the following entries of the probe sequence, so lookups do not stop at the emptied slot
+            for (int j = (i + 1) & mask; children[j] != null; j = (j + 1) & mask) {
+                final int home = index(children[j].hash, mask);
+                if ((i < j) ? ((home <= i) || (home > j)) : ((home <= i) && (home > j))) {
+                    children[i] = children[j];
+                    children[j] = null;
+                    i = j;
+                }
+            }
+            if (childCount <= (MAX_LINEAR_CHILDREN >> 1)) {
+                final Node[] linearChildren = new Node[MAX_LINEAR_CHILDREN];
+                int count = 0;
+                for (final Node node : children) {
+                    if (node != null) {
+                        linearChildren[count++] = node;
+                    }
+                }
+                this.children = linearChildren;
+            }
+        }
+
+        private @NotNull Node @NotNull [] rehash(final @Nullable Node @NotNull [] children, final int capacity) {
+            final Node[] newChildren = new Node[capacity];
+            for (final Node child : children) {
+                if (child != null) {
+                    insert(newChildren, child);
+                }
+            }
+            return newChildren;
+        }
+
+        private static void insert(final @Nullable Node @NotNull [] table, final @NotNull Node node) {
+            final int mask = table.length - 1;
+            int i = index(node.hash, mask);
+            while (table[i] != null) {
+                i = (i + 1) & mask;
+            }
+            table[i] = node;
+        }
+
+        private static int index(final int hash, final int mask) {
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+
+    /**
+     * Flows subscribed at a node, stored as pairs of the flow and the handle of the topic filter in the flow.
+     */
+    private static class Entries {
+
+        private @Nullable Object @NotNull [] array = new Object[2];
+        private int size;
+
+        static @NotNull Entries add(
+                @Nullable Entries entries, final @NotNull MqttSubscribedPublishFlow flow,
+                final @NotNull MqttTopicFilterImpl topicFilter) {
+
+            if (entries == null) {
+                entries = new Entries();
+            } else if (entries.size == entries.array.length) {
+                entries.array = Arrays.copyOf(entries.array, entries.size << 1);
+            }
+            entries.array[entries.size++] = flow;
+            entries.array[entries.size++] = flow.getTopicFilters().add(topicFilter);
+            return entries;
+        }
+
+        boolean remove(final @NotNull MqttSubscribedPublishFlow flow, final boolean removeTopicFilter) {
+            for (int i = 0; i < size; i += 2) {
+                if (array[i] == flow) {
+                    if (removeTopicFilter) {
+                        handle(i).remove();
+                    }
+                    System.arraycopy(array, i + 2, array, i, size - i - 2);
+                    array[--size] = null;
+                    array[--size] = null;
+                    break;
+                }
+            }
+            return size == 0;
+        }
+
+        void unsubscribe(final @Nullable Consumer<MqttSubscribedPublishFlow> unsubscribedCallback) {
+            for (int i = 0; i < size; i += 2) {
+                handle(i).remove();
+                final MqttSubscribedPublishFlow flow = flow(i);
+                if (flow.getTopicFilters().isEmpty()) {
+                    flow.onComplete();
+                    if (unsubscribedCallback != null) {
+                        unsubscribedCallback.accept(flow);
+                    }
+                }
+            }
+        }
+
+        void addTo(final @NotNull HandleList<MqttIncomingPublishFlow> target) {
+            for (int i = 0; i < size; i += 2) {
+                target.add(flow(i));
+            }
+        }
+
+        void clear(final @NotNull Throwable cause) {
+            for (int i = 0; i < size; i += 2) {
+                flow(i).onError(cause);
+            }
+        }
+
+        private @NotNull MqttSubscribedPublishFlow flow(final int i) {
+            //noinspection ConstantConditions
+            return (MqttSubscribedPublishFlow) array[i];
+        }
+
+        @SuppressWarnings("unchecked")
+        private @NotNull HandleList.Handle<MqttTopicFilterImpl> handle(final int i) {
+            //noinspection ConstantConditions
+            return (HandleList.Handle<MqttTopicFilterImpl>) array[i + 1];
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
+import com.hivemq.client.internal.mqtt.handler.util.FlowWithEventLoop;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import io.netty.channel.EventLoop;
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Flow for a batch of publishes that completes one future with the results of all publishes.
+ * <p>
+ * The whole batch is added to the {@link MqttPublishFlowables} at once as a single publish flowable, so its publishes
+ * are written in the order of the batch and as many at once as the flow control allows.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttAckBatchFlow extends FlowWithEventLoop implements Runnable {
+
+    /**
+     * Publishes the given batch of publishes.
+     *
+     * @param publishes    the batch of publishes.
+     * @param clientConfig the config of the client.
+     * @param scheduler    the scheduler the future is completed on or <code>null</code> if it should be completed on
+     *                     the Netty event loop.
+     * @return the future which is completed with the results of the publishes in the order of the batch.
+     */
+    public static @NotNull CompletableFuture<@NotNull List<@NotNull Mqtt5PublishResult>> publish(
+            final @NotNull MqttPublish @NotNull [] publishes, final @NotNull MqttClientConfig clientConfig,
+            final @Nullable Scheduler scheduler) {
+
+        final CompletableFuture<List<Mqtt5PublishResult>> future = new CompletableFuture<>();
+        if (publishes.length == 0) {
+            future.complete(ImmutableList.of());
+        } else if (clientConfig.getState().isConnectedOrReconnect()) {
+            final MqttOutgoingQosHandler outgoingQosHandler = clientConfig.getClientComponent().outgoingQosHandler();
+            final MqttAckBatchFlow flow =
+                    new MqttAckBatchFlow(future, publishes.length, clientConfig, outgoingQosHandler, scheduler);
+            final MqttPublishWithFlow[] publishWithFlows = new MqttPublishWithFlow[publishes.length];
+            for (int i = 0; i < publishes.length; i++) {
+                final MqttPublish publish = publishes[i];
+                publishWithFlows[i] = new MqttPublishWithFlow(publish, flow.new Entry(publish, i));
+            }
+            outgoingQosHandler.getPublishFlowables().add(Flowable.fromArray(publishWithFlows));
+        } else {
+            future.completeExceptionally(MqttClientStateExceptions.notConnected());
+        }
+        return future;
+    }
+
+    private final @NotNull CompletableFuture<List<Mqtt5PublishResult>> future;
+    private final @NotNull MqttOutgoingQosHandler outgoingQosHandler;
+    private final @Nullable Scheduler scheduler;
+
+    private final @NotNull MqttPublishResult @NotNull [] results;
+    private int done;
+
+    private MqttAckBatchFlow(
+            final @NotNull CompletableFuture<List<Mqtt5PublishResult>> future, final int size,
+            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttOutgoingQosHandler outgoingQosHandler,
+            final @Nullable Scheduler scheduler) {
+
+        super(clientConfig);
+        this.future = future;
+        this.outgoingQosHandler = outgoingQosHandler;
+        this.scheduler = scheduler;
+        results = new MqttPublishResult[size];
+        init();
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void onDone(final int count) {
+        done += count;
+        if ((done == results.length) && setDone()) {
+            if (scheduler == null) {
+                run();
+            } else {
+                scheduler.scheduleDirect(this);
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        future.complete(ImmutableList.copyOf(results));
+    }
+
+    private class Entry implements MqttAckFlow {
+
+        private final @NotNull MqttPublish publish;
+        private final int index;
+
+        Entry(final @NotNull MqttPublish publish, final int index) {
+            this.publish = publish;
+            this.index = index;
+        }
+
+        @Override
+        public @NotNull EventLoop getEventLoop() {
+            return eventLoop;
+        }
+
+        @CallByThread("Netty EventLoop")
+        @Override
+        public void onNext(final @NotNull MqttPublishResult result) {
+            results[index] = result;
+            if (result.acknowledged()) {
+                acknowledged(1);
+            }
+        }
+
+        @CallByThread("Netty EventLoop")
+        @Override
+        public void acknowledged(final long acknowledged) {
+            onDone(1);
+            outgoingQosHandler.request(acknowledged);
+        }
+
+        @CallByThread("Netty EventLoop")
+        @Override
+        public void onError(final @NotNull Throwable t) {
+            results[index] = new MqttPublishResult(publish, t);
+            onDone(1);
+        }
+    }
+}
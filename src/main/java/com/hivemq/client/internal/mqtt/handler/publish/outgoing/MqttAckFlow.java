@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import io.netty.channel.EventLoop;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Flow that receives the results of publishes from the {@link MqttOutgoingQosHandler}.
+ *
+ * @author Silvio Giebl
+ */
+interface MqttAckFlow {
+
+    @NotNull EventLoop getEventLoop();
+
+    @CallByThread("Netty EventLoop")
+    void onNext(@NotNull MqttPublishResult result);
+
+    @CallByThread("Netty EventLoop")
+    void acknowledged(long acknowledged);
+
+    @CallByThread("Netty EventLoop")
+    void onError(@NotNull Throwable t);
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
+import com.hivemq.client.internal.mqtt.handler.util.FlowWithEventLoop;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.internal.fuseable.ScalarCallable;
+import io.reactivex.internal.subscriptions.ScalarSubscription;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Subscriber;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Flow for a single publish that completes a future with its result.
+ * <p>
+ * The publish is added to the {@link MqttPublishFlowables} as a scalar flowable which is emitted directly to the
+ * {@link MqttOutgoingQosHandler} without an inner subscription. So single publishes are subject to the same ordering
+ * and flow control as publish flowables, but do not need a {@link MqttIncomingAckFlowable} with its queue and
+ * subscriptions and a scheduler hop per operator.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttAckFutureFlow extends FlowWithEventLoop implements MqttAckFlow, Runnable {
+
+    /**
+     * Publishes the given publish.
+     *
+     * @param publish      the publish.
+     * @param clientConfig the config of the client.
+     * @param scheduler    the scheduler the future is completed on or <code>null</code> if it should be completed on
+     *                     the Netty event loop.
+     * @return the future which is completed with the result of the publish.
+     */
+    public static @NotNull CompletableFuture<@NotNull Mqtt5PublishResult> publish(
+            final @NotNull MqttPublish publish, final @NotNull MqttClientConfig clientConfig,
+            final @Nullable Scheduler scheduler) {
+
+        final CompletableFuture<Mqtt5PublishResult> future = new CompletableFuture<>();
+        if (clientConfig.getState().isConnectedOrReconnect()) {
+            final MqttOutgoingQosHandler outgoingQosHandler = clientConfig.getClientComponent().outgoingQosHandler();
+            final MqttAckFutureFlow flow = new MqttAckFutureFlow(future, clientConfig, outgoingQosHandler, scheduler);
+            outgoingQosHandler.getPublishFlowables()
+                    .add(new ScalarPublishFlowable(new MqttPublishWithFlow(publish, flow)));
+        } else {
+            future.completeExceptionally(MqttClientStateExceptions.notConnected());
+        }
+        return future;
+    }
+
+    private final @NotNull CompletableFuture<Mqtt5PublishResult> future;
+    private final @NotNull MqttOutgoingQosHandler outgoingQosHandler;
+    private final @Nullable Scheduler scheduler;
+
+    private @Nullable MqttPublishResult result;
+    private @Nullable Throwable error;
+
+    private MqttAckFutureFlow(
+            final @NotNull CompletableFuture<Mqtt5PublishResult> future, final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttOutgoingQosHandler outgoingQosHandler, final @Nullable Scheduler scheduler) {
+
+        super(clientConfig);
+        this.future = future;
+        this.outgoingQosHandler = outgoingQosHandler;
+        this.scheduler = scheduler;
+        init();
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void onNext(final @NotNull MqttPublishResult result) {
+        this.result = result;
+        if (result.acknowledged()) {
+            acknowledged(1);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void acknowledged(final long acknowledged) {
+        if (setDone()) {
+            complete();
+        }
+        outgoingQosHandler.request(acknowledged);
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void onError(final @NotNull Throwable t) {
+        error = t;
+        if (setDone()) {
+            complete();
+        }
+    }
+
+    private void complete() {
+        if (scheduler == null) {
+            run();
+        } else {
+            scheduler.scheduleDirect(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        if (error != null) {
+            future.completeExceptionally(error);
+            return;
+        }
+        assert result != null;
+        final Throwable resultError = result.getRawError();
+        if (resultError != null) {
+            future.completeExceptionally(resultError);
+        } else {
+            future.complete(result);
+        }
+    }
+
+    private static class ScalarPublishFlowable extends Flowable<MqttPublishWithFlow>
+            implements ScalarCallable<MqttPublishWithFlow> {
+
+        private final @NotNull MqttPublishWithFlow publishWithFlow;
+
+        ScalarPublishFlowable(final @NotNull MqttPublishWithFlow publishWithFlow) {
+            this.publishWithFlow = publishWithFlow;
+        }
+
+        @Override
+        protected void subscribeActual(final @NotNull Subscriber<? super MqttPublishWithFlow> s) {
+            s.onSubscribe(new ScalarSubscription<>(s, publishWithFlow));
+        }
+
+        @Override
+        public @NotNull MqttPublishWithFlow call() {
+            return publishWithFlow;
+        }
+    }
+}
@@ -37,7 +37,7 @@ import java.util.concurrent.atomic.AtomicReference;
 /**
  * @author Silvio Giebl
  */
-public class MqttIncomingAckFlow extends FlowWithEventLoop implements Subscription, Runnable {
+public class MqttIncomingAckFlow extends FlowWithEventLoop implements MqttAckFlow, Subscription, Runnable {
 
     private static final int STATE_NO_NEW_REQUESTS = 0;
     private static final int STATE_NEW_REQUESTS = 1;
@@ -70,7 +70,8 @@ public class MqttIncomingAckFlow extends FlowWithEventLoop implements Subscripti
     }
 
     @CallByThread("Netty EventLoop")
-    void onNext(final @NotNull MqttPublishResult result) {
+    @Override
+    public void onNext(final @NotNull MqttPublishResult result) {
         queue.offer(result);
         run();
     }
@@ -113,7 +114,8 @@ public class MqttIncomingAckFlow extends FlowWithEventLoop implements Subscripti
     }
 
     @CallByThread("Netty EventLoop")
-    void acknowledged(final long acknowledged) {
+    @Override
+    public void acknowledged(final long acknowledged) {
         if (acknowledged > 0) {
             final long acknowledgedLocal = this.acknowledgedNettyLocal += acknowledged;
             this.acknowledged = acknowledgedLocal;
@@ -149,7 +151,8 @@ public class MqttIncomingAckFlow extends FlowWithEventLoop implements Subscripti
     }
 
     @CallByThread("Netty EventLoop")
-    void onError(final @NotNull Throwable t) {
+    @Override
+    public void onError(final @NotNull Throwable t) {
         error = t;
         cancelLink(); // subscriber.onError called in onLinkCancelled
     }
@@ -25,6 +25,7 @@ import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
 import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
 import com.hivemq.client.internal.mqtt.handler.MqttSessionAwareHandler;
+import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectEvent;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttPubRelWithFlow.MqttQos2CompleteWithFlow;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttPubRelWithFlow.MqttQos2IntermediateWithFlow;
@@ -53,6 +54,7 @@ import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos2.Mqtt5OutgoingQos2I
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5PubAckException;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5PubRecException;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.reactivex.FlowableSubscriber;
 import org.jctools.queues.SpscUnboundedArrayQueue;
@@ -93,6 +95,8 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     private int shrinkRequests;
 
     private @Nullable Subscription subscription;
+    private long deferredRequests; // requests that are deferred while the channel is not writable
+    private boolean paused; // draining the queue is paused until the channel is writable again
 
     private int currentWrite = -1;
 
@@ -131,9 +135,47 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             } else {
                 shrinkRequests = -newRequests;
             }
-//            resend(); // TODO
         }
         topicAliasMapping = connectionConfig.getSendTopicAliasMapping();
+        if (oldSendMaximum != 0) {
+            resend();
+            if (queuedCounter.get() > 0) {
+                // publishes queued while disconnected did not schedule a new run
+                connectionConfig.getChannel().eventLoop().execute(this);
+            }
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void resend() {
+        assert qos1Or2Map != null;
+
+        final ChannelHandlerContext ctx = this.ctx;
+        final int pending = qos1Or2Queue.size();
+        if ((ctx == null) || (pending == 0)) {
+            return;
+        }
+        // packet identifiers are copied first, as a failed write removes its packet identifier from the queue
+        final int[] pendingPacketIdentifiers = new int[pending];
+        for (int i = 0; i < pending; i++) {
+            final int packetIdentifier = qos1Or2Queue.poll(-1);
+            assert packetIdentifier != -1;
+            qos1Or2Queue.offer(packetIdentifier);
+            pendingPacketIdentifiers[i] = packetIdentifier;
+        }
+        for (final int packetIdentifier : pendingPacketIdentifiers) {
+            final MqttPubOrRelWithFlow pubOrRelWithFlow = qos1Or2Map.get(packetIdentifier);
+            if (pubOrRelWithFlow instanceof MqttPublishWithFlow) {
+                final MqttPublish publish = ((MqttPublishWithFlow) pubOrRelWithFlow).getPublish();
+                currentWrite = packetIdentifier;
+                ctx.write(publish.createStateful(packetIdentifier, true, topicAliasMapping), ctx.voidPromise());
+                currentWrite = -1;
+            } else {
+                assert pubOrRelWithFlow != null;
+                ctx.write(((MqttPubRelWithFlow) pubOrRelWithFlow).getPubRel(), ctx.voidPromise());
+            }
+        }
+        ctx.flush();
     }
 
     private void resize() {
@@ -173,6 +215,11 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     void request(final long n) {
         assert subscription != null;
 
+        final ChannelHandlerContext ctx = this.ctx;
+        if ((ctx != null) && !ctx.channel().isWritable()) {
+            deferredRequests += n;
+            return;
+        }
         if (shrinkRequests == 0) {
             subscription.request(n);
         } else {
@@ -196,15 +243,50 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         if (ctx == null) {
             return;
         }
+        paused = false;
+        final Channel channel = ctx.channel();
         final int working = Math.min(queuedCounter.get(), 64);
-        for (int i = 0; i < working; i++) {
+        int written = 0;
+        while ((written < working) && channel.isWritable()) {
             final MqttPublishWithFlow publishWithFlow = queue.poll();
             assert publishWithFlow != null; // ensured by queuedCounter
             writePublish(ctx, publishWithFlow);
+            written++;
         }
         ctx.flush();
-        if (queuedCounter.addAndGet(-working) > 0) {
-            ctx.channel().eventLoop().execute(this);
+        if (queuedCounter.addAndGet(-written) > 0) {
+            // writability is checked after the flush as the flush can make the channel writable again
+            if (channel.isWritable()) {
+                channel.eventLoop().execute(this);
+            } else {
+                paused = true; // resumed by channelWritabilityChanged
+            }
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(final @NotNull ChannelHandlerContext ctx) {
+        if (ctx.channel().isWritable()) {
+            releaseDeferredRequests();
+            if (paused) {
+                run();
+            }
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    protected void onDisconnectEvent(final @NotNull MqttDisconnectEvent disconnectEvent) {
+        super.onDisconnectEvent(disconnectEvent);
+        releaseDeferredRequests();
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void releaseDeferredRequests() {
+        final long deferredRequests = this.deferredRequests;
+        if (deferredRequests > 0) {
+            this.deferredRequests = 0;
+            request(deferredRequests);
         }
     }
 
@@ -323,7 +405,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             error(ctx, "PUBREC must not be received for a QoS 1 PUBLISH");
             return;
         }
-        final MqttIncomingAckFlow ackFlow = publishWithFlow.getIncomingAckFlow();
+        final MqttAckFlow ackFlow = publishWithFlow.getIncomingAckFlow();
 
         if (pubRec.getReasonCode().isError()) {
             qos1Or2Map.remove(packetIdentifier);
@@ -372,7 +454,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         }
         final MqttPubRelWithFlow pubRelWithFlow = (MqttPubRelWithFlow) removed;
         final MqttPubRel pubRel = pubRelWithFlow.getPubRel();
-        final MqttIncomingAckFlow ackFlow = pubRelWithFlow.getIncomingAckFlow();
+        final MqttAckFlow ackFlow = pubRelWithFlow.getIncomingAckFlow();
 
         removed(packetIdentifier);
 
@@ -31,7 +31,7 @@ abstract class MqttPubRelWithFlow extends MqttPubOrRelWithFlow {
 
     private final @NotNull MqttPubRel pubRel;
 
-    MqttPubRelWithFlow(final @NotNull MqttPubRel pubRel, final @NotNull MqttIncomingAckFlow incomingAckFlow) {
+    MqttPubRelWithFlow(final @NotNull MqttPubRel pubRel, final @NotNull MqttAckFlow incomingAckFlow) {
         super(incomingAckFlow);
         this.pubRel = pubRel;
     }
@@ -45,7 +45,7 @@ abstract class MqttPubRelWithFlow extends MqttPubOrRelWithFlow {
         private int state;
 
         MqttQos2IntermediateWithFlow(
-                final @NotNull MqttPubRel pubRel, final @NotNull MqttIncomingAckFlow incomingAckFlow) {
+                final @NotNull MqttPubRel pubRel, final @NotNull MqttAckFlow incomingAckFlow) {
 
             super(pubRel, incomingAckFlow);
         }
@@ -63,7 +63,7 @@ abstract class MqttPubRelWithFlow extends MqttPubOrRelWithFlow {
 
         MqttQos2CompleteWithFlow(
                 final @NotNull MqttPublish publish, final @NotNull MqttPubRec pubRec, final @NotNull MqttPubRel pubRel,
-                final @NotNull MqttIncomingAckFlow incomingAckFlow) {
+                final @NotNull MqttAckFlow incomingAckFlow) {
 
             super(pubRel, incomingAckFlow);
             this.publish = publish;
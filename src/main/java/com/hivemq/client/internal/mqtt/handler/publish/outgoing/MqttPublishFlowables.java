@@ -22,14 +22,26 @@ import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
 import io.reactivex.Flowable;
 import io.reactivex.internal.util.BackpressureHelper;
+import org.jctools.queues.MpscArrayQueue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
 import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 /**
+ * Hands off publish flowables of any number of threads to the single subscriber of the outgoing QoS handler without
+ * locking or blocking the publishing threads.
+ * <p>
+ * Flowables are queued in a bounded multi producer single consumer queue. The thread that finds the queue not being
+ * drained emits as many flowables as requested, also on behalf of concurrently adding threads. If the queue is full,
+ * adding threads wait until the subscriber requests more, so fast publishers are still throttled.
+ *
  * @author Silvio Giebl
  */
 @ClientScope
@@ -37,8 +49,14 @@ public class MqttPublishFlowables extends Flowable<Flowable<MqttPublishWithFlow>
 
     private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttPublishFlowables.class);
 
-    private @Nullable Subscriber<? super Flowable<MqttPublishWithFlow>> subscriber;
-    private long requested;
+    static final int QUEUE_CAPACITY = 1024;
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private volatile @Nullable Subscriber<? super Flowable<MqttPublishWithFlow>> subscriber;
+    private final @NotNull MpscArrayQueue<Flowable<MqttPublishWithFlow>> queue = new MpscArrayQueue<>(QUEUE_CAPACITY);
+    private final @NotNull AtomicLong requested = new AtomicLong();
+    private final @NotNull AtomicInteger emitting = new AtomicInteger();
 
     @Inject
     MqttPublishFlowables() {}
@@ -51,29 +69,54 @@ public class MqttPublishFlowables extends Flowable<Flowable<MqttPublishWithFlow>
     }
 
     public void add(final @NotNull Flowable<MqttPublishWithFlow> publishFlowable) {
-        synchronized (this) {
-            while (requested == 0) {
-                try {
-                    this.wait();
-                } catch (final InterruptedException e) {
-                    LOGGER.error("thread interrupted while waiting to publish.", e);
-                    return;
-                }
-            }
-            assert subscriber != null;
-            subscriber.onNext(publishFlowable);
-            requested--;
+        if (queue.offer(publishFlowable) || awaitOffer(publishFlowable)) {
+            emit();
         }
     }
 
+    private boolean awaitOffer(final @NotNull Flowable<MqttPublishWithFlow> publishFlowable) {
+        long parkNanos = MIN_PARK_NANOS;
+        do {
+            if (Thread.currentThread().isInterrupted()) {
+                LOGGER.error("thread interrupted while waiting to publish.");
+                return false;
+            }
+            LockSupport.parkNanos(this, parkNanos);
+            parkNanos = Math.min(parkNanos << 1, MAX_PARK_NANOS);
+        } while (!queue.offer(publishFlowable));
+        return true;
+    }
+
     @Override
     public void request(final long n) {
-        synchronized (this) {
-            requested = BackpressureHelper.addCap(requested, n);
-            if (requested == n) {
-                this.notifyAll();
-            }
+        BackpressureHelper.add(requested, n);
+        emit();
+    }
+
+    private void emit() {
+        if (emitting.getAndIncrement() != 0) {
+            return;
         }
+        int missed = 1;
+        do {
+            final Subscriber<? super Flowable<MqttPublishWithFlow>> subscriber = this.subscriber;
+            if (subscriber != null) {
+                final long requested = this.requested.get();
+                long emitted = 0;
+                while (emitted < requested) {
+                    final Flowable<MqttPublishWithFlow> publishFlowable = queue.poll();
+                    if (publishFlowable == null) {
+                        break;
+                    }
+                    subscriber.onNext(publishFlowable);
+                    emitted++;
+                }
+                if (emitted > 0) {
+                    BackpressureHelper.produced(this.requested, emitted);
+                }
+            }
+            missed = emitting.addAndGet(-missed);
+        } while (missed != 0);
     }
 
     @Override
@@ -27,7 +27,7 @@ class MqttPublishWithFlow extends MqttPubOrRelWithFlow {
 
     private final @NotNull MqttPublish publish;
 
-    MqttPublishWithFlow(final @NotNull MqttPublish publish, final @NotNull MqttIncomingAckFlow incomingAckFlow) {
+    MqttPublishWithFlow(final @NotNull MqttPublish publish, final @NotNull MqttAckFlow incomingAckFlow) {
         super(incomingAckFlow);
         this.publish = publish;
     }
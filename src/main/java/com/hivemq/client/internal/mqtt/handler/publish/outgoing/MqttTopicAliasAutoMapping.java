@@ -17,46 +17,36 @@
 
 package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
-import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.TreeSet;
+import java.nio.charset.StandardCharsets;
 
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.*;
 
 /**
  * @author Silvio Giebl
  */
-public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
+public class MqttTopicAliasAutoMapping extends MqttTopicAliasMapping {
 
     private static final byte OVERSIZE = 8; // TODO configurable
     private static final byte RETAIN = 10; // TODO configurable
     private static final byte OVERWRITE_TRIES = 3; // TODO configurable
 
-    private final int topicAliasMaximum;
-    private final @NotNull Map<String, Entry> map = new HashMap<>();
+    private final @NotNull MqttTopicAliasTable<Entry> map = new MqttTopicAliasTable<>();
     private @Nullable Entry lowest; // entry with lowest priority
     private long accessCounter; // strictly incremented
     private byte overwriteTries;// attempts to overwrite the entry with lowest priority out of these with a topic alias
     private byte fullOverwriteTries; // attempts to overwrite the entry with lowest priority out of all entries
 
     public MqttTopicAliasAutoMapping(final int topicAliasMaximum) {
-        this.topicAliasMaximum = topicAliasMaximum;
+        super(topicAliasMaximum);
     }
 
     @Override
-    public int getTopicAliasMaximum() {
-        return topicAliasMaximum;
-    }
-
-    @Override
-    public int onPublish(final @NotNull MqttTopicImpl topic) {
+    int onPublish(final @NotNull byte[] topic, final int hash) {
         accessCounter++;
-        final String topicString = topic.toString();
-        final Entry entry = map.get(topicString);
+        final Entry entry = map.get(topic, hash);
         if (entry != null) { // entry already present
             final long priority = entry.access(accessCounter);
             if ((entry.topicAlias != DEFAULT_NO_TOPIC_ALIAS) && (entry.lower != null) &&
@@ -71,11 +61,11 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
             return entry.topicAlias; // topic alias is 0 if entry is part of oversize
         }
         if (map.size() < topicAliasMaximum + OVERSIZE) {
-            final Entry newEntry = new Entry(accessCounter);
+            final Entry newEntry = new Entry(topic, hash, accessCounter);
             if (map.size() < topicAliasMaximum) { // still unused topic aliases available
                 newEntry.setNewTopicAlias(map.size() + 1);
             }
-            map.put(topicString, newEntry);
+            map.put(newEntry);
             if (lowest != null) {
                 newEntry.higher = lowest;
                 lowest.lower = newEntry;
@@ -89,19 +79,12 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
             return DEFAULT_NO_TOPIC_ALIAS; // do not overwrite entry with lowest priority immediately
         }
         fullOverwriteTries = 0;
-        map.values().remove(lowest);
-        final Entry newEntry = new Entry(accessCounter);
-        map.put(topicString, newEntry);
-        if (lowest != null) {
-            newEntry.topicAlias = lowest.topicAlias;
-            final Entry higher = lowest.higher;
-            newEntry.higher = higher;
-            if (higher != null) {
-                higher.lower = newEntry;
-            }
-        }
-        lowest = newEntry;
-        return newEntry.topicAlias;
+        final Entry lowest = this.lowest;
+        assert lowest != null;
+        map.remove(lowest);
+        lowest.reuse(topic, hash, accessCounter); // entry with lowest priority is overwritten, keeps its position
+        map.put(lowest);
+        return lowest.topicAlias;
     }
 
     private void swapNewer(final @NotNull Entry entry, final long priority) {
@@ -123,8 +106,16 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
                 entry.setNewTopicAlias(higher.topicAlias);
                 higher.topicAlias = DEFAULT_NO_TOPIC_ALIAS;
             }
-            higher.lower = entry.lower;
-            entry.higher = higher.higher;
+            final Entry lower = entry.lower;
+            final Entry higherHigher = higher.higher;
+            if (lower != null) {
+                lower.higher = higher;
+            }
+            if (higherHigher != null) {
+                higherHigher.lower = entry;
+            }
+            higher.lower = lower;
+            entry.higher = higherHigher;
             entry.lower = higher;
             higher.higher = entry;
             if (entry == lowest) {
@@ -135,25 +126,14 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
 
     @Override
     public @NotNull String toString() {
-        final TreeSet<Map.Entry<String, Entry>> sorted = new TreeSet<>((o1, o2) -> {
-            Entry entry = o1.getValue().higher;
-            while (entry != null) {
-                if (entry == o2.getValue()) {
-                    return 1;
-                }
-                entry = entry.higher;
-            }
-            return -1;
-        });
-        sorted.addAll(map.entrySet());
         final StringBuilder s = new StringBuilder();
-        for (final Map.Entry<String, Entry> entry : sorted) {
+        for (Entry entry = lowest; entry != null; entry = entry.higher) {
             s.append(" -> ").append(entry.toString());
         }
         return s.toString();
     }
 
-    static class Entry {
+    static class Entry extends MqttTopicAliasTable.Entry {
 
         int topicAlias;
         long used; // number of accesses, decays over time
@@ -161,12 +141,20 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
         @Nullable Entry higher; // entry with the next higher priority
         @Nullable Entry lower; // entry with the next lower priority
 
-        Entry(final long accessCounter) {
+        Entry(final @NotNull byte[] topic, final int hash, final long accessCounter) {
+            super(topic, hash);
             topicAlias = DEFAULT_NO_TOPIC_ALIAS;
             used = 1;
             access = accessCounter;
         }
 
+        void reuse(final @NotNull byte[] topic, final int hash, final long accessCounter) {
+            this.topic = topic;
+            this.hash = hash;
+            used = 1;
+            access = accessCounter;
+        }
+
         void setNewTopicAlias(final int topicAlias) {
             this.topicAlias = topicAlias | TOPIC_ALIAS_FLAG_NEW;
         }
@@ -196,7 +184,8 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
         @Override
         public @NotNull String toString() {
             final int topicAlias = this.topicAlias & TOPIC_ALIAS_FLAG;
-            return ((topicAlias == DEFAULT_NO_TOPIC_ALIAS) ? "-" : topicAlias) + " (used: " + used + ", access: " +
+            return new String(topic, StandardCharsets.UTF_8) + "=" +
+                    ((topicAlias == DEFAULT_NO_TOPIC_ALIAS) ? "-" : topicAlias) + " (used: " + used + ", access: " +
                     access + ")";
         }
     }
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.TOPIC_ALIAS_FLAG_NEW;
+
+/**
+ * Assigns the topic alias of the least frequently used topic to a topic without topic alias. If multiple topics have
+ * the lowest frequency, the topic alias of the one that reached this frequency first is reassigned.
+ * <p>
+ * Entries with the same frequency are kept in a bucket, buckets are kept in a doubly linked list in order of their
+ * frequency, so all operations take constant time.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttTopicAliasLfuMapping extends MqttTopicAliasMapping {
+
+    private final @NotNull MqttTopicAliasTable<Entry> map = new MqttTopicAliasTable<>();
+    private @Nullable Bucket lowest; // bucket with the lowest frequency
+    private @Nullable Bucket free; // stack of unused buckets linked via higher
+
+    public MqttTopicAliasLfuMapping(final int topicAliasMaximum) {
+        super(topicAliasMaximum);
+    }
+
+    @Override
+    int onPublish(final @NotNull byte[] topic, final int hash) {
+        Entry entry = map.get(topic, hash);
+        if (entry != null) {
+            increment(entry);
+            return entry.topicAlias;
+        }
+        if (map.size() < topicAliasMaximum) { // still unused topic aliases available
+            entry = new Entry(topic, hash, map.size() + 1);
+        } else {
+            final Bucket lowest = this.lowest;
+            assert lowest != null;
+            entry = lowest.first;
+            assert entry != null;
+            map.remove(entry);
+            remove(entry);
+            entry.topic = topic;
+            entry.hash = hash;
+        }
+        map.put(entry);
+        Bucket lowest = this.lowest;
+        if ((lowest == null) || (lowest.frequency != 1)) {
+            lowest = insertBucket(1, null, lowest);
+        }
+        add(entry, lowest);
+        return entry.topicAlias | TOPIC_ALIAS_FLAG_NEW;
+    }
+
+    private void increment(final @NotNull Entry entry) {
+        final Bucket bucket = entry.bucket;
+        assert bucket != null;
+        final long frequency = bucket.frequency + 1;
+        Bucket higher = bucket.higher;
+        if ((higher == null) || (higher.frequency != frequency)) {
+            if ((bucket.first == entry) && (bucket.last == entry)) { // only entry in the bucket
+                bucket.frequency = frequency;
+                return;
+            }
+            higher = insertBucket(frequency, bucket, higher);
+        }
+        remove(entry);
+        add(entry, higher);
+    }
+
+    private void add(final @NotNull Entry entry, final @NotNull Bucket bucket) {
+        final Entry last = bucket.last;
+        entry.bucket = bucket;
+        entry.previous = last;
+        if (last == null) {
+            bucket.first = entry;
+        } else {
+            last.next = entry;
+        }
+        bucket.last = entry;
+    }
+
+    private void remove(final @NotNull Entry entry) {
+        final Bucket bucket = entry.bucket;
+        assert bucket != null;
+        final Entry previous = entry.previous;
+        final Entry next = entry.next;
+        if (previous == null) {
+            bucket.first = next;
+        } else {
+            previous.next = next;
+        }
+        if (next == null) {
+            bucket.last = previous;
+        } else {
+            next.previous = previous;
+        }
+        entry.bucket = null;
+        entry.previous = null;
+        entry.next = null;
+        if (bucket.first == null) {
+            removeBucket(bucket);
+        }
+    }
+
+    private @NotNull Bucket insertBucket(
+            final long frequency, final @Nullable Bucket lower, final @Nullable Bucket higher) {
+
+        Bucket bucket = free;
+        if (bucket == null) {
+            bucket = new Bucket();
+        } else {
+            free = bucket.higher;
+        }
+        bucket.frequency = frequency;
+        bucket.lower = lower;
+        bucket.higher = higher;
+        if (lower == null) {
+            lowest = bucket;
+        } else {
+            lower.higher = bucket;
+        }
+        if (higher != null) {
+            higher.lower = bucket;
+        }
+        return bucket;
+    }
+
+    private void removeBucket(final @NotNull Bucket bucket) {
+        final Bucket lower = bucket.lower;
+        final Bucket higher = bucket.higher;
+        if (lower == null) {
+            lowest = higher;
+        } else {
+            lower.higher = higher;
+        }
+        if (higher != null) {
+            higher.lower = lower;
+        }
+        bucket.lower = null;
+        bucket.higher = free;
+        free = bucket;
+    }
+
+    private static class Entry extends MqttTopicAliasTable.Entry {
+
+        final int topicAlias;
+        @Nullable Bucket bucket;
+        @Nullable Entry previous; // entry that reached the frequency earlier
+        @Nullable Entry next; // entry that reached the frequency later
+
+        Entry(final @NotNull byte[] topic, final int hash, final int topicAlias) {
+            super(topic, hash);
+            this.topicAlias = topicAlias;
+        }
+    }
+
+    private static class Bucket {
+
+        long frequency;
+        @Nullable Entry first;
+        @Nullable Entry last;
+        @Nullable Bucket lower;
+        @Nullable Bucket higher;
+    }
+}
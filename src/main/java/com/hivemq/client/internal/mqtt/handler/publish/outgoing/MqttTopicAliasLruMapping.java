@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.TOPIC_ALIAS_FLAG_NEW;
+
+/**
+ * Assigns the topic alias of the least recently used topic to a topic without topic alias.
+ * <p>
+ * Entries are kept in a doubly linked list in order of their last usage, so all operations take constant time.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttTopicAliasLruMapping extends MqttTopicAliasMapping {
+
+    private final @NotNull MqttTopicAliasTable<Entry> map = new MqttTopicAliasTable<>();
+    private @Nullable Entry mostRecent;
+    private @Nullable Entry leastRecent;
+
+    public MqttTopicAliasLruMapping(final int topicAliasMaximum) {
+        super(topicAliasMaximum);
+    }
+
+    @Override
+    int onPublish(final @NotNull byte[] topic, final int hash) {
+        Entry entry = map.get(topic, hash);
+        if (entry != null) {
+            if (entry != mostRecent) {
+                unlink(entry);
+                linkMostRecent(entry);
+            }
+            return entry.topicAlias;
+        }
+        if (map.size() < topicAliasMaximum) { // still unused topic aliases available
+            entry = new Entry(topic, hash, map.size() + 1);
+        } else {
+            entry = leastRecent;
+            assert entry != null;
+            map.remove(entry);
+            unlink(entry);
+            entry.topic = topic;
+            entry.hash = hash;
+        }
+        map.put(entry);
+        linkMostRecent(entry);
+        return entry.topicAlias | TOPIC_ALIAS_FLAG_NEW;
+    }
+
+    private void unlink(final @NotNull Entry entry) {
+        final Entry more = entry.more;
+        final Entry less = entry.less;
+        if (more == null) {
+            mostRecent = less;
+        } else {
+            more.less = less;
+        }
+        if (less == null) {
+            leastRecent = more;
+        } else {
+            less.more = more;
+        }
+        entry.more = null;
+        entry.less = null;
+    }
+
+    private void linkMostRecent(final @NotNull Entry entry) {
+        final Entry mostRecent = this.mostRecent;
+        entry.less = mostRecent;
+        if (mostRecent == null) {
+            leastRecent = entry;
+        } else {
+            mostRecent.more = entry;
+        }
+        this.mostRecent = entry;
+    }
+
+    private static class Entry extends MqttTopicAliasTable.Entry {
+
+        final int topicAlias;
+        @Nullable Entry more; // entry that was used more recently
+        @Nullable Entry less; // entry that was used less recently
+
+        Entry(final @NotNull byte[] topic, final int hash, final int topicAlias) {
+            super(topic, hash);
+            this.topicAlias = topicAlias;
+        }
+    }
+}
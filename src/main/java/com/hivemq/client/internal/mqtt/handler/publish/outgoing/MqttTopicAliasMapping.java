@@ -17,15 +17,91 @@
 
 package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.annotations.NotThreadSafe;
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import org.jetbrains.annotations.NotNull;
 
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS;
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.TOPIC_ALIAS_FLAG_NEW;
+
 /**
+ * Mapping of the topics of outgoing PUBLISH packets to topic aliases for a single connection.
+ * <p>
+ * The mapped PUBLISH packets are counted. The counters are only written by the Netty event loop of the connection, but
+ * can be read by any thread.
+ *
  * @author Silvio Giebl
  */
-public interface MqttTopicAliasMapping {
+@NotThreadSafe
+public abstract class MqttTopicAliasMapping {
+
+    private static final int TOPIC_ALIAS_PROPERTY_LENGTH = 3;
+
+    final int topicAliasMaximum;
+    private volatile long hits;
+    private volatile long misses;
+    private volatile long savedBytes;
+
+    MqttTopicAliasMapping(final int topicAliasMaximum) {
+        this.topicAliasMaximum = topicAliasMaximum;
+    }
+
+    public int getTopicAliasMaximum() {
+        return topicAliasMaximum;
+    }
+
+    /**
+     * Maps the topic of an outgoing PUBLISH packet to a topic alias.
+     *
+     * @param topic the topic of the outgoing PUBLISH packet.
+     * @return the topic alias, optionally with the {@link
+     *         com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish#TOPIC_ALIAS_FLAG_NEW new flag} set if
+     *         the topic must be sent together with the topic alias, or {@link
+     *         com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish#DEFAULT_NO_TOPIC_ALIAS} if the topic
+     *         is not mapped to a topic alias.
+     */
+    @CallByThread("Netty EventLoop")
+    public int onPublish(final @NotNull MqttTopicImpl topic) {
+        final byte[] binary = topic.toBinary();
+        final int topicAlias = onPublish(binary, MqttTopicAliasTable.hash(binary));
+        count(binary.length, topicAlias);
+        return topicAlias;
+    }
+
+    abstract int onPublish(@NotNull byte[] topic, int hash);
+
+    @CallByThread("Netty EventLoop")
+    private void count(final int topicLength, final int topicAlias) {
+        if (topicAlias == DEFAULT_NO_TOPIC_ALIAS) {
+            misses = misses + 1;
+        } else if ((topicAlias & TOPIC_ALIAS_FLAG_NEW) != 0) {
+            misses = misses + 1;
+            savedBytes = savedBytes - TOPIC_ALIAS_PROPERTY_LENGTH;
+        } else {
+            hits = hits + 1;
+            savedBytes = savedBytes + topicLength - TOPIC_ALIAS_PROPERTY_LENGTH;
+        }
+    }
+
+    /**
+     * @return the amount of PUBLISH packets that were sent with a topic alias instead of the topic.
+     */
+    public long getHits() {
+        return hits;
+    }
 
-    int getTopicAliasMaximum();
+    /**
+     * @return the amount of PUBLISH packets that were sent with the topic.
+     */
+    public long getMisses() {
+        return misses;
+    }
 
-    int onPublish(@NotNull MqttTopicImpl topic);
+    /**
+     * @return the length of all omitted topics minus the length of all sent topic alias properties.
+     */
+    public long getSavedBytes() {
+        return savedBytes;
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import org.jetbrains.annotations.NotNull;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.*;
+
+/**
+ * Assigns topic aliases only to a fixed set of topics. The topic aliases are never reassigned.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttTopicAliasPinnedMapping extends MqttTopicAliasMapping {
+
+    private final @NotNull MqttTopicAliasTable<Entry> map = new MqttTopicAliasTable<>();
+
+    public MqttTopicAliasPinnedMapping(
+            final int topicAliasMaximum, final @NotNull ImmutableList<MqttTopicImpl> topics) {
+
+        super(topicAliasMaximum);
+        for (int i = 0; (i < topics.size()) && (map.size() < topicAliasMaximum); i++) {
+            final byte[] topic = topics.get(i).toBinary();
+            final int hash = MqttTopicAliasTable.hash(topic);
+            if (map.get(topic, hash) == null) {
+                map.put(new Entry(topic, hash, (map.size() + 1) | TOPIC_ALIAS_FLAG_NEW));
+            }
+        }
+    }
+
+    @Override
+    int onPublish(final @NotNull byte[] topic, final int hash) {
+        final Entry entry = map.get(topic, hash);
+        if (entry == null) {
+            return DEFAULT_NO_TOPIC_ALIAS;
+        }
+        final int topicAlias = entry.topicAlias;
+        entry.topicAlias = topicAlias & TOPIC_ALIAS_FLAG; // clear new flag after the first usage
+        return topicAlias;
+    }
+
+    private static class Entry extends MqttTopicAliasTable.Entry {
+
+        int topicAlias;
+
+        Entry(final @NotNull byte[] topic, final int hash, final int topicAlias) {
+            super(topic, hash);
+            this.topicAlias = topicAlias;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.NotThreadSafe;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Hash table of topic alias entries keyed by the UTF-8 encoded representation of their topics.
+ * <p>
+ * Uses open addressing with linear probing, so lookups do not allocate. The hash of a topic is cached in its entry.
+ *
+ * @param <E> the type of the entries.
+ * @author Silvio Giebl
+ */
+@NotThreadSafe
+class MqttTopicAliasTable<E extends MqttTopicAliasTable.Entry> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    static int hash(final @NotNull byte[] topic) {
+        int hash = 1;
+        for (final byte b : topic) {
+            hash = 31 * hash + b;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private @Nullable Entry @NotNull [] table = new Entry[INITIAL_CAPACITY];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable E get(final @NotNull byte[] topic, final int hash) {
+        final Entry[] table = this.table;
+        final int mask = table.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            final Entry entry = table[i];
+            if (entry == null) {
+                return null;
+            }
+            if ((entry.hash == hash) && Arrays.equals(entry.topic, topic)) {
+                return (E) entry;
+            }
+        }
+    }
+
+    /**
+     * Adds the given entry. An entry for the same topic must not be present.
+     *
+     * @param entry the entry to add.
+     */
+    void put(final @NotNull E entry) {
+        if (2 * (size + 1) > table.length) {
+            resize(2 * table.length);
+        }
+        insert(table, entry);
+        size++;
+    }
+
+    /**
+     * Removes the given entry. The entry must be present.
+     *
+     * @param entry the entry to remove.
+     */
+    void remove(final @NotNull E entry) {
+        final Entry[] table = this.table;
+        final int mask = table.length - 1;
+        int i = entry.hash & mask;
+        while (table[i] != entry) {
+            i = (i + 1) & mask;
+        }
+        // shift back following entries of the same probe sequence to fill the gap
+        for (int j = (i + 1) & mask; ; j = (j + 1) & mask) {
+            final Entry next = table[j];
+            if (next == null) {
+                break;
+            }
+            final int home = next.hash & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                table[i] = next;
+                i = j;
+            }
+        }
+        table[i] = null;
+        size--;
+    }
+
+    void clear() {
+        Arrays.fill(table, null);
+        size = 0;
+    }
+
+    private void resize(final int capacity) {
+        final Entry[] newTable = new Entry[capacity];
+        for (final Entry entry : table) {
+            if (entry != null) {
+                insert(newTable, entry);
+            }
+        }
+        table = newTable;
+    }
+
+    private static void insert(final @Nullable Entry @NotNull [] table, final @NotNull Entry entry) {
+        final int mask = table.length - 1;
+        int i = entry.hash & mask;
+        while (table[i] != null) {
+            i = (i + 1) & mask;
+        }
+        table[i] = entry;
+    }
+
+    static class Entry {
+
+        @NotNull byte[] topic; // must only be changed while the entry is not part of a table
+        int hash;
+
+        Entry(final @NotNull byte[] topic, final int hash) {
+            this.topic = topic;
+            this.hash = hash;
+        }
+    }
+}
@@ -24,6 +24,7 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLException;
+import java.util.WeakHashMap;
 
 /**
  * @author Christoph Schäbel
@@ -32,38 +33,73 @@ import javax.net.ssl.SSLException;
 public final class SslUtil {
 
     private static final @NotNull String SSL_HANDLER_NAME = "ssl";
+    // weak keys, so the contexts of SSL configurations that are no longer used can be collected
+    private static final @NotNull WeakHashMap<MqttClientSslConfigImpl, SslContext> SSL_CONTEXTS = new WeakHashMap<>();
 
-    public static void initChannel(final @NotNull Channel channel, final @NotNull MqttClientSslConfigImpl sslConfig)
-            throws SSLException {
+    public static void initChannel(
+            final @NotNull Channel channel, final @NotNull MqttClientSslConfigImpl sslConfig,
+            final @NotNull String host, final int port) throws SSLException {
+
+        channel.pipeline().addFirst(SSL_HANDLER_NAME, createSslHandler(channel, sslConfig, host, port));
+    }
 
-        channel.pipeline().addFirst(SSL_HANDLER_NAME, createSslHandler(channel, sslConfig));
+    /**
+     * Returns whether connections using the given SSL configuration use the native OpenSSL implementation.
+     *
+     * @param sslConfig the SSL configuration.
+     * @return whether OpenSSL is used.
+     */
+    public static boolean isOpenSsl(final @NotNull MqttClientSslConfigImpl sslConfig) {
+        return sslConfig.isPreferOpenSsl() && OpenSsl.isAvailable();
     }
 
     private static @NotNull SslHandler createSslHandler(
-            final @NotNull Channel channel, final @NotNull MqttClientSslConfigImpl sslConfig) throws SSLException {
+            final @NotNull Channel channel, final @NotNull MqttClientSslConfigImpl sslConfig,
+            final @NotNull String host, final int port) throws SSLException {
 
-        final SSLEngine sslEngine = createSslEngine(channel, sslConfig);
+        final SSLEngine sslEngine = createSslEngine(channel, sslConfig, host, port);
         final SslHandler sslHandler = new SslHandler(sslEngine);
 
         sslHandler.setHandshakeTimeoutMillis(sslConfig.getHandshakeTimeoutMs());
         return sslHandler;
     }
 
+    /**
+     * Creates a client SSL engine for the given peer. The peer host and port are the key for session resumption: an
+     * engine for a peer that was connected before resumes its session, so only an abbreviated handshake is needed.
+     */
     static @NotNull SSLEngine createSslEngine(
-            final @NotNull Channel channel, final @NotNull MqttClientSslConfigImpl sslConfig) throws SSLException {
+            final @NotNull Channel channel, final @NotNull MqttClientSslConfigImpl sslConfig,
+            final @NotNull String host, final int port) throws SSLException {
 
-        final SSLEngine sslEngine = createSslContext(sslConfig).newEngine(channel.alloc());
+        final SSLEngine sslEngine = getSslContext(sslConfig).newEngine(channel.alloc(), host, port);
 
         sslEngine.setUseClientMode(true);
 
         return sslEngine;
     }
 
+    /**
+     * Returns the SSL context of the given SSL configuration. The context is created only once for equal
+     * configurations, as creating it is expensive and the context holds the session cache which is needed for session
+     * resumption.
+     */
+    static @NotNull SslContext getSslContext(final @NotNull MqttClientSslConfigImpl sslConfig) throws SSLException {
+        synchronized (SSL_CONTEXTS) {
+            SslContext sslContext = SSL_CONTEXTS.get(sslConfig);
+            if (sslContext == null) {
+                sslContext = createSslContext(sslConfig);
+                SSL_CONTEXTS.put(sslConfig, sslContext);
+            }
+            return sslContext;
+        }
+    }
+
     private static @NotNull SslContext createSslContext(final @NotNull MqttClientSslConfigImpl sslConfig)
             throws SSLException {
 
         final SslContextBuilder sslContextBuilder = SslContextBuilder.forClient()
-                .sslProvider(SslProvider.JDK)
+                .sslProvider(isOpenSsl(sslConfig) ? SslProvider.OPENSSL : SslProvider.JDK)
                 .trustManager(sslConfig.getRawTrustManagerFactory())
                 .keyManager(sslConfig.getRawKeyManagerFactory());
 
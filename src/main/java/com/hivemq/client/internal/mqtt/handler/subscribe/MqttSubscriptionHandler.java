@@ -92,6 +92,25 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
         if (connectionConfig.areSubscriptionIdentifiersAvailable() && (subscriptionIdentifiers == null)) {
             subscriptionIdentifiers = new Ranges(1, MqttVariableByteInteger.FOUR_BYTES_MAX_VALUE);
         }
+        resend();
+        if (queuedCounter.get() > 0) {
+            // (un)subscribes queued while disconnected did not schedule a new run
+            connectionConfig.getChannel().eventLoop().execute(this);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void resend() {
+        final ChannelHandlerContext ctx = this.ctx;
+        if ((ctx == null) || (pending.size() == 0)) {
+            return;
+        }
+        // (un)subscribes that were not acknowledged before the connection was lost are sent again
+        pending.forEach((packetIdentifier, statefulSubOrUnsubWithFlow) -> {
+            ctx.write(statefulSubOrUnsubWithFlow.getMessage(), ctx.voidPromise());
+            return true;
+        });
+        ctx.flush();
     }
 
     public void subscribe(
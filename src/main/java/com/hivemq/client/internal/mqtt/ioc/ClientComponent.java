@@ -18,6 +18,8 @@
 package com.hivemq.client.internal.mqtt.ioc;
 
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.handler.connect.MqttReconnector;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttIncomingPublishFlows;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttIncomingQosHandler;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttOutgoingQosHandler;
 import com.hivemq.client.internal.mqtt.handler.subscribe.MqttSubscriptionHandler;
@@ -40,8 +42,12 @@ public interface ClientComponent {
 
     @NotNull MqttIncomingQosHandler incomingQosHandler();
 
+    @NotNull MqttIncomingPublishFlows incomingPublishFlows();
+
     @NotNull MqttOutgoingQosHandler outgoingQosHandler();
 
+    @NotNull MqttReconnector reconnector();
+
     @Subcomponent.Builder
     interface Builder {
 
@@ -17,10 +17,18 @@
 
 package com.hivemq.client.internal.mqtt.ioc;
 
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttCachedSubscriptionFlows;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttIncomingPublishFlows;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttIncomingPublishFlowsWithId;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttSubscriptionFlowCompactTree;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttSubscriptionFlowTree;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttSubscriptionFlows;
 import dagger.Binds;
+import dagger.Lazy;
 import dagger.Module;
+import dagger.Provides;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -29,6 +37,19 @@ import org.jetbrains.annotations.NotNull;
 @Module
 abstract class ClientModule {
 
+    @Provides
+    static @NotNull MqttSubscriptionFlows provideSubscriptionFlows(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull Lazy<MqttSubscriptionFlowTree> treeLazy,
+            final @NotNull Lazy<MqttSubscriptionFlowCompactTree> compactTreeLazy) {
+
+        final MqttClientAdvancedConfig advancedConfig = clientConfig.getAdvancedConfig();
+        final MqttSubscriptionFlows subscriptionFlows =
+                advancedConfig.isCompactSubscriptionTree() ? compactTreeLazy.get() : treeLazy.get();
+        return advancedConfig.isCacheSubscriptionMatches() ? new MqttCachedSubscriptionFlows(subscriptionFlows) :
+                subscriptionFlows;
+    }
+
     @Binds
-    abstract @NotNull MqttSubscriptionFlows provideSubscriptionFlows(final @NotNull MqttSubscriptionFlowTree tree);
+    abstract @NotNull MqttIncomingPublishFlows bindIncomingPublishFlows(
+            final @NotNull MqttIncomingPublishFlowsWithId incomingPublishFlows);
 }
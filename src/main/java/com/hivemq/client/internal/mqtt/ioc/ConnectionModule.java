@@ -18,6 +18,7 @@
 package com.hivemq.client.internal.mqtt.ioc;
 
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttTransportConfig;
 import com.hivemq.client.internal.mqtt.handler.MqttChannelInitializer;
 import com.hivemq.client.internal.mqtt.handler.auth.MqttAuthHandler;
 import com.hivemq.client.internal.mqtt.handler.auth.MqttConnectAuthHandler;
@@ -28,8 +29,9 @@ import dagger.Lazy;
 import dagger.Module;
 import dagger.Provides;
 import io.netty.bootstrap.Bootstrap;
-import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.AdaptiveRecvByteBufAllocator;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.WriteBufferWaterMark;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -43,12 +45,27 @@ abstract class ConnectionModule {
             final @NotNull MqttClientConfig clientConfig, final @NotNull NettyEventLoopProvider nettyEventLoopProvider,
             final @NotNull MqttChannelInitializer channelInitializer) {
 
-        return new Bootstrap().group(clientConfig.acquireEventLoop())
+        final MqttTransportConfig transportConfig = clientConfig.getAdvancedConfig().getTransportConfig();
+        final Bootstrap bootstrap = new Bootstrap().group(clientConfig.acquireEventLoop())
                 .channelFactory(nettyEventLoopProvider.getChannelFactory())
                 .option(ChannelOption.SO_KEEPALIVE, true)
                 .option(ChannelOption.TCP_NODELAY, true)
-                .option(ChannelOption.ALLOCATOR, ByteBufAllocator.DEFAULT)
+                .option(ChannelOption.ALLOCATOR, transportConfig.getAllocator())
+                .option(ChannelOption.WRITE_BUFFER_WATER_MARK,
+                        new WriteBufferWaterMark(transportConfig.getWriteBufferLowWaterMark(),
+                                transportConfig.getWriteBufferHighWaterMark()))
+                .option(ChannelOption.RCVBUF_ALLOCATOR,
+                        new AdaptiveRecvByteBufAllocator(transportConfig.getMinReadBufferSize(),
+                                transportConfig.getInitialReadBufferSize(), transportConfig.getMaxReadBufferSize()))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, transportConfig.getConnectTimeoutMs())
                 .handler(channelInitializer);
+        if (transportConfig.getSendBufferSize() != MqttTransportConfig.DEFAULT_SOCKET_BUFFER_SIZE) {
+            bootstrap.option(ChannelOption.SO_SNDBUF, transportConfig.getSendBufferSize());
+        }
+        if (transportConfig.getReceiveBufferSize() != MqttTransportConfig.DEFAULT_SOCKET_BUFFER_SIZE) {
+            bootstrap.option(ChannelOption.SO_RCVBUF, transportConfig.getReceiveBufferSize());
+        }
+        return bootstrap;
     }
 
     @Provides
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.message.publish;
+
+/**
+ * Acknowledgement of an incoming Publish message that is confirmed by the consumer instead of automatically after it
+ * was emitted.
+ *
+ * @author Silvio Giebl
+ */
+public interface Confirmable {
+
+    /**
+     * Confirms that the consumer has processed the Publish message.
+     *
+     * @throws IllegalStateException if the Publish message has already been confirmed.
+     */
+    void confirm();
+}
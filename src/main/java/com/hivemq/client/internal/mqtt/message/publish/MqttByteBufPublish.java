@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.message.publish;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUtf8StringImpl;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Incoming Publish message whose payload is a view of a reference counted buffer, either a slice of the inbound network
+ * buffer or a copy in a direct buffer of the channel's allocator.
+ * <p>
+ * Each instance holds exactly one reference to the buffer which is released on the first call to {@link #release()}.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttByteBufPublish extends MqttPublish {
+
+    private final @NotNull ByteBuf payloadBuffer;
+    private final @NotNull AtomicBoolean released = new AtomicBoolean();
+
+    public MqttByteBufPublish(
+            final @NotNull MqttTopicImpl topic, final @NotNull ByteBuf payloadBuffer, final @NotNull MqttQos qos,
+            final boolean retain, final long messageExpiryInterval,
+            final @Nullable Mqtt5PayloadFormatIndicator payloadFormatIndicator,
+            final @Nullable MqttUtf8StringImpl contentType, final @Nullable MqttTopicImpl responseTopic,
+            final @Nullable ByteBuffer correlationData, final @NotNull MqttUserPropertiesImpl userProperties) {
+
+        super(topic, payloadBuffer.nioBuffer(), qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
+                responseTopic, correlationData, userProperties);
+        this.payloadBuffer = payloadBuffer;
+    }
+
+    @Override
+    public boolean release() {
+        if (released.compareAndSet(false, true)) {
+            payloadBuffer.release();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public @NotNull MqttByteBufPublish retainedDuplicate() {
+        return new MqttByteBufPublish(getTopic(), payloadBuffer.retainedDuplicate(), getQos(), isRetain(),
+                getRawMessageExpiryInterval(), getRawPayloadFormatIndicator(), getRawContentType(),
+                getRawResponseTopic(), getRawCorrelationData(), getUserProperties());
+    }
+}
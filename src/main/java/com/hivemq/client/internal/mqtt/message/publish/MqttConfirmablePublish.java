@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.message.publish;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Incoming Publish message that is emitted to a consumer with manual acknowledgement.
+ * <p>
+ * It shares the payload with the Publish message it was created from, so releasing it releases that Publish message.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttConfirmablePublish extends MqttPublish {
+
+    private final @NotNull MqttPublish publish;
+    private final @NotNull Confirmable confirmable;
+
+    public MqttConfirmablePublish(final @NotNull MqttPublish publish, final @NotNull Confirmable confirmable) {
+        super(publish.getTopic(), publish.getRawPayload(), publish.getQos(), publish.isRetain(),
+                publish.getRawMessageExpiryInterval(), publish.getRawPayloadFormatIndicator(),
+                publish.getRawContentType(), publish.getRawResponseTopic(), publish.getRawCorrelationData(),
+                publish.getUserProperties());
+        this.publish = publish;
+        this.confirmable = confirmable;
+    }
+
+    @Override
+    public boolean release() {
+        return publish.release();
+    }
+
+    @Override
+    public void acknowledge() {
+        confirmable.confirm();
+    }
+}
@@ -154,6 +154,24 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         return correlationData;
     }
 
+    @Override
+    public boolean release() {
+        return false;
+    }
+
+    /**
+     * Returns a Publish message that can be handed to a consumer which then owns it.
+     *
+     * @return this Publish message if it owns a copy of its payload, otherwise a duplicate that holds its own reference
+     *         to the network buffer.
+     */
+    public @NotNull MqttPublish retainedDuplicate() {
+        return this;
+    }
+
+    @Override
+    public void acknowledge() {}
+
     @Override
     public @NotNull MqttWillPublish asWill() {
         return new MqttPublishBuilder.WillDefault(this).build();
@@ -206,6 +206,19 @@ public final class MqttChecks {
         return Checks.notImplemented(publish, Mqtt3PublishView.class, "Publish").getDelegate();
     }
 
+    @Contract("null -> fail")
+    public static @NotNull MqttPublish @NotNull [] publishes(
+            final @Nullable Collection<@Nullable Mqtt5Publish> publishes) {
+
+        Checks.notNull(publishes, "Publishes");
+        final MqttPublish[] mqttPublishes = new MqttPublish[publishes.size()];
+        int i = 0;
+        for (final Mqtt5Publish publish : publishes) {
+            mqttPublishes[i++] = publish(publish);
+        }
+        return mqttPublishes;
+    }
+
     @Contract("null -> fail")
     public static @NotNull MqttSubscribe subscribe(final @Nullable Mqtt5Subscribe subscribe) {
         return Checks.notImplemented(subscribe, MqttSubscribe.class, "Subscribe");
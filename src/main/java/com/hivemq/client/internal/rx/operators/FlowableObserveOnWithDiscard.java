@@ -0,0 +1,230 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.rx.operators;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.Scheduler;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.internal.queue.SpscArrayQueue;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.BackpressureHelper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Like {@link Flowable#observeOn(Scheduler, boolean, int)}, but elements that were emitted by the source and not yet
+ * delivered to the subscriber are passed to a discard handler if the subscription is cancelled or errors, instead of
+ * being dropped silently. This allows releasing resources held by elements that never reach the subscriber.
+ * <p>
+ * The elements are discarded directly from the queue of the operator by the thread that currently owns the drain
+ * loop, so no additional synchronization is needed per element.
+ *
+ * @param <T> the type of the elements.
+ * @author Silvio Giebl
+ */
+public class FlowableObserveOnWithDiscard<T> extends Flowable<T> {
+
+    private final @NotNull Flowable<T> source;
+    private final @NotNull Scheduler scheduler;
+    private final boolean delayError;
+    private final int bufferSize;
+    private final @NotNull Consumer<? super T> discardHandler;
+
+    public FlowableObserveOnWithDiscard(
+            final @NotNull Flowable<T> source, final @NotNull Scheduler scheduler, final boolean delayError,
+            final int bufferSize, final @NotNull Consumer<? super T> discardHandler) {
+
+        this.source = source;
+        this.scheduler = scheduler;
+        this.delayError = delayError;
+        this.bufferSize = bufferSize;
+        this.discardHandler = discardHandler;
+    }
+
+    @Override
+    protected void subscribeActual(final @NotNull Subscriber<? super T> subscriber) {
+        final Scheduler.Worker worker = scheduler.createWorker();
+        source.subscribe(new ObserveOnSubscriber<>(subscriber, worker, delayError, bufferSize, discardHandler));
+    }
+
+    private static class ObserveOnSubscriber<T> implements FlowableSubscriber<T>, Subscription, Runnable {
+
+        private final @NotNull Subscriber<? super T> subscriber;
+        private final @NotNull Scheduler.Worker worker;
+        private final boolean delayError;
+        private final int bufferSize;
+        private final int limit;
+        private final @NotNull Consumer<? super T> discardHandler;
+        private final @NotNull SpscArrayQueue<T> queue;
+        private @Nullable Subscription subscription;
+
+        private final @NotNull AtomicInteger wip = new AtomicInteger();
+        private final @NotNull AtomicLong requested = new AtomicLong();
+        private long emitted;
+        private int consumed;
+        private @Nullable Throwable error;
+        private volatile boolean done;
+        private volatile boolean cancelled; // also set when the subscriber was terminated
+
+        ObserveOnSubscriber(
+                final @NotNull Subscriber<? super T> subscriber, final @NotNull Scheduler.Worker worker,
+                final boolean delayError, final int bufferSize, final @NotNull Consumer<? super T> discardHandler) {
+
+            this.subscriber = subscriber;
+            this.worker = worker;
+            this.delayError = delayError;
+            this.bufferSize = bufferSize;
+            limit = bufferSize - (bufferSize >> 2);
+            this.discardHandler = discardHandler;
+            queue = new SpscArrayQueue<>(bufferSize);
+        }
+
+        @Override
+        public void onSubscribe(final @NotNull Subscription subscription) {
+            if (SubscriptionHelper.validate(this.subscription, subscription)) {
+                this.subscription = subscription;
+                subscriber.onSubscribe(this);
+                subscription.request(bufferSize);
+            }
+        }
+
+        @Override
+        public void onNext(final @NotNull T t) {
+            if (!queue.offer(t)) {
+                assert subscription != null;
+                subscription.cancel();
+                discardHandler.accept(t);
+                error = new MissingBackpressureException("Queue is full.");
+                done = true;
+            }
+            schedule();
+        }
+
+        @Override
+        public void onError(final @NotNull Throwable throwable) {
+            error = throwable;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void request(final long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.add(requested, n);
+                schedule();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                assert subscription != null;
+                subscription.cancel();
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                if (cancelled) { // the worker may already be disposed, discarding does not need to hop threads
+                    run();
+                } else {
+                    worker.schedule(this);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                if (!cancelled) {
+                    emit();
+                }
+                if (cancelled) {
+                    discard();
+                    worker.dispose();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            assert subscription != null;
+            final long requested = this.requested.get();
+            while (!cancelled) {
+                final boolean done = this.done;
+                if (done && !delayError && (error != null)) {
+                    discard();
+                    terminate();
+                    return;
+                }
+                if (emitted == requested) {
+                    if (done && queue.isEmpty()) {
+                        terminate();
+                    }
+                    return;
+                }
+                final T t = queue.poll();
+                if (t == null) {
+                    if (done) {
+                        terminate();
+                    }
+                    return;
+                }
+                subscriber.onNext(t);
+                emitted++;
+                if (++consumed == limit) {
+                    consumed = 0;
+                    subscription.request(limit);
+                }
+            }
+        }
+
+        private void discard() {
+            T t;
+            while ((t = queue.poll()) != null) {
+                discardHandler.accept(t);
+            }
+        }
+
+        private void terminate() {
+            cancelled = true;
+            final Throwable error = this.error;
+            if (error == null) {
+                subscriber.onComplete();
+            } else {
+                subscriber.onError(error);
+            }
+        }
+    }
+}
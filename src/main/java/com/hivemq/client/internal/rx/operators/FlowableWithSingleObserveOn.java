@@ -19,10 +19,14 @@ package com.hivemq.client.internal.rx.operators;
 
 import com.hivemq.client.rx.FlowableWithSingle;
 import com.hivemq.client.rx.reactivestreams.WithSingleSubscriber;
+import io.reactivex.Flowable;
 import io.reactivex.Scheduler;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscriber;
 
+import java.util.function.Consumer;
+
 /**
  * @author Silvio Giebl
  */
@@ -31,25 +35,44 @@ public class FlowableWithSingleObserveOn<F, S> extends FlowableWithSingleOperato
     private final @NotNull Scheduler scheduler;
     private final boolean delayError;
     private final int bufferSize;
+    private final @Nullable Consumer<Object> discardHandler;
 
     public FlowableWithSingleObserveOn(
             final @NotNull FlowableWithSingle<F, S> source, final @NotNull Scheduler scheduler,
             final boolean delayError, final int bufferSize) {
 
+        this(source, scheduler, delayError, bufferSize, null);
+    }
+
+    /**
+     * @param discardHandler the handler for flowable elements and the single item that are not delivered because the
+     *                       subscription is cancelled or errors, see {@link FlowableObserveOnWithDiscard}.
+     */
+    public FlowableWithSingleObserveOn(
+            final @NotNull FlowableWithSingle<F, S> source, final @NotNull Scheduler scheduler,
+            final boolean delayError, final int bufferSize, final @Nullable Consumer<Object> discardHandler) {
+
         super(source);
         this.scheduler = scheduler;
         this.delayError = delayError;
         this.bufferSize = bufferSize;
+        this.discardHandler = discardHandler;
     }
 
     @Override
     protected void subscribeActual(final @NotNull Subscriber<? super F> subscriber) {
-        source.observeOn(scheduler, delayError, bufferSize).subscribe(subscriber);
+        observeOn(source).subscribe(subscriber);
     }
 
     @Override
     protected void subscribeBothActual(final @NotNull WithSingleSubscriber<? super F, ? super S> subscriber) {
-        FlowableWithSingleCombine.split(
-                new FlowableWithSingleCombine<>(source).observeOn(scheduler, delayError, bufferSize), subscriber);
+        FlowableWithSingleCombine.split(observeOn(new FlowableWithSingleCombine<>(source)), subscriber);
+    }
+
+    private <T> @NotNull Flowable<T> observeOn(final @NotNull Flowable<T> source) {
+        if (discardHandler == null) {
+            return source.observeOn(scheduler, delayError, bufferSize);
+        }
+        return new FlowableObserveOnWithDiscard<>(source, scheduler, delayError, bufferSize, discardHandler);
     }
 }
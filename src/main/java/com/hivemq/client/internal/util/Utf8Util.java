@@ -17,6 +17,7 @@
 
 package com.hivemq.client.internal.util;
 
+import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -29,9 +30,24 @@ public final class Utf8Util {
     private static final long UTF_16_SURROGATES = 0b1110_0000L << 56;
     private static final long INVALID_CODE_POINTS = 0b1111_0000L << 56;
 
+    private static final long HIGH_BITS = 0x8080_8080_8080_8080L;
+    private static final long LOW_BITS = 0x0101_0101_0101_0101L;
+
     public static long isWellFormed(final @NotNull byte[] bytes) {
-        int index = 0;
-        final int end = bytes.length;
+        return isWellFormed(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Checks if the given range of the byte array is well-formed UTF-8.
+     *
+     * @param bytes the byte array.
+     * @param start the start index of the range (inclusive).
+     * @param end   the end index of the range (exclusive).
+     * @return 0 if well-formed, otherwise the kind of the error in the upper bits and the index relative to the start
+     *         after the malformed byte in the lower bits.
+     */
+    public static long isWellFormed(final @NotNull byte[] bytes, final int start, final int end) {
+        int index = start;
         while (true) {
 
             byte byte1;
@@ -43,59 +59,181 @@ public final class Utf8Util {
 
             if (byte1 < (byte) 0xE0) { // 2 bytes
                 if (index == end) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
                 if (byte1 < (byte) 0xC2) {
-                    return index + NON_SHORTEST_FORM;
+                    return index - start + NON_SHORTEST_FORM;
                 }
                 final byte byte2 = bytes[index++];
                 if (byte2 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
             } else if (byte1 < (byte) 0xF0) { // 3 bytes
                 if (index + 1 >= end) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
                 final byte byte2 = bytes[index++];
                 if (byte2 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
                 if ((byte1 == (byte) 0xE0) && (byte2 < (byte) 0xA0)) {
-                    return index + NON_SHORTEST_FORM;
+                    return index - start + NON_SHORTEST_FORM;
                 }
                 if ((byte1 == (byte) 0xED) && (byte2 >= (byte) 0xA0)) {
-                    return index + UTF_16_SURROGATES;
+                    return index - start + UTF_16_SURROGATES;
                 }
                 final byte byte3 = bytes[index++];
                 if (byte3 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
             } else { // 4 bytes
                 if (index + 2 >= end) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
                 final byte byte2 = bytes[index++];
                 if (byte2 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
                 if ((byte1 == (byte) 0xF0) && (byte2 < (byte) 0x90)) {
-                    return index + NON_SHORTEST_FORM;
+                    return index - start + NON_SHORTEST_FORM;
                 }
                 if ((byte1 == (byte) 0xF4) && (byte2 > (byte) 0x8F) || (byte1 > (byte) 0xF4)) {
-                    return index + INVALID_CODE_POINTS;
+                    return index - start + INVALID_CODE_POINTS;
                 }
                 final byte byte3 = bytes[index++];
                 if (byte3 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
                 final byte byte4 = bytes[index++];
                 if (byte4 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
             }
         }
     }
 
+    /**
+     * Checks if the given range of the byte buffer is well-formed UTF-8 without copying it.
+     * <p>
+     * ASCII is checked 8 bytes at a time. Multi-byte sequences are checked by the same state machine as in {@link
+     * #isWellFormed(byte[], int, int)}, after each sequence the check continues 8 bytes at a time.
+     *
+     * @param byteBuf the byte buffer.
+     * @param index   the start index of the range.
+     * @param length  the length of the range.
+     * @return same as {@link #isWellFormed(byte[], int, int)}.
+     */
+    public static long isWellFormed(final @NotNull ByteBuf byteBuf, final int index, final int length) {
+        final int end = index + length;
+        int i = index;
+        while (true) {
+
+            for (final int longEnd = end - 7; i < longEnd; i += Long.BYTES) {
+                if ((byteBuf.getLong(i) & HIGH_BITS) != 0) {
+                    break;
+                }
+            }
+            byte byte1;
+            do {
+                if (i >= end) {
+                    return 0;
+                }
+            } while ((byte1 = byteBuf.getByte(i++)) >= 0);
+
+            if (byte1 < (byte) 0xE0) { // 2 bytes
+                if (i == end) {
+                    return i - index + NO_FOLLOWING_BYTE;
+                }
+                if (byte1 < (byte) 0xC2) {
+                    return i - index + NON_SHORTEST_FORM;
+                }
+                final byte byte2 = byteBuf.getByte(i++);
+                if (byte2 > (byte) 0xBF) {
+                    return i - index + NO_FOLLOWING_BYTE;
+                }
+            } else if (byte1 < (byte) 0xF0) { // 3 bytes
+                if (i + 1 >= end) {
+                    return i - index + NO_FOLLOWING_BYTE;
+                }
+                final byte byte2 = byteBuf.getByte(i++);
+                if (byte2 > (byte) 0xBF) {
+                    return i - index + NO_FOLLOWING_BYTE;
+                }
+                if ((byte1 == (byte) 0xE0) && (byte2 < (byte) 0xA0)) {
+                    return i - index + NON_SHORTEST_FORM;
+                }
+                if ((byte1 == (byte) 0xED) && (byte2 >= (byte) 0xA0)) {
+                    return i - index + UTF_16_SURROGATES;
+                }
+                final byte byte3 = byteBuf.getByte(i++);
+                if (byte3 > (byte) 0xBF) {
+                    return i - index + NO_FOLLOWING_BYTE;
+                }
+            } else { // 4 bytes
+                if (i + 2 >= end) {
+                    return i - index + NO_FOLLOWING_BYTE;
+                }
+                final byte byte2 = byteBuf.getByte(i++);
+                if (byte2 > (byte) 0xBF) {
+                    return i - index + NO_FOLLOWING_BYTE;
+                }
+                if ((byte1 == (byte) 0xF0) && (byte2 < (byte) 0x90)) {
+                    return i - index + NON_SHORTEST_FORM;
+                }
+                if ((byte1 == (byte) 0xF4) && (byte2 > (byte) 0x8F) || (byte1 > (byte) 0xF4)) {
+                    return i - index + INVALID_CODE_POINTS;
+                }
+                final byte byte3 = byteBuf.getByte(i++);
+                if (byte3 > (byte) 0xBF) {
+                    return i - index + NO_FOLLOWING_BYTE;
+                }
+                final byte byte4 = byteBuf.getByte(i++);
+                if (byte4 > (byte) 0xBF) {
+                    return i - index + NO_FOLLOWING_BYTE;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if the given range of the byte buffer with UTF-8 encoded data contains one of the given ASCII characters.
+     * <p>
+     * Bytes of multi-byte UTF-8 sequences are never in the ASCII range, so the check is done bytewise 8 bytes at a
+     * time.
+     *
+     * @param byteBuf the byte buffer.
+     * @param index   the start index of the range.
+     * @param length  the length of the range.
+     * @param c1      the first ASCII character to search.
+     * @param c2      the second ASCII character to search, may be the same as the first.
+     * @return whether the range contains one of the characters.
+     */
+    public static boolean containsAscii(
+            final @NotNull ByteBuf byteBuf, final int index, final int length, final char c1, final char c2) {
+
+        final int end = index + length;
+        final long pattern1 = LOW_BITS * c1;
+        final long pattern2 = LOW_BITS * c2;
+        int i = index;
+        for (final int longEnd = end - 7; i < longEnd; i += Long.BYTES) {
+            final long word = byteBuf.getLong(i);
+            if (hasZeroByte(word ^ pattern1) || hasZeroByte(word ^ pattern2)) {
+                return true;
+            }
+        }
+        for (; i < end; i++) {
+            final byte b = byteBuf.getByte(i);
+            if ((b == c1) || (b == c2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasZeroByte(final long word) {
+        return ((word - LOW_BITS) & ~word & HIGH_BITS) != 0;
+    }
+
     public static int encodedLength(final @NotNull String string) {
         final int utf16Length = string.length();
         int utf8Length = utf16Length;
@@ -50,7 +50,7 @@ public class ChunkedIntArrayQueue {
     public void offer(final int value) {
         IntChunk producerChunk = this.producerChunk;
         final int producerIndex = this.producerIndex;
-        final int newProducerIndex = (producerIndex == chunkSize) ? 0 : producerIndex;
+        int newProducerIndex = (producerIndex == chunkSize) ? 0 : producerIndex;
         if ((size > 0) && (((producerIndex == chunkSize) && (producerChunk != consumerChunk)) ||
                 ((producerChunk == consumerChunk) && (newProducerIndex == consumerIndex)))) {
             final IntChunk chunk = new IntChunk(chunkSize);
@@ -58,6 +58,7 @@ public class ChunkedIntArrayQueue {
             producerChunk.next = chunk;
             producerChunk = chunk;
             this.producerChunk = chunk;
+            newProducerIndex = 0;
         }
         producerChunk.values[newProducerIndex] = value;
         this.producerIndex = newProducerIndex + 1;
@@ -80,4 +80,14 @@ public interface MqttClientSslConfig {
      * @return the handshake timeout in milliseconds.
      */
     long getHandshakeTimeoutMs();
+
+    /**
+     * Whether the native OpenSSL implementation is preferred over the SSL implementation of the JDK. OpenSSL is only
+     * used if the native library of Netty (network communication framework) for OpenSSL (netty-tcnative) is available,
+     * otherwise the client falls back to the JDK implementation.
+     *
+     * @return whether OpenSSL is preferred.
+     * @since 1.1
+     */
+    boolean isPreferOpenSsl();
 }
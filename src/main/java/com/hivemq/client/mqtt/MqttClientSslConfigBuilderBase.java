@@ -80,4 +80,13 @@ public interface MqttClientSslConfigBuilderBase<B extends MqttClientSslConfigBui
      * @return the builder.
      */
     @NotNull B handshakeTimeout(long timeout, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Sets whether {@link MqttClientSslConfig#isPreferOpenSsl() OpenSSL is preferred}.
+     *
+     * @param preferOpenSsl whether OpenSSL is preferred over the SSL implementation of the JDK.
+     * @return the builder.
+     * @since 1.1
+     */
+    @NotNull B preferOpenSsl(boolean preferOpenSsl);
 }
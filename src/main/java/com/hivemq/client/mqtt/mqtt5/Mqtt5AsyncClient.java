@@ -42,9 +42,12 @@ import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.Mqtt5UnsubscribeBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Asynchronous API of a {@link Mqtt5Client} based on futures and callbacks.
@@ -128,6 +131,26 @@ public interface Mqtt5AsyncClient extends Mqtt5Client {
     @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribe(
             @NotNull Mqtt5Subscribe subscribe, @NotNull Consumer<@NotNull Mqtt5Publish> callback);
 
+    /**
+     * Subscribes this client with the given Subscribe message and consumes the the incoming Publish messages matching
+     * the subscriptions of the Subscribe message with a callback, optionally with manual acknowledgement.
+     * <p>
+     * If manual acknowledgement is enabled, the acknowledgement of a QoS 1 or 2 Publish message is not sent when the
+     * callback returns but only after {@link Mqtt5Publish#acknowledge()} was called, so the callback can hand the
+     * Publish message over to asynchronous processing.
+     *
+     * @param subscribe             the Subscribe messages sent to the broker.
+     * @param callback              the callback for consuming the incoming Publish messages matching the
+     *                              subscriptions of the Subscribe message.
+     * @param manualAcknowledgement whether the Publish messages have to be acknowledged manually.
+     * @return see {@link #subscribe(Mqtt5Subscribe)}.
+     * @see Mqtt5RxClient#subscribeStream(Mqtt5Subscribe, boolean)
+     * @since 1.1
+     */
+    @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribe(
+            @NotNull Mqtt5Subscribe subscribe, @NotNull Consumer<@NotNull Mqtt5Publish> callback,
+            boolean manualAcknowledgement);
+
     /**
      * Subscribes this client with the given Subscribe message and consumes the the incoming Publish messages matching
      * the subscriptions of the Subscribe message with a callback.
@@ -145,6 +168,55 @@ public interface Mqtt5AsyncClient extends Mqtt5Client {
             @NotNull Mqtt5Subscribe subscribe, @NotNull Consumer<@NotNull Mqtt5Publish> callback,
             @NotNull Executor executor);
 
+    /**
+     * Subscribes this client with the given Subscribe message and consumes the the incoming Publish messages matching
+     * the subscriptions of the Subscribe message with a callback that is executed in parallel on the given amount of
+     * lanes.
+     * <p>
+     * Every Publish message is assigned to a lane by the hash of its topic. Each lane executes the callback for its
+     * Publish messages one after another on the given executor, so Publish messages with the same topic are consumed in
+     * order while Publish messages with different topics can be consumed in parallel. The executor must be able to run
+     * as many tasks in parallel as there are lanes to make use of all lanes.
+     * <p>
+     * A lane requests new Publish messages only after the callback returned for previous ones, so a slow lane applies
+     * backpressure to all lanes.
+     *
+     * @param subscribe the Subscribe messages sent to the broker.
+     * @param callback  the callback for consuming the incoming Publish messages matching the subscriptions of the
+     *                  Subscribe message.
+     * @param executor  the executor where the future is completed and the callback is executed on.
+     * @param lanes     the amount of lanes.
+     * @return see {@link #subscribe(Mqtt5Subscribe)}.
+     * @see #subscribe(Mqtt5Subscribe, Consumer, Executor, int, Function)
+     * @since 1.1
+     */
+    @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribe(
+            @NotNull Mqtt5Subscribe subscribe, @NotNull Consumer<@NotNull Mqtt5Publish> callback,
+            @NotNull Executor executor, int lanes);
+
+    /**
+     * Subscribes this client with the given Subscribe message and consumes the the incoming Publish messages matching
+     * the subscriptions of the Subscribe message with a callback that is executed in parallel on the given amount of
+     * lanes.
+     * <p>
+     * Same as {@link #subscribe(Mqtt5Subscribe, Consumer, Executor, int)}, but every Publish message is assigned to a
+     * lane by the hash of the key extracted by the given function, so Publish messages with the same key are consumed
+     * in order.
+     *
+     * @param subscribe    the Subscribe messages sent to the broker.
+     * @param callback     the callback for consuming the incoming Publish messages matching the subscriptions of the
+     *                     Subscribe message.
+     * @param executor     the executor where the future is completed and the callback is executed on.
+     * @param lanes        the amount of lanes.
+     * @param keyExtractor the function extracting the key of a Publish message.
+     * @return see {@link #subscribe(Mqtt5Subscribe)}.
+     * @see #subscribe(Mqtt5Subscribe, Consumer, Executor, int)
+     * @since 1.1
+     */
+    @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribe(
+            @NotNull Mqtt5Subscribe subscribe, @NotNull Consumer<@NotNull Mqtt5Publish> callback,
+            @NotNull Executor executor, int lanes, @NotNull Function<? super Mqtt5Publish, ?> keyExtractor);
+
     /**
      * Fluent counterpart of {@link #subscribe(Mqtt5Subscribe)}, {@link #subscribe(Mqtt5Subscribe, Consumer)} and {@link
      * #subscribe(Mqtt5Subscribe, Consumer, Executor)}.
@@ -156,6 +228,8 @@ public interface Mqtt5AsyncClient extends Mqtt5Client {
      * <li>{@link #subscribe(Mqtt5Subscribe, Consumer)} if only a callback has been supplied to the builder</li>
      * <li>{@link #subscribe(Mqtt5Subscribe, Consumer, Executor)} if a callback and an executor has been supplied to
      * the builder</li>
+     * <li>{@link #subscribe(Mqtt5Subscribe, Consumer, Executor, int)} or {@link #subscribe(Mqtt5Subscribe, Consumer,
+     * Executor, int, Function)} if additionally lanes have been supplied to the builder</li>
      * </ul>
      *
      * @return the fluent builder for the Subscribe message.
@@ -176,6 +250,20 @@ public interface Mqtt5AsyncClient extends Mqtt5Client {
      */
     void publishes(@NotNull MqttGlobalPublishFilter filter, @NotNull Consumer<@NotNull Mqtt5Publish> callback);
 
+    /**
+     * Globally consumes all incoming Publish messages matching the given filter, optionally with manual
+     * acknowledgement.
+     *
+     * @param filter                the filter with which all incoming Publish messages are filtered.
+     * @param callback              the callback for all incoming Publish messages matching the given filter.
+     * @param manualAcknowledgement whether the Publish messages have to be acknowledged manually.
+     * @see #subscribe(Mqtt5Subscribe, Consumer, boolean)
+     * @since 1.1
+     */
+    void publishes(
+            @NotNull MqttGlobalPublishFilter filter, @NotNull Consumer<@NotNull Mqtt5Publish> callback,
+            boolean manualAcknowledgement);
+
     /**
      * Globally consumes all incoming Publish messages matching the given filter.
      *
@@ -235,6 +323,25 @@ public interface Mqtt5AsyncClient extends Mqtt5Client {
      */
     @NotNull CompletableFuture<@NotNull Mqtt5PublishResult> publish(@NotNull Mqtt5Publish publish);
 
+    /**
+     * Publishes the given Publish messages as a batch.
+     * <p>
+     * All Publish messages are handed to the client at once and are sent in the given order with as few writes to the
+     * connection as the flow control allows.
+     *
+     * @param publishes the Publish messages sent to the broker.
+     * @return a {@link CompletableFuture} which
+     *         <ul>
+     *         <li>completes normally with the {@link Mqtt5PublishResult}s of all Publish messages in the given order
+     *         when every Publish message was either acknowledged or failed ({@link Mqtt5PublishResult#getError()}
+     *         contains the error of a single Publish message) or</li>
+     *         <li>completes exceptionally if the batch could not be handed to the client.</li>
+     *         </ul>
+     * @since 1.1
+     */
+    @NotNull CompletableFuture<@NotNull List<@NotNull Mqtt5PublishResult>> publishAll(
+            @NotNull Collection<@NotNull Mqtt5Publish> publishes);
+
     /**
      * Fluent counterpart of {@link #publish(Mqtt5Publish)}.
      * <p>
@@ -345,6 +452,28 @@ public interface Mqtt5AsyncClient extends Mqtt5Client {
             interface Ex extends Call {
 
                 @NotNull Ex executor(@NotNull Executor executor);
+
+                /**
+                 * Sets the amount of lanes the callback is executed on in parallel. Requires an {@link
+                 * #executor(Executor) executor}.
+                 *
+                 * @param lanes the amount of lanes.
+                 * @return the builder.
+                 * @see Mqtt5AsyncClient#subscribe(Mqtt5Subscribe, Consumer, Executor, int)
+                 * @since 1.1
+                 */
+                @NotNull Ex lanes(int lanes);
+
+                /**
+                 * Sets the function extracting the key that assigns a Publish message to a lane. Requires {@link
+                 * #lanes(int) lanes}. The default key is the topic.
+                 *
+                 * @param keyExtractor the function extracting the key of a Publish message.
+                 * @return the builder.
+                 * @see Mqtt5AsyncClient#subscribe(Mqtt5Subscribe, Consumer, Executor, int, Function)
+                 * @since 1.1
+                 */
+                @NotNull Ex laneKey(@NotNull Function<? super Mqtt5Publish, ?> keyExtractor);
             }
         }
     }
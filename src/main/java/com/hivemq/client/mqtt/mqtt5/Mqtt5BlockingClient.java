@@ -42,6 +42,8 @@ import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.Mqtt5UnsubscribeBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -159,6 +161,20 @@ public interface Mqtt5BlockingClient extends Mqtt5Client {
      */
     @NotNull Mqtt5PublishResult publish(@NotNull Mqtt5Publish publish);
 
+    /**
+     * Publishes the given Publish messages as a batch.
+     * <p>
+     * All Publish messages are handed to the client at once and are sent in the given order with as few writes to the
+     * connection as the flow control allows.
+     *
+     * @param publishes the Publish messages sent to the broker.
+     * @return the {@link Mqtt5PublishResult}s of all Publish messages in the given order when every Publish message was
+     *         either acknowledged or failed ({@link Mqtt5PublishResult#getError()} contains the error of a single
+     *         Publish message).
+     * @since 1.1
+     */
+    @NotNull List<@NotNull Mqtt5PublishResult> publishAll(@NotNull Collection<@NotNull Mqtt5Publish> publishes);
+
     /**
      * Fluent counterpart of {@link #publish(Mqtt5Publish)}.
      * <p>
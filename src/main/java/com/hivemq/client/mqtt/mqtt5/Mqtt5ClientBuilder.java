@@ -78,4 +78,13 @@ public interface Mqtt5ClientBuilder extends MqttClientBuilderBase<Mqtt5ClientBui
      * @return the built {@link Mqtt5BlockingClient}.
      */
     @NotNull Mqtt5BlockingClient buildBlocking();
+
+    /**
+     * Builds a {@link Mqtt5ShardedClient} which uses the given amount of parallel connections.
+     *
+     * @param shards the amount of parallel connections, must be greater than 0.
+     * @return the built {@link Mqtt5ShardedClient}.
+     * @since 1.1
+     */
+    @NotNull Mqtt5ShardedClient buildSharded(int shards);
 }
@@ -40,4 +40,10 @@ public interface Mqtt5ClientConfig extends MqttClientConfig {
      * @return the advanced configuration of the client.
      */
     @NotNull Mqtt5ClientAdvancedConfig getAdvancedConfig();
+
+    /**
+     * @return the statistics of the client.
+     * @since 1.1
+     */
+    @NotNull Mqtt5ClientStats getStats();
 }
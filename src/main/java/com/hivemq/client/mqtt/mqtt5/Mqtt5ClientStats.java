@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.mqtt5;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingQos0Policy;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingTopicCache;
+
+/**
+ * Statistics of a {@link Mqtt5Client}.
+ * <p>
+ * Statistics of the current connection are reset when the client connects again and are 0 while the client is not
+ * connected. All other statistics are counted since the client was created.
+ *
+ * @author Silvio Giebl
+ * @since 1.1
+ */
+@DoNotImplement
+public interface Mqtt5ClientStats {
+
+    /**
+     * @return the amount of PUBLISH packets that were sent with a topic alias instead of the topic on the current
+     *         connection.
+     */
+    long getTopicAliasHits();
+
+    /**
+     * @return the amount of PUBLISH packets that were sent with the topic on the current connection.
+     */
+    long getTopicAliasMisses();
+
+    /**
+     * Returns the amount of bytes saved by topic aliases on the current connection. This is the length of all omitted
+     * topics minus the length of all sent topic alias properties.
+     *
+     * @return the amount of bytes saved by topic aliases on the current connection.
+     */
+    long getTopicAliasSavedBytes();
+
+    /**
+     * @return the amount of topics of incoming Publish messages that were found in the {@link Mqtt5IncomingTopicCache
+     *         incoming topic cache} on the current connection.
+     */
+    long getIncomingTopicCacheHits();
+
+    /**
+     * @return the amount of topics of incoming Publish messages that were not found in the incoming topic cache on the
+     *         current connection.
+     */
+    long getIncomingTopicCacheMisses();
+
+    /**
+     * @return the amount of topics that were evicted from the incoming topic cache on the current connection.
+     */
+    long getIncomingTopicCacheEvictions();
+
+    /**
+     * @return the amount of incoming Publish messages whose topic was found in the subscription match cache, 0 if the
+     *         cache is not {@link Mqtt5ClientAdvancedConfig#isCacheSubscriptionMatches() enabled}.
+     */
+    long getSubscriptionCacheHits();
+
+    /**
+     * @return the amount of incoming Publish messages whose topic was not found in the subscription match cache, 0 if
+     *         the cache is not enabled.
+     */
+    long getSubscriptionCacheMisses();
+
+    /**
+     * @return the amount of incoming QoS 0 Publish messages that were dropped by the {@link
+     *         Mqtt5IncomingQos0Policy incoming QoS 0 policy} because the buffer was full.
+     */
+    long getIncomingQos0Dropped();
+
+    /**
+     * @return the amount of buffered incoming QoS 0 Publish messages that were replaced by a newer message with the
+     *         same topic by the {@link Mqtt5IncomingQos0Policy incoming QoS 0 policy}.
+     */
+    long getIncomingQos0Coalesced();
+}
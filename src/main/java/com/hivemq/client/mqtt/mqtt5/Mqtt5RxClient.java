@@ -44,6 +44,9 @@ import io.reactivex.Flowable;
 import io.reactivex.Single;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Reactive API of a {@link Mqtt5Client}.
  *
@@ -160,6 +163,23 @@ public interface Mqtt5RxClient extends Mqtt5Client {
      */
     @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribeStream(@NotNull Mqtt5Subscribe subscribe);
 
+    /**
+     * Creates a {@link FlowableWithSingle} for subscribing this client with the given Subscribe message, optionally
+     * with manual acknowledgement of the incoming Publish messages.
+     * <p>
+     * Same as {@link #subscribeStream(Mqtt5Subscribe)}, but if manual acknowledgement is enabled, the acknowledgement
+     * of a QoS 1 or 2 Publish message is not sent as soon as it was emitted but only after {@link
+     * Mqtt5Publish#acknowledge()} was called. This allows processing multiple Publish messages concurrently (up to the
+     * Receive Maximum of the client) while only acknowledging them after they were processed.
+     *
+     * @param subscribe             the Subscribe message sent to the broker during subscribe.
+     * @param manualAcknowledgement whether the emitted Publish messages have to be acknowledged manually.
+     * @return see {@link #subscribeStream(Mqtt5Subscribe)}.
+     * @since 1.1
+     */
+    @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribeStream(
+            @NotNull Mqtt5Subscribe subscribe, boolean manualAcknowledgement);
+
     /**
      * Fluent counterpart of {@link #subscribeStream(Mqtt5Subscribe)}.
      * <p>
@@ -174,6 +194,27 @@ public interface Mqtt5RxClient extends Mqtt5Client {
         return new MqttSubscribeBuilder.Nested<>(this::subscribeStream);
     }
 
+    /**
+     * Creates a {@link FlowableWithSingle} for subscribing this client with the given Subscribe message that emits the
+     * incoming Publish messages in batches.
+     * <p>
+     * Same as {@link #subscribeStream(Mqtt5Subscribe)}, but the incoming Publish messages are collected into lists of
+     * at most the given maximum size. A list is emitted when it reached the maximum size or when the maximum delay
+     * elapsed since its first Publish message was received. With a maximum delay of 0 a list contains the Publish
+     * messages that were received together from the network.
+     * <p>
+     * Requesting n lists requests up to n * maximum size Publish messages.
+     *
+     * @param subscribe the Subscribe message sent to the broker during subscribe.
+     * @param maxSize   the maximum amount of Publish messages in a list.
+     * @param maxDelay  the maximum delay after the first Publish message of a list until the list is emitted.
+     * @param timeUnit  the time unit of the maximum delay.
+     * @return see {@link #subscribeStream(Mqtt5Subscribe)}, but emitting lists of Publish messages.
+     * @since 1.1
+     */
+    @NotNull FlowableWithSingle<List<Mqtt5Publish>, Mqtt5SubAck> subscribeStreamBatched(
+            @NotNull Mqtt5Subscribe subscribe, int maxSize, long maxDelay, @NotNull TimeUnit timeUnit);
+
     /**
      * Creates a {@link Flowable} for globally consuming all incoming Publish messages matching the given filter.
      * <p>
@@ -192,6 +233,37 @@ public interface Mqtt5RxClient extends Mqtt5Client {
      */
     @NotNull Flowable<Mqtt5Publish> publishes(@NotNull MqttGlobalPublishFilter filter);
 
+    /**
+     * Creates a {@link Flowable} for globally consuming all incoming Publish messages matching the given filter,
+     * optionally with manual acknowledgement.
+     * <p>
+     * Same as {@link #publishes(MqttGlobalPublishFilter)}, but with manual acknowledgement like {@link
+     * #subscribeStream(Mqtt5Subscribe, boolean)}.
+     *
+     * @param filter                the filter with which all incoming Publish messages are filtered.
+     * @param manualAcknowledgement whether the emitted Publish messages have to be acknowledged manually.
+     * @return see {@link #publishes(MqttGlobalPublishFilter)}.
+     * @since 1.1
+     */
+    @NotNull Flowable<Mqtt5Publish> publishes(@NotNull MqttGlobalPublishFilter filter, boolean manualAcknowledgement);
+
+    /**
+     * Creates a {@link Flowable} for globally consuming all incoming Publish messages matching the given filter in
+     * batches.
+     * <p>
+     * Same as {@link #publishes(MqttGlobalPublishFilter)}, but the incoming Publish messages are collected into lists
+     * like with {@link #subscribeStreamBatched(Mqtt5Subscribe, int, long, TimeUnit)}.
+     *
+     * @param filter   the filter with which all incoming Publish messages are filtered.
+     * @param maxSize  the maximum amount of Publish messages in a list.
+     * @param maxDelay the maximum delay after the first Publish message of a list until the list is emitted.
+     * @param timeUnit the time unit of the maximum delay.
+     * @return see {@link #publishes(MqttGlobalPublishFilter)}, but emitting lists of Publish messages.
+     * @since 1.1
+     */
+    @NotNull Flowable<List<Mqtt5Publish>> publishesBatched(
+            @NotNull MqttGlobalPublishFilter filter, int maxSize, long maxDelay, @NotNull TimeUnit timeUnit);
+
     /**
      * Creates a {@link Single} for unsubscribing this client with the given Unsubscribe message.
      * <p>
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.mqtt5;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.annotations.Immutable;
+import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
+import com.hivemq.client.internal.mqtt.message.disconnect.MqttDisconnect;
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5Connect;
+import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
+import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5Disconnect;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5Subscribe;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
+import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.Mqtt5Unsubscribe;
+import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
+import com.hivemq.client.rx.FlowableWithSingle;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Reactive client which uses multiple parallel connections to the same broker, so that the throughput of one logical
+ * producer is not limited to one connection and one Netty event loop.
+ * <p>
+ * Every connection is a separate {@link Mqtt5RxClient shard} with the same configuration. The first shard uses the
+ * client identifier of the configuration, the other shards use derived client identifiers with the suffix
+ * <code>-&lt;index&gt;</code>. If the client identifier is requested from the server, every shard requests its own.
+ * <p>
+ * Publish messages are distributed over the shards by the hash of their topic, so the order of Publish messages with
+ * the same topic is preserved. Subscriptions and incoming Publish messages are routed to the first shard, the
+ * {@link #getSubscriptionShard() subscription shard}.
+ *
+ * @author Silvio Giebl
+ * @since 1.1
+ */
+@DoNotImplement
+public interface Mqtt5ShardedClient {
+
+    /**
+     * @return the shards of this client, one for every connection.
+     */
+    @Immutable @NotNull List<@NotNull ? extends Mqtt5RxClient> getShards();
+
+    /**
+     * @return the shard which subscriptions and incoming Publish messages are routed to.
+     */
+    @NotNull Mqtt5RxClient getSubscriptionShard();
+
+    /**
+     * Creates a {@link Single} for connecting all shards with the default Connect message.
+     *
+     * @return see {@link #connect(Mqtt5Connect)}.
+     * @see #connect(Mqtt5Connect)
+     */
+    default @NotNull Single<Mqtt5ConnAck> connect() {
+        return connect(MqttConnect.DEFAULT);
+    }
+
+    /**
+     * Creates a {@link Single} for connecting all shards in parallel with the given Connect message.
+     * <p>
+     * Only the ConnAck message of the {@link #getSubscriptionShard() subscription shard} is emitted. The ConnAck
+     * messages of the other shards may differ from it, for example whether a session was present or the Receive
+     * Maximum. Every shard applies the restrictions of its own ConnAck message to the Publish messages it sends. The
+     * ConnAck messages of all shards can be obtained by connecting the {@link #getShards() shards} individually.
+     *
+     * @param connect the Connect message sent by every shard to the broker.
+     * @return the {@link Single} which
+     *         <ul>
+     *         <li>succeeds with the ConnAck message of the subscription shard when all shards are connected or</li>
+     *         <li>errors with the error of the first shard that could not connect after all shards finished
+     *         connecting. The shards that did connect are disconnected again.</li>
+     *         </ul>
+     * @see Mqtt5RxClient#connect(Mqtt5Connect)
+     */
+    @NotNull Single<Mqtt5ConnAck> connect(@NotNull Mqtt5Connect connect);
+
+    /**
+     * Creates a {@link Flowable} for publishing the Publish messages emitted by the given {@link Flowable} over all
+     * shards.
+     * <p>
+     * Every Publish message is sent by the shard that is selected by the hash of its topic. The results of all shards
+     * are merged, so the order of the results is only preserved for Publish messages with the same topic.
+     *
+     * @param publishFlowable the source of the Publish messages to publish.
+     * @return the {@link Flowable} which emits the merged {@link Mqtt5PublishResult}s of all shards.
+     * @see Mqtt5RxClient#publish(Flowable)
+     */
+    @NotNull Flowable<Mqtt5PublishResult> publish(@NotNull Flowable<Mqtt5Publish> publishFlowable);
+
+    /**
+     * Creates a {@link Single} for subscribing the {@link #getSubscriptionShard() subscription shard} with the given
+     * Subscribe message.
+     *
+     * @param subscribe the Subscribe message sent to the broker.
+     * @return see {@link Mqtt5RxClient#subscribe(Mqtt5Subscribe)}.
+     * @see Mqtt5RxClient#subscribe(Mqtt5Subscribe)
+     */
+    @NotNull Single<Mqtt5SubAck> subscribe(@NotNull Mqtt5Subscribe subscribe);
+
+    /**
+     * Creates a {@link FlowableWithSingle} for subscribing the {@link #getSubscriptionShard() subscription shard} with
+     * the given Subscribe message.
+     *
+     * @param subscribe the Subscribe message sent to the broker.
+     * @return see {@link Mqtt5RxClient#subscribeStream(Mqtt5Subscribe)}.
+     * @see Mqtt5RxClient#subscribeStream(Mqtt5Subscribe)
+     */
+    @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribeStream(@NotNull Mqtt5Subscribe subscribe);
+
+    /**
+     * Creates a {@link Flowable} for globally consuming the Publish messages received by the {@link
+     * #getSubscriptionShard() subscription shard} which match the given filter.
+     *
+     * @param filter the filter with which all incoming Publish messages are filtered.
+     * @return see {@link Mqtt5RxClient#publishes(MqttGlobalPublishFilter)}.
+     * @see Mqtt5RxClient#publishes(MqttGlobalPublishFilter)
+     */
+    @NotNull Flowable<Mqtt5Publish> publishes(@NotNull MqttGlobalPublishFilter filter);
+
+    /**
+     * Creates a {@link Single} for unsubscribing the {@link #getSubscriptionShard() subscription shard} with the given
+     * Unsubscribe message.
+     *
+     * @param unsubscribe the Unsubscribe message sent to the broker.
+     * @return see {@link Mqtt5RxClient#unsubscribe(Mqtt5Unsubscribe)}.
+     * @see Mqtt5RxClient#unsubscribe(Mqtt5Unsubscribe)
+     */
+    @NotNull Single<Mqtt5UnsubAck> unsubscribe(@NotNull Mqtt5Unsubscribe unsubscribe);
+
+    /**
+     * Creates a {@link Completable} for disconnecting all shards with the default Disconnect message.
+     *
+     * @return see {@link #disconnect(Mqtt5Disconnect)}.
+     * @see #disconnect(Mqtt5Disconnect)
+     */
+    default @NotNull Completable disconnect() {
+        return disconnect(MqttDisconnect.DEFAULT);
+    }
+
+    /**
+     * Creates a {@link Completable} for disconnecting all shards in parallel with the given Disconnect message.
+     *
+     * @param disconnect the Disconnect message sent by every shard to the broker.
+     * @return the {@link Completable} which
+     *         <ul>
+     *         <li>completes when all shards were successfully disconnected or</li>
+     *         <li>errors if any of the shards was not disconnected gracefully. The other shards are still
+     *         disconnected, the error is emitted after all shards finished disconnecting.</li>
+     *         </ul>
+     * @see Mqtt5RxClient#disconnect(Mqtt5Disconnect)
+     */
+    @NotNull Completable disconnect(@NotNull Mqtt5Disconnect disconnect);
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.advanced.MqttAutomaticReconnect;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration whether and when a client reconnects automatically after its connection was lost.
+ * <p>
+ * Reconnects are scheduled on the Netty event loop of the client. The delay before a reconnect attempt grows
+ * exponentially with the number of failed attempts, starting from the initial delay up to the maximum delay. A random
+ * jitter of up to half of the delay is subtracted, so that many clients that lost their connections at the same time
+ * do not reconnect at the same time.
+ * <p>
+ * A reconnect resumes the session of the client: the Connect message of the previous connection is sent again with
+ * {@link com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5Connect#isCleanStart() clean start} set to
+ * <code>false</code>. Subscriptions and not yet acknowledged Publish messages stay attached as long as the session does
+ * not expire, so the {@link com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5Connect#getSessionExpiryInterval()
+ * session expiry interval} should be greater than the expected time the client is disconnected. The Connect message
+ * can be modified before each attempt with a {@link
+ * com.hivemq.client.mqtt.mqtt5.advanced.interceptor.connect.Mqtt5ReconnectInterceptor Mqtt5ReconnectInterceptor}.
+ * <p>
+ * The client only reconnects if a previously established connection was lost. It does not reconnect if the initial
+ * connect fails or if the user disconnects the client.
+ *
+ * @author Silvio Giebl
+ * @since 1.1
+ */
+@DoNotImplement
+public interface Mqtt5AutomaticReconnect {
+
+    /**
+     * The default initial delay in seconds.
+     */
+    long DEFAULT_INITIAL_DELAY = 1;
+    /**
+     * The default maximum delay in seconds.
+     */
+    long DEFAULT_MAX_DELAY = 120;
+
+    /**
+     * Returns the configuration which disables automatic reconnects. This is the default.
+     *
+     * @return the configuration which disables automatic reconnects.
+     */
+    static @NotNull Mqtt5AutomaticReconnect disabled() {
+        return MqttAutomaticReconnect.DISABLED;
+    }
+
+    /**
+     * Creates a configuration for automatic reconnects with exponential backoff using the {@link
+     * #DEFAULT_INITIAL_DELAY default initial delay} and the {@link #DEFAULT_MAX_DELAY default maximum delay}.
+     *
+     * @return the created configuration for automatic reconnects.
+     */
+    static @NotNull Mqtt5AutomaticReconnect exponentialBackoff() {
+        return MqttAutomaticReconnect.DEFAULT;
+    }
+
+    /**
+     * Creates a configuration for automatic reconnects with exponential backoff.
+     *
+     * @param initialDelay the delay before the first reconnect attempt.
+     * @param maxDelay     the maximum delay between two reconnect attempts.
+     * @param timeUnit     the time unit of the delays.
+     * @return the created configuration for automatic reconnects.
+     */
+    static @NotNull Mqtt5AutomaticReconnect exponentialBackoff(
+            final long initialDelay, final long maxDelay, final @NotNull TimeUnit timeUnit) {
+
+        return MqttAutomaticReconnect.exponentialBackoff(initialDelay, maxDelay, timeUnit);
+    }
+
+    /**
+     * @return whether the client reconnects automatically.
+     */
+    boolean isEnabled();
+
+    /**
+     * @param timeUnit the time unit of the returned delay.
+     * @return the delay before the first reconnect attempt, 0 if automatic reconnects are disabled.
+     */
+    long getInitialDelay(@NotNull TimeUnit timeUnit);
+
+    /**
+     * @param timeUnit the time unit of the returned delay.
+     * @return the maximum delay between two reconnect attempts, 0 if automatic reconnects are disabled.
+     */
+    long getMaxDelay(@NotNull TimeUnit timeUnit);
+}
@@ -47,7 +47,8 @@ public interface Mqtt5ClientAdvancedConfig {
     boolean isAllowServerReAuth();
 
     /**
-     * Returns whether the payload format is validated if {@link com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish#getPayloadFormatIndicator
+     * Returns whether the payload format is validated if {@link
+     * com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish#getPayloadFormatIndicator
      * Mqtt5Publish#getPayloadFormatIndicator()} is present.
      *
      * @return whether the payload format is validated.
@@ -58,4 +59,102 @@ public interface Mqtt5ClientAdvancedConfig {
      * @return the optional interceptors of messages.
      */
     @Nullable Mqtt5ClientInterceptors getInterceptors();
+
+    /**
+     * @return the strategy when written MQTT packets are flushed to the network.
+     * @since 1.1
+     */
+    @NotNull Mqtt5FlushStrategy getFlushStrategy();
+
+    /**
+     * @return the policy how topic aliases are assigned to the topics of outgoing PUBLISH packets.
+     * @since 1.1
+     */
+    @NotNull Mqtt5TopicAliasPolicy getTopicAliasPolicy();
+
+    /**
+     * Returns whether the payloads of incoming Publish messages refer to the network buffer instead of being copied.
+     * <p>
+     * If enabled, every consumer of an incoming Publish message must {@link
+     * com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish#release() release} it.
+     *
+     * @return whether the payloads of incoming Publish messages are not copied.
+     * @since 1.1
+     */
+    boolean isZeroCopyPayload();
+
+    /**
+     * Returns whether the payloads of incoming Publish messages are copied into direct buffers.
+     * <p>
+     * The direct buffers are allocated by the buffer allocator of the connection, which is pooled by default. The
+     * amount of these buffers is not limited by the client. If enabled, every consumer of an incoming Publish message
+     * must {@link com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish#release() release} it, otherwise the
+     * direct memory of the buffer is not reclaimed. Has no effect if {@link #isZeroCopyPayload() zero-copy payloads}
+     * are enabled.
+     *
+     * @return whether the payloads of incoming Publish messages are copied into direct buffers.
+     * @since 1.1
+     */
+    boolean isDirectBufferPayload();
+
+    /**
+     * @return whether the correlation data of incoming Publish messages is decoded into direct buffers.
+     * @since 1.1
+     */
+    boolean isDirectBufferCorrelationData();
+
+    /**
+     * @return whether the authentication data of incoming Auth and ConnAck messages is decoded into direct buffers.
+     * @since 1.1
+     */
+    boolean isDirectBufferAuth();
+
+    /**
+     * Returns whether subscriptions are stored in a compact tree.
+     * <p>
+     * The compact tree uses less memory per subscription and matches topics faster if a client has a very large number
+     * of subscriptions, e.g. hundreds of thousands. For a small number of subscriptions the default tree is sufficient.
+     *
+     * @return whether subscriptions are stored in a compact tree.
+     * @since 1.1
+     */
+    boolean isCompactSubscriptionTree();
+
+    /**
+     * Returns whether the subscriptions matching the topic of an incoming Publish message are cached per topic.
+     * <p>
+     * The cache speeds up matching if the client receives Publish messages with a limited set of topics repeatedly.
+     * If the client receives many distinct topics, most lookups miss the cache and matching is slower than without the
+     * cache. The {@link com.hivemq.client.mqtt.mqtt5.Mqtt5ClientStats#getSubscriptionCacheHits() hits} and {@link
+     * com.hivemq.client.mqtt.mqtt5.Mqtt5ClientStats#getSubscriptionCacheMisses() misses} of the cache are available in
+     * the statistics of the client.
+     *
+     * @return whether the subscriptions matching a topic are cached.
+     * @since 1.1
+     */
+    boolean isCacheSubscriptionMatches();
+
+    /**
+     * @return the policy how incoming QoS 0 Publish messages are buffered if the consumers do not keep up.
+     * @since 1.1
+     */
+    @NotNull Mqtt5IncomingQos0Policy getIncomingQos0Policy();
+
+    /**
+     * @return the cache for the topics of incoming Publish messages.
+     * @since 1.1
+     */
+    @NotNull Mqtt5IncomingTopicCache getIncomingTopicCache();
+
+    /**
+     * @return the configuration whether and when the client reconnects automatically.
+     * @since 1.1
+     */
+    @NotNull Mqtt5AutomaticReconnect getAutomaticReconnect();
+
+    /**
+     * @return the options of the network transport.
+     * @since 1.1
+     */
+    @NotNull Mqtt5TransportConfig getTransportConfig();
 }
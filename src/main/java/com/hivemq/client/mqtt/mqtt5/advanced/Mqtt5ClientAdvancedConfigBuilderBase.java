@@ -68,4 +68,136 @@ public interface Mqtt5ClientAdvancedConfigBuilderBase<B extends Mqtt5ClientAdvan
      * @see #interceptors(Mqtt5ClientInterceptors)
      */
     @NotNull Mqtt5ClientInterceptorsBuilder.Nested<? extends B> interceptors();
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getFlushStrategy() strategy when written MQTT packets are flushed}.
+     *
+     * @param flushStrategy the flush strategy.
+     * @return the builder.
+     * @since 1.1
+     */
+    @NotNull B flushStrategy(@NotNull Mqtt5FlushStrategy flushStrategy);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getTopicAliasPolicy() policy how topic aliases are assigned to the
+     * topics of outgoing PUBLISH packets}.
+     *
+     * @param topicAliasPolicy the topic alias policy.
+     * @return the builder.
+     * @since 1.1
+     */
+    @NotNull B topicAliasPolicy(@NotNull Mqtt5TopicAliasPolicy topicAliasPolicy);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isZeroCopyPayload() the payloads of incoming Publish messages are
+     * not copied}.
+     *
+     * @param zeroCopyPayload whether the payloads of incoming Publish messages are not copied.
+     * @return the builder.
+     * @since 1.1
+     */
+    @NotNull B zeroCopyPayload(boolean zeroCopyPayload);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isDirectBufferPayload() the payloads of incoming Publish messages
+     * are copied into direct buffers}.
+     *
+     * @param directBufferPayload whether the payloads of incoming Publish messages are copied into direct buffers.
+     * @return the builder.
+     * @since 1.1
+     */
+    @NotNull B directBufferPayload(boolean directBufferPayload);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isDirectBufferCorrelationData() the correlation data of incoming
+     * Publish messages is decoded into direct buffers}.
+     *
+     * @param directBufferCorrelationData whether the correlation data of incoming Publish messages is decoded into
+     *                                    direct buffers.
+     * @return the builder.
+     * @since 1.1
+     */
+    @NotNull B directBufferCorrelationData(boolean directBufferCorrelationData);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isDirectBufferAuth() the authentication data of incoming Auth and
+     * ConnAck messages is decoded into direct buffers}.
+     *
+     * @param directBufferAuth whether the authentication data of incoming Auth and ConnAck messages is decoded into
+     *                         direct buffers.
+     * @return the builder.
+     * @since 1.1
+     */
+    @NotNull B directBufferAuth(boolean directBufferAuth);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isCompactSubscriptionTree() subscriptions are stored in a compact
+     * tree}.
+     *
+     * @param compactSubscriptionTree whether subscriptions are stored in a compact tree.
+     * @return the builder.
+     * @since 1.1
+     */
+    @NotNull B compactSubscriptionTree(boolean compactSubscriptionTree);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isCacheSubscriptionMatches() the subscriptions matching a topic are
+     * cached}.
+     *
+     * @param cacheSubscriptionMatches whether the subscriptions matching a topic are cached.
+     * @return the builder.
+     * @since 1.1
+     */
+    @NotNull B cacheSubscriptionMatches(boolean cacheSubscriptionMatches);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getIncomingQos0Policy() policy how incoming QoS 0 Publish messages are
+     * buffered if the consumers do not keep up}.
+     *
+     * @param incomingQos0Policy the incoming QoS 0 policy.
+     * @return the builder.
+     * @since 1.1
+     */
+    @NotNull B incomingQos0Policy(@NotNull Mqtt5IncomingQos0Policy incomingQos0Policy);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getIncomingTopicCache() cache for the topics of incoming Publish
+     * messages}.
+     *
+     * @param incomingTopicCache the incoming topic cache.
+     * @return the builder.
+     * @since 1.1
+     */
+    @NotNull B incomingTopicCache(@NotNull Mqtt5IncomingTopicCache incomingTopicCache);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getAutomaticReconnect() configuration whether and when the client
+     * reconnects automatically}.
+     *
+     * @param automaticReconnect the automatic reconnect configuration.
+     * @return the builder.
+     * @since 1.1
+     */
+    @NotNull B automaticReconnect(@NotNull Mqtt5AutomaticReconnect automaticReconnect);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getTransportConfig() options of the network transport}.
+     *
+     * @param transportConfig the transport options.
+     * @return the builder.
+     * @since 1.1
+     */
+    @NotNull B transportConfig(@NotNull Mqtt5TransportConfig transportConfig);
+
+    /**
+     * Fluent counterpart of {@link #transportConfig(Mqtt5TransportConfig)}.
+     * <p>
+     * Calling {@link Mqtt5TransportConfigBuilder.Nested#applyTransportConfig()} on the returned builder has the effect
+     * of extending the current transport options.
+     *
+     * @return the fluent builder for the transport options.
+     * @see #transportConfig(Mqtt5TransportConfig)
+     * @since 1.1
+     */
+    @NotNull Mqtt5TransportConfigBuilder.Nested<? extends B> transportConfig();
 }
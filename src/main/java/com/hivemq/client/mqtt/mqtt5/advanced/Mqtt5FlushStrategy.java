@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.advanced.MqttFlushStrategy;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Strategy when written MQTT packets are flushed to the network.
+ * <p>
+ * Coalescing multiple packets into one flush reduces the amount of system calls at the cost of latency. The strategy
+ * applies to all packets written by the client, including PUBLISH packets and acknowledgements.
+ *
+ * @author Silvio Giebl
+ * @since 1.1
+ */
+@DoNotImplement
+public interface Mqtt5FlushStrategy {
+
+    /**
+     * Flushes packets as soon as they are written. This is the default strategy.
+     *
+     * @return the strategy that flushes immediately.
+     */
+    static @NotNull Mqtt5FlushStrategy immediate() {
+        return MqttFlushStrategy.IMMEDIATE;
+    }
+
+    /**
+     * Flushes packets after the given amount of packets has been written. Remaining packets are flushed at the latest
+     * when the Netty event loop has processed its pending tasks.
+     *
+     * @param packets the amount of packets after which a flush is performed.
+     * @return the strategy that flushes in batches.
+     */
+    static @NotNull Mqtt5FlushStrategy batch(final int packets) {
+        return MqttFlushStrategy.batch(packets);
+    }
+
+    /**
+     * Flushes packets at most once in the given interval.
+     *
+     * @param interval the minimum interval between two flushes.
+     * @param timeUnit the time unit of the interval.
+     * @return the strategy that flushes in intervals.
+     */
+    static @NotNull Mqtt5FlushStrategy interval(final long interval, final @NotNull TimeUnit timeUnit) {
+        return MqttFlushStrategy.interval(interval, timeUnit);
+    }
+
+    /**
+     * Flushes packets as soon as the channel becomes unwritable because its outbound buffer exceeded the write buffer
+     * high water mark. Remaining packets are flushed at the latest when the Netty event loop has processed its pending
+     * tasks.
+     *
+     * @return the strategy that flushes depending on the writability of the channel.
+     */
+    static @NotNull Mqtt5FlushStrategy writability() {
+        return MqttFlushStrategy.WRITABILITY;
+    }
+}
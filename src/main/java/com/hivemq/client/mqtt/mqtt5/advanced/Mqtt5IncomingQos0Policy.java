@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.advanced.MqttIncomingQos0Policy;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Policy how incoming QoS 0 Publish messages are buffered if the consumers do not keep up.
+ * <p>
+ * QoS 0 Publish messages are buffered until all subscribed consumers have received them. If the buffer is full, a
+ * policy decides which message is dropped. The buffer holds at most as many messages as the receive maximum of the
+ * client unless a different capacity is configured.
+ * <p>
+ * The amount of dropped and coalesced messages of a client is available in its {@link
+ * com.hivemq.client.mqtt.mqtt5.Mqtt5ClientStats statistics}.
+ *
+ * @author Silvio Giebl
+ * @since 1.1
+ */
+@DoNotImplement
+public interface Mqtt5IncomingQos0Policy {
+
+    /**
+     * Creates a policy that drops the oldest buffered message if the buffer is full. This is the default policy.
+     * <p>
+     * If the oldest buffered message is queued behind a QoS 1 or 2 message in a consumer, it can not be removed and
+     * the newest message is dropped instead.
+     *
+     * @param capacity the maximum amount of buffered QoS 0 Publish messages.
+     * @return the created drop oldest policy.
+     */
+    static @NotNull Mqtt5IncomingQos0Policy dropOldest(final int capacity) {
+        return MqttIncomingQos0Policy.dropOldest(capacity);
+    }
+
+    /**
+     * Creates a policy that drops the newest message if the buffer is full.
+     *
+     * @param capacity the maximum amount of buffered QoS 0 Publish messages.
+     * @return the created drop newest policy.
+     */
+    static @NotNull Mqtt5IncomingQos0Policy dropNewest(final int capacity) {
+        return MqttIncomingQos0Policy.dropNewest(capacity);
+    }
+
+    /**
+     * Creates a policy that replaces the latest buffered message with the same topic if the buffer is full, so only
+     * the latest value of a topic is delivered to the consumers that have not received the buffered message yet.
+     * <p>
+     * If no message with the same topic is buffered, or the new message would still have to be buffered for a consumer
+     * that already received the buffered message, the oldest buffered message is dropped like with {@link
+     * #dropOldest(int)}.
+     *
+     * @param capacity the maximum amount of buffered QoS 0 Publish messages.
+     * @return the created coalesce by topic policy.
+     */
+    static @NotNull Mqtt5IncomingQos0Policy coalesceByTopic(final int capacity) {
+        return MqttIncomingQos0Policy.coalesceByTopic(capacity);
+    }
+}
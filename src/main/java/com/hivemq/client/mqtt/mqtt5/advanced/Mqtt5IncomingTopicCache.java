@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.advanced.MqttIncomingTopicCache;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Cache for the topics of incoming Publish messages.
+ * <p>
+ * If a topic is found in the cache, the already validated topic is reused instead of copying and validating the
+ * topic of every incoming Publish message again. The cache is bounded and evicts the least recently used topics. Each
+ * connection uses its own cache with the configured capacity. The hits and misses of the cache of the current
+ * connection are counted in the {@link com.hivemq.client.mqtt.mqtt5.Mqtt5ClientStats statistics} of the client.
+ *
+ * @author Silvio Giebl
+ * @since 1.1
+ */
+@DoNotImplement
+public interface Mqtt5IncomingTopicCache {
+
+    /**
+     * The default capacity of the topic cache.
+     */
+    int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * Creates a topic cache that holds at most the given amount of topics.
+     *
+     * @param capacity the maximum amount of cached topics.
+     * @return the created topic cache.
+     */
+    static @NotNull Mqtt5IncomingTopicCache of(final int capacity) {
+        return MqttIncomingTopicCache.of(capacity);
+    }
+
+    /**
+     * Returns a topic cache that does not cache any topics, so the topic of every incoming Publish message is copied
+     * and validated.
+     *
+     * @return the disabled topic cache.
+     */
+    static @NotNull Mqtt5IncomingTopicCache disabled() {
+        return MqttIncomingTopicCache.DISABLED;
+    }
+
+    /**
+     * @return the maximum amount of cached topics, 0 if the cache is disabled.
+     */
+    int getCapacity();
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.advanced.MqttTopicAliasPolicy;
+import com.hivemq.client.mqtt.datatypes.MqttTopic;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Policy how topic aliases are assigned to the topics of outgoing PUBLISH packets.
+ * <p>
+ * A topic alias replaces the topic of a PUBLISH packet after it has been sent once together with the topic. The
+ * amount of topic aliases is limited by the topic alias maximum of the server. A policy decides which topics get a
+ * topic alias.
+ * <p>
+ * How many PUBLISH packets were sent with a topic alias is counted per connection, see {@link
+ * com.hivemq.client.mqtt.mqtt5.Mqtt5ClientStats Mqtt5ClientStats}.
+ *
+ * @author Silvio Giebl
+ * @since 1.1
+ */
+@DoNotImplement
+public interface Mqtt5TopicAliasPolicy {
+
+    /**
+     * Creates a policy that assigns topic aliases to the topics with the highest priority which is calculated from
+     * the frequency and recency of their usage. This is the default policy.
+     *
+     * @return the created adaptive policy.
+     */
+    static @NotNull Mqtt5TopicAliasPolicy adaptive() {
+        return MqttTopicAliasPolicy.adaptive();
+    }
+
+    /**
+     * Creates a policy that assigns the topic alias of the least recently used topic to a topic without topic alias.
+     *
+     * @return the created least recently used policy.
+     */
+    static @NotNull Mqtt5TopicAliasPolicy leastRecentlyUsed() {
+        return MqttTopicAliasPolicy.leastRecentlyUsed();
+    }
+
+    /**
+     * Creates a policy that assigns the topic alias of the least frequently used topic to a topic without topic
+     * alias.
+     *
+     * @return the created least frequently used policy.
+     */
+    static @NotNull Mqtt5TopicAliasPolicy leastFrequentlyUsed() {
+        return MqttTopicAliasPolicy.leastFrequentlyUsed();
+    }
+
+    /**
+     * Creates a policy that assigns topic aliases only to the given topics. The topic aliases are never reassigned.
+     * If the topic alias maximum of the server is lower than the amount of topics, only the first topics get a topic
+     * alias.
+     *
+     * @param topics the topics that get a topic alias.
+     * @return the created pinned policy.
+     */
+    static @NotNull Mqtt5TopicAliasPolicy pinned(final @NotNull Collection<? extends MqttTopic> topics) {
+        return MqttTopicAliasPolicy.pinned(topics);
+    }
+
+}
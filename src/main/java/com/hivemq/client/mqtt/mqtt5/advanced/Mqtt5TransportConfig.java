@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.advanced.MqttTransportConfigBuilder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Options of the network transport (socket and Netty channel) of a {@link com.hivemq.client.mqtt.mqtt5.Mqtt5Client
+ * Mqtt5Client}.
+ * <p>
+ * The defaults are the defaults of the operating system and of Netty (network communication framework). Larger socket
+ * buffers and write buffer water marks increase the throughput on links with a high bandwidth-delay product.
+ *
+ * @author Silvio Giebl
+ * @since 1.1
+ */
+@DoNotImplement
+public interface Mqtt5TransportConfig {
+
+    /**
+     * Socket buffer size that indicates that the default of the operating system is used.
+     */
+    int DEFAULT_SOCKET_BUFFER_SIZE = 0;
+    /**
+     * The default low water mark of the write buffer in bytes.
+     */
+    int DEFAULT_WRITE_BUFFER_LOW_WATER_MARK = 32 * 1024;
+    /**
+     * The default high water mark of the write buffer in bytes.
+     */
+    int DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK = 64 * 1024;
+    /**
+     * The default minimum size of a read buffer in bytes.
+     */
+    int DEFAULT_MIN_READ_BUFFER_SIZE = 64;
+    /**
+     * The default initial size of a read buffer in bytes.
+     */
+    int DEFAULT_INITIAL_READ_BUFFER_SIZE = 1024;
+    /**
+     * The default maximum size of a read buffer in bytes.
+     */
+    int DEFAULT_MAX_READ_BUFFER_SIZE = 64 * 1024;
+    /**
+     * The default connect timeout in milliseconds.
+     */
+    int DEFAULT_CONNECT_TIMEOUT_MS = 30_000;
+    /**
+     * The default minimum size of a heap payload in bytes that is wrapped instead of copied when it is encoded.
+     */
+    int DEFAULT_HEAP_PAYLOAD_WRAP_THRESHOLD = 4 * 1024;
+
+    /**
+     * Creates a builder for transport options.
+     *
+     * @return the created builder for transport options.
+     */
+    static @NotNull Mqtt5TransportConfigBuilder builder() {
+        return new MqttTransportConfigBuilder.Default();
+    }
+
+    /**
+     * @return the size of the socket send buffer (SO_SNDBUF) in bytes or {@link #DEFAULT_SOCKET_BUFFER_SIZE} if the
+     *         default of the operating system is used.
+     */
+    int getSendBufferSize();
+
+    /**
+     * @return the size of the socket receive buffer (SO_RCVBUF) in bytes or {@link #DEFAULT_SOCKET_BUFFER_SIZE} if the
+     *         default of the operating system is used.
+     */
+    int getReceiveBufferSize();
+
+    /**
+     * The low water mark of the write buffer. A channel that was not writable becomes writable again if the amount of
+     * pending bytes falls below this mark.
+     *
+     * @return the low water mark of the write buffer in bytes.
+     */
+    int getWriteBufferLowWaterMark();
+
+    /**
+     * The high water mark of the write buffer. A channel becomes not writable if the amount of pending bytes exceeds
+     * this mark.
+     *
+     * @return the high water mark of the write buffer in bytes.
+     */
+    int getWriteBufferHighWaterMark();
+
+    /**
+     * @return the minimum size of a read buffer in bytes.
+     */
+    int getMinReadBufferSize();
+
+    /**
+     * @return the initial size of a read buffer in bytes.
+     */
+    int getInitialReadBufferSize();
+
+    /**
+     * @return the maximum size of a read buffer in bytes.
+     */
+    int getMaxReadBufferSize();
+
+    /**
+     * Whether the buffers of the channel are pooled direct buffers. Otherwise pooled heap buffers are used.
+     *
+     * @return whether direct buffers are used.
+     */
+    boolean isDirectBuffers();
+
+    /**
+     * @return the timeout for establishing the socket connection in milliseconds.
+     */
+    int getConnectTimeoutMs();
+
+    /**
+     * The minimum size of a heap (non-direct) publish payload that is wrapped in the encoded packet instead of being
+     * copied. Below this size copying is cheaper than a composite buffer. Direct payloads are always wrapped.
+     * <p>
+     * The threshold only applies if TLS with the JDK SSL engine is used, as the JDK SSL engine encrypts heap buffers
+     * directly. Without TLS or with OpenSSL heap payloads are always copied, because Netty copies heap buffers to
+     * direct memory before writing them anyway.
+     *
+     * @return the minimum size of a heap payload in bytes that is wrapped instead of copied.
+     */
+    int getHeapPayloadWrapThreshold();
+}
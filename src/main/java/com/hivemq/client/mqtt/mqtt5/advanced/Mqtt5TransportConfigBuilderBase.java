@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder base for a {@link Mqtt5TransportConfig}.
+ *
+ * @param <B> the type of the builder.
+ * @author Silvio Giebl
+ * @since 1.1
+ */
+@DoNotImplement
+public interface Mqtt5TransportConfigBuilderBase<B extends Mqtt5TransportConfigBuilderBase<B>> {
+
+    /**
+     * Sets the {@link Mqtt5TransportConfig#getSendBufferSize() size of the socket send buffer}.
+     *
+     * @param sendBufferSize the size of the socket send buffer in bytes or {@link
+     *                       Mqtt5TransportConfig#DEFAULT_SOCKET_BUFFER_SIZE} to use the default of the operating
+     *                       system.
+     * @return the builder.
+     */
+    @NotNull B sendBufferSize(int sendBufferSize);
+
+    /**
+     * Sets the {@link Mqtt5TransportConfig#getReceiveBufferSize() size of the socket receive buffer}.
+     *
+     * @param receiveBufferSize the size of the socket receive buffer in bytes or {@link
+     *                          Mqtt5TransportConfig#DEFAULT_SOCKET_BUFFER_SIZE} to use the default of the operating
+     *                          system.
+     * @return the builder.
+     */
+    @NotNull B receiveBufferSize(int receiveBufferSize);
+
+    /**
+     * Sets the {@link Mqtt5TransportConfig#getWriteBufferLowWaterMark() low} and {@link
+     * Mqtt5TransportConfig#getWriteBufferHighWaterMark() high} water marks of the write buffer.
+     *
+     * @param low  the low water mark in bytes.
+     * @param high the high water mark in bytes, must not be smaller than the low water mark.
+     * @return the builder.
+     */
+    @NotNull B writeBufferWaterMark(int low, int high);
+
+    /**
+     * Sets the {@link Mqtt5TransportConfig#getMinReadBufferSize() minimum}, {@link
+     * Mqtt5TransportConfig#getInitialReadBufferSize() initial} and {@link Mqtt5TransportConfig#getMaxReadBufferSize()
+     * maximum} size of a read buffer. The size of the read buffer adapts to the amount of bytes received per read.
+     *
+     * @param min     the minimum size in bytes.
+     * @param initial the initial size in bytes.
+     * @param max     the maximum size in bytes.
+     * @return the builder.
+     */
+    @NotNull B readBufferSize(int min, int initial, int max);
+
+    /**
+     * Sets whether {@link Mqtt5TransportConfig#isDirectBuffers() direct buffers are used}.
+     *
+     * @param directBuffers whether pooled direct buffers are used, otherwise pooled heap buffers are used.
+     * @return the builder.
+     */
+    @NotNull B directBuffers(boolean directBuffers);
+
+    /**
+     * Sets the {@link Mqtt5TransportConfig#getConnectTimeoutMs() connect timeout}.
+     *
+     * @param timeout  the connect timeout.
+     * @param timeUnit the time unit of the given timeout.
+     * @return the builder.
+     */
+    @NotNull B connectTimeout(long timeout, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Sets the {@link Mqtt5TransportConfig#getHeapPayloadWrapThreshold() minimum size of a heap payload that is wrapped
+     * instead of copied}.
+     *
+     * @param heapPayloadWrapThreshold the minimum size of a heap payload in bytes, {@link Integer#MAX_VALUE} to always
+     *                                 copy heap payloads.
+     * @return the builder.
+     */
+    @NotNull B heapPayloadWrapThreshold(int heapPayloadWrapThreshold);
+}
@@ -19,6 +19,7 @@ package com.hivemq.client.mqtt.mqtt5.advanced.interceptor;
 
 import com.hivemq.client.annotations.DoNotImplement;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptorsBuilder;
+import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.connect.Mqtt5ReconnectInterceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5IncomingQos1Interceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5OutgoingQos1Interceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos2.Mqtt5IncomingQos2Interceptor;
@@ -52,4 +53,10 @@ public interface Mqtt5ClientInterceptors {
     @Nullable Mqtt5IncomingQos2Interceptor getIncomingQos2Interceptor();
 
     @Nullable Mqtt5OutgoingQos2Interceptor getOutgoingQos2Interceptor();
+
+    /**
+     * @return the optional interceptor of automatic reconnects.
+     * @since 1.1
+     */
+    @Nullable Mqtt5ReconnectInterceptor getReconnectInterceptor();
 }
@@ -18,6 +18,7 @@
 package com.hivemq.client.mqtt.mqtt5.advanced.interceptor;
 
 import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.connect.Mqtt5ReconnectInterceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5IncomingQos1Interceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5OutgoingQos1Interceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos2.Mqtt5IncomingQos2Interceptor;
@@ -42,4 +43,14 @@ public interface Mqtt5ClientInterceptorsBuilderBase<B extends Mqtt5ClientInterce
     @NotNull B incomingQos2Interceptor(@Nullable Mqtt5IncomingQos2Interceptor incomingQos2Interceptor);
 
     @NotNull B outgoingQos2Interceptor(@Nullable Mqtt5OutgoingQos2Interceptor outgoingQos2Interceptor);
+
+    /**
+     * Sets the optional {@link Mqtt5ReconnectInterceptor interceptor of automatic reconnects}.
+     *
+     * @param reconnectInterceptor the interceptor of automatic reconnects or <code>null</code> to remove any
+     *                             previously set interceptor.
+     * @return the builder.
+     * @since 1.1
+     */
+    @NotNull B reconnectInterceptor(@Nullable Mqtt5ReconnectInterceptor reconnectInterceptor);
 }
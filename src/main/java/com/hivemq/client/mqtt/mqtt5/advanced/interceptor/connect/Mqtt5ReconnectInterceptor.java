@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.interceptor.connect;
+
+import com.hivemq.client.mqtt.mqtt5.Mqtt5ClientConfig;
+import com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5Connect;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Interface for interceptors of automatic reconnects.
+ *
+ * @author Silvio Giebl
+ * @see com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5AutomaticReconnect
+ * @since 1.1
+ */
+@FunctionalInterface
+public interface Mqtt5ReconnectInterceptor {
+
+    /**
+     * Called before an automatic reconnect attempt is made.
+     * <p>
+     * The returned Connect message is sent instead of the given one, for example to refresh credentials. It can be
+     * derived from the given Connect message via {@link Mqtt5Connect#extend()}.
+     * <p>
+     * This method must not block.
+     *
+     * @param clientConfig the config of the client.
+     * @param connect      the Connect message that will be sent if not modified.
+     * @param attempts     the amount of already failed reconnect attempts.
+     * @param cause        the cause why the connection was lost or the previous attempt failed.
+     * @return the Connect message to send or <code>null</code> to stop reconnecting.
+     */
+    @Nullable Mqtt5Connect onReconnect(
+            @NotNull Mqtt5ClientConfig clientConfig, @NotNull Mqtt5Connect connect, int attempts,
+            @NotNull Throwable cause);
+}
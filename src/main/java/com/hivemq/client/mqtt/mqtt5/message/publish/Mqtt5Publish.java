@@ -110,6 +110,46 @@ public interface Mqtt5Publish extends Mqtt5Message {
      */
     @NotNull Mqtt5UserProperties getUserProperties();
 
+    /**
+     * Releases the network or direct buffer the payload of this Publish message refers to.
+     * <p>
+     * Only incoming Publish messages received by a client with {@link
+     * com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig#isZeroCopyPayload() zero-copy payloads} or
+     * {@link com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig#isDirectBufferPayload() direct buffer
+     * payloads} enabled refer to such a buffer. Every consumer receiving such a Publish message must release it exactly
+     * once when it no longer accesses its payload, e.g. in a <code>finally</code> block. The payload must not be
+     * accessed after this Publish message was released, this includes Publish messages derived from it via {@link
+     * #extend()} or {@link #asWill()} as they share the payload. Publish messages that were not yet delivered to a
+     * consumer when its stream is cancelled or fails are released by the client.
+     * <p>
+     * Publish messages that own a copy of their payload do not need to be released, calling this method has no effect.
+     *
+     * @return whether a buffer was released by this call, <code>false</code> if this Publish message does not refer to
+     *         a network or direct buffer or was already released.
+     * @since 1.1
+     */
+    boolean release();
+
+    /**
+     * Acknowledges this Publish message after the application has processed it.
+     * <p>
+     * Only incoming Publish messages received with manual acknowledgement (see the <code>manualAcknowledgement</code>
+     * parameter of the subscribe and publishes methods of {@link com.hivemq.client.mqtt.mqtt5.Mqtt5RxClient} and {@link
+     * com.hivemq.client.mqtt.mqtt5.Mqtt5AsyncClient}) must be acknowledged. The PUBACK or PUBREC for a QoS 1 or 2
+     * Publish message is only sent after all consumers that received it with manual acknowledgement have acknowledged
+     * it. As MQTT requires acknowledgements in the order the Publish messages were received, the acknowledgement of a
+     * Publish message is delayed until all Publish messages received before it are acknowledged. Acknowledging a QoS 0
+     * Publish message or a Publish message that was not received with manual acknowledgement has no effect.
+     * <p>
+     * This method can be called from any thread. If the stream of a consumer is cancelled or fails, the client
+     * acknowledges the Publish messages that the consumer has not acknowledged yet, acknowledging them afterwards has
+     * no effect.
+     *
+     * @throws IllegalStateException if this Publish message has already been acknowledged.
+     * @since 1.1
+     */
+    void acknowledge();
+
     @Override
     default @NotNull Mqtt5MessageType getType() {
         return Mqtt5MessageType.PUBLISH;
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.mqtt.exceptions.MqttClientStateException;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttBlockingClientTest {
+
+    private final @NotNull MqttRxClient delegate = mock(MqttRxClient.class);
+    private final @NotNull MqttBlockingClient client = new MqttBlockingClient(delegate);
+    private final @NotNull MqttPublish publish = new MqttPublishBuilder.Default().topic("test").build();
+
+    @Test
+    void publish_completed_returnsResult() {
+        final MqttPublishResult result = new MqttPublishResult(publish, null);
+        when(delegate.publishSingleUnsafe(publish)).thenReturn(CompletableFuture.completedFuture(result));
+
+        assertSame(result, client.publish(publish));
+    }
+
+    @Test
+    void publish_completedExceptionally_throwsCause() {
+        final CompletableFuture<Mqtt5PublishResult> future = new CompletableFuture<>();
+        final MqttClientStateException exception = MqttClientStateExceptions.notConnected();
+        future.completeExceptionally(exception);
+        when(delegate.publishSingleUnsafe(publish)).thenReturn(future);
+
+        assertSame(exception, assertThrows(MqttClientStateException.class, () -> client.publish(publish)));
+    }
+
+    @Test
+    void publish_interrupted_throwsAndRestoresInterruptFlag() {
+        when(delegate.publishSingleUnsafe(publish)).thenReturn(new CompletableFuture<>());
+
+        Thread.currentThread().interrupt();
+        try {
+            final RuntimeException exception = assertThrows(RuntimeException.class, () -> client.publish(publish));
+            assertTrue(exception.getCause() instanceof InterruptedException);
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.internal.mqtt.advanced.MqttTopicAliasPolicy;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasMapping;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5Client;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttClientStatsTest {
+
+    @Test
+    void topicAlias_notConnected() {
+        final MqttClientConfig clientConfig = (MqttClientConfig) Mqtt5Client.builder().build().getConfig();
+
+        assertEquals(0, clientConfig.getStats().getTopicAliasHits());
+        assertEquals(0, clientConfig.getStats().getTopicAliasMisses());
+        assertEquals(0, clientConfig.getStats().getTopicAliasSavedBytes());
+    }
+
+    @Test
+    void topicAlias_perConnection() {
+        final MqttClientConfig clientConfig = (MqttClientConfig) Mqtt5Client.builder().build().getConfig();
+        final MqttClientConfig otherClientConfig = (MqttClientConfig) Mqtt5Client.builder().build().getConfig();
+        final MqttTopicAliasMapping mapping = MqttTopicAliasPolicy.DEFAULT.createMapping(10);
+        assertNotNull(mapping);
+        final MqttClientConnectionConfig connectionConfig = mock(MqttClientConnectionConfig.class);
+        when(connectionConfig.getSendTopicAliasMapping()).thenReturn(mapping);
+        clientConfig.setConnectionConfig(connectionConfig);
+        otherClientConfig.setConnectionConfig(mock(MqttClientConnectionConfig.class));
+
+        mapping.onPublish(MqttTopicImpl.of("topic"));
+        mapping.onPublish(MqttTopicImpl.of("topic"));
+
+        assertEquals(1, clientConfig.getStats().getTopicAliasHits());
+        assertEquals(1, clientConfig.getStats().getTopicAliasMisses());
+        assertEquals(-3 + 5 - 3, clientConfig.getStats().getTopicAliasSavedBytes());
+        assertEquals(0, otherClientConfig.getStats().getTopicAliasHits());
+        assertEquals(0, otherClientConfig.getStats().getTopicAliasMisses());
+    }
+
+    @Test
+    void incomingTopicCache_notConnected() {
+        final MqttClientConfig clientConfig = (MqttClientConfig) Mqtt5Client.builder().build().getConfig();
+
+        assertEquals(0, clientConfig.getStats().getIncomingTopicCacheHits());
+        assertEquals(0, clientConfig.getStats().getIncomingTopicCacheMisses());
+        assertEquals(0, clientConfig.getStats().getIncomingTopicCacheEvictions());
+    }
+
+    @Test
+    void subscriptionCache_notEnabled() {
+        final MqttClientConfig clientConfig = (MqttClientConfig) Mqtt5Client.builder().build().getConfig();
+
+        assertEquals(0, clientConfig.getStats().getSubscriptionCacheHits());
+        assertEquals(0, clientConfig.getStats().getSubscriptionCacheMisses());
+    }
+
+    @Test
+    void incomingQos0_perClient() {
+        final MqttClientConfig clientConfig = (MqttClientConfig) Mqtt5Client.builder().build().getConfig();
+
+        assertEquals(0, clientConfig.getStats().getIncomingQos0Dropped());
+        assertEquals(0, clientConfig.getStats().getIncomingQos0Coalesced());
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttLaneCallbackSubscriberTest {
+
+    private final @NotNull ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static @NotNull List<Mqtt5Publish> publishes(final int topics, final int count) {
+        final List<Mqtt5Publish> publishes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            publishes.add(Mqtt5Publish.builder()
+                    .topic("topic/" + (i % topics))
+                    .payload(Integer.toString(i).getBytes())
+                    .build());
+        }
+        return publishes;
+    }
+
+    @Test
+    void onNext_sameTopicInOrder() throws InterruptedException {
+        final int count = 10_000;
+        final Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+        final CountDownLatch latch = new CountDownLatch(count);
+
+        Flowable.fromIterable(publishes(10, count)).subscribe(new MqttLaneCallbackSubscriber(publish -> {
+            received.computeIfAbsent(publish.getTopic().toString(), topic -> new CopyOnWriteArrayList<>())
+                    .add(Integer.parseInt(new String(publish.getPayloadAsBytes())));
+            latch.countDown();
+        }, executor, 4, null));
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(10, received.size());
+        for (final List<Integer> values : received.values()) {
+            assertEquals(count / 10, values.size());
+            for (int i = 1; i < values.size(); i++) {
+                assertEquals(values.get(i - 1) + 10, (int) values.get(i));
+            }
+        }
+    }
+
+    @Test
+    void onNext_requestsOnlyAfterCallbackReturned() throws InterruptedException {
+        final AtomicLong requested = new AtomicLong();
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1000);
+
+        Flowable.fromIterable(publishes(1, 1000))
+                .doOnRequest(requested::addAndGet)
+                .subscribe(new MqttLaneCallbackSubscriber(publish -> {
+                    blocked.countDown();
+                    try {
+                        release.await();
+                    } catch (final InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    done.countDown();
+                }, executor, 2, null));
+
+        // the publishes are emitted while subscribing, afterwards only the blocked lane could request more
+        assertTrue(blocked.await(10, TimeUnit.SECONDS));
+        assertEquals(2 * MqttLaneCallbackSubscriber.LANE_PREFETCH, requested.get());
+
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void onNext_requestsAreNotConcurrent() throws InterruptedException {
+        final int count = 100_000;
+        final AtomicInteger requesting = new AtomicInteger();
+        final AtomicInteger concurrentRequests = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(count);
+
+        Flowable.fromIterable(publishes(100, count)).subscribeOn(Schedulers.single()).doOnRequest(n -> {
+            if (requesting.getAndIncrement() != 0) {
+                concurrentRequests.incrementAndGet();
+            }
+            Thread.yield();
+            requesting.decrementAndGet();
+        }).subscribe(new MqttLaneCallbackSubscriber(publish -> done.countDown(), executor, 8, null));
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(0, concurrentRequests.get());
+    }
+
+    @Test
+    void laneIndex_keyExtractor() {
+        final MqttLaneCallbackSubscriber subscriber =
+                new MqttLaneCallbackSubscriber(publish -> {}, executor, 8, Mqtt5Publish::getQos);
+        final List<Mqtt5Publish> publishes = publishes(20, 20);
+
+        final int index = subscriber.laneIndex(publishes.get(0));
+        for (final Mqtt5Publish publish : publishes) {
+            assertEquals(index, subscriber.laneIndex(publish));
+        }
+    }
+
+    @Test
+    void laneIndex_topic() {
+        final MqttLaneCallbackSubscriber subscriber = new MqttLaneCallbackSubscriber(publish -> {}, executor, 8, null);
+        final List<Mqtt5Publish> publishes = publishes(20, 40);
+
+        for (int i = 0; i < 20; i++) {
+            final int index = subscriber.laneIndex(publishes.get(i));
+            assertTrue((index >= 0) && (index < 8));
+            assertEquals(index, subscriber.laneIndex(publishes.get(i + 20)));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5Client;
+import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttShardedClientTest {
+
+    @Test
+    void buildSharded_derivesClientIdentifiers() {
+        final MqttShardedClient client = (MqttShardedClient) Mqtt5Client.builder().identifier("test").buildSharded(3);
+
+        assertEquals(3, client.getShards().size());
+        assertSame(client.getShards().get(0), client.getSubscriptionShard());
+        assertEquals("test", client.getShards().get(0).getConfig().getRawClientIdentifier().toString());
+        assertEquals("test-1", client.getShards().get(1).getConfig().getRawClientIdentifier().toString());
+        assertEquals("test-2", client.getShards().get(2).getConfig().getRawClientIdentifier().toString());
+    }
+
+    @Test
+    void buildSharded_clientIdentifierRequestedFromServer() {
+        final MqttShardedClient client = (MqttShardedClient) Mqtt5Client.builder().buildSharded(2);
+
+        for (final MqttRxClient shard : client.getShards()) {
+            assertFalse(shard.getConfig().getClientIdentifier().isPresent());
+        }
+    }
+
+    @Test
+    void buildSharded_notPositive_throws() {
+        assertThrows(IllegalArgumentException.class, () -> Mqtt5Client.builder().buildSharded(0));
+        assertThrows(IllegalArgumentException.class, () -> Mqtt5Client.builder().buildSharded(-1));
+    }
+
+    @Test
+    void publish_sameTopicToSameShardInOrder() {
+        final int shardCount = 4;
+        final List<List<String>> sent = new ArrayList<>();
+        final ImmutableList.Builder<MqttRxClient> shards = ImmutableList.builder(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            final List<String> shardSent = new CopyOnWriteArrayList<>();
+            sent.add(shardSent);
+            final MqttRxClient shard = mock(MqttRxClient.class);
+            when(shard.publish(any())).thenAnswer(invocation -> {
+                final Flowable<Mqtt5Publish> publishes = invocation.getArgument(0);
+                return publishes.map(publish -> {
+                    shardSent.add(publish.getTopic() + ":" + new String(publish.getPayloadAsBytes()));
+                    return new MqttPublishResult((MqttPublish) publish, null);
+                });
+            });
+            shards.add(shard);
+        }
+        final MqttShardedClient client = new MqttShardedClient(shards.build());
+
+        final List<Mqtt5Publish> publishes = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            publishes.add(Mqtt5Publish.builder().topic("topic/" + (i % 37)).payload(("" + i).getBytes()).build());
+        }
+        final List<Mqtt5PublishResult> results =
+                client.publish(Flowable.fromIterable(publishes)).toList().blockingGet();
+
+        assertEquals(publishes.size(), results.size());
+        final Map<String, Integer> shardOfTopic = new HashMap<>();
+        final Map<String, Integer> lastIndexOfTopic = new HashMap<>();
+        int usedShards = 0;
+        for (int shard = 0; shard < shardCount; shard++) {
+            if (!sent.get(shard).isEmpty()) {
+                usedShards++;
+            }
+            for (final String entry : sent.get(shard)) {
+                final String topic = entry.substring(0, entry.indexOf(':'));
+                final int index = Integer.parseInt(entry.substring(entry.indexOf(':') + 1));
+                assertEquals(shard, (int) shardOfTopic.computeIfAbsent(topic, t -> client.getShardIndex(
+                        Mqtt5Publish.builder().topic(t).build())));
+                final Integer lastIndex = lastIndexOfTopic.put(topic, index);
+                assertTrue((lastIndex == null) || (lastIndex < index));
+            }
+        }
+        assertEquals(37, shardOfTopic.size());
+        assertTrue(usedShards > 1);
+    }
+
+    @Test
+    void connect_failed_disconnectsConnectedShards() {
+        final Mqtt5ConnAck connAck = mock(Mqtt5ConnAck.class);
+        final Exception error = new Exception("test");
+        final AtomicBoolean disconnected = new AtomicBoolean();
+        final MqttRxClient shard0 = mock(MqttRxClient.class);
+        final MqttRxClient shard1 = mock(MqttRxClient.class);
+        final MqttRxClient shard2 = mock(MqttRxClient.class);
+        when(shard0.connect(any())).thenReturn(Single.just(connAck));
+        when(shard1.connect(any())).thenReturn(Single.error(error));
+        when(shard2.connect(any())).thenReturn(Single.just(connAck));
+        when(shard0.disconnect(any())).thenReturn(Completable.complete());
+        when(shard2.disconnect(any())).thenReturn(Completable.fromAction(() -> disconnected.set(true)));
+        final MqttShardedClient client = new MqttShardedClient(ImmutableList.of(shard0, shard1, shard2));
+
+        client.connect().test().assertError(error);
+
+        verify(shard0).disconnect(any());
+        verify(shard1, never()).disconnect(any());
+        verify(shard2).disconnect(any());
+        assertTrue(disconnected.get());
+    }
+
+    @Test
+    void connect_allConnected_emitsConnAckOfSubscriptionShard() {
+        final Mqtt5ConnAck connAck0 = mock(Mqtt5ConnAck.class);
+        final MqttRxClient shard0 = mock(MqttRxClient.class);
+        final MqttRxClient shard1 = mock(MqttRxClient.class);
+        when(shard0.connect(any())).thenReturn(Single.just(connAck0));
+        when(shard1.connect(any())).thenReturn(Single.just(mock(Mqtt5ConnAck.class)));
+        final MqttShardedClient client = new MqttShardedClient(ImmutableList.of(shard0, shard1));
+
+        client.connect().test().assertValue(connAck0);
+
+        verify(shard0, never()).disconnect(any());
+        verify(shard1, never()).disconnect(any());
+    }
+
+    @Test
+    void disconnect_failed_disconnectsOtherShards() {
+        final Exception error = new Exception("test");
+        final AtomicBoolean disconnected = new AtomicBoolean();
+        final MqttRxClient shard0 = mock(MqttRxClient.class);
+        final MqttRxClient shard1 = mock(MqttRxClient.class);
+        when(shard0.disconnect(any())).thenReturn(Completable.error(error));
+        when(shard1.disconnect(any())).thenReturn(Completable.fromAction(() -> disconnected.set(true)));
+        final MqttShardedClient client = new MqttShardedClient(ImmutableList.of(shard0, shard1));
+
+        client.disconnect().test().assertError(error);
+
+        assertTrue(disconnected.get());
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.advanced;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttAutomaticReconnectTest {
+
+    @Test
+    void disabled() {
+        assertFalse(MqttAutomaticReconnect.DISABLED.isEnabled());
+        assertEquals(0, MqttAutomaticReconnect.DISABLED.getInitialDelay(TimeUnit.SECONDS));
+        assertEquals(0, MqttAutomaticReconnect.DISABLED.getMaxDelay(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void exponentialBackoff_default() {
+        assertTrue(MqttAutomaticReconnect.DEFAULT.isEnabled());
+        assertEquals(1, MqttAutomaticReconnect.DEFAULT.getInitialDelay(TimeUnit.SECONDS));
+        assertEquals(120, MqttAutomaticReconnect.DEFAULT.getMaxDelay(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void exponentialBackoff_invalidDelays() {
+        assertThrows(IllegalArgumentException.class,
+                () -> MqttAutomaticReconnect.exponentialBackoff(0, 10, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class,
+                () -> MqttAutomaticReconnect.exponentialBackoff(10, 5, TimeUnit.SECONDS));
+        assertThrows(NullPointerException.class, () -> MqttAutomaticReconnect.exponentialBackoff(1, 5, null));
+    }
+
+    @Test
+    void getDelayNanos_doublesUntilMaxDelay() {
+        final MqttAutomaticReconnect reconnect = MqttAutomaticReconnect.exponentialBackoff(1, 10, TimeUnit.SECONDS);
+        assertEquals(TimeUnit.SECONDS.toNanos(1), reconnect.getDelayNanos(0, 0));
+        assertEquals(TimeUnit.SECONDS.toNanos(2), reconnect.getDelayNanos(1, 0));
+        assertEquals(TimeUnit.SECONDS.toNanos(8), reconnect.getDelayNanos(3, 0));
+        assertEquals(TimeUnit.SECONDS.toNanos(10), reconnect.getDelayNanos(4, 0));
+        assertEquals(TimeUnit.SECONDS.toNanos(10), reconnect.getDelayNanos(100, 0));
+        assertEquals(TimeUnit.SECONDS.toNanos(10), reconnect.getDelayNanos(Integer.MAX_VALUE, 0));
+    }
+
+    @Test
+    void getDelayNanos_jitterAtMostHalf() {
+        final MqttAutomaticReconnect reconnect = MqttAutomaticReconnect.exponentialBackoff(1, 10, TimeUnit.SECONDS);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1750), reconnect.getDelayNanos(1, 0.25));
+        assertTrue(reconnect.getDelayNanos(1, 0.999999) > TimeUnit.SECONDS.toNanos(1));
+        assertTrue(reconnect.getDelayNanos(5, 0.999999) > TimeUnit.SECONDS.toNanos(5));
+    }
+}
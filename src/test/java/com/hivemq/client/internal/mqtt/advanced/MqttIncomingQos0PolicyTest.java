@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.advanced;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttIncomingQos0PolicyTest {
+
+    @Test
+    void getCapacity_default_isReceiveMaximum() {
+        assertEquals(MqttIncomingQos0Policy.Type.DROP_OLDEST, MqttIncomingQos0Policy.DEFAULT.getType());
+        assertEquals(10, MqttIncomingQos0Policy.DEFAULT.getCapacity(10));
+        assertEquals(65535, MqttIncomingQos0Policy.DEFAULT.getCapacity(65535));
+    }
+
+    @Test
+    void getCapacity_configured() {
+        assertEquals(100, MqttIncomingQos0Policy.dropOldest(100).getCapacity(10));
+        assertEquals(1, MqttIncomingQos0Policy.dropNewest(1).getCapacity(10));
+        assertEquals(5, MqttIncomingQos0Policy.coalesceByTopic(5).getCapacity(10));
+    }
+
+    @Test
+    void capacity_notPositive() {
+        assertThrows(IllegalArgumentException.class, () -> MqttIncomingQos0Policy.dropOldest(0));
+        assertThrows(IllegalArgumentException.class, () -> MqttIncomingQos0Policy.dropNewest(-1));
+        assertThrows(IllegalArgumentException.class, () -> MqttIncomingQos0Policy.coalesceByTopic(0));
+    }
+
+    @Test
+    void equals() {
+        EqualsVerifier.forClass(MqttIncomingQos0Policy.class).suppress(Warning.STRICT_INHERITANCE).verify();
+    }
+}
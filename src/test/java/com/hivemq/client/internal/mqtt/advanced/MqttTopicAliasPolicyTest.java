@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.advanced;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasMapping;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttTopicAliasPolicyTest {
+
+    @Test
+    void equals() {
+        EqualsVerifier.forClass(MqttTopicAliasPolicy.class).suppress(Warning.STRICT_INHERITANCE).verify();
+    }
+
+    @Test
+    void createMapping_topicAliasMaximumZero() {
+        assertNull(MqttTopicAliasPolicy.adaptive().createMapping(0));
+    }
+
+    @Test
+    void createMapping_countsHitsMissesAndSavedBytesPerMapping() {
+        final MqttTopicAliasPolicy policy = MqttTopicAliasPolicy.pinned(Collections.singleton(MqttTopicImpl.of("a/b")));
+        final MqttTopicAliasMapping mapping = policy.createMapping(10);
+        assertNotNull(mapping);
+
+        mapping.onPublish(MqttTopicImpl.of("a/b")); // sent with topic and new topic alias: 3 bytes more
+        mapping.onPublish(MqttTopicImpl.of("a/b")); // sent with topic alias only: 3 - 3 bytes saved
+        mapping.onPublish(MqttTopicImpl.of("a/b"));
+        mapping.onPublish(MqttTopicImpl.of("c")); // sent with topic only
+
+        assertEquals(2, mapping.getHits());
+        assertEquals(2, mapping.getMisses());
+        assertEquals(-3, mapping.getSavedBytes());
+
+        final MqttTopicAliasMapping otherMapping = policy.createMapping(10);
+        assertNotNull(otherMapping);
+        assertEquals(0, otherMapping.getHits());
+        assertEquals(0, otherMapping.getMisses());
+        assertEquals(0, otherMapping.getSavedBytes());
+    }
+
+    @Test
+    void pinned_null() {
+        assertThrows(NullPointerException.class, () -> MqttTopicAliasPolicy.pinned(null));
+        assertThrows(NullPointerException.class,
+                () -> MqttTopicAliasPolicy.pinned(Collections.singletonList(null)));
+    }
+}
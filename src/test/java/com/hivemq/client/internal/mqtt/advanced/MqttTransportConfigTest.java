@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.advanced;
+
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5TransportConfig;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttTransportConfigTest {
+
+    @Test
+    void equals() {
+        EqualsVerifier.forClass(MqttTransportConfig.class).suppress(Warning.STRICT_INHERITANCE).verify();
+    }
+
+    @Test
+    void builder_default() {
+        assertEquals(MqttTransportConfig.DEFAULT, Mqtt5TransportConfig.builder().build());
+        assertSame(ByteBufAllocator.DEFAULT, MqttTransportConfig.DEFAULT.getAllocator());
+    }
+
+    @Test
+    void builder() {
+        final Mqtt5TransportConfig transportConfig = Mqtt5TransportConfig.builder()
+                .sendBufferSize(1 << 20)
+                .receiveBufferSize(2 << 20)
+                .writeBufferWaterMark(256 * 1024, 1024 * 1024)
+                .readBufferSize(1024, 16 * 1024, 256 * 1024)
+                .directBuffers(false)
+                .connectTimeout(5, TimeUnit.SECONDS)
+                .heapPayloadWrapThreshold(64 * 1024)
+                .build();
+
+        assertEquals(1 << 20, transportConfig.getSendBufferSize());
+        assertEquals(2 << 20, transportConfig.getReceiveBufferSize());
+        assertEquals(256 * 1024, transportConfig.getWriteBufferLowWaterMark());
+        assertEquals(1024 * 1024, transportConfig.getWriteBufferHighWaterMark());
+        assertEquals(1024, transportConfig.getMinReadBufferSize());
+        assertEquals(16 * 1024, transportConfig.getInitialReadBufferSize());
+        assertEquals(256 * 1024, transportConfig.getMaxReadBufferSize());
+        assertFalse(transportConfig.isDirectBuffers());
+        final ByteBuf buffer = ((MqttTransportConfig) transportConfig).getAllocator().buffer();
+        assertFalse(buffer.isDirect());
+        buffer.release();
+        assertEquals(5000, transportConfig.getConnectTimeoutMs());
+        assertEquals(64 * 1024, transportConfig.getHeapPayloadWrapThreshold());
+    }
+
+    @Test
+    void builder_nested() {
+        final MqttClientAdvancedConfig advancedConfig = new MqttClientAdvancedConfigBuilder.Default().transportConfig()
+                .sendBufferSize(1 << 20)
+                .applyTransportConfig()
+                .transportConfig()
+                .receiveBufferSize(2 << 20)
+                .applyTransportConfig()
+                .build();
+
+        assertEquals(1 << 20, advancedConfig.getTransportConfig().getSendBufferSize());
+        assertEquals(2 << 20, advancedConfig.getTransportConfig().getReceiveBufferSize());
+    }
+
+    @Test
+    void builder_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> Mqtt5TransportConfig.builder().sendBufferSize(-1));
+        assertThrows(IllegalArgumentException.class, () -> Mqtt5TransportConfig.builder().receiveBufferSize(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> Mqtt5TransportConfig.builder().writeBufferWaterMark(2048, 1024));
+        assertThrows(IllegalArgumentException.class,
+                () -> Mqtt5TransportConfig.builder().readBufferSize(1024, 512, 2048));
+        assertThrows(IllegalArgumentException.class,
+                () -> Mqtt5TransportConfig.builder().connectTimeout(-1, TimeUnit.SECONDS));
+        assertThrows(NullPointerException.class, () -> Mqtt5TransportConfig.builder().connectTimeout(1, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> Mqtt5TransportConfig.builder().heapPayloadWrapThreshold(-1));
+    }
+}
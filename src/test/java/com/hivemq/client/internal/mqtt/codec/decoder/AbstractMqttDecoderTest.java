@@ -102,12 +102,10 @@ public abstract class AbstractMqttDecoderTest {
     }
 
     protected void createChannel() {
-        createChannel(false);
+        createChannel(MqttClientAdvancedConfig.DEFAULT);
     }
 
-    private void createChannel(final boolean validatePayloadFormat) {
-        final MqttClientAdvancedConfig advancedConfig =
-                new MqttClientAdvancedConfigBuilder.Default().validatePayloadFormat(validatePayloadFormat).build();
+    protected void createChannel(final @NotNull MqttClientAdvancedConfig advancedConfig) {
         final MqttClientConfig clientConfig =
                 new MqttClientConfig(MqttVersion.MQTT_5_0, MqttClientIdentifierImpl.of("test"), "localhost", 1883,
                         MqttClientExecutorConfigImpl.DEFAULT, null, null, advancedConfig);
@@ -119,7 +117,11 @@ public abstract class AbstractMqttDecoderTest {
     }
 
     protected void validatePayloadFormat() {
-        createChannel(true);
+        createChannel(new MqttClientAdvancedConfigBuilder.Default().validatePayloadFormat(true).build());
+    }
+
+    protected void zeroCopyPayload() {
+        createChannel(new MqttClientAdvancedConfigBuilder.Default().zeroCopyPayload(true).build());
     }
 
     public static @NotNull MqttPingRespDecoder createPingRespDecoder() {
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder;
+
+import com.hivemq.client.internal.mqtt.advanced.MqttIncomingTopicCache;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttTopicCacheTest {
+
+    @Test
+    void decode_sameTopic_returnsCachedInstance() {
+        final MqttTopicCache cache = new MqttTopicCache(16);
+
+        final ByteBuf byteBuf = encode("a/b", "a/b", "a/c");
+        final MqttTopicImpl first = cache.decode(byteBuf);
+        final MqttTopicImpl second = cache.decode(byteBuf);
+        final MqttTopicImpl third = cache.decode(byteBuf);
+        assertEquals(0, byteBuf.readableBytes());
+        byteBuf.release();
+
+        assertNotNull(first);
+        assertEquals("a/b", first.toString());
+        assertSame(first, second);
+        assertNotNull(third);
+        assertEquals("a/c", third.toString());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void decode_malformed_returnsNullAndIsNotCached() {
+        final MqttTopicCache cache = new MqttTopicCache(16);
+
+        final ByteBuf byteBuf = encode("a/+", "a/+");
+        assertNull(cache.decode(byteBuf));
+        assertNull(cache.decode(byteBuf));
+        byteBuf.release();
+
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void decode_notEnoughBytes_returnsNull() {
+        final MqttTopicCache cache = new MqttTopicCache(16);
+
+        final ByteBuf byteBuf = Unpooled.buffer().writeShort(5).writeByte('a');
+        assertNull(cache.decode(byteBuf));
+        byteBuf.release();
+    }
+
+    @Test
+    void decode_full_evictsLeastRecentlyUsed() {
+        final MqttTopicCache cache = new MqttTopicCache(4);
+
+        final ByteBuf byteBuf = encode("a", "b", "c", "d", "a", "e", "a", "b");
+        final MqttTopicImpl a = cache.decode(byteBuf);
+        final MqttTopicImpl b = cache.decode(byteBuf);
+        cache.decode(byteBuf);
+        cache.decode(byteBuf);
+        assertSame(a, cache.decode(byteBuf));
+        cache.decode(byteBuf); // evicts b
+        assertSame(a, cache.decode(byteBuf));
+        final MqttTopicImpl b2 = cache.decode(byteBuf);
+        byteBuf.release();
+
+        assertNotNull(b2);
+        assertNotSame(b, b2);
+        assertEquals(b, b2);
+        assertEquals(2, cache.getHits());
+        assertEquals(6, cache.getMisses());
+        assertEquals(2, cache.getEvictions());
+    }
+
+    @Test
+    void capacity_notPositive() {
+        assertThrows(IllegalArgumentException.class, () -> MqttIncomingTopicCache.of(0));
+        assertThrows(IllegalArgumentException.class, () -> MqttIncomingTopicCache.of(-1));
+        assertFalse(MqttIncomingTopicCache.DISABLED.isEnabled());
+        assertEquals(0, MqttIncomingTopicCache.DISABLED.getCapacity());
+    }
+
+    @Test
+    void decode_countsPerInstance() {
+        final MqttTopicCache cache = new MqttTopicCache(16);
+        final MqttTopicCache otherCache = new MqttTopicCache(16);
+
+        final ByteBuf byteBuf = encode("a/b", "a/b");
+        cache.decode(byteBuf);
+        cache.decode(byteBuf);
+        byteBuf.release();
+
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0, otherCache.getHits());
+        assertEquals(0, otherCache.getMisses());
+    }
+
+    @Test
+    void equals() {
+        EqualsVerifier.forClass(MqttIncomingTopicCache.class).suppress(Warning.STRICT_INHERITANCE).verify();
+    }
+
+    private static @NotNull ByteBuf encode(final @NotNull String... topics) {
+        final ByteBuf byteBuf = Unpooled.buffer();
+        for (final String topic : topics) {
+            final byte[] binary = topic.getBytes(StandardCharsets.UTF_8);
+            byteBuf.writeShort(binary.length).writeBytes(binary);
+        }
+        return byteBuf;
+    }
+}
@@ -17,8 +17,10 @@
 
 package com.hivemq.client.internal.mqtt.codec.decoder.mqtt5;
 
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttMessageDecoders;
 import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertyImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttByteBufPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
 import com.hivemq.client.internal.util.collections.ImmutableIntList;
@@ -165,6 +167,71 @@ class Mqtt5PublishDecoderTest extends AbstractMqtt5DecoderTest {
         assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}), publish.getPayload().get());
     }
 
+    @Test
+    void decode_payloadCopied() {
+        final ByteBuf byteBuf = channel.alloc().buffer();
+        byteBuf.writeBytes(new byte[]{0b0011_0000, 11, 0, 5, 't', 'o', 'p', 'i', 'c', 0, 1, 2, 3});
+        channel.writeInbound(byteBuf);
+
+        final MqttStatefulPublish publishInternal = channel.readInbound();
+        assertNotNull(publishInternal);
+        final MqttPublish publish = publishInternal.stateless();
+
+        assertEquals(0, byteBuf.refCnt());
+        assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3}), publish.getPayload().get());
+        assertFalse(publish.release());
+    }
+
+    @Test
+    void decode_zeroCopyPayload() {
+        zeroCopyPayload();
+        final ByteBuf byteBuf = channel.alloc().buffer();
+        byteBuf.writeBytes(new byte[]{0b0011_0000, 11, 0, 5, 't', 'o', 'p', 'i', 'c', 0, 1, 2, 3});
+        channel.writeInbound(byteBuf);
+
+        final MqttStatefulPublish publishInternal = channel.readInbound();
+        assertNotNull(publishInternal);
+        final MqttPublish publish = publishInternal.stateless();
+
+        assertTrue(publish instanceof MqttByteBufPublish);
+        assertEquals(1, byteBuf.refCnt());
+        assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3}), publish.getPayload().get());
+        assertTrue(publish.getPayload().get().isReadOnly());
+
+        final MqttPublish duplicate = publish.retainedDuplicate();
+        assertNotSame(publish, duplicate);
+        assertEquals(publish, duplicate);
+
+        assertTrue(duplicate.release());
+        assertFalse(duplicate.release());
+        assertEquals(1, byteBuf.refCnt());
+        assertTrue(publish.release());
+        assertEquals(0, byteBuf.refCnt());
+    }
+
+    @Test
+    void decode_directBufferPayloadAndCorrelationData() {
+        createChannel(new MqttClientAdvancedConfigBuilder.Default().directBufferPayload(true)
+                .directBufferCorrelationData(true)
+                .build());
+        final ByteBuf byteBuf = channel.alloc().buffer();
+        byteBuf.writeBytes(new byte[]{0b0011_0000, 17, 0, 5, 't', 'o', 'p', 'i', 'c', 6, 0x09, 0, 3, 4, 5, 6, 1, 2, 3});
+        channel.writeInbound(byteBuf);
+
+        final MqttStatefulPublish publishInternal = channel.readInbound();
+        assertNotNull(publishInternal);
+        final MqttPublish publish = publishInternal.stateless();
+
+        assertEquals(0, byteBuf.refCnt());
+        assertTrue(publish instanceof MqttByteBufPublish);
+        assertTrue(publish.getPayload().get().isDirect());
+        assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3}), publish.getPayload().get());
+        assertTrue(publish.getCorrelationData().get().isDirect());
+        assertEquals(ByteBuffer.wrap(new byte[]{4, 5, 6}), publish.getCorrelationData().get());
+        assertTrue(publish.release());
+        assertFalse(publish.release());
+    }
+
     @Test
     void decode_minimal() {
         final byte[] encoded = {
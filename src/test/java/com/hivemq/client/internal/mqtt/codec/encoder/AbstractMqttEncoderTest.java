@@ -17,12 +17,20 @@
 
 package com.hivemq.client.internal.mqtt.codec.encoder;
 
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientSslConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttTopicAliasPolicy;
+import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.mqtt.MqttVersion;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.embedded.EmbeddedChannel;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 
@@ -57,16 +65,34 @@ public abstract class AbstractMqttEncoderTest {
     }
 
     private void createChannel() {
-        channel = new EmbeddedChannel(encoder = new MqttEncoder(messageEncoders));
+        createChannel(null, MqttClientAdvancedConfig.DEFAULT);
+    }
+
+    private void createChannel(
+            final @Nullable MqttClientSslConfigImpl sslConfig, final @NotNull MqttClientAdvancedConfig advancedConfig) {
+
+        final MqttClientConfig clientConfig =
+                new MqttClientConfig(MqttVersion.MQTT_5_0, MqttClientIdentifierImpl.of("test"), "localhost", 1883,
+                        MqttClientExecutorConfigImpl.DEFAULT, sslConfig, null, advancedConfig);
+        channel = new EmbeddedChannel(encoder = new MqttEncoder(messageEncoders, clientConfig));
         if (connected) {
             connected(MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT);
         }
     }
 
+    protected void secure() {
+        secure(MqttClientAdvancedConfig.DEFAULT);
+    }
+
+    protected void secure(final @NotNull MqttClientAdvancedConfig advancedConfig) {
+        channel.close();
+        createChannel(MqttClientSslConfigImpl.DEFAULT, advancedConfig);
+    }
+
     protected void connected(final int maximumPacketSize) {
         encoder.onConnected(new MqttClientConnectionConfig(10, 0, false, null, 10,
-                MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 10, maximumPacketSize, 3,
-                MqttQos.EXACTLY_ONCE, true, true, true, true, channel));
+                MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 10, maximumPacketSize,
+                MqttTopicAliasPolicy.DEFAULT.createMapping(3), MqttQos.EXACTLY_ONCE, true, true, true, true, channel));
     }
 
     protected void encode(final @NotNull Object message, final @NotNull byte[] expected) {
@@ -17,6 +17,7 @@
 
 package com.hivemq.client.internal.mqtt.codec.encoder.mqtt5;
 
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
 import com.hivemq.client.internal.mqtt.codec.encoder.MqttMessageEncoders;
 import com.hivemq.client.internal.mqtt.datatypes.*;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
@@ -26,6 +27,7 @@ import com.hivemq.client.internal.util.collections.ImmutableIntList;
 import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.exceptions.MqttEncodeException;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5TransportConfig;
 import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
 import io.netty.buffer.ByteBuf;
@@ -39,6 +41,7 @@ import static com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl.N
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS;
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS;
 import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
@@ -127,6 +130,60 @@ class Mqtt5PublishEncoderTest extends AbstractMqtt5EncoderWithUserPropertiesTest
         encode(expected, publish, -1, false, DEFAULT_NO_TOPIC_ALIAS, true, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
     }
 
+    @Test
+    void encode_largeHeapPayload_copiedWithoutSsl() {
+        final ByteBuf out = encodeLargeHeapPayload();
+        try {
+            assertEquals(1, out.nioBufferCount());
+        } finally {
+            out.release();
+        }
+    }
+
+    @Test
+    void encode_largeHeapPayload_wrappedWithSsl() {
+        secure();
+        final ByteBuf out = encodeLargeHeapPayload();
+        try {
+            assertEquals(2, out.nioBufferCount());
+        } finally {
+            out.release();
+        }
+    }
+
+    @Test
+    void encode_largeHeapPayload_copiedWithSslBelowConfiguredThreshold() {
+        secure(new MqttClientAdvancedConfigBuilder.Default().transportConfig()
+                .heapPayloadWrapThreshold(Mqtt5TransportConfig.DEFAULT_HEAP_PAYLOAD_WRAP_THRESHOLD + 1)
+                .applyTransportConfig()
+                .build());
+        final ByteBuf out = encodeLargeHeapPayload();
+        try {
+            assertEquals(1, out.nioBufferCount());
+        } finally {
+            out.release();
+        }
+    }
+
+    private @NotNull ByteBuf encodeLargeHeapPayload() {
+        final byte[] payload = new byte[Mqtt5TransportConfig.DEFAULT_HEAP_PAYLOAD_WRAP_THRESHOLD];
+        payload[0] = 1;
+        payload[payload.length - 1] = 2;
+        final MqttPublish publish =
+                new MqttPublish(MqttTopicImpl.of("topic"), ByteBuffer.wrap(payload), MqttQos.AT_MOST_ONCE, false,
+                        MqttPublish.NO_MESSAGE_EXPIRY, null, null, null, null, NO_USER_PROPERTIES);
+        channel.writeOutbound(publish.createStateful(-1, false, DEFAULT_NO_TOPIC_ALIAS,
+                DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS));
+        final ByteBuf out = channel.readOutbound();
+
+        final int headerLength = 1 + 2 + 7 + 1; // type and flags, remaining length, topic, property length
+        assertEquals(headerLength + payload.length, out.readableBytes());
+        assertEquals(0b0011_0000, out.getByte(0));
+        assertEquals(1, out.getByte(headerLength));
+        assertEquals(2, out.getByte(headerLength + payload.length - 1));
+        return out;
+    }
+
     @Test
     void encode_retainTrue() {
         final byte[] expected = {
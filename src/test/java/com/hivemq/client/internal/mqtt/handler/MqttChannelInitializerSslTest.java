@@ -18,12 +18,14 @@ package com.hivemq.client.internal.mqtt.handler;
 
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientSslConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.codec.encoder.MqttEncoder;
 import com.hivemq.client.internal.mqtt.handler.auth.MqttAuthHandler;
 import com.hivemq.client.internal.mqtt.handler.connect.MqttConnAckFlow;
 import com.hivemq.client.internal.mqtt.handler.connect.MqttConnectHandler;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectHandler;
 import com.hivemq.client.internal.mqtt.handler.websocket.MqttWebSocketInitializer;
+import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.mqtt.MqttVersion;
 import dagger.Lazy;
 import io.netty.channel.Channel;
@@ -68,6 +70,7 @@ public class MqttChannelInitializerSslTest {
         MockitoAnnotations.initMocks(this);
         channel = new EmbeddedChannel();
         when(clientData.getSslConfig()).thenReturn(Optional.empty());
+        when(clientData.getAdvancedConfig()).thenReturn(MqttClientAdvancedConfig.DEFAULT);
     }
 
     @Test
@@ -78,8 +81,8 @@ public class MqttChannelInitializerSslTest {
         when(clientData.getRawSslConfig()).thenReturn(sslConfig);
 
         final MqttChannelInitializer mqttChannelInitializer =
-                new MqttChannelInitializer(clientData, connAckFlow, encoder, connectHandler, disconnectHandler,
-                        authHandler, webSocketInitializer);
+                new MqttChannelInitializer(clientData, MqttConnect.DEFAULT, connAckFlow, encoder, connectHandler,
+                        disconnectHandler, authHandler, webSocketInitializer);
 
         mqttChannelInitializer.initChannel(channel);
 
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.connect;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttAutomaticReconnect;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
+import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.connect.Mqtt5ReconnectInterceptor;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttReconnectorTest {
+
+    private final @NotNull AtomicReference<MqttClientState> state = new AtomicReference<>(MqttClientState.CONNECTED);
+    private final @NotNull EventLoop eventLoop = mock(EventLoop.class);
+    private final @NotNull ScheduledFuture<?> future = mock(ScheduledFuture.class);
+    private final @NotNull ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+    private final @NotNull ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+
+    private @NotNull MqttReconnector createReconnector(final @NotNull MqttClientAdvancedConfig advancedConfig) {
+        final MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+        when(clientConfig.getRawState()).thenReturn(state);
+        when(clientConfig.getState()).then(invocation -> state.get());
+        when(clientConfig.getAdvancedConfig()).thenReturn(advancedConfig);
+        when(clientConfig.acquireEventLoop()).thenReturn(eventLoop);
+        doReturn(future).when(eventLoop).schedule(task.capture(), delay.capture(), eq(TimeUnit.NANOSECONDS));
+        return new MqttReconnector(clientConfig);
+    }
+
+    @Test
+    void reconnect_disabled() {
+        final MqttReconnector reconnector = createReconnector(MqttClientAdvancedConfig.DEFAULT);
+
+        assertFalse(reconnector.reconnect(MqttClientState.CONNECTED, MqttConnect.DEFAULT, 0, new IOException()));
+        assertEquals(MqttClientState.CONNECTED, state.get());
+        verifyZeroInteractions(eventLoop);
+    }
+
+    @Test
+    void reconnect_schedulesWithBackoffAndJitter() {
+        final MqttReconnector reconnector = createReconnector(new MqttClientAdvancedConfigBuilder.Default()
+                .automaticReconnect(MqttAutomaticReconnect.exponentialBackoff(1, 60, TimeUnit.SECONDS))
+                .build());
+
+        assertTrue(reconnector.reconnect(MqttClientState.CONNECTED, MqttConnect.DEFAULT, 3, new IOException()));
+        assertEquals(MqttClientState.DISCONNECTED_RECONNECT, state.get());
+        assertTrue(delay.getValue() > TimeUnit.SECONDS.toNanos(4));
+        assertTrue(delay.getValue() <= TimeUnit.SECONDS.toNanos(8));
+    }
+
+    @Test
+    void reconnect_wrongState() {
+        final MqttReconnector reconnector = createReconnector(new MqttClientAdvancedConfigBuilder.Default()
+                .automaticReconnect(MqttAutomaticReconnect.DEFAULT)
+                .build());
+
+        assertFalse(reconnector.reconnect(
+                MqttClientState.CONNECTING_RECONNECT, MqttConnect.DEFAULT, 0, new IOException()));
+        assertEquals(MqttClientState.CONNECTED, state.get());
+    }
+
+    @Test
+    void cancel_scheduled() {
+        final MqttReconnector reconnector = createReconnector(new MqttClientAdvancedConfigBuilder.Default()
+                .automaticReconnect(MqttAutomaticReconnect.DEFAULT)
+                .build());
+        when(future.cancel(false)).thenReturn(true);
+
+        assertTrue(reconnector.reconnect(MqttClientState.CONNECTED, MqttConnect.DEFAULT, 0, new IOException()));
+        assertTrue(reconnector.cancel());
+        assertEquals(MqttClientState.DISCONNECTED, state.get());
+        assertFalse(reconnector.cancel());
+    }
+
+    @Test
+    void attempt_interceptorStopsReconnecting() {
+        final Mqtt5ReconnectInterceptor interceptor = mock(Mqtt5ReconnectInterceptor.class);
+        final MqttReconnector reconnector = createReconnector(new MqttClientAdvancedConfigBuilder.Default()
+                .automaticReconnect(MqttAutomaticReconnect.DEFAULT)
+                .interceptors()
+                .reconnectInterceptor(interceptor)
+                .applyInterceptors()
+                .build());
+        final IOException cause = new IOException();
+
+        assertTrue(reconnector.reconnect(MqttClientState.CONNECTED, MqttConnect.DEFAULT, 2, cause));
+        task.getValue().run();
+
+        final ArgumentCaptor<MqttConnect> connect = ArgumentCaptor.forClass(MqttConnect.class);
+        verify(interceptor).onReconnect(any(), connect.capture(), eq(2), same(cause));
+        assertFalse(connect.getValue().isCleanStart());
+        assertEquals(MqttClientState.DISCONNECTED, state.get());
+    }
+}
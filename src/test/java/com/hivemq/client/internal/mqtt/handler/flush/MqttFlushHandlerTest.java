@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.flush;
+
+import com.hivemq.client.internal.mqtt.advanced.MqttFlushStrategy;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttFlushHandlerTest {
+
+    private final @NotNull FlushRecorder recorder = new FlushRecorder();
+
+    private @NotNull EmbeddedChannel createChannel(final @NotNull MqttFlushStrategy flushStrategy) {
+        return new EmbeddedChannel(recorder, new MqttFlushHandler(flushStrategy));
+    }
+
+    @Test
+    void batch_flushesAfterBatchSize() {
+        final EmbeddedChannel channel = createChannel(MqttFlushStrategy.batch(3));
+
+        channel.writeAndFlush("1");
+        channel.writeAndFlush("2");
+        assertTrue(recorder.flushed.isEmpty());
+
+        channel.writeAndFlush("3");
+        assertEquals(Arrays.asList("1", "2", "3"), recorder.flushed);
+    }
+
+    @Test
+    void batch_flushesRemainingAfterPendingTasks() {
+        final EmbeddedChannel channel = createChannel(MqttFlushStrategy.batch(3));
+
+        channel.writeAndFlush("1");
+        assertTrue(recorder.flushed.isEmpty());
+
+        channel.runPendingTasks();
+        assertEquals(Arrays.asList("1"), recorder.flushed);
+    }
+
+    @Test
+    void batch_flushesOnReadComplete() {
+        final EmbeddedChannel channel = createChannel(MqttFlushStrategy.batch(3));
+
+        channel.writeAndFlush("1");
+        channel.pipeline().fireChannelReadComplete();
+        assertEquals(Arrays.asList("1"), recorder.flushed);
+    }
+
+    @Test
+    void batch_doesNotFlushWithoutFlushRequest() {
+        final EmbeddedChannel channel = createChannel(MqttFlushStrategy.batch(2));
+
+        channel.write("1");
+        channel.write("2");
+        channel.runPendingTasks();
+        assertTrue(recorder.flushed.isEmpty());
+
+        channel.flush();
+        assertEquals(Arrays.asList("1", "2"), recorder.flushed);
+    }
+
+    @Test
+    void interval_flushesAtMostOncePerInterval() throws InterruptedException {
+        final EmbeddedChannel channel = createChannel(MqttFlushStrategy.interval(50, TimeUnit.MILLISECONDS));
+
+        channel.writeAndFlush("1");
+        assertEquals(Arrays.asList("1"), recorder.flushed);
+
+        channel.writeAndFlush("2");
+        channel.writeAndFlush("3");
+        channel.runPendingTasks();
+        assertEquals(Arrays.asList("1"), recorder.flushed);
+
+        Thread.sleep(60);
+        channel.runScheduledPendingTasks();
+        assertEquals(Arrays.asList("1", "2", "3"), recorder.flushed);
+    }
+
+    @Test
+    void writability_flushesAfterPendingTasks() {
+        final EmbeddedChannel channel = createChannel(MqttFlushStrategy.WRITABILITY);
+
+        channel.writeAndFlush("1");
+        channel.writeAndFlush("2");
+        assertTrue(recorder.flushed.isEmpty());
+
+        channel.runPendingTasks();
+        assertEquals(Arrays.asList("1", "2"), recorder.flushed);
+    }
+
+    @Test
+    void close_flushesPending() {
+        final EmbeddedChannel channel = createChannel(MqttFlushStrategy.batch(3));
+
+        channel.writeAndFlush("1");
+        channel.close();
+        assertEquals(Arrays.asList("1"), recorder.flushed);
+    }
+
+    private static class FlushRecorder extends ChannelOutboundHandlerAdapter {
+
+        final @NotNull List<Object> written = new ArrayList<>();
+        final @NotNull List<Object> flushed = new ArrayList<>();
+
+        @Override
+        public void write(
+                final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg,
+                final @NotNull ChannelPromise promise) {
+
+            written.add(msg);
+            promise.setSuccess();
+        }
+
+        @Override
+        public void flush(final @NotNull ChannelHandlerContext ctx) {
+            flushed.addAll(written);
+            written.clear();
+        }
+    }
+}
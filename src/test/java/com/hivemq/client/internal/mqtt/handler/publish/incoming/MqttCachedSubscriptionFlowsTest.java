@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.google.common.collect.ImmutableSet;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.util.collections.HandleList;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttCachedSubscriptionFlowsTest extends MqttSubscriptionFlowsTest {
+
+    MqttCachedSubscriptionFlowsTest() {
+        super(() -> new MqttCachedSubscriptionFlows(new MqttSubscriptionFlowTree()));
+    }
+
+    @Test
+    void findMatching_sameTopic_isCached() {
+        final MqttCachedSubscriptionFlows flows = new MqttCachedSubscriptionFlows(new MqttSubscriptionFlowTree());
+        final MqttSubscribedPublishFlow flow = mockSubscriptionFlow("a/+");
+        flows.subscribe(MqttTopicFilterImpl.of("a/+"), flow);
+
+        for (int i = 0; i < 3; i++) {
+            final HandleList<MqttIncomingPublishFlow> matching = new HandleList<>();
+            assertTrue(flows.findMatching(MqttTopicImpl.of("a/b"), matching));
+            assertEquals(ImmutableSet.of(flow), ImmutableSet.copyOf(matching));
+        }
+        assertEquals(1, flows.getMisses());
+        assertEquals(2, flows.getHits());
+
+        final HandleList<MqttIncomingPublishFlow> matching = new HandleList<>();
+        assertFalse(flows.findMatching(MqttTopicImpl.of("b"), matching));
+        assertTrue(matching.isEmpty());
+        assertFalse(flows.findMatching(MqttTopicImpl.of("b"), matching));
+        assertEquals(2, flows.getMisses());
+        assertEquals(3, flows.getHits());
+    }
+
+    @Test
+    void findMatching_afterSubscribeOrCancel_isNotStale() {
+        final MqttCachedSubscriptionFlows flows = new MqttCachedSubscriptionFlows(new MqttSubscriptionFlowTree());
+        final MqttSubscribedPublishFlow flow1 = mockSubscriptionFlow("a/+");
+        final MqttSubscribedPublishFlow flow2 = mockSubscriptionFlow("a/#");
+        flows.subscribe(MqttTopicFilterImpl.of("a/+"), flow1);
+
+        HandleList<MqttIncomingPublishFlow> matching = new HandleList<>();
+        assertTrue(flows.findMatching(MqttTopicImpl.of("a/b"), matching));
+        assertEquals(ImmutableSet.of(flow1), ImmutableSet.copyOf(matching));
+
+        flows.subscribe(MqttTopicFilterImpl.of("a/#"), flow2);
+        matching = new HandleList<>();
+        assertTrue(flows.findMatching(MqttTopicImpl.of("a/b"), matching));
+        assertEquals(ImmutableSet.of(flow1, flow2), ImmutableSet.copyOf(matching));
+
+        flows.cancel(flow1);
+        matching = new HandleList<>();
+        assertTrue(flows.findMatching(MqttTopicImpl.of("a/b"), matching));
+        assertEquals(ImmutableSet.of(flow2), ImmutableSet.copyOf(matching));
+        assertEquals(3, flows.getMisses());
+        assertEquals(0, flows.getHits());
+    }
+
+    @Test
+    void findMatching_maximumSizeExceeded_evictsLeastRecentlyUsed() {
+        final MqttCachedSubscriptionFlows flows = new MqttCachedSubscriptionFlows(new MqttSubscriptionFlowTree(), 2);
+        flows.subscribe(MqttTopicFilterImpl.of("#"), mockSubscriptionFlow("#"));
+
+        flows.findMatching(MqttTopicImpl.of("a"), new HandleList<>());
+        flows.findMatching(MqttTopicImpl.of("b"), new HandleList<>());
+        flows.findMatching(MqttTopicImpl.of("a"), new HandleList<>());
+        flows.findMatching(MqttTopicImpl.of("c"), new HandleList<>());
+        assertEquals(3, flows.getMisses());
+        assertEquals(1, flows.getHits());
+
+        flows.findMatching(MqttTopicImpl.of("a"), new HandleList<>());
+        assertEquals(2, flows.getHits());
+        flows.findMatching(MqttTopicImpl.of("b"), new HandleList<>());
+        assertEquals(4, flows.getMisses());
+    }
+
+    @Test
+    void getHits_notCached() {
+        final MqttSubscriptionFlowTree tree = new MqttSubscriptionFlowTree();
+        tree.subscribe(MqttTopicFilterImpl.of("#"), mockSubscriptionFlow("#"));
+        tree.findMatching(MqttTopicImpl.of("a"), new HandleList<>());
+
+        assertEquals(0, MqttCachedSubscriptionFlows.getHits(tree));
+        assertEquals(0, MqttCachedSubscriptionFlows.getMisses(tree));
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttIncomingPublishBatcherTest {
+
+    private final @NotNull EventLoop eventLoop = new DefaultEventLoop();
+    private final @NotNull MqttIncomingPublishFlow flow = mock(MqttIncomingPublishFlow.class);
+    private final @NotNull Mqtt5Publish publish1 = Mqtt5Publish.builder().topic("a").build();
+    private final @NotNull Mqtt5Publish publish2 = Mqtt5Publish.builder().topic("b").build();
+    private final @NotNull Mqtt5Publish publish3 = Mqtt5Publish.builder().topic("c").build();
+
+    @BeforeEach
+    void setUp() {
+        when(flow.getEventLoop()).thenReturn(eventLoop);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventLoop.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+    }
+
+    private @NotNull MqttIncomingPublishBatcher subscribe(
+            final @NotNull TestSubscriber<List<Mqtt5Publish>> subscriber, final int maxSize, final long maxDelayNanos) {
+
+        final MqttIncomingPublishBatcher batcher =
+                new MqttIncomingPublishBatcher(subscriber, null, maxSize, maxDelayNanos);
+        batcher.onSubscribe(flow);
+        return batcher;
+    }
+
+    private void onEventLoop(final @NotNull Runnable runnable) throws Exception {
+        eventLoop.submit(runnable).get();
+    }
+
+    @Test
+    void request_requestsPublishesOnlyForCurrentBatch() throws Exception {
+        final TestSubscriber<List<Mqtt5Publish>> subscriber = new TestSubscriber<>(0);
+        final MqttIncomingPublishBatcher batcher = subscribe(subscriber, 2, TimeUnit.HOURS.toNanos(1));
+
+        subscriber.request(2);
+        verify(flow).request(2);
+
+        onEventLoop(() -> {
+            batcher.onNext(publish1);
+            batcher.onNext(publish2);
+        });
+        verify(flow, times(2)).request(2);
+
+        onEventLoop(() -> {
+            batcher.onNext(publish3);
+            batcher.onNext(publish1);
+        });
+        verify(flow, times(2)).request(anyLong());
+        subscriber.assertValueCount(2);
+    }
+
+    @Test
+    void request_afterPartialBatch_requestsOnlyMissingPublishes() throws Exception {
+        final TestSubscriber<List<Mqtt5Publish>> subscriber = new TestSubscriber<>(0);
+        final MqttIncomingPublishBatcher batcher = subscribe(subscriber, 10, 0);
+
+        subscriber.request(1);
+        verify(flow).request(10);
+        onEventLoop(() -> batcher.onNext(publish1));
+        onEventLoop(() -> {});
+        subscriber.assertValues(Arrays.asList(publish1));
+
+        subscriber.request(1);
+        verify(flow).request(1);
+    }
+
+    @Test
+    void onNext_emitsFullBatch() throws Exception {
+        final TestSubscriber<List<Mqtt5Publish>> subscriber = new TestSubscriber<>(1);
+        final MqttIncomingPublishBatcher batcher = subscribe(subscriber, 2, TimeUnit.HOURS.toNanos(1));
+
+        onEventLoop(() -> {
+            batcher.onNext(publish1);
+            batcher.onNext(publish2);
+            batcher.onNext(publish3);
+        });
+
+        subscriber.assertValues(Arrays.asList(publish1, publish2));
+    }
+
+    @Test
+    void onNext_emitsPartialBatchAfterDelay() throws Exception {
+        final TestSubscriber<List<Mqtt5Publish>> subscriber = new TestSubscriber<>(2);
+        final MqttIncomingPublishBatcher batcher = subscribe(subscriber, 10, TimeUnit.MILLISECONDS.toNanos(10));
+
+        onEventLoop(() -> {
+            batcher.onNext(publish1);
+            batcher.onNext(publish2);
+        });
+        subscriber.assertNoValues();
+
+        subscriber.awaitCount(1);
+        subscriber.assertValues(Arrays.asList(publish1, publish2));
+    }
+
+    @Test
+    void onNext_zeroDelay_emitsPublishesProcessedTogether() throws Exception {
+        final TestSubscriber<List<Mqtt5Publish>> subscriber = new TestSubscriber<>(2);
+        final MqttIncomingPublishBatcher batcher = subscribe(subscriber, 10, 0);
+
+        onEventLoop(() -> {
+            batcher.onNext(publish1);
+            batcher.onNext(publish2);
+        });
+        onEventLoop(() -> batcher.onNext(publish3));
+        onEventLoop(() -> {});
+
+        subscriber.assertValues(Arrays.asList(publish1, publish2), Arrays.asList(publish3));
+    }
+
+    @Test
+    void request_emitsBufferedBatches() throws Exception {
+        final TestSubscriber<List<Mqtt5Publish>> subscriber = new TestSubscriber<>(0);
+        final MqttIncomingPublishBatcher batcher = subscribe(subscriber, 1, 0);
+
+        onEventLoop(() -> {
+            batcher.onNext(publish1);
+            batcher.onNext(publish2);
+        });
+        subscriber.assertNoValues();
+
+        subscriber.request(1);
+        subscriber.assertValues(Arrays.asList(publish1));
+        subscriber.request(1);
+        subscriber.assertValues(Arrays.asList(publish1), Arrays.asList(publish2));
+    }
+
+    @Test
+    void onComplete_emitsPartialBatchBeforeCompletion() throws Exception {
+        final TestSubscriber<List<Mqtt5Publish>> subscriber = new TestSubscriber<>(0);
+        final MqttIncomingPublishBatcher batcher = subscribe(subscriber, 10, TimeUnit.HOURS.toNanos(1));
+
+        onEventLoop(() -> {
+            batcher.onNext(publish1);
+            batcher.onComplete();
+        });
+        subscriber.assertNotComplete();
+
+        subscriber.request(1);
+        subscriber.assertValues(Arrays.asList(publish1));
+        subscriber.assertComplete();
+    }
+
+    @Test
+    void cancel_cancelsFlow() {
+        final TestSubscriber<List<Mqtt5Publish>> subscriber = new TestSubscriber<>(0);
+        subscribe(subscriber, 10, 0);
+
+        subscriber.cancel();
+
+        verify(flow).cancel();
+    }
+
+    @Test
+    void cancel_releasesBufferedPublishes() throws Exception {
+        final TestSubscriber<List<Mqtt5Publish>> subscriber = new TestSubscriber<>(0);
+        final MqttIncomingPublishBatcher batcher = subscribe(subscriber, 2, TimeUnit.HOURS.toNanos(1));
+        final Mqtt5Publish queued1 = mock(Mqtt5Publish.class);
+        final Mqtt5Publish queued2 = mock(Mqtt5Publish.class);
+        final Mqtt5Publish filling = mock(Mqtt5Publish.class);
+        onEventLoop(() -> {
+            batcher.onNext(queued1);
+            batcher.onNext(queued2);
+            batcher.onNext(filling);
+        });
+
+        subscriber.cancel();
+        onEventLoop(() -> {});
+
+        verify(queued1).release();
+        verify(queued2).release();
+        verify(filling).release();
+        subscriber.assertNoValues();
+    }
+}
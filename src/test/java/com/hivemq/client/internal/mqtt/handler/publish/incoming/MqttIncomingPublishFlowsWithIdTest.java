@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.google.common.collect.ImmutableSet;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttStatefulSubscribe;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribeBuilder;
+import com.hivemq.client.internal.mqtt.message.subscribe.suback.MqttSubAck;
+import com.hivemq.client.internal.util.collections.HandleList;
+import com.hivemq.client.internal.util.collections.ImmutableIntList;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAckReasonCode;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttIncomingPublishFlowsWithIdTest {
+
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttIncomingPublishFlowsWithId flows;
+
+    @BeforeEach
+    void setUp() {
+        flows = new MqttIncomingPublishFlowsWithId(new MqttSubscriptionFlowTree(), new MqttSubscriptionFlowTree());
+    }
+
+    @Test
+    void findMatching_subscriptionIdentifiers_routesWithoutMatchingTopic() {
+        final MqttSubscribedPublishFlow flow1 = subscribe("a/#", 1);
+        subscribe("+/b", 2);
+
+        assertMatching(publish("a/b", 1), flow1);
+        assertMatching(publish("x", 1), flow1);
+    }
+
+    @Test
+    void findMatching_noSubscriptionIdentifiers_matchesTopic() {
+        final MqttSubscribedPublishFlow flow1 = subscribe("a/#", 1);
+        final MqttSubscribedPublishFlow flow2 = subscribe("+/b", 2);
+
+        assertMatching(publish("a/b"), flow1, flow2);
+        assertMatching(publish("a/c"), flow1);
+    }
+
+    @Test
+    void findMatching_flowsWithoutIds_areStillMatched() {
+        final MqttSubscribedPublishFlow flow1 = subscribe("a/#", 1);
+        final MqttSubscribedPublishFlow flow2 =
+                subscribe("a/b", MqttStatefulSubscribe.DEFAULT_NO_SUBSCRIPTION_IDENTIFIER);
+
+        assertMatching(publish("a/b", 1), flow1, flow2);
+        assertMatching(publish("a/c", 1), flow1);
+    }
+
+    @Test
+    void findMatching_unknownSubscriptionIdentifier_matchesTopic() {
+        final MqttSubscribedPublishFlow flow1 = subscribe("a/#", 1);
+
+        assertMatching(publish("a/b", 1, 3), flow1);
+        assertMatching(publish("x", 3));
+    }
+
+    @Test
+    void findMatching_sameTopicFilterSubscribedTwice_matchesTopicUntilResolved() {
+        final MqttSubscribedPublishFlow flow1 = subscribe("a/b", 1);
+        final MqttStatefulSubscribe subscribe2 = createSubscribe("a/b", 2);
+        final MqttSubscribedPublishFlow flow2 = mockFlow("a/b");
+        flows.subscribe(subscribe2, flow2);
+
+        assertMatching(publish("a/b", 2), flow1, flow2);
+
+        flows.subAck(subscribe2, createSubAck(Mqtt5SubAckReasonCode.NOT_AUTHORIZED), flow2);
+        assertMatching(publish("x", 1), flow1);
+    }
+
+    @Test
+    void findMatching_cancelledFlow_subscriptionStillFound() {
+        final MqttSubscribedPublishFlow flow1 = subscribe("a", 1);
+        flows.cancel(flow1);
+
+        final HandleList<MqttIncomingPublishFlow> matching = new HandleList<>();
+        assertTrue(flows.findMatchingSubscriptions(publish("a", 1), matching));
+        assertTrue(matching.isEmpty());
+    }
+
+    @Test
+    void findMatching_afterUnsubscribe_routesRemainingFlows() {
+        subscribe("a/b", 1);
+        final MqttSubscribedPublishFlow flow2 = subscribe("a/b", 2);
+        final MqttSubscribedPublishFlow flow3 = subscribe("c", 3);
+        flows.unsubscribe(MqttTopicFilterImpl.of("a/b"));
+
+        assertMatching(publish("a/b"));
+        assertMatching(publish("x", 3), flow3);
+        assertTrue(flow2.getTopicFilters().isEmpty());
+    }
+
+    private @NotNull MqttSubscribedPublishFlow subscribe(final @NotNull String topicFilter, final int id) {
+        final MqttSubscribedPublishFlow flow = mockFlow(topicFilter);
+        flows.subscribe(createSubscribe(topicFilter, id), flow);
+        return flow;
+    }
+
+    private void assertMatching(
+            final @NotNull MqttStatefulPublish publish, final @NotNull MqttSubscribedPublishFlow... expectedFlows) {
+
+        final HandleList<MqttIncomingPublishFlow> matching = new HandleList<>();
+        assertEquals(expectedFlows.length > 0, flows.findMatchingSubscriptions(publish, matching));
+        assertEquals(ImmutableSet.copyOf(expectedFlows), ImmutableSet.copyOf(matching));
+    }
+
+    private static @NotNull MqttSubscribedPublishFlow mockFlow(final @NotNull String name) {
+        final MqttSubscribedPublishFlow flow = MqttSubscriptionFlowsTest.mockSubscriptionFlow(name);
+        final int[] subscriptionIdentifier = {MqttStatefulSubscribe.DEFAULT_NO_SUBSCRIPTION_IDENTIFIER};
+        when(flow.getSubscriptionIdentifier()).thenAnswer(invocation -> subscriptionIdentifier[0]);
+        doAnswer(invocation -> subscriptionIdentifier[0] = invocation.getArgument(0)).when(flow)
+                .setSubscriptionIdentifier(anyInt());
+        return flow;
+    }
+
+    private static @NotNull MqttStatefulSubscribe createSubscribe(final @NotNull String topicFilter, final int id) {
+        return new MqttSubscribeBuilder.Default().topicFilter(topicFilter).build().createStateful(1, id);
+    }
+
+    private static @NotNull MqttSubAck createSubAck(final @NotNull Mqtt5SubAckReasonCode reasonCode) {
+        return new MqttSubAck(1, ImmutableList.of(reasonCode), null, MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+    }
+
+    private static @NotNull MqttStatefulPublish publish(final @NotNull String topic, final int... ids) {
+        return new MqttPublishBuilder.Default().topic(topic)
+                .build()
+                .createStateful(1, false, MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS, ImmutableIntList.copyOf(ids));
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttIncomingQos0Policy;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.util.collections.HandleList;
+import com.hivemq.client.internal.util.collections.ImmutableIntList;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.channel.EventLoop;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttIncomingPublishServiceTest {
+
+    private static final int RECEIVE_MAXIMUM = 10;
+
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttClientConfig clientConfig;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttIncomingQosHandler incomingQosHandler;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttIncomingPublishService incomingPublishService;
+    private final @NotNull TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>();
+
+    @BeforeEach
+    void setUp() {
+        final EventLoop eventLoop = mock(EventLoop.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(eventLoop).execute(any());
+        clientConfig = mock(MqttClientConfig.class);
+        when(clientConfig.acquireEventLoop()).thenReturn(eventLoop);
+        incomingQosHandler = mock(MqttIncomingQosHandler.class);
+        incomingPublishService =
+                new MqttIncomingPublishService(clientConfig, incomingQosHandler, MqttIncomingQos0Policy.DEFAULT);
+    }
+
+    private @NotNull MqttSubscribedPublishFlow subscribe(final boolean manualAcknowledgement) {
+        final MqttSubscribedPublishFlow flow =
+                new MqttSubscribedPublishFlow(subscriber, clientConfig, incomingQosHandler, manualAcknowledgement);
+        flow.init();
+        flow.request(Long.MAX_VALUE);
+        final MqttIncomingPublishFlows incomingPublishFlows = mock(MqttIncomingPublishFlows.class);
+        when(incomingPublishFlows.findMatching(any())).thenAnswer(invocation -> {
+            final HandleList<MqttIncomingPublishFlow> flows = new HandleList<>();
+            flows.add(flow);
+            return flows;
+        });
+        when(incomingQosHandler.getIncomingPublishFlows()).thenReturn(incomingPublishFlows);
+        return flow;
+    }
+
+    @Test
+    void onPublishQos1_automaticAcknowledgement_acknowledgedWhenEmitted() {
+        subscribe(false);
+        final MqttStatefulPublish publish = publish(1, MqttQos.AT_LEAST_ONCE);
+
+        assertTrue(incomingPublishService.onPublishQos1Or2(publish, RECEIVE_MAXIMUM));
+
+        verify(incomingQosHandler).ack(publish);
+        subscriber.assertValueCount(1);
+
+        subscriber.values().get(0).acknowledge(); // no effect without manual acknowledgement
+        verify(incomingQosHandler).ack(publish);
+    }
+
+    @Test
+    void onPublishQos1Or2_manualAcknowledgement_acknowledgedInOrderAfterConfirmed() {
+        subscribe(true);
+        final MqttStatefulPublish publish1 = publish(1, MqttQos.AT_LEAST_ONCE);
+        final MqttStatefulPublish publish2 = publish(2, MqttQos.EXACTLY_ONCE);
+        final MqttStatefulPublish publish3 = publish(3, MqttQos.AT_LEAST_ONCE);
+
+        assertTrue(incomingPublishService.onPublishQos1Or2(publish1, RECEIVE_MAXIMUM));
+        assertTrue(incomingPublishService.onPublishQos1Or2(publish2, RECEIVE_MAXIMUM));
+        assertTrue(incomingPublishService.onPublishQos1Or2(publish3, RECEIVE_MAXIMUM));
+        subscriber.assertValueCount(3);
+        verify(incomingQosHandler, never()).ack(any());
+
+        subscriber.values().get(1).acknowledge();
+        verify(incomingQosHandler, never()).ack(any());
+
+        subscriber.values().get(0).acknowledge();
+        final InOrder inOrder = inOrder(incomingQosHandler);
+        inOrder.verify(incomingQosHandler).ack(publish1);
+        inOrder.verify(incomingQosHandler).ack(publish2);
+        verify(incomingQosHandler, never()).ack(publish3);
+
+        subscriber.values().get(2).acknowledge();
+        verify(incomingQosHandler).ack(publish3);
+    }
+
+    @Test
+    void acknowledge_twice_throws() {
+        subscribe(true);
+        assertTrue(incomingPublishService.onPublishQos1Or2(publish(1, MqttQos.AT_LEAST_ONCE), RECEIVE_MAXIMUM));
+        final Mqtt5Publish publish = subscriber.values().get(0);
+
+        publish.acknowledge();
+        assertThrows(IllegalStateException.class, publish::acknowledge);
+        verify(incomingQosHandler, times(1)).ack(any());
+    }
+
+    @Test
+    void acknowledge_qos0_hasNoEffect() {
+        subscribe(true);
+        incomingPublishService.onPublishQos0(publish(-1, MqttQos.AT_MOST_ONCE), RECEIVE_MAXIMUM);
+        subscriber.assertValueCount(1);
+
+        subscriber.values().get(0).acknowledge();
+        verify(incomingQosHandler, never()).ack(any());
+    }
+
+    @Test
+    void cancel_manualAcknowledgement_confirmsUnconfirmed() {
+        final MqttSubscribedPublishFlow flow = subscribe(true);
+        when(incomingQosHandler.getIncomingPublishService()).thenReturn(incomingPublishService);
+        final MqttStatefulPublish publish1 = publish(1, MqttQos.AT_LEAST_ONCE);
+        final MqttStatefulPublish publish2 = publish(2, MqttQos.AT_LEAST_ONCE);
+        final MqttStatefulPublish publish3 = publish(3, MqttQos.AT_LEAST_ONCE);
+        assertTrue(incomingPublishService.onPublishQos1Or2(publish1, RECEIVE_MAXIMUM));
+        assertTrue(incomingPublishService.onPublishQos1Or2(publish2, RECEIVE_MAXIMUM));
+        assertTrue(incomingPublishService.onPublishQos1Or2(publish3, RECEIVE_MAXIMUM));
+        subscriber.values().get(1).acknowledge();
+        verify(incomingQosHandler, never()).ack(any());
+
+        flow.cancel();
+
+        final InOrder inOrder = inOrder(incomingQosHandler);
+        inOrder.verify(incomingQosHandler).ack(publish1);
+        inOrder.verify(incomingQosHandler).ack(publish2);
+        inOrder.verify(incomingQosHandler).ack(publish3);
+
+        subscriber.values().get(0).acknowledge(); // no effect after the client confirmed
+        verify(incomingQosHandler, times(3)).ack(any());
+    }
+
+    @Test
+    void onError_manualAcknowledgement_confirmsUnconfirmed() {
+        final MqttSubscribedPublishFlow flow = subscribe(true);
+        when(incomingQosHandler.getIncomingPublishService()).thenReturn(incomingPublishService);
+        final MqttStatefulPublish publish1 = publish(1, MqttQos.AT_LEAST_ONCE);
+        final MqttStatefulPublish publish2 = publish(2, MqttQos.EXACTLY_ONCE);
+        assertTrue(incomingPublishService.onPublishQos1Or2(publish1, RECEIVE_MAXIMUM));
+        assertTrue(incomingPublishService.onPublishQos1Or2(publish2, RECEIVE_MAXIMUM));
+
+        flow.onError(new Exception("test"));
+
+        final InOrder inOrder = inOrder(incomingQosHandler);
+        inOrder.verify(incomingQosHandler).ack(publish1);
+        inOrder.verify(incomingQosHandler).ack(publish2);
+    }
+
+    @Test
+    void onPublishQos0_overflow_completesFlowWhoseLastEntryIsDropped() {
+        final TestSubscriber<Mqtt5Publish> completedSubscriber = new TestSubscriber<>(0);
+        final TestSubscriber<Mqtt5Publish> slowSubscriber = new TestSubscriber<>(0);
+        final MqttSubscribedPublishFlow completedFlow =
+                new MqttSubscribedPublishFlow(completedSubscriber, clientConfig, incomingQosHandler, false);
+        final MqttSubscribedPublishFlow slowFlow =
+                new MqttSubscribedPublishFlow(slowSubscriber, clientConfig, incomingQosHandler, false);
+        completedFlow.init();
+        slowFlow.init();
+        final MqttIncomingPublishFlows incomingPublishFlows = mock(MqttIncomingPublishFlows.class);
+        when(incomingPublishFlows.findMatching(any())).thenAnswer(invocation -> {
+            final HandleList<MqttIncomingPublishFlow> flows = new HandleList<>();
+            final MqttStatefulPublish publish = invocation.getArgument(0);
+            flows.add(publish.stateless().getTopic().toString().equals("a") ? completedFlow : slowFlow);
+            return flows;
+        });
+        when(incomingQosHandler.getIncomingPublishFlows()).thenReturn(incomingPublishFlows);
+        when(incomingQosHandler.getIncomingPublishService()).thenReturn(incomingPublishService);
+
+        incomingPublishService.onPublishQos0(publish("a"), 1);
+        completedFlow.onComplete();
+        completedSubscriber.assertNotComplete();
+
+        incomingPublishService.onPublishQos0(publish("b"), 1);
+        completedSubscriber.assertNoValues();
+        completedSubscriber.assertComplete();
+        slowSubscriber.assertNotComplete();
+    }
+
+    @Test
+    void onPublishQos0_overflow_countsDroppedPerService() {
+        final TestSubscriber<Mqtt5Publish> slowSubscriber = new TestSubscriber<>(0);
+        final MqttSubscribedPublishFlow slowFlow =
+                new MqttSubscribedPublishFlow(slowSubscriber, clientConfig, incomingQosHandler, false);
+        final MqttIncomingPublishFlows incomingPublishFlows = mock(MqttIncomingPublishFlows.class);
+        when(incomingPublishFlows.findMatching(any())).thenAnswer(invocation -> {
+            final HandleList<MqttIncomingPublishFlow> flows = new HandleList<>();
+            flows.add(slowFlow);
+            return flows;
+        });
+        when(incomingQosHandler.getIncomingPublishFlows()).thenReturn(incomingPublishFlows);
+        final MqttIncomingPublishService otherIncomingPublishService =
+                new MqttIncomingPublishService(clientConfig, incomingQosHandler, MqttIncomingQos0Policy.DEFAULT);
+
+        for (int i = 0; i < 3; i++) {
+            incomingPublishService.onPublishQos0(publish("a"), 1);
+        }
+
+        assertEquals(2, incomingPublishService.getQos0Dropped());
+        assertEquals(0, incomingPublishService.getQos0Coalesced());
+        assertEquals(0, otherIncomingPublishService.getQos0Dropped());
+    }
+
+    private static @NotNull MqttStatefulPublish publish(final @NotNull String topic) {
+        return new MqttPublishBuilder.Default().topic(topic)
+                .build()
+                .createStateful(-1, false, MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS, ImmutableIntList.of());
+    }
+
+    private static @NotNull MqttStatefulPublish publish(final int packetIdentifier, final @NotNull MqttQos qos) {
+        return new MqttPublishBuilder.Default().topic("topic")
+                .qos(qos)
+                .build()
+                .createStateful(packetIdentifier, false, MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS,
+                        ImmutableIntList.of());
+    }
+}
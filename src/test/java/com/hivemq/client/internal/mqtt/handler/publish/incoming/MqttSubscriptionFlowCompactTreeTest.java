@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.google.common.collect.ImmutableSet;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.util.collections.HandleList;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttSubscriptionFlowCompactTreeTest extends MqttSubscriptionFlowsTest {
+
+    MqttSubscriptionFlowCompactTreeTest() {
+        super(MqttSubscriptionFlowCompactTree::new);
+    }
+
+    @Test
+    void subscribe_manyLevels_thenRemove_doMatch() {
+        final MqttSubscriptionFlowCompactTree flows = new MqttSubscriptionFlowCompactTree();
+        final int count = 1000;
+        final MqttSubscribedPublishFlow[] subscribedFlows = new MqttSubscribedPublishFlow[count];
+        for (int i = 0; i < count; i++) {
+            subscribedFlows[i] = mockSubscriptionFlow("dev/" + i + "/+");
+            flows.subscribe(MqttTopicFilterImpl.of("dev/" + i + "/+"), subscribedFlows[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            assertMatching(flows, "dev/" + i + "/temp", subscribedFlows[i]);
+        }
+
+        for (int i = 0; i < count; i += 2) {
+            flows.remove(MqttTopicFilterImpl.of("dev/" + i + "/+"), subscribedFlows[i]);
+            assertTrue(subscribedFlows[i].getTopicFilters().isEmpty());
+        }
+        for (int i = 0; i < count; i++) {
+            if (i % 2 == 0) {
+                assertNotMatching(flows, "dev/" + i + "/temp");
+            } else {
+                assertMatching(flows, "dev/" + i + "/temp", subscribedFlows[i]);
+            }
+        }
+
+        for (int i = 1; i < count - 2; i += 2) {
+            flows.unsubscribe(MqttTopicFilterImpl.of("dev/" + i + "/+"), null);
+        }
+        assertNotMatching(flows, "dev/1/temp");
+        assertMatching(flows, "dev/" + (count - 1) + "/temp", subscribedFlows[count - 1]);
+    }
+
+    private static void assertMatching(
+            final MqttSubscriptionFlows flows, final String topic, final MqttSubscribedPublishFlow expectedFlow) {
+
+        final HandleList<MqttIncomingPublishFlow> matching = new HandleList<>();
+        assertTrue(flows.findMatching(MqttTopicImpl.of(topic), matching));
+        assertEquals(ImmutableSet.of(expectedFlow), ImmutableSet.copyOf(matching));
+    }
+
+    private static void assertNotMatching(final MqttSubscriptionFlows flows, final String topic) {
+        final HandleList<MqttIncomingPublishFlow> matching = new HandleList<>();
+        assertFalse(flows.findMatching(MqttTopicImpl.of(topic), matching));
+        assertTrue(matching.isEmpty());
+    }
+}
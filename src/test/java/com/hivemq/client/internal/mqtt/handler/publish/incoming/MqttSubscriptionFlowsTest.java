@@ -348,7 +348,7 @@ abstract class MqttSubscriptionFlowsTest {
     }
 
     @NotNull
-    private static MqttSubscribedPublishFlow mockSubscriptionFlow(final @NotNull String name) {
+    static MqttSubscribedPublishFlow mockSubscriptionFlow(final @NotNull String name) {
         final MqttSubscribedPublishFlow flow = mock(MqttSubscribedPublishFlow.class);
         final HandleList<MqttTopicFilterImpl> topicFilters = new HandleList<>();
         when(flow.getTopicFilters()).thenReturn(topicFilters);
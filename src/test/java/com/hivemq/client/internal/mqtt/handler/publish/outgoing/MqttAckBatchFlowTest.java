@@ -0,0 +1,179 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.internal.mqtt.message.publish.pubcomp.MqttPubComp;
+import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRec;
+import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRel;
+import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5PubAckException;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import com.hivemq.client.mqtt.mqtt5.message.publish.puback.Mqtt5PubAckReasonCode;
+import com.hivemq.client.mqtt.mqtt5.message.publish.pubcomp.Mqtt5PubCompReasonCode;
+import com.hivemq.client.mqtt.mqtt5.message.publish.pubrec.Mqtt5PubRecReasonCode;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttAckBatchFlowTest {
+
+    private final @NotNull MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+    private final @NotNull MqttOutgoingQosHandler handler =
+            new MqttOutgoingQosHandler(clientConfig, new MqttPublishFlowables());
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel(handler);
+
+    @BeforeEach
+    void setUp() {
+        final ClientComponent clientComponent = mock(ClientComponent.class);
+        when(clientComponent.outgoingQosHandler()).thenReturn(handler);
+        when(clientConfig.getClientComponent()).thenReturn(clientComponent);
+        when(clientConfig.getState()).thenReturn(MqttClientState.CONNECTED);
+        when(clientConfig.acquireEventLoop()).thenReturn(channel.eventLoop());
+        when(clientConfig.getAdvancedConfig()).thenReturn(MqttClientAdvancedConfig.DEFAULT);
+        final MqttClientConnectionConfig connectionConfig = mock(MqttClientConnectionConfig.class);
+        when(connectionConfig.getSendMaximum()).thenReturn(8);
+        when(connectionConfig.getChannel()).thenReturn(channel);
+        handler.onSessionStartOrResume(connectionConfig);
+    }
+
+    @Test
+    void publish_resultsInInputOrder() throws Exception {
+        final MqttPublish[] publishes =
+                {publish("a", MqttQos.AT_LEAST_ONCE), publish("b", MqttQos.AT_LEAST_ONCE),
+                        publish("c", MqttQos.AT_LEAST_ONCE)};
+        final CompletableFuture<List<Mqtt5PublishResult>> future =
+                MqttAckBatchFlow.publish(publishes, clientConfig, null);
+
+        channel.runPendingTasks();
+        final int[] packetIdentifiers = new int[publishes.length];
+        for (int i = 0; i < publishes.length; i++) {
+            packetIdentifiers[i] = readPublish().getPacketIdentifier();
+        }
+        for (int i = publishes.length - 1; i >= 0; i--) {
+            assertFalse(future.isDone());
+            channel.writeInbound(pubAck(packetIdentifiers[i], Mqtt5PubAckReasonCode.SUCCESS));
+        }
+
+        assertTrue(future.isDone());
+        final List<Mqtt5PublishResult> results = future.get();
+        assertEquals(publishes.length, results.size());
+        for (int i = 0; i < publishes.length; i++) {
+            assertSame(publishes[i], results.get(i).getPublish());
+        }
+    }
+
+    @Test
+    void publish_mixedQos() throws Exception {
+        final MqttPublish[] publishes =
+                {publish("a", MqttQos.AT_MOST_ONCE), publish("b", MqttQos.AT_LEAST_ONCE),
+                        publish("c", MqttQos.EXACTLY_ONCE)};
+        final CompletableFuture<List<Mqtt5PublishResult>> future =
+                MqttAckBatchFlow.publish(publishes, clientConfig, null);
+
+        channel.runPendingTasks();
+        readPublish();
+        final int qos1PacketIdentifier = readPublish().getPacketIdentifier();
+        final int qos2PacketIdentifier = readPublish().getPacketIdentifier();
+
+        channel.writeInbound(pubAck(qos1PacketIdentifier, Mqtt5PubAckReasonCode.SUCCESS));
+        channel.writeInbound(new MqttPubRec(qos2PacketIdentifier, Mqtt5PubRecReasonCode.SUCCESS, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES));
+        assertTrue(channel.readOutbound() instanceof MqttPubRel);
+        assertFalse(future.isDone());
+
+        channel.writeInbound(new MqttPubComp(qos2PacketIdentifier, Mqtt5PubCompReasonCode.SUCCESS, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES));
+        assertTrue(future.isDone());
+        final List<Mqtt5PublishResult> results = future.get();
+        assertSame(publishes[0], results.get(0).getPublish());
+        assertTrue(results.get(1) instanceof Mqtt5PublishResult.Mqtt5Qos1Result);
+        assertTrue(results.get(2) instanceof Mqtt5PublishResult.Mqtt5Qos2Result);
+        for (final Mqtt5PublishResult result : results) {
+            assertFalse(result.getError().isPresent());
+        }
+    }
+
+    @Test
+    void publish_empty_completedImmediately() throws Exception {
+        final CompletableFuture<List<Mqtt5PublishResult>> future =
+                MqttAckBatchFlow.publish(new MqttPublish[0], clientConfig, null);
+
+        assertTrue(future.isDone());
+        assertTrue(future.get().isEmpty());
+        channel.runPendingTasks();
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void publish_oneFails_othersCompleted() throws Exception {
+        final MqttPublish[] publishes =
+                {publish("a", MqttQos.AT_LEAST_ONCE), publish("b", MqttQos.AT_LEAST_ONCE),
+                        publish("c", MqttQos.AT_LEAST_ONCE)};
+        final CompletableFuture<List<Mqtt5PublishResult>> future =
+                MqttAckBatchFlow.publish(publishes, clientConfig, null);
+
+        channel.runPendingTasks();
+        channel.writeInbound(pubAck(readPublish().getPacketIdentifier(), Mqtt5PubAckReasonCode.SUCCESS));
+        channel.writeInbound(pubAck(readPublish().getPacketIdentifier(), Mqtt5PubAckReasonCode.UNSPECIFIED_ERROR));
+        channel.writeInbound(pubAck(readPublish().getPacketIdentifier(), Mqtt5PubAckReasonCode.SUCCESS));
+
+        assertTrue(future.isDone());
+        assertFalse(future.isCompletedExceptionally());
+        final List<Mqtt5PublishResult> results = future.get();
+        assertFalse(results.get(0).getError().isPresent());
+        assertTrue(results.get(1).getError().orElse(null) instanceof Mqtt5PubAckException);
+        assertFalse(results.get(2).getError().isPresent());
+    }
+
+    private static @NotNull MqttPublish publish(final @NotNull String topic, final @NotNull MqttQos qos) {
+        return new MqttPublishBuilder.Default().topic(topic).qos(qos).build();
+    }
+
+    private static @NotNull MqttPubAck pubAck(
+            final int packetIdentifier, final @NotNull Mqtt5PubAckReasonCode reasonCode) {
+
+        return new MqttPubAck(packetIdentifier, reasonCode, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+    }
+
+    private @NotNull MqttStatefulPublish readPublish() {
+        final Object message = channel.readOutbound();
+        assertTrue(message instanceof MqttStatefulPublish);
+        return (MqttStatefulPublish) message;
+    }
+}
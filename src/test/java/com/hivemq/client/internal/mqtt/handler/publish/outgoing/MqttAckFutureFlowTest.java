@@ -0,0 +1,188 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.internal.mqtt.message.publish.pubcomp.MqttPubComp;
+import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRec;
+import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRel;
+import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.exceptions.MqttClientStateException;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import com.hivemq.client.mqtt.mqtt5.message.publish.puback.Mqtt5PubAckReasonCode;
+import com.hivemq.client.mqtt.mqtt5.message.publish.pubcomp.Mqtt5PubCompReasonCode;
+import com.hivemq.client.mqtt.mqtt5.message.publish.pubrec.Mqtt5PubRecReasonCode;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.reactivex.schedulers.Schedulers;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttAckFutureFlowTest {
+
+    private final @NotNull MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+    private final @NotNull MqttOutgoingQosHandler handler =
+            new MqttOutgoingQosHandler(clientConfig, new MqttPublishFlowables());
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel(handler);
+
+    @BeforeEach
+    void setUp() {
+        final ClientComponent clientComponent = mock(ClientComponent.class);
+        when(clientComponent.outgoingQosHandler()).thenReturn(handler);
+        when(clientConfig.getClientComponent()).thenReturn(clientComponent);
+        when(clientConfig.getState()).thenReturn(MqttClientState.CONNECTED);
+        when(clientConfig.acquireEventLoop()).thenReturn(channel.eventLoop());
+        when(clientConfig.getAdvancedConfig()).thenReturn(MqttClientAdvancedConfig.DEFAULT);
+        final MqttClientConnectionConfig connectionConfig = mock(MqttClientConnectionConfig.class);
+        when(connectionConfig.getSendMaximum()).thenReturn(4);
+        when(connectionConfig.getChannel()).thenReturn(channel);
+        handler.onSessionStartOrResume(connectionConfig);
+    }
+
+    @Test
+    void publish_qos0_completedWhenWritten() throws Exception {
+        final MqttPublish publish = publish(MqttQos.AT_MOST_ONCE);
+        final CompletableFuture<Mqtt5PublishResult> future = MqttAckFutureFlow.publish(publish, clientConfig, null);
+        assertFalse(future.isDone());
+
+        readPublish();
+        assertTrue(future.isDone());
+        assertSame(publish, future.get().getPublish());
+        assertFalse(future.get().getError().isPresent());
+    }
+
+    @Test
+    void publish_qos1_completedOnPubAck() throws Exception {
+        final MqttPublish publish = publish(MqttQos.AT_LEAST_ONCE);
+        final CompletableFuture<Mqtt5PublishResult> future = MqttAckFutureFlow.publish(publish, clientConfig, null);
+
+        final int packetIdentifier = readPublish().getPacketIdentifier();
+        assertFalse(future.isDone());
+
+        channel.writeInbound(pubAck(packetIdentifier));
+        assertTrue(future.isDone());
+        assertTrue(future.get() instanceof Mqtt5PublishResult.Mqtt5Qos1Result);
+        assertSame(publish, future.get().getPublish());
+        assertFalse(future.get().getError().isPresent());
+    }
+
+    @Test
+    void publish_qos2_completedOnPubComp() throws Exception {
+        final MqttPublish publish = publish(MqttQos.EXACTLY_ONCE);
+        final CompletableFuture<Mqtt5PublishResult> future = MqttAckFutureFlow.publish(publish, clientConfig, null);
+
+        final int packetIdentifier = readPublish().getPacketIdentifier();
+        channel.writeInbound(new MqttPubRec(packetIdentifier, Mqtt5PubRecReasonCode.SUCCESS, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES));
+        assertTrue(channel.readOutbound() instanceof MqttPubRel);
+        assertFalse(future.isDone());
+
+        channel.writeInbound(new MqttPubComp(packetIdentifier, Mqtt5PubCompReasonCode.SUCCESS, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES));
+        assertTrue(future.isDone());
+        assertTrue(future.get() instanceof Mqtt5PublishResult.Mqtt5Qos2Result);
+        assertSame(publish, future.get().getPublish());
+        assertFalse(future.get().getError().isPresent());
+    }
+
+    @Test
+    void publish_notConnected_completedExceptionally() {
+        when(clientConfig.getState()).thenReturn(MqttClientState.DISCONNECTED);
+
+        final CompletableFuture<Mqtt5PublishResult> future =
+                MqttAckFutureFlow.publish(publish(MqttQos.AT_LEAST_ONCE), clientConfig, null);
+        assertTrue(future.isCompletedExceptionally());
+        final ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertTrue(exception.getCause() instanceof MqttClientStateException);
+
+        channel.runPendingTasks();
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void publish_withScheduler_completedOnScheduler() {
+        final List<Runnable> scheduled = new ArrayList<>();
+        final CompletableFuture<Mqtt5PublishResult> future = MqttAckFutureFlow.publish(
+                publish(MqttQos.AT_LEAST_ONCE), clientConfig, Schedulers.from(scheduled::add));
+
+        channel.writeInbound(pubAck(readPublish().getPacketIdentifier()));
+        assertFalse(future.isDone());
+        assertEquals(1, scheduled.size());
+
+        scheduled.get(0).run();
+        assertTrue(future.isDone());
+    }
+
+    @Test
+    void publish_withoutScheduler_completedOnEventLoop() {
+        final CompletableFuture<Mqtt5PublishResult> future =
+                MqttAckFutureFlow.publish(publish(MqttQos.AT_LEAST_ONCE), clientConfig, null);
+
+        channel.writeInbound(pubAck(readPublish().getPacketIdentifier()));
+        assertTrue(future.isDone());
+    }
+
+    @Test
+    void publish_futureCancelled_publishNotWithdrawn() {
+        final CompletableFuture<Mqtt5PublishResult> future =
+                MqttAckFutureFlow.publish(publish(MqttQos.AT_LEAST_ONCE), clientConfig, null);
+        assertTrue(future.cancel(false));
+
+        final int packetIdentifier = readPublish().getPacketIdentifier();
+        channel.writeInbound(pubAck(packetIdentifier));
+        assertTrue(future.isCancelled());
+        assertTrue(channel.isActive());
+    }
+
+    private static @NotNull MqttPublish publish(final @NotNull MqttQos qos) {
+        return new MqttPublishBuilder.Default().topic("test").qos(qos).build();
+    }
+
+    private static @NotNull MqttPubAck pubAck(final int packetIdentifier) {
+        return new MqttPubAck(packetIdentifier, Mqtt5PubAckReasonCode.SUCCESS, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+    }
+
+    private @NotNull MqttStatefulPublish readPublish() {
+        channel.runPendingTasks();
+        final Object message = channel.readOutbound();
+        assertTrue(message instanceof MqttStatefulPublish);
+        return (MqttStatefulPublish) message;
+    }
+}
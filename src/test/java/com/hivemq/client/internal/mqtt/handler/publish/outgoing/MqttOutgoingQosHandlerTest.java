@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.reactivex.Flowable;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttOutgoingQosHandlerTest {
+
+    private static final int SEND_MAXIMUM = 4;
+
+    private final @NotNull MqttOutgoingQosHandler handler =
+            spy(new MqttOutgoingQosHandler(mock(MqttClientConfig.class), new MqttPublishFlowables()));
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel(handler);
+    private final @NotNull MqttAckFlow ackFlow = mock(MqttAckFlow.class);
+    private final @NotNull MqttPublish publish = new MqttPublishBuilder.Default().topic("test").build();
+
+    @BeforeEach
+    void setUp() {
+        when(ackFlow.getEventLoop()).thenReturn(channel.eventLoop());
+        final MqttClientConnectionConfig connectionConfig = mock(MqttClientConnectionConfig.class);
+        when(connectionConfig.getSendMaximum()).thenReturn(SEND_MAXIMUM);
+        when(connectionConfig.getChannel()).thenReturn(channel);
+        handler.onSessionStartOrResume(connectionConfig);
+    }
+
+    @Test
+    void run_notWritable_pausesUntilWritable() {
+        setWritable(false);
+        publish(SEND_MAXIMUM);
+        channel.runPendingTasks();
+        assertEquals(0, readPublishes());
+
+        setWritable(true);
+        assertEquals(SEND_MAXIMUM, readPublishes());
+    }
+
+    @Test
+    void request_notWritable_deferredUntilWritable() {
+        publish(2 * SEND_MAXIMUM);
+        channel.runPendingTasks();
+        assertEquals(SEND_MAXIMUM, readPublishes());
+
+        setWritable(false);
+        handler.request(SEND_MAXIMUM);
+        verify(handler, times(SEND_MAXIMUM)).onNext(any());
+
+        setWritable(true);
+        verify(handler, times(2 * SEND_MAXIMUM)).onNext(any());
+        assertEquals(SEND_MAXIMUM, readPublishes());
+    }
+
+    private void publish(final int count) {
+        handler.getPublishFlowables()
+                .add(Flowable.range(0, count).map(i -> new MqttPublishWithFlow(publish, ackFlow)));
+    }
+
+    private void setWritable(final boolean writable) {
+        assert channel.unsafe().outboundBuffer() != null;
+        channel.unsafe().outboundBuffer().setUserDefinedWritability(1, writable);
+        channel.runPendingTasks();
+    }
+
+    private int readPublishes() {
+        int count = 0;
+        Object message;
+        while ((message = channel.readOutbound()) != null) {
+            assertEquals(MqttStatefulPublish.class, message.getClass());
+            count++;
+        }
+        return count;
+    }
+}
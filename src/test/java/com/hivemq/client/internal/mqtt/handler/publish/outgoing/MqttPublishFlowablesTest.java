@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttPublishFlowablesTest {
+
+    @Test
+    void add_doesNotBlockWithoutRequests() {
+        final MqttPublishFlowables publishFlowables = new MqttPublishFlowables();
+        final TestSubscriber<Flowable<MqttPublishWithFlow>> testSubscriber = new TestSubscriber<>(0);
+        publishFlowables.subscribe(testSubscriber);
+
+        publishFlowables.add(Flowable.empty());
+        publishFlowables.add(Flowable.empty());
+        testSubscriber.assertValueCount(0);
+
+        testSubscriber.request(1);
+        testSubscriber.assertValueCount(1);
+        testSubscriber.request(5);
+        testSubscriber.assertValueCount(2);
+        publishFlowables.add(Flowable.empty());
+        testSubscriber.assertValueCount(3);
+    }
+
+    @Test
+    void add_blocksWhenQueueIsFull() throws InterruptedException {
+        final MqttPublishFlowables publishFlowables = new MqttPublishFlowables();
+        final TestSubscriber<Flowable<MqttPublishWithFlow>> testSubscriber = new TestSubscriber<>(0);
+        publishFlowables.subscribe(testSubscriber);
+
+        for (int i = 0; i < MqttPublishFlowables.QUEUE_CAPACITY; i++) {
+            publishFlowables.add(Flowable.empty());
+        }
+        final CountDownLatch added = new CountDownLatch(1);
+        new Thread(() -> {
+            publishFlowables.add(Flowable.empty());
+            added.countDown();
+        }).start();
+        assertFalse(added.await(100, TimeUnit.MILLISECONDS));
+
+        testSubscriber.request(1);
+        assertTrue(added.await(1, TimeUnit.SECONDS));
+        testSubscriber.assertValueCount(1);
+        testSubscriber.request(MqttPublishFlowables.QUEUE_CAPACITY);
+        testSubscriber.assertValueCount(MqttPublishFlowables.QUEUE_CAPACITY + 1);
+    }
+
+    @Test
+    void add_concurrent() throws InterruptedException {
+        final MqttPublishFlowables publishFlowables = new MqttPublishFlowables();
+        final TestSubscriber<Flowable<MqttPublishWithFlow>> testSubscriber = new TestSubscriber<>(64);
+        publishFlowables.subscribe(testSubscriber);
+
+        final int threads = 8;
+        final int perThread = 10_000;
+        final CountDownLatch latch = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    publishFlowables.add(Flowable.empty());
+                }
+                latch.countDown();
+            }).start();
+        }
+        for (int requested = 64; requested < threads * perThread; requested += 64) {
+            testSubscriber.request(64);
+        }
+        latch.await();
+
+        testSubscriber.awaitCount(threads * perThread);
+        testSubscriber.assertValueCount(threads * perThread);
+        testSubscriber.assertNoErrors();
+    }
+}
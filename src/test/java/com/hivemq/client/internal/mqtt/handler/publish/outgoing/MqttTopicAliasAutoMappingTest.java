@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttTopicAliasAutoMappingTest {
+
+    @Test
+    void onPublish_newTopicAliasOnlyOnFirstPublish() {
+        final MqttTopicAliasAutoMapping mapping = new MqttTopicAliasAutoMapping(2);
+
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("a")));
+        assertEquals(2 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("b")));
+        assertEquals(1, mapping.onPublish(MqttTopicImpl.of("a")));
+        assertEquals(2, mapping.onPublish(MqttTopicImpl.of("b")));
+    }
+
+    @Test
+    void onPublish_topicAliasMaximumExceeded() {
+        final MqttTopicAliasAutoMapping mapping = new MqttTopicAliasAutoMapping(1);
+
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("a")));
+        assertEquals(DEFAULT_NO_TOPIC_ALIAS, mapping.onPublish(MqttTopicImpl.of("b")));
+        assertEquals(1, mapping.onPublish(MqttTopicImpl.of("a")));
+    }
+
+    @Test
+    void onPublish_topicAliasOfNewTopicIsNew() {
+        final MqttTopicAliasAutoMapping mapping = new MqttTopicAliasAutoMapping(1);
+
+        int topicAlias = mapping.onPublish(MqttTopicImpl.of("a"));
+        for (int i = 0; i < 1000; i++) {
+            final MqttTopicImpl topic = MqttTopicImpl.of("t/" + i);
+            for (int j = 0; j < 10; j++) {
+                final int previousTopicAlias = topicAlias;
+                topicAlias = mapping.onPublish(topic);
+                if (((topicAlias & TOPIC_ALIAS_FLAG) != DEFAULT_NO_TOPIC_ALIAS) && (j == 0)) {
+                    // a topic alias for a topic seen the first time must always be sent together with the topic
+                    assertEquals(TOPIC_ALIAS_FLAG_NEW, topicAlias & TOPIC_ALIAS_FLAG_NEW,
+                            "previous: " + previousTopicAlias);
+                }
+            }
+        }
+    }
+
+    @Test
+    void onPublish_priorityOrderKeepsAllEntries() {
+        final MqttTopicAliasAutoMapping mapping = new MqttTopicAliasAutoMapping(2);
+
+        final Random random = new Random(1);
+        for (int i = 0; i < 1000; i++) {
+            mapping.onPublish(MqttTopicImpl.of("t/" + random.nextInt(20)));
+        }
+        // all 2 + 8 (oversize) entries must still be linked in priority order
+        assertEquals(10, mapping.toString().split(" -> ", -1).length - 1);
+    }
+}
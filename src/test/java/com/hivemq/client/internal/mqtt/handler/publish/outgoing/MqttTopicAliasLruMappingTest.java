@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import org.junit.jupiter.api.Test;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.TOPIC_ALIAS_FLAG_NEW;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttTopicAliasLruMappingTest {
+
+    @Test
+    void onPublish_reassignsLeastRecentlyUsed() {
+        final MqttTopicAliasLruMapping mapping = new MqttTopicAliasLruMapping(2);
+
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("a")));
+        assertEquals(2 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("b")));
+        assertEquals(1, mapping.onPublish(MqttTopicImpl.of("a")));
+        assertEquals(2 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("c")));
+        assertEquals(1, mapping.onPublish(MqttTopicImpl.of("a")));
+        assertEquals(2, mapping.onPublish(MqttTopicImpl.of("c")));
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("b")));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttTopicAliasTableTest {
+
+    private static @NotNull MqttTopicAliasTable.Entry entry(final @NotNull String topic) {
+        final byte[] binary = topic.getBytes(StandardCharsets.UTF_8);
+        return new MqttTopicAliasTable.Entry(binary, MqttTopicAliasTable.hash(binary));
+    }
+
+    private static @NotNull MqttTopicAliasTable.Entry entry(final @NotNull String topic, final int hash) {
+        return new MqttTopicAliasTable.Entry(topic.getBytes(StandardCharsets.UTF_8), hash);
+    }
+
+    private static <E extends MqttTopicAliasTable.Entry> E get(
+            final @NotNull MqttTopicAliasTable<E> table, final @NotNull MqttTopicAliasTable.Entry key) {
+
+        return table.get(key.topic.clone(), key.hash);
+    }
+
+    @Test
+    void get_byContent() {
+        final MqttTopicAliasTable<MqttTopicAliasTable.Entry> table = new MqttTopicAliasTable<>();
+        final MqttTopicAliasTable.Entry entry = entry("a/b");
+        table.put(entry);
+
+        assertSame(entry, get(table, entry("a/b")));
+        assertNull(get(table, entry("a/c")));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void remove_collidingEntriesStayReachable() {
+        final MqttTopicAliasTable<MqttTopicAliasTable.Entry> table = new MqttTopicAliasTable<>();
+        final MqttTopicAliasTable.Entry entry1 = entry("1", 5);
+        final MqttTopicAliasTable.Entry entry2 = entry("2", 5);
+        final MqttTopicAliasTable.Entry entry3 = entry("3", 6);
+        final MqttTopicAliasTable.Entry entry4 = entry("4", 5);
+        table.put(entry1);
+        table.put(entry2);
+        table.put(entry3);
+        table.put(entry4);
+
+        table.remove(entry1);
+        assertNull(get(table, entry1));
+        assertSame(entry2, get(table, entry2));
+        assertSame(entry3, get(table, entry3));
+        assertSame(entry4, get(table, entry4));
+
+        table.remove(entry3);
+        assertSame(entry2, get(table, entry2));
+        assertNull(get(table, entry3));
+        assertSame(entry4, get(table, entry4));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    void randomOperations_sameAsHashMap() {
+        final MqttTopicAliasTable<MqttTopicAliasTable.Entry> table = new MqttTopicAliasTable<>();
+        final Map<String, MqttTopicAliasTable.Entry> map = new HashMap<>();
+        final Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            final String topic = "topic/" + random.nextInt(500);
+            final MqttTopicAliasTable.Entry present = map.get(topic);
+            assertSame(present, get(table, entry(topic)));
+            if (present == null) {
+                final MqttTopicAliasTable.Entry entry = entry(topic);
+                table.put(entry);
+                map.put(topic, entry);
+            } else if (random.nextBoolean()) {
+                table.remove(present);
+                map.remove(topic);
+            }
+            assertEquals(map.size(), table.size());
+        }
+        table.clear();
+        assertEquals(0, table.size());
+        for (final MqttTopicAliasTable.Entry entry : map.values()) {
+            assertNull(get(table, entry));
+        }
+    }
+}
@@ -16,9 +16,13 @@
 
 package com.hivemq.client.internal.mqtt.handler.ssl;
 
+import com.hivemq.client.internal.mqtt.MqttClientSslConfigImpl;
 import com.hivemq.client.internal.mqtt.MqttClientSslConfigImplBuilder;
 import com.hivemq.client.internal.util.collections.ImmutableList;
 import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.ssl.JdkSslContext;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslContext;
 import org.jetbrains.annotations.NotNull;
 import org.junit.Before;
 import org.junit.Test;
@@ -31,6 +35,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.*;
+import static org.junit.Assume.assumeFalse;
 
 /**
  * @author Christoph Schäbel
@@ -51,7 +56,7 @@ public class SslUtilTest {
         final TrustManagerFactory tmf = null;
 
         final SSLEngine sslEngine = SslUtil.createSslEngine(embeddedChannel,
-                new MqttClientSslConfigImplBuilder.Default().trustManagerFactory(tmf).build());
+                new MqttClientSslConfigImplBuilder.Default().trustManagerFactory(tmf).build(), "localhost", 1883);
 
         assertNotNull(sslEngine);
         assertTrue(sslEngine.getUseClientMode());
@@ -69,7 +74,7 @@ public class SslUtilTest {
         final SSLEngine sslEngine = SslUtil.createSslEngine(embeddedChannel,
                 new MqttClientSslConfigImplBuilder.Default().trustManagerFactory(tmf)
                         .cipherSuites(cipherSuite)
-                        .build());
+                        .build(), "localhost", 1883);
 
         assertNotNull(sslEngine);
 
@@ -89,7 +94,7 @@ public class SslUtilTest {
         final SSLEngine sslEngine = SslUtil.createSslEngine(embeddedChannel,
                 new MqttClientSslConfigImplBuilder.Default().trustManagerFactory(tmf)
                         .cipherSuites(cipherSuites)
-                        .build());
+                        .build(), "localhost", 1883);
 
         assertNotNull(sslEngine);
 
@@ -110,7 +115,8 @@ public class SslUtilTest {
         final ImmutableList<String> protocol = ImmutableList.of("TLSv1");
 
         final SSLEngine sslEngine = SslUtil.createSslEngine(embeddedChannel,
-                new MqttClientSslConfigImplBuilder.Default().trustManagerFactory(tmf).protocols(protocol).build());
+                new MqttClientSslConfigImplBuilder.Default().trustManagerFactory(tmf).protocols(protocol).build(),
+                "localhost", 1883);
 
         assertNotNull(sslEngine);
 
@@ -128,7 +134,8 @@ public class SslUtilTest {
         final ImmutableList<String> protocols = ImmutableList.of("TLSv1.1", "TLSv1.2");
 
         final SSLEngine sslEngine = SslUtil.createSslEngine(embeddedChannel,
-                new MqttClientSslConfigImplBuilder.Default().trustManagerFactory(tmf).protocols(protocols).build());
+                new MqttClientSslConfigImplBuilder.Default().trustManagerFactory(tmf).protocols(protocols).build(),
+                "localhost", 1883);
 
         assertNotNull(sslEngine);
 
@@ -139,6 +146,40 @@ public class SslUtilTest {
         assertEquals(protocols.get(1), enabledProtocols[1]);
     }
 
+    @Test
+    public void test_createSslEngine_peer() throws Exception {
+
+        final SSLEngine sslEngine = SslUtil.createSslEngine(embeddedChannel,
+                new MqttClientSslConfigImplBuilder.Default().build(), "example.com", 8883);
+
+        assertEquals("example.com", sslEngine.getPeerHost());
+        assertEquals(8883, sslEngine.getPeerPort());
+    }
+
+    @Test
+    public void test_getSslContext_created_once_per_equal_config() throws Exception {
+
+        final MqttClientSslConfigImpl sslConfig = new MqttClientSslConfigImplBuilder.Default().build();
+
+        final SslContext sslContext = SslUtil.getSslContext(sslConfig);
+
+        assertSame(sslContext, SslUtil.getSslContext(sslConfig));
+        assertSame(sslContext, SslUtil.getSslContext(new MqttClientSslConfigImplBuilder.Default().build()));
+        assertNotSame(sslContext, SslUtil.getSslContext(
+                new MqttClientSslConfigImplBuilder.Default().protocols(ImmutableList.of("TLSv1.2")).build()));
+    }
+
+    @Test
+    public void test_getSslContext_openSsl_not_available() throws Exception {
+        assumeFalse(OpenSsl.isAvailable());
+
+        final MqttClientSslConfigImpl sslConfig =
+                new MqttClientSslConfigImplBuilder.Default().preferOpenSsl(true).build();
+
+        assertFalse(SslUtil.isOpenSsl(sslConfig));
+        assertTrue(SslUtil.getSslContext(sslConfig) instanceof JdkSslContext);
+    }
+
     private @NotNull ImmutableList<String> getFirstSupportedCipherSuite() throws Exception {
 
         final List<String> supportedCipherSuites = getEnabledCipherSuites();
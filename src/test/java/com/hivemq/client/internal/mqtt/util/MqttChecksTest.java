@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.util;
+
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttChecksTest {
+
+    @Test
+    void publishes() {
+        final MqttPublish publish1 = new MqttPublishBuilder.Default().topic("a").build();
+        final MqttPublish publish2 = new MqttPublishBuilder.Default().topic("b").build();
+
+        assertArrayEquals(
+                new MqttPublish[]{publish1, publish2}, MqttChecks.publishes(Arrays.asList(publish1, publish2)));
+        assertEquals(0, MqttChecks.publishes(Collections.emptyList()).length);
+    }
+
+    @Test
+    void publishes_null() {
+        assertThrows(NullPointerException.class, () -> MqttChecks.publishes(null));
+    }
+
+    @Test
+    void publishes_nullElement() {
+        final Mqtt5Publish publish = new MqttPublishBuilder.Default().topic("a").build();
+
+        assertThrows(NullPointerException.class, () -> MqttChecks.publishes(Arrays.asList(publish, null)));
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.rx.operators;
+
+import io.reactivex.Flowable;
+import io.reactivex.internal.subscriptions.EmptySubscription;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Silvio Giebl
+ */
+class FlowableObserveOnWithDiscardTest {
+
+    @Test
+    void cancel_discardsUndelivered() {
+        final TestScheduler scheduler = new TestScheduler();
+        final List<Integer> discarded = new ArrayList<>();
+        final TestSubscriber<Integer> testSubscriber = new TestSubscriber<>(2);
+
+        new FlowableObserveOnWithDiscard<>(Flowable.range(0, 5), scheduler, true, 16, discarded::add).subscribe(
+                testSubscriber);
+        scheduler.triggerActions();
+        testSubscriber.assertValues(0, 1);
+        testSubscriber.cancel();
+
+        assertEquals(Arrays.asList(2, 3, 4), discarded);
+    }
+
+    @Test
+    void error_discardsUndelivered() {
+        final TestScheduler scheduler = new TestScheduler();
+        final List<Integer> discarded = new ArrayList<>();
+        final TestSubscriber<Integer> testSubscriber = new TestSubscriber<>(1);
+
+        new FlowableObserveOnWithDiscard<>(
+                Flowable.range(0, 3).concatWith(Flowable.error(new Exception("test"))), scheduler, false, 16,
+                discarded::add).subscribe(testSubscriber);
+        scheduler.triggerActions();
+
+        testSubscriber.assertNoValues();
+        testSubscriber.assertErrorMessage("test");
+        assertEquals(Arrays.asList(0, 1, 2), discarded);
+    }
+
+    @Test
+    void complete_discardsNothing() {
+        final TestScheduler scheduler = new TestScheduler();
+        final List<Integer> discarded = new ArrayList<>();
+        final TestSubscriber<Integer> testSubscriber = new TestSubscriber<>();
+
+        new FlowableObserveOnWithDiscard<>(Flowable.range(0, 3), scheduler, true, 16, discarded::add).subscribe(
+                testSubscriber);
+        scheduler.triggerActions();
+        testSubscriber.cancel();
+
+        testSubscriber.assertValues(0, 1, 2);
+        testSubscriber.assertComplete();
+        assertEquals(Collections.emptyList(), discarded);
+    }
+
+    @Test
+    void cancel_discardsElementsEmittedAfterCancel() {
+        final TestScheduler scheduler = new TestScheduler();
+        final List<Integer> discarded = new ArrayList<>();
+        final TestSubscriber<Integer> testSubscriber = new TestSubscriber<>();
+        final AtomicReference<Subscriber<? super Integer>> source = new AtomicReference<>();
+
+        new FlowableObserveOnWithDiscard<>(new Flowable<Integer>() {
+            @Override
+            protected void subscribeActual(final @NotNull Subscriber<? super Integer> subscriber) {
+                subscriber.onSubscribe(EmptySubscription.INSTANCE);
+                source.set(subscriber);
+            }
+        }, scheduler, true, 16, discarded::add).subscribe(testSubscriber);
+        source.get().onNext(0);
+        testSubscriber.cancel();
+        source.get().onNext(1);
+        scheduler.triggerActions();
+
+        testSubscriber.assertNoValues();
+        assertEquals(Arrays.asList(0, 1), discarded);
+    }
+
+    @Test
+    void delayError_deliversQueuedBeforeError() {
+        final TestScheduler scheduler = new TestScheduler();
+        final List<Integer> discarded = new ArrayList<>();
+        final TestSubscriber<Integer> testSubscriber = new TestSubscriber<>();
+
+        new FlowableObserveOnWithDiscard<>(
+                Flowable.range(0, 3).concatWith(Flowable.error(new Exception("test"))), scheduler, true, 16,
+                discarded::add).subscribe(testSubscriber);
+        scheduler.triggerActions();
+
+        testSubscriber.assertValues(0, 1, 2);
+        testSubscriber.assertErrorMessage("test");
+        assertEquals(Collections.emptyList(), discarded);
+    }
+
+    @Test
+    void asyncScheduler_deliversAllInOrder() throws InterruptedException {
+        final List<Integer> discarded = new ArrayList<>();
+        final TestSubscriber<Integer> testSubscriber = new TestSubscriber<>();
+
+        new FlowableObserveOnWithDiscard<>(
+                Flowable.range(0, 1000).subscribeOn(Schedulers.computation()), Schedulers.single(), true, 16,
+                discarded::add).subscribe(testSubscriber);
+
+        testSubscriber.await(10, TimeUnit.SECONDS);
+        testSubscriber.assertValueCount(1000);
+        testSubscriber.assertComplete();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) testSubscriber.values().get(i));
+        }
+        assertEquals(Collections.emptyList(), discarded);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Silvio Giebl
+ */
+class Utf8UtilTest {
+
+    private static final @NotNull byte[][] SEQUENCES = {
+            "a".getBytes(StandardCharsets.UTF_8), // ASCII
+            "\u00e4".getBytes(StandardCharsets.UTF_8), // 2 bytes
+            "\u20ac".getBytes(StandardCharsets.UTF_8), // 3 bytes
+            "\ud83d\ude00".getBytes(StandardCharsets.UTF_8), // 4 bytes
+            {(byte) 0xC0, (byte) 0x80}, // non shortest form
+            {(byte) 0xED, (byte) 0xA0, (byte) 0x80}, // UTF-16 surrogate
+            {(byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80}, // invalid code point
+            {(byte) 0xE2, (byte) 0x82}, // missing following byte
+            {(byte) 0x80}, // unexpected following byte
+    };
+
+    @Test
+    void isWellFormed_byteBuf_sameAsByteArray() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            final boolean direct = (i % 2) == 0;
+            final byte[] bytes = randomSequences(random, random.nextInt(40));
+            final int offset = random.nextInt(9);
+            final ByteBuf byteBuf = direct ? Unpooled.directBuffer() : Unpooled.buffer();
+            byteBuf.writeZero(offset).writeBytes(bytes).writeByte(0xFF);
+
+            assertEquals(Utf8Util.isWellFormed(bytes), Utf8Util.isWellFormed(byteBuf, offset, bytes.length));
+            byteBuf.release();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 7, 8, 9, 15, 16, 17, 100})
+    void isWellFormed_byteBuf_ascii(final int length) {
+        final ByteBuf byteBuf = Unpooled.directBuffer();
+        for (int i = 0; i < length; i++) {
+            byteBuf.writeByte('a' + (i % 26));
+        }
+        assertEquals(0, Utf8Util.isWellFormed(byteBuf, 0, length));
+        byteBuf.writeByte(0xC0);
+        assertEquals(
+                Utf8Util.isWellFormed(ByteBufUtil.getBytes(byteBuf)), Utf8Util.isWellFormed(byteBuf, 0, length + 1));
+        byteBuf.release();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 7, 8, 9, 15, 16, 17, 100})
+    void containsAscii(final int position) {
+        final ByteBuf byteBuf = Unpooled.directBuffer();
+        for (int i = 0; i < 120; i++) {
+            byteBuf.writeByte((i == position) ? '+' : 'a');
+        }
+        assertTrue(Utf8Util.containsAscii(byteBuf, 0, 120, '#', '+'));
+        assertTrue(Utf8Util.containsAscii(byteBuf, position, 1, '+', '+'));
+        assertFalse(Utf8Util.containsAscii(byteBuf, 0, 120, '#', '\u0000'));
+        assertFalse(Utf8Util.containsAscii(byteBuf, position + 1, 119 - position, '#', '+'));
+        byteBuf.release();
+    }
+
+    @Test
+    void containsAscii_multiByteSequences_notContained() {
+        final ByteBuf byteBuf = Unpooled.directBuffer();
+        for (int i = 0; i < 10; i++) {
+            byteBuf.writeBytes("\u00e4\u20ac\ud83d\ude00".getBytes(StandardCharsets.UTF_8));
+        }
+        assertFalse(Utf8Util.containsAscii(byteBuf, 0, byteBuf.readableBytes(), '\u0000', '#'));
+        byteBuf.release();
+    }
+
+    private static @NotNull byte[] randomSequences(final @NotNull Random random, final int count) {
+        final ByteBuf byteBuf = Unpooled.buffer();
+        for (int i = 0; i < count; i++) {
+            // mostly valid sequences so that errors are found at different positions
+            final int index = (random.nextInt(4) == 0) ? random.nextInt(SEQUENCES.length) : random.nextInt(4);
+            byteBuf.writeBytes(SEQUENCES[index]);
+        }
+        final byte[] bytes = ByteBufUtil.getBytes(byteBuf);
+        byteBuf.release();
+        return bytes;
+    }
+}
@@ -17,6 +17,7 @@
 
 package com.hivemq.client.internal.util.collections;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -90,4 +91,22 @@ class ChunkedIntArrayQueueTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    void offer_newChunkAfterWrapAround() {
+        final ChunkedIntArrayQueue queue = new ChunkedIntArrayQueue(4);
+        for (int i = 0; i < 3; i++) {
+            queue.offer(i);
+        }
+        queue.poll(-1);
+        queue.poll(-1);
+        for (int i = 3; i < 10; i++) {
+            queue.offer(i);
+        }
+        assertEquals(8, queue.size());
+        for (int i = 2; i < 10; i++) {
+            assertEquals(i, queue.poll(-1));
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+}
@@ -65,4 +65,18 @@ class MqttClientSslConfigBuilderTest {
         assertNotNull(sslConfig.getProtocols());
         assertFalse(sslConfig.getProtocols().isPresent());
     }
+
+    @Test
+    void preferOpenSsl_default() {
+        final MqttClientSslConfig sslConfig = MqttClientSslConfig.builder().build();
+
+        assertFalse(sslConfig.isPreferOpenSsl());
+    }
+
+    @Test
+    void preferOpenSsl() {
+        final MqttClientSslConfig sslConfig = MqttClientSslConfig.builder().preferOpenSsl(true).build();
+
+        assertTrue(sslConfig.isPreferOpenSsl());
+    }
 }